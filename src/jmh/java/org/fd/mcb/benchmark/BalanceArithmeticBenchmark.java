@@ -0,0 +1,92 @@
+package org.fd.mcb.benchmark;
+
+import java.math.BigDecimal;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The BigDecimal operations of a posting: credit, checked debit, hold and release, and netting a batch.
+ * The long cents variant of the netting is the baseline for what the scale 2 amounts cost.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BalanceArithmeticBenchmark {
+
+    private static final int AMOUNTS = 1024;
+    private static final BigDecimal AVAILABLE = new BigDecimal("250000.00");
+
+    private final BigDecimal[] amounts = new BigDecimal[AMOUNTS];
+    private final long[] amountsInCents = new long[AMOUNTS];
+    private BigDecimal balance;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < AMOUNTS; i++) {
+            // 0.01 to 10000.00, with the occasional amount above the available balance
+            long cents = random.nextInt(10) == 0 ? random.nextLong(25_000_000L, 30_000_000L) : random.nextLong(1, 1_000_000L);
+            amounts[i] = BigDecimal.valueOf(cents, 2);
+            amountsInCents[i] = cents;
+        }
+        balance = new BigDecimal("1000000.00");
+    }
+
+    @Benchmark
+    public BigDecimal credit() {
+        balance = balance.add(nextAmount());
+        return balance;
+    }
+
+    @Benchmark
+    public BigDecimal debitIfSufficient() {
+        BigDecimal amount = nextAmount();
+        return AVAILABLE.compareTo(amount) >= 0 ? AVAILABLE.subtract(amount) : AVAILABLE;
+    }
+
+    @Benchmark
+    public BigDecimal holdAndRelease() {
+        BigDecimal amount = nextAmount();
+        return AVAILABLE.subtract(amount).add(amount);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(AMOUNTS)
+    public BigDecimal netBatch() {
+        BigDecimal net = BigDecimal.ZERO;
+        for (BigDecimal amount : amounts) {
+            net = net.add(amount);
+        }
+        return net;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(AMOUNTS)
+    public long netBatchInCents() {
+        long net = 0;
+        for (long amount : amountsInCents) {
+            net += amount;
+        }
+        return net;
+    }
+
+    private BigDecimal nextAmount() {
+        next = (next + 1) & (AMOUNTS - 1);
+        return amounts[next];
+    }
+}
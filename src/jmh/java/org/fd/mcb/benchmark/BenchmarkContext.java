@@ -0,0 +1,71 @@
+package org.fd.mcb.benchmark;
+
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.fd.mcb.MiniCoreBankingApplication;
+import org.fd.mcb.modules.master.enums.AccountStatus;
+import org.fd.mcb.modules.master.enums.AccountType;
+import org.fd.mcb.modules.master.enums.CustomerStatus;
+import org.fd.mcb.modules.master.model.entity.BankAccount;
+import org.fd.mcb.modules.master.model.entity.Customer;
+import org.fd.mcb.modules.master.model.repository.BankAccountRepository;
+import org.fd.mcb.modules.master.model.repository.CustomerRepository;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Boots the application without a web server against the in-memory H2 database of the jmh profile,
+ * one context per benchmark fork.
+ */
+final class BenchmarkContext {
+
+    private BenchmarkContext() {
+    }
+
+    static ConfigurableApplicationContext start() {
+        return new SpringApplicationBuilder(MiniCoreBankingApplication.class)
+                .profiles("jmh")
+                .web(WebApplicationType.NONE)
+                .run();
+    }
+
+    /**
+     * Open {@code count} active savings accounts holding {@code balance} each.
+     *
+     * @return the account numbers, in id order
+     */
+    static List<String> openAccounts(ConfigurableApplicationContext context, String prefix, int count,
+                                     BigDecimal balance) {
+        CustomerRepository customerRepository = context.getBean(CustomerRepository.class);
+        BankAccountRepository bankAccountRepository = context.getBean(BankAccountRepository.class);
+
+        return context.getBean(TransactionTemplate.class).execute(status -> {
+            Customer customer = new Customer();
+            customer.setCin(prefix + "-CIN");
+            customer.setFullName("Benchmark " + prefix);
+            customer.setStatus(CustomerStatus.ACTIVE);
+            customer.setCreatedAt(ZonedDateTime.now());
+            customerRepository.save(customer);
+
+            List<BankAccount> accounts = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                BankAccount account = new BankAccount();
+                account.setCustomer(customer);
+                account.setAccountNumber(String.format("%s-%06d", prefix, i));
+                account.setAccountType(AccountType.SAVINGS);
+                account.setBalance(balance);
+                account.setAvailableBalance(balance);
+                account.setHeldAmount(BigDecimal.ZERO);
+                account.setStatus(AccountStatus.ACTIVE);
+                account.setOpenedAt(ZonedDateTime.now());
+                accounts.add(account);
+            }
+            bankAccountRepository.saveAll(accounts);
+            return accounts.stream().map(BankAccount::getAccountNumber).toList();
+        });
+    }
+}
@@ -0,0 +1,111 @@
+package org.fd.mcb.benchmark;
+
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.fd.mcb.modules.journalentry.dto.response.JournalEntryDTO;
+import org.fd.mcb.modules.journalentry.enums.EntryType;
+import org.fd.mcb.modules.journalentry.mapper.JournalEntryMapper;
+import org.fd.mcb.modules.journalentry.model.entity.JournalEntry;
+import org.fd.mcb.modules.master.enums.AccountType;
+import org.fd.mcb.modules.master.enums.TransactionStatus;
+import org.fd.mcb.modules.master.mapper.TransactionMapper;
+import org.fd.mcb.modules.master.model.entity.BankAccount;
+import org.fd.mcb.modules.master.model.entity.PaymentType;
+import org.fd.mcb.modules.master.model.entity.Transaction;
+import org.fd.mcb.modules.transaction.dto.context.TransactionContext;
+import org.fd.mcb.modules.transaction.dto.response.AccountResponse;
+import org.fd.mcb.modules.transaction.mapper.AccountMapper;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The generated MapStruct mappers of the posting path, without a Spring context.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+
+    @Param("100")
+    public int journalEntries;
+
+    private final AccountMapper accountMapper = Mappers.getMapper(AccountMapper.class);
+    private final TransactionMapper transactionMapper = Mappers.getMapper(TransactionMapper.class);
+    private final JournalEntryMapper journalEntryMapper = Mappers.getMapper(JournalEntryMapper.class);
+
+    private BankAccount bankAccount;
+    private Transaction transaction;
+    private TransactionContext transactionContext;
+    private List<JournalEntry> entries;
+
+    @Setup
+    public void setUp() {
+        bankAccount = new BankAccount();
+        bankAccount.setId(1L);
+        bankAccount.setAccountNumber("MAP-000001");
+        bankAccount.setAccountType(AccountType.SAVINGS);
+        bankAccount.setBalance(new BigDecimal("1000000.00"));
+
+        PaymentType paymentType = new PaymentType();
+        paymentType.setName("DEPOSIT");
+
+        transaction = new Transaction();
+        transaction.setId(1L);
+        transaction.setAmount(new BigDecimal("125.50"));
+        transaction.setDestinationAccount(bankAccount);
+        transaction.setPaymentType(paymentType);
+
+        transactionContext = TransactionContext.builder()
+                .amount(new BigDecimal("125.50"))
+                .destinationAccount(bankAccount)
+                .channel("ATM")
+                .paymentType(paymentType)
+                .status(TransactionStatus.AUTHORIZED)
+                .authCode("AUTH-BENCH001")
+                .expiresAt(ZonedDateTime.now().plusHours(24))
+                .build();
+
+        entries = new ArrayList<>(journalEntries);
+        for (int i = 0; i < journalEntries; i++) {
+            JournalEntry entry = new JournalEntry();
+            entry.setId((long) i);
+            entry.setTransaction(transaction);
+            entry.setBankAccount(bankAccount);
+            entry.setEntryType(i % 2 == 0 ? EntryType.CREDIT : EntryType.DEBIT);
+            entry.setAmount(BigDecimal.valueOf(i + 100L, 2));
+            entry.setCreatedAt(ZonedDateTime.now());
+            entries.add(entry);
+        }
+    }
+
+    @Benchmark
+    public AccountResponse toAccountResponse() {
+        return accountMapper.toAccountResponse(transaction, bankAccount);
+    }
+
+    @Benchmark
+    public Transaction toTransactionFromContext() {
+        return transactionMapper.toTransactionFromContext(transactionContext);
+    }
+
+    @Benchmark
+    public List<JournalEntryDTO> journalEntriesToDtoList() {
+        return journalEntryMapper.toDTOList(entries);
+    }
+}
@@ -0,0 +1,74 @@
+package org.fd.mcb.benchmark;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.fd.mcb.modules.transaction.dto.request.DepositWithdrawReq;
+import org.fd.mcb.modules.transaction.dto.response.AccountResponse;
+import org.fd.mcb.modules.transaction.service.AccountService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Single deposits and withdrawals through {@link AccountService}, spread over {@code accounts} accounts.
+ * Run with {@code -t} above 1 to measure them under lock contention.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class PostingBenchmark {
+
+    private static final BigDecimal AMOUNT = new BigDecimal("1.00");
+
+    @Param("64")
+    public int accounts;
+
+    private ConfigurableApplicationContext context;
+    private AccountService accountService;
+    private List<String> accountNumbers;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        accountService = context.getBean(AccountService.class);
+        accountNumbers = BenchmarkContext.openAccounts(context, "POST", accounts, new BigDecimal("1000000000.00"));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public AccountResponse deposit() {
+        return accountService.deposit(randomRequest());
+    }
+
+    @Benchmark
+    public AccountResponse withdrawal() {
+        return accountService.withdrawal(randomRequest());
+    }
+
+    private DepositWithdrawReq randomRequest() {
+        DepositWithdrawReq request = new DepositWithdrawReq();
+        request.setAccountNumber(accountNumbers.get(ThreadLocalRandom.current().nextInt(accountNumbers.size())));
+        request.setAmount(AMOUNT);
+        return request;
+    }
+}
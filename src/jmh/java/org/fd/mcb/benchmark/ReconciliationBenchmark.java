@@ -0,0 +1,141 @@
+package org.fd.mcb.benchmark;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import org.fd.mcb.modules.reconciliation.dto.IntradayCheckDto;
+import org.fd.mcb.modules.reconciliation.model.entity.ReconciliationReport;
+import org.fd.mcb.modules.reconciliation.service.ReconciliationService;
+import org.fd.mcb.modules.transaction.dto.request.PostingBatchRequest;
+import org.fd.mcb.modules.transaction.dto.request.PostingItemRequest;
+import org.fd.mcb.modules.transaction.dto.response.PostingItemResult;
+import org.fd.mcb.modules.transaction.enums.PostingType;
+import org.fd.mcb.modules.transaction.service.AccountService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+/**
+ * End of day reconciliation over synthetic days. Each day gets {@code postingsPerAccount} deposits and
+ * as many equal withdrawals per account, posted through the batch endpoint and moved back to that day,
+ * so every day is balanced and every account closes where it opened. A reconciled day stays reconciled,
+ * every single shot takes the next unreconciled day, so {@code days} must cover warmup and measurement.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 20)
+@Fork(1)
+public class ReconciliationBenchmark {
+
+    // Reconciliation days are cut in this zone
+    private static final ZoneId ZONE = ZoneId.of("Asia/Jakarta");
+
+    @Param("200")
+    public int accounts;
+
+    @Param("30")
+    public int days;
+
+    @Param("5")
+    public int postingsPerAccount;
+
+    private ConfigurableApplicationContext context;
+    private ReconciliationService reconciliationService;
+    private final Deque<LocalDate> unreconciledDays = new ArrayDeque<>();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        reconciliationService = context.getBean(ReconciliationService.class);
+        AccountService accountService = context.getBean(AccountService.class);
+        NamedParameterJdbcTemplate jdbcTemplate = new NamedParameterJdbcTemplate(context.getBean(DataSource.class));
+
+        List<String> accountNumbers = BenchmarkContext.openAccounts(
+                context, "RECON", accounts, new BigDecimal("1000000.00"));
+
+        LocalDate firstDay = LocalDate.now(ZONE).minusDays(days + 1L);
+        for (int day = 0; day < days; day++) {
+            LocalDate date = firstDay.plusDays(day);
+            List<Long> transactionIds = accountService.postBatch(dayBatch(accountNumbers, day)).getResults().stream()
+                    .filter(PostingItemResult::isSuccess)
+                    .map(PostingItemResult::getTransactionId)
+                    .toList();
+            backdate(jdbcTemplate, transactionIds, date);
+            unreconciledDays.add(date);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ReconciliationReport reconcileDay() {
+        LocalDate date = unreconciledDays.poll();
+        if (date == null) {
+            throw new IllegalStateException("Out of synthetic days, raise the days parameter");
+        }
+        return reconciliationService.performReconciliation(date);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @Warmup(iterations = 3, time = 5)
+    @Measurement(iterations = 5, time = 5)
+    public IntradayCheckDto intradayCheck() {
+        return reconciliationService.performIntradayCheck();
+    }
+
+    private PostingBatchRequest dayBatch(List<String> accountNumbers, int day) {
+        List<PostingItemRequest> postings = new ArrayList<>(accountNumbers.size() * postingsPerAccount * 2);
+        for (int i = 0; i < accountNumbers.size(); i++) {
+            for (int n = 0; n < postingsPerAccount; n++) {
+                BigDecimal amount = BigDecimal.valueOf(100 + (i * 31L + n * 7L + day) % 900, 2);
+                postings.add(posting(accountNumbers.get(i), PostingType.DEPOSIT, amount));
+                postings.add(posting(accountNumbers.get(i), PostingType.WITHDRAWAL, amount));
+            }
+        }
+        PostingBatchRequest request = new PostingBatchRequest();
+        request.setPostings(postings);
+        return request;
+    }
+
+    private PostingItemRequest posting(String accountNumber, PostingType type, BigDecimal amount) {
+        PostingItemRequest item = new PostingItemRequest();
+        item.setAccountNumber(accountNumber);
+        item.setType(type);
+        item.setAmount(amount);
+        return item;
+    }
+
+    private void backdate(NamedParameterJdbcTemplate jdbcTemplate, List<Long> transactionIds, LocalDate date) {
+        Map<String, Object> params = Map.of(
+                "ids", transactionIds,
+                "createdAt", Timestamp.from(date.atTime(12, 0).atZone(ZONE).toInstant()));
+        jdbcTemplate.update("UPDATE transactions SET created_at = :createdAt WHERE id IN (:ids)", params);
+        jdbcTemplate.update("UPDATE journal_entries SET created_at = :createdAt WHERE transaction_id IN (:ids)", params);
+    }
+}
@@ -0,0 +1,87 @@
+package org.fd.mcb.benchmark;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.fd.mcb.modules.transaction.dto.request.TransferAuthRequest;
+import org.fd.mcb.modules.transaction.dto.request.TransferCaptureRequest;
+import org.fd.mcb.modules.transaction.dto.request.TransferSettlementRequest;
+import org.fd.mcb.modules.transaction.dto.response.TransferAuthResponse;
+import org.fd.mcb.modules.transaction.dto.response.TransferSettlementResponse;
+import org.fd.mcb.modules.transaction.service.TransferAuthorizationService;
+import org.fd.mcb.modules.transaction.service.TransferCaptureService;
+import org.fd.mcb.modules.transaction.service.TransferSettlementService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * One full transfer per operation: authorize, capture and settle between two distinct random accounts.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class TransferCycleBenchmark {
+
+    private static final BigDecimal AMOUNT = new BigDecimal("1.00");
+
+    @Param("64")
+    public int accounts;
+
+    private ConfigurableApplicationContext context;
+    private TransferAuthorizationService authorizationService;
+    private TransferCaptureService captureService;
+    private TransferSettlementService settlementService;
+    private List<String> accountNumbers;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        authorizationService = context.getBean(TransferAuthorizationService.class);
+        captureService = context.getBean(TransferCaptureService.class);
+        settlementService = context.getBean(TransferSettlementService.class);
+        accountNumbers = BenchmarkContext.openAccounts(context, "XFER", accounts, new BigDecimal("1000000000.00"));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public TransferSettlementResponse authorizeCaptureSettle() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int source = random.nextInt(accountNumbers.size());
+        // Any other account, never the source itself
+        int destination = (source + 1 + random.nextInt(accountNumbers.size() - 1)) % accountNumbers.size();
+
+        TransferAuthRequest authRequest = new TransferAuthRequest();
+        authRequest.setSourceAccountNumber(accountNumbers.get(source));
+        authRequest.setDestAccountNumber(accountNumbers.get(destination));
+        authRequest.setAmount(AMOUNT);
+        TransferAuthResponse authorization = authorizationService.authorizeTransfer(authRequest);
+
+        TransferCaptureRequest captureRequest = new TransferCaptureRequest();
+        captureRequest.setAuthCode(authorization.getAuthCode());
+        captureService.captureTransfer(captureRequest);
+
+        TransferSettlementRequest settlementRequest = new TransferSettlementRequest();
+        settlementRequest.setAuthCode(authorization.getAuthCode());
+        return settlementService.settleTransfer(settlementRequest);
+    }
+}
@@ -0,0 +1,15 @@
+package org.fd.mcb.configs;
+
+import lombok.Data;
+import org.fd.mcb.modules.master.enums.PostingMode;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "account-posting")
+@Data
+public class AccountPostingConfigProperties {
+
+    private PostingMode deposit = PostingMode.LOCKING;
+    private PostingMode withdrawal = PostingMode.LOCKING;
+}
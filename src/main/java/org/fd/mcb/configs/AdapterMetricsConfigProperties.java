@@ -0,0 +1,17 @@
+package org.fd.mcb.configs;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "adapter-metrics")
+@Data
+public class AdapterMetricsConfigProperties {
+
+    // Off means the adapters are not proxied at all
+    private boolean enabled = false;
+    // Walks the stack on every call to find the service method behind it
+    private boolean recordCaller = true;
+    private String callerPackage = "org.fd.mcb.modules";
+}
@@ -9,6 +9,7 @@ import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.ThreadFactory;
 
 @EnableAsync
@@ -34,4 +35,21 @@ public class AsyncConfig {
         return new TaskExecutorAdapter(Executors.newThreadPerTaskExecutor(virtualThreadFactory));
     }
 
+    @Bean
+    public TaskExecutor reconciliationJobExecutor(ReconciliationConfigProperties reconciliationConfig) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(reconciliationConfig.getJobs().getConcurrency());
+        executor.setMaxPoolSize(reconciliationConfig.getJobs().getConcurrency());
+        executor.setQueueCapacity(reconciliationConfig.getJobs().getQueueCapacity());
+        executor.setThreadNamePrefix("reconciliation-job-");
+        executor.initialize();
+
+        return executor;
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public ForkJoinPool reconciliationPool(ReconciliationConfigProperties reconciliationConfig) {
+        return new ForkJoinPool(reconciliationConfig.getPartitioning().getParallelism());
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,39 @@
+package org.fd.mcb.configs;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "audit-log")
+@Data
+public class AuditLogConfigProperties {
+
+    // Entries waiting for the writer, producers fall back to the overflow queue once it is full
+    private int bufferCapacity = 8192;
+    // Entries past a full buffer, spilled to the file by the writer instead of the producer
+    private int overflowCapacity = 65536;
+    private int batchSize = 500;
+    private Duration flushInterval = Duration.ofSeconds(1);
+    // Entries the database could not take, replayed by the writer once it is reachable again
+    private String spillFile = "data/audit-log-spill.jsonl";
+    private Trail trail = new Trail();
+
+    @Data
+    public static class Trail {
+        // Hash-chained copy of every written entry in local segment files
+        private boolean enabled = true;
+        private String directory = "data/audit-trail";
+        private long segmentSize = 64L * 1024 * 1024;
+        // Records per sparse index block
+        private int indexInterval = 1024;
+        private int maxResults = 1000;
+        // How often the head of the trail is recorded in the database, verify() checks the trail against it
+        private Duration anchorInterval = Duration.ofMinutes(1);
+        // Identifies this instance's trail among the anchors, host name and directory when not set
+        private String anchorId;
+        // Rows older than this that never reached a trail are appended by the writer
+        private Duration catchUpDelay = Duration.ofMinutes(5);
+    }
+}
@@ -0,0 +1,19 @@
+package org.fd.mcb.configs;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "balance-engine")
+@Data
+public class BalanceEngineConfigProperties {
+
+    private boolean enabled = false;
+    private int shards = 8;
+    private int queueCapacity = 10000;
+    private int maxBatchSize = 256;
+    private Duration submitTimeout = Duration.ofSeconds(1);
+    private Duration postingTimeout = Duration.ofSeconds(5);
+}
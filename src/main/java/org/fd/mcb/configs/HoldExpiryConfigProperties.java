@@ -0,0 +1,24 @@
+package org.fd.mcb.configs;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "hold-expiry")
+@Data
+public class HoldExpiryConfigProperties {
+
+    // Timing wheel resolution, holds expire at most one tick late
+    private Duration tick = Duration.ofSeconds(1);
+    private int wheelSize = 60;
+    // With the defaults the wheel spans 60 hours, authorizations expire after 24
+    private int levels = 3;
+    // Holds expired per transaction, an account's holds are never split across chunks
+    private int chunkSize = 200;
+    private int pageSize = 1000;
+    // Picks up holds the wheel never saw, e.g. authorized on another instance
+    private Duration reloadInterval = Duration.ofMinutes(10);
+    private Duration retryDelay = Duration.ofSeconds(5);
+}
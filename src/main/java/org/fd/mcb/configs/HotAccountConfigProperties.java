@@ -0,0 +1,23 @@
+package org.fd.mcb.configs;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "hot-accounts")
+@Data
+public class HotAccountConfigProperties {
+
+    private boolean enabled = true;
+    // Credit slots per striped account
+    private int stripes = 8;
+    // Contention is judged per window, an account crossing either threshold in one window is striped
+    private Duration evaluationInterval = Duration.ofSeconds(30);
+    private Duration lockWaitThreshold = Duration.ofSeconds(2);
+    private int retryThreshold = 5;
+    // A striped account is unstriped once it crossed no threshold and took no credit for this many windows
+    private int unstripeAfterQuietWindows = 10;
+    private Duration mergeInterval = Duration.ofSeconds(5);
+}
@@ -0,0 +1,22 @@
+package org.fd.mcb.configs;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.fd.mcb.shared.metrics.AdapterMetricsInterceptor;
+import org.fd.mcb.shared.metrics.AdapterMetricsPostProcessor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+
+    // Static and lazily resolved dependencies, a post processor must not pull the registry in early
+    @Bean
+    @ConditionalOnProperty(prefix = "adapter-metrics", name = "enabled", havingValue = "true")
+    public static AdapterMetricsPostProcessor adapterMetricsPostProcessor(
+            ObjectProvider<MeterRegistry> meterRegistry,
+            ObjectProvider<AdapterMetricsConfigProperties> adapterMetricsConfig) {
+        return new AdapterMetricsPostProcessor(new AdapterMetricsInterceptor(meterRegistry, adapterMetricsConfig));
+    }
+}
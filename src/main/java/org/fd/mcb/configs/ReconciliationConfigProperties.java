@@ -1,6 +1,7 @@
 package org.fd.mcb.configs;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
@@ -14,12 +15,22 @@ public class ReconciliationConfigProperties {
     private SeverityThresholds severityThresholds = new SeverityThresholds();
     private TierLimits tierLimits = new TierLimits();
     private boolean autoCorrectEnabled = true;
+    // A run still IN_PROGRESS that finished no checkpoint for this long is assumed dead and may be resumed
+    private Duration runTimeout = Duration.ofHours(2);
+    // Discrepancies handled per transaction, also bounds the IN lists of the bulk updates
+    private int handlingBatchSize = 500;
     private Notifications notifications = new Notifications();
+    private Partitioning partitioning = new Partitioning();
+    private Jobs jobs = new Jobs();
+    private RunningTotals runningTotals = new RunningTotals();
 
     @Data
     public static class Pool {
         private String accountNumber = "RECONCILIATION-POOL";
         private BigDecimal lowBalanceThreshold = new BigDecimal("10000.00");
+        // Sub-accounts the pool is spread over, shard n > 0 uses "<account-number>-n"
+        private int shards = 4;
+        private Duration rebalanceInterval = Duration.ofMinutes(5);
     }
 
     @Data
@@ -47,4 +58,25 @@ public class ReconciliationConfigProperties {
     public static class Notifications {
         private String operationsEmail = "ops@bank.com";
     }
+
+    @Data
+    public static class Partitioning {
+        private int partitions = 8;
+        private int parallelism = 4;
+    }
+
+    @Data
+    public static class Jobs {
+        private int concurrency = 2;
+        private int queueCapacity = 10;
+        // Finished jobs stay queryable for this long
+        private Duration retention = Duration.ofHours(1);
+        private Duration streamTimeout = Duration.ofMinutes(30);
+    }
+
+    @Data
+    public static class RunningTotals {
+        private boolean enabled = true;
+        private Duration flushInterval = Duration.ofSeconds(10);
+    }
 }
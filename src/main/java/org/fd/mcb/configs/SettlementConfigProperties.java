@@ -0,0 +1,21 @@
+package org.fd.mcb.configs;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "settlement")
+@Data
+public class SettlementConfigProperties {
+
+    private Netting netting = new Netting();
+
+    @Data
+    public static class Netting {
+        private boolean enabled = false;
+        private Duration interval = Duration.ofMinutes(1);
+        private int maxBatchSize = 5000;
+    }
+}
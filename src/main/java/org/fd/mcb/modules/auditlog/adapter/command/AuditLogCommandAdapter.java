@@ -1,9 +1,17 @@
 package org.fd.mcb.modules.auditlog.adapter.command;
 
+import org.fd.mcb.modules.auditlog.dto.AuditRecord;
 import org.fd.mcb.modules.auditlog.dto.context.AuditLogContext;
 import org.fd.mcb.modules.auditlog.model.entity.AuditLog;
 
+import java.util.Collection;
+import java.util.List;
+
 public interface AuditLogCommandAdapter {
 
     AuditLog save(AuditLogContext context);
+
+    List<AuditLog> saveAll(List<AuditRecord> records);
+
+    void markTrailed(Collection<Long> ids);
 }
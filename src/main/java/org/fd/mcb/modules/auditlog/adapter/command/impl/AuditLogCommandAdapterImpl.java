@@ -1,24 +1,59 @@
 package org.fd.mcb.modules.auditlog.adapter.command.impl;
 
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import org.fd.mcb.modules.auditlog.adapter.command.AuditLogCommandAdapter;
+import org.fd.mcb.modules.auditlog.dto.AuditRecord;
 import org.fd.mcb.modules.auditlog.dto.context.AuditLogContext;
 import org.fd.mcb.modules.auditlog.model.entity.AuditLog;
 import org.fd.mcb.modules.auditlog.repository.AuditLogRepository;
+import org.fd.mcb.modules.staff.model.entity.Staff;
 import org.springframework.stereotype.Service;
 
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
 @Service
 @RequiredArgsConstructor
 public class AuditLogCommandAdapterImpl implements AuditLogCommandAdapter {
 
     private final AuditLogRepository auditLogRepository;
 
+    private final EntityManager entityManager;
+
     @Override
     public AuditLog save(AuditLogContext context) {
         AuditLog auditLog = new AuditLog();
         auditLog.setUser(context.getUser());
         auditLog.setAction(context.getAction());
         auditLog.setDetails(context.getDetails());
+        auditLog.setCreatedAt(ZonedDateTime.now());
         return auditLogRepository.save(auditLog);
     }
+
+    @Override
+    public List<AuditLog> saveAll(List<AuditRecord> records) {
+        List<AuditLog> saved = new ArrayList<>(records.size());
+        auditLogRepository.saveAll(records.stream()
+                .map(record -> {
+                    AuditLog auditLog = new AuditLog();
+                    if (record.userId() != null) {
+                        auditLog.setUser(entityManager.getReference(Staff.class, record.userId()));
+                    }
+                    auditLog.setAction(record.action());
+                    auditLog.setDetails(record.details());
+                    // The time of the event, the row may be written much later
+                    auditLog.setCreatedAt(record.createdAt());
+                    return auditLog;
+                })
+                .toList()).forEach(saved::add);
+        return saved;
+    }
+
+    @Override
+    public void markTrailed(Collection<Long> ids) {
+        auditLogRepository.markTrailed(ids);
+    }
 }
@@ -0,0 +1,48 @@
+package org.fd.mcb.modules.auditlog.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.fd.mcb.modules.auditlog.dto.AuditTrailEntryDto;
+import org.fd.mcb.modules.auditlog.dto.AuditTrailVerificationDto;
+import org.fd.mcb.modules.auditlog.service.AuditTrailService;
+import org.fd.mcb.shared.response.ResponseEnum;
+import org.fd.mcb.shared.response.ResponseHelper;
+import org.fd.mcb.shared.response.template.ResponseData;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+
+@RestController
+@RequestMapping("/admin/audit-trail")
+@RequiredArgsConstructor
+public class AuditTrailController {
+
+    private final ResponseHelper responseHelper;
+    private final AuditTrailService auditTrailService;
+
+    @GetMapping
+    public ResponseEntity<ResponseData<List<AuditTrailEntryDto>>> findEntries(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) ZonedDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) ZonedDateTime to,
+            @RequestParam(required = false) String action,
+            @RequestParam(required = false) Integer limit) {
+        return responseHelper.createResponseData(
+                ResponseEnum.SUCCESS,
+                auditTrailService.find(from, to, action, limit)
+        );
+    }
+
+    @GetMapping("/verify")
+    public ResponseEntity<ResponseData<AuditTrailVerificationDto>> verify() {
+        return responseHelper.createResponseData(
+                ResponseEnum.SUCCESS,
+                auditTrailService.verify()
+        );
+    }
+
+}
@@ -0,0 +1,10 @@
+package org.fd.mcb.modules.auditlog.dto;
+
+import java.time.ZonedDateTime;
+
+public record AuditRecord(
+        Long userId,
+        String action,
+        String details,
+        ZonedDateTime createdAt) {
+}
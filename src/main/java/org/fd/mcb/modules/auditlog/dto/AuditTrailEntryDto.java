@@ -0,0 +1,14 @@
+package org.fd.mcb.modules.auditlog.dto;
+
+import java.time.ZonedDateTime;
+import lombok.Data;
+
+@Data
+public class AuditTrailEntryDto {
+    // Position in this instance's trail, gap free
+    private long sequence;
+    private Long userId;
+    private String action;
+    private String details;
+    private ZonedDateTime createdAt;
+}
@@ -0,0 +1,21 @@
+package org.fd.mcb.modules.auditlog.dto;
+
+import java.time.ZonedDateTime;
+import lombok.Data;
+
+@Data
+public class AuditTrailVerificationDto {
+    private boolean valid;
+    private int segments;
+    private long batches;
+    private long records;
+    // First batch whose hash does not match the chain, null when valid
+    private String brokenSegment;
+    private Long brokenOffset;
+    // Latest head recorded in the database and whether the trail still ends in it, null without an anchor
+    private Long anchoredSequence;
+    private Boolean anchorMatched;
+    // audit_logs rows past the catch-up delay that are in no trail yet
+    private long missingEntries;
+    private ZonedDateTime verifiedAt;
+}
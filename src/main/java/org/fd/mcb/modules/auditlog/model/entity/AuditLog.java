@@ -4,8 +4,6 @@ package org.fd.mcb.modules.auditlog.model.entity;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.Lob;
@@ -15,6 +13,7 @@ import java.time.ZonedDateTime;
 import lombok.Getter;
 import lombok.Setter;
 import org.fd.mcb.modules.staff.model.entity.Staff;
+import org.fd.mcb.shared.id.PooledId;
 
 @Entity
 @Table(name = "audit_logs")
@@ -23,7 +22,7 @@ import org.fd.mcb.modules.staff.model.entity.Staff;
 public class AuditLog {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledId(sequenceName = "audit_logs_seq")
     @Column(name = "id")
     private Long id;
 
@@ -38,6 +37,10 @@ public class AuditLog {
     @Column(name = "details")
     private String details;
 
-    @Column(name = "created_at", nullable = false, updatable = false, insertable = false, columnDefinition = "TIMESTAMP DEFAULT CURRENT_TIMESTAMP")
+    @Column(name = "created_at", nullable = false, updatable = false, columnDefinition = "TIMESTAMP DEFAULT CURRENT_TIMESTAMP")
     private ZonedDateTime createdAt;
+
+    // Set once the entry is in an audit trail, rows left unset are caught up by the writer
+    @Column(name = "trailed", nullable = false)
+    private Boolean trailed = false;
 }
@@ -0,0 +1,37 @@
+package org.fd.mcb.modules.auditlog.model.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.ZonedDateTime;
+import lombok.Getter;
+import lombok.Setter;
+
+@Entity
+@Table(name = "audit_trail_anchors")
+@Getter
+@Setter
+public class AuditTrailAnchor {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "trail_id", nullable = false)
+    private String trailId;
+
+    // Sequence of the last record of the anchored batch
+    @Column(name = "last_sequence", nullable = false)
+    private Long lastSequence;
+
+    // Hex encoded chain hash of that batch
+    @Column(name = "hash", length = 64, nullable = false)
+    private String hash;
+
+    @Column(name = "created_at", nullable = false)
+    private ZonedDateTime createdAt;
+}
@@ -1,10 +1,27 @@
-
 package org.fd.mcb.modules.auditlog.repository;
 
+import jakarta.persistence.LockModeType;
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.List;
 import org.fd.mcb.modules.auditlog.model.entity.AuditLog;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface AuditLogRepository extends CrudRepository<AuditLog, Long> {
+
+    @Modifying
+    @Query("UPDATE AuditLog a SET a.trailed = true WHERE a.id IN :ids")
+    int markTrailed(@Param("ids") Collection<Long> ids);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<AuditLog> findByTrailedFalseAndCreatedAtBeforeOrderByIdAsc(ZonedDateTime before, Limit limit);
+
+    long countByTrailedFalseAndCreatedAtBefore(ZonedDateTime before);
 }
@@ -0,0 +1,12 @@
+package org.fd.mcb.modules.auditlog.repository;
+
+import java.util.Optional;
+import org.fd.mcb.modules.auditlog.model.entity.AuditTrailAnchor;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface AuditTrailAnchorRepository extends CrudRepository<AuditTrailAnchor, Long> {
+
+    Optional<AuditTrailAnchor> findTopByTrailIdOrderByLastSequenceDesc(String trailId);
+}
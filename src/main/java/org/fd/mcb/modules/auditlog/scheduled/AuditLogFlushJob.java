@@ -0,0 +1,24 @@
+package org.fd.mcb.modules.auditlog.scheduled;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.fd.mcb.modules.auditlog.service.AuditLogService;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AuditLogFlushJob {
+
+    private final AuditLogService auditLogService;
+
+    @Scheduled(fixedDelayString = "${audit-log.flush-interval:PT1S}")
+    public void flushAuditLog() {
+        try {
+            auditLogService.flush();
+        } catch (Exception e) {
+            log.error("Error during audit log flush job", e);
+        }
+    }
+}
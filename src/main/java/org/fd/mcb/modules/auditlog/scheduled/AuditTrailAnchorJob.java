@@ -0,0 +1,24 @@
+package org.fd.mcb.modules.auditlog.scheduled;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.fd.mcb.modules.auditlog.service.AuditTrailService;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AuditTrailAnchorJob {
+
+    private final AuditTrailService auditTrailService;
+
+    @Scheduled(fixedDelayString = "${audit-log.trail.anchor-interval:PT1M}")
+    public void anchorAuditTrail() {
+        try {
+            auditTrailService.anchor();
+        } catch (Exception e) {
+            log.error("Error during audit trail anchor job", e);
+        }
+    }
+}
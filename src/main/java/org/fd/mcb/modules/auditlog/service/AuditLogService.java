@@ -0,0 +1,25 @@
+package org.fd.mcb.modules.auditlog.service;
+
+import org.fd.mcb.modules.auditlog.dto.context.AuditLogContext;
+
+public interface AuditLogService {
+
+    /**
+     * Queue the entry for the background writer once the surrounding transaction commits. Never waits
+     * for the database or the spill file.
+     */
+    void record(AuditLogContext context);
+
+    /**
+     * Write the entry in the caller's transaction, for entries that must commit or roll back together
+     * with the change they describe.
+     */
+    void recordInTransaction(AuditLogContext context);
+
+    /**
+     * Write queued and spilled entries to audit_logs
+     *
+     * @return entries written
+     */
+    int flush();
+}
@@ -0,0 +1,33 @@
+package org.fd.mcb.modules.auditlog.service;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+import org.fd.mcb.modules.auditlog.dto.AuditRecord;
+import org.fd.mcb.modules.auditlog.dto.AuditTrailEntryDto;
+import org.fd.mcb.modules.auditlog.dto.AuditTrailVerificationDto;
+
+/**
+ * Append-only, hash-chained copy of the audit log in local segment files, read without touching the
+ * database. Each instance keeps the trail of the entries it wrote.
+ */
+public interface AuditTrailService {
+
+    boolean isEnabled();
+
+    /**
+     * Append the records as one chained batch
+     */
+    void append(List<AuditRecord> records);
+
+    List<AuditTrailEntryDto> find(ZonedDateTime from, ZonedDateTime to, String action, Integer limit);
+
+    /**
+     * Record the current head of the trail in the database
+     */
+    void anchor();
+
+    /**
+     * Recompute the hash chain over the whole trail and check it against the latest anchor
+     */
+    AuditTrailVerificationDto verify();
+}
@@ -0,0 +1,274 @@
+package org.fd.mcb.modules.auditlog.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import lombok.extern.slf4j.Slf4j;
+import org.fd.mcb.configs.AuditLogConfigProperties;
+import org.fd.mcb.modules.auditlog.adapter.command.AuditLogCommandAdapter;
+import org.fd.mcb.modules.auditlog.dto.AuditRecord;
+import org.fd.mcb.modules.auditlog.dto.context.AuditLogContext;
+import org.fd.mcb.modules.auditlog.model.entity.AuditLog;
+import org.fd.mcb.modules.auditlog.repository.AuditLogRepository;
+import org.fd.mcb.modules.auditlog.service.AuditLogService;
+import org.fd.mcb.modules.auditlog.service.AuditTrailService;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Slf4j
+@Service
+public class AuditLogServiceImpl implements AuditLogService {
+
+    private final AuditLogConfigProperties config;
+    private final AuditLogCommandAdapter auditLogCommandAdapter;
+    private final AuditLogRepository auditLogRepository;
+    private final AuditTrailService auditTrailService;
+    private final TransactionTemplate transactionTemplate;
+
+    // Fixed size ring buffer, offer() fails instead of waiting when the writer falls behind
+    private final BlockingQueue<AuditRecord> buffer;
+    // Takes what the buffer cannot, the writer spills it so producers never wait on a synced file write
+    private final BlockingQueue<AuditRecord> overflow;
+    private final AuditSpillFile spillFile;
+    // Rows committed by recordInTransaction, appended to the trail by the writer rather than the committing thread
+    private final BlockingQueue<CommittedRecord> committed;
+    // Ids of rows appended to the trail, marked in the database with the next flush
+    private final ConcurrentLinkedQueue<Long> trailedIds = new ConcurrentLinkedQueue<>();
+
+    public AuditLogServiceImpl(AuditLogConfigProperties config,
+                               AuditLogCommandAdapter auditLogCommandAdapter,
+                               AuditLogRepository auditLogRepository,
+                               AuditTrailService auditTrailService,
+                               TransactionTemplate transactionTemplate,
+                               ObjectMapper objectMapper) {
+        this.config = config;
+        this.auditLogCommandAdapter = auditLogCommandAdapter;
+        this.auditLogRepository = auditLogRepository;
+        this.auditTrailService = auditTrailService;
+        this.transactionTemplate = transactionTemplate;
+        this.buffer = new ArrayBlockingQueue<>(config.getBufferCapacity());
+        this.overflow = new ArrayBlockingQueue<>(config.getOverflowCapacity());
+        this.committed = new ArrayBlockingQueue<>(config.getBufferCapacity());
+        this.spillFile = new AuditSpillFile(Path.of(config.getSpillFile()), objectMapper);
+    }
+
+    @Override
+    public void record(AuditLogContext context) {
+        AuditRecord record = new AuditRecord(
+                context.getUser() != null ? context.getUser().getId() : null,
+                context.getAction(),
+                context.getDetails(),
+                ZonedDateTime.now());
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            enqueue(record);
+            return;
+        }
+        // An entry describing a rolled back change must never be written
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                enqueue(record);
+            }
+        });
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordInTransaction(AuditLogContext context) {
+        // audit_logs lives in the business database, the row itself is the outbox entry
+        AuditLog auditLog = auditLogCommandAdapter.save(context);
+        AuditRecord record = new AuditRecord(
+                context.getUser() != null ? context.getUser().getId() : null,
+                auditLog.getAction(),
+                auditLog.getDetails(),
+                auditLog.getCreatedAt());
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                // Full: the row is committed and unmarked, the catch-up appends it instead
+                if (!committed.offer(new CommittedRecord(record, auditLog.getId()))) {
+                    log.debug("Audit trail queue full, leaving entry {} to the catch-up", auditLog.getId());
+                }
+            }
+        });
+    }
+
+    @Override
+    public synchronized int flush() {
+        // Overflow goes to the spill file first, so it is durable before anything else is attempted
+        spillOverflow();
+
+        int written;
+        try {
+            written = spillFile.replay(config.getBatchSize(), this::write);
+        } catch (IOException | RuntimeException e) {
+            // Still unreachable, keep the buffer moving into the spill file rather than retrying every batch
+            log.warn("Audit spill replay failed, spilling {} buffered entries", buffer.size(), e);
+            spillBuffered(new ArrayList<>());
+            return 0;
+        }
+
+        List<AuditRecord> batch = new ArrayList<>(config.getBatchSize());
+        while (buffer.drainTo(batch, config.getBatchSize()) > 0) {
+            try {
+                write(batch);
+                written += batch.size();
+            } catch (RuntimeException e) {
+                log.warn("Failed to write {} audit entries, spilling them", batch.size(), e);
+                spillBuffered(batch);
+                break;
+            }
+            batch.clear();
+        }
+
+        if (written > 0) {
+            log.debug("Wrote {} audit entries", written);
+        }
+        appendCommitted();
+        markTrailed();
+        catchUpTrail();
+        return written;
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        try {
+            flush();
+        } catch (Exception e) {
+            log.error("Failed to flush audit log on shutdown", e);
+        }
+    }
+
+    private void enqueue(AuditRecord record) {
+        // Buffer full: the writer moves the entry to the spill file with its next flush
+        if (buffer.offer(record) || overflow.offer(record)) {
+            return;
+        }
+        log.error("Audit entry lost, buffer and overflow full: {} - {}", record.action(), record.details());
+    }
+
+    private void spillOverflow() {
+        List<AuditRecord> records = new ArrayList<>();
+        overflow.drainTo(records);
+        if (records.isEmpty()) {
+            return;
+        }
+        log.warn("Audit buffer overflowed, spilling {} entries", records.size());
+        try {
+            spillFile.append(records);
+        } catch (RuntimeException e) {
+            log.error("Failed to spill audit entries, {} entries lost", records.size(), e);
+        }
+    }
+
+    private void write(List<AuditRecord> records) {
+        if (records.isEmpty()) {
+            return;
+        }
+        List<AuditLog> saved = transactionTemplate.execute(status -> auditLogCommandAdapter.saveAll(records));
+        appendToTrail(records, saved.stream().map(AuditLog::getId).toList());
+    }
+
+    private void appendToTrail(List<AuditRecord> records, List<Long> ids) {
+        if (!auditTrailService.isEnabled()) {
+            return;
+        }
+        // The rows are committed, a failing trail must not send them through the spill file again,
+        // they stay unmarked and the catch-up appends them later
+        try {
+            auditTrailService.append(records);
+            trailedIds.addAll(ids);
+        } catch (RuntimeException e) {
+            log.error("Failed to append {} audit entries to the audit trail", records.size(), e);
+        }
+    }
+
+    private void appendCommitted() {
+        List<CommittedRecord> drained = new ArrayList<>();
+        committed.drainTo(drained);
+        if (drained.isEmpty()) {
+            return;
+        }
+        appendToTrail(drained.stream().map(CommittedRecord::record).toList(),
+                drained.stream().map(CommittedRecord::id).toList());
+    }
+
+    private void markTrailed() {
+        List<Long> ids = new ArrayList<>();
+        for (Long id = trailedIds.poll(); id != null; id = trailedIds.poll()) {
+            ids.add(id);
+        }
+        if (ids.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> auditLogCommandAdapter.markTrailed(ids));
+        } catch (RuntimeException e) {
+            log.warn("Failed to mark {} audit entries as trailed, retrying with the next flush", ids.size(), e);
+            trailedIds.addAll(ids);
+        }
+    }
+
+    /**
+     * Append rows that never reached a trail, left by a failed append or a crash between the commit and the
+     * append. Only rows past the catch-up delay are taken, younger ones may still be on their way. Appending
+     * before the rows are marked means a failed commit duplicates them in the trail rather than losing them.
+     */
+    private void catchUpTrail() {
+        if (!auditTrailService.isEnabled()) {
+            return;
+        }
+        ZonedDateTime before = ZonedDateTime.now().minus(config.getTrail().getCatchUpDelay());
+        try {
+            int caughtUp = transactionTemplate.execute(status -> {
+                List<AuditLog> missing = auditLogRepository.findByTrailedFalseAndCreatedAtBeforeOrderByIdAsc(
+                        before, Limit.of(config.getBatchSize()));
+                if (missing.isEmpty()) {
+                    return 0;
+                }
+                auditTrailService.append(missing.stream()
+                        .map(auditLog -> new AuditRecord(
+                                auditLog.getUser() != null ? auditLog.getUser().getId() : null,
+                                auditLog.getAction(),
+                                auditLog.getDetails(),
+                                auditLog.getCreatedAt()))
+                        .toList());
+                missing.forEach(auditLog -> auditLog.setTrailed(true));
+                return missing.size();
+            });
+            if (caughtUp > 0) {
+                log.warn("Appended {} audit entries missing from the audit trail", caughtUp);
+            }
+        } catch (RuntimeException e) {
+            log.error("Failed to catch up the audit trail", e);
+        }
+    }
+
+    private void spillBuffered(List<AuditRecord> records) {
+        buffer.drainTo(records);
+        if (records.isEmpty()) {
+            return;
+        }
+        try {
+            spillFile.append(records);
+        } catch (RuntimeException e) {
+            log.error("Failed to spill audit entries, {} entries lost", records.size(), e);
+        }
+    }
+
+    private record CommittedRecord(AuditRecord record, Long id) {
+    }
+}
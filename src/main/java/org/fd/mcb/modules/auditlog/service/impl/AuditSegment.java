@@ -0,0 +1,473 @@
+package org.fd.mcb.modules.auditlog.service.impl;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.fd.mcb.modules.auditlog.dto.AuditRecord;
+import org.fd.mcb.modules.auditlog.dto.AuditTrailEntryDto;
+
+/**
+ * One file of the audit trail plus its sparse index. The data file is a sequence of batches:
+ * <pre>
+ * int magic | long firstSequence | int recordCount | int payloadLength | payload | byte[32] hash
+ * </pre>
+ * where the hash is SHA-256 over the previous batch's hash followed by this batch's header and payload,
+ * chaining every batch to all batches before it, across segments. Each record in the payload is
+ * {@code long createdAt | long userId | short actionLength | action | int detailsLength | details}.
+ * <p>
+ * The index file holds one entry per block of about {@code indexInterval} records with the block's time
+ * range, byte range and a 64 bit mask of its actions, so queries skip blocks that cannot match. The
+ * block still being filled is not indexed and always scanned. Only the owning service appends; readers
+ * work on a {@link View} over a read-only mapping of the committed part of the file, which is kept until
+ * the segment grows, so a sealed segment is mapped once.
+ */
+class AuditSegment {
+
+    static final int HASH_LENGTH = 32;
+    static final byte[] GENESIS_HASH = new byte[HASH_LENGTH];
+
+    private static final int MAGIC = 0x41554454;
+    private static final int HEADER_LENGTH = 20;
+    private static final int INDEX_ENTRY_LENGTH = 48;
+    private static final long NO_USER = -1L;
+    private static final int NO_DETAILS = -1;
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+
+    private final Path dataPath;
+    private final FileChannel data;
+    private final FileChannel index;
+    private final int indexInterval;
+
+    private final List<Block> blocks = new ArrayList<>();
+    private Block openBlock;
+    private volatile long size;
+    private long nextSequence;
+    private MappedByteBuffer mapping;
+
+    private AuditSegment(Path dataPath, long firstSequence, int indexInterval) throws IOException {
+        this.dataPath = dataPath;
+        this.indexInterval = indexInterval;
+        this.data = FileChannel.open(dataPath,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.index = FileChannel.open(indexPathOf(dataPath),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.nextSequence = firstSequence;
+    }
+
+    static AuditSegment create(Path directory, long firstSequence, int indexInterval) throws IOException {
+        AuditSegment segment = new AuditSegment(
+                directory.resolve(String.format("%020d.seg", firstSequence)), firstSequence, indexInterval);
+        segment.openBlock = new Block(0);
+        return segment;
+    }
+
+    /**
+     * Open an existing segment: load its index, then scan the unindexed tail. An incomplete batch at the
+     * end, left by a crash mid-write, is cut off.
+     */
+    static AuditSegment open(Path dataPath, int indexInterval) throws IOException {
+        String name = dataPath.getFileName().toString();
+        long firstSequence = Long.parseLong(name.substring(0, name.indexOf('.')));
+        AuditSegment segment = new AuditSegment(dataPath, firstSequence, indexInterval);
+        segment.loadIndex();
+        segment.recoverTail();
+        return segment;
+    }
+
+    static Path indexPathOf(Path dataPath) {
+        String name = dataPath.getFileName().toString();
+        return dataPath.resolveSibling(name.substring(0, name.indexOf('.')) + ".idx");
+    }
+
+    String name() {
+        return dataPath.getFileName().toString();
+    }
+
+    long size() {
+        return size;
+    }
+
+    long nextSequence() {
+        return nextSequence;
+    }
+
+    byte[] lastHash() throws IOException {
+        if (size == 0) {
+            return null;
+        }
+        ByteBuffer hash = ByteBuffer.allocate(HASH_LENGTH);
+        data.read(hash, size - HASH_LENGTH);
+        return hash.array();
+    }
+
+    /**
+     * Append one encoded batch and sync it to disk.
+     */
+    synchronized void append(EncodedBatch batch) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(batch.bytes());
+        long position = size;
+        while (buffer.hasRemaining()) {
+            position += data.write(buffer, position);
+        }
+        data.force(false);
+
+        size = position;
+        nextSequence = batch.firstSequence() + batch.recordCount();
+        openBlock.add(batch.minTime(), batch.maxTime(), batch.actionMask(), batch.recordCount(), size, nextSequence);
+        if (openBlock.records >= indexInterval) {
+            closeBlock();
+        }
+    }
+
+    /**
+     * Index whatever is left in the open block, no more batches follow.
+     */
+    synchronized void seal() throws IOException {
+        if (openBlock.records > 0) {
+            closeBlock();
+        }
+    }
+
+    void close() throws IOException {
+        data.close();
+        index.close();
+    }
+
+    synchronized View view() throws IOException {
+        List<Block> snapshot = new ArrayList<>(blocks);
+        if (openBlock.records > 0) {
+            snapshot.add(openBlock.copy());
+        }
+        // Views only read through duplicates, so they can share one mapping
+        if (mapping == null || mapping.capacity() != size) {
+            mapping = data.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+        return new View(name(), mapping, snapshot);
+    }
+
+    private synchronized void closeBlock() throws IOException {
+        ByteBuffer entry = ByteBuffer.allocate(INDEX_ENTRY_LENGTH)
+                .putLong(openBlock.minTime)
+                .putLong(openBlock.maxTime)
+                .putLong(openBlock.start)
+                .putLong(openBlock.end)
+                .putLong(openBlock.actionMask)
+                .putLong(openBlock.nextSequence)
+                .flip();
+        index.write(entry, (long) blocks.size() * INDEX_ENTRY_LENGTH);
+        index.force(false);
+        blocks.add(openBlock);
+        openBlock = new Block(openBlock.end);
+    }
+
+    private void loadIndex() throws IOException {
+        // A torn last entry is dropped, its block is rebuilt from the data file
+        long entries = index.size() / INDEX_ENTRY_LENGTH;
+        index.truncate(entries * INDEX_ENTRY_LENGTH);
+        ByteBuffer buffer = ByteBuffer.allocate(INDEX_ENTRY_LENGTH);
+        for (long i = 0; i < entries; i++) {
+            buffer.clear();
+            index.read(buffer, i * INDEX_ENTRY_LENGTH);
+            buffer.flip();
+            Block block = new Block(0);
+            block.minTime = buffer.getLong();
+            block.maxTime = buffer.getLong();
+            block.start = buffer.getLong();
+            block.end = buffer.getLong();
+            block.actionMask = buffer.getLong();
+            block.nextSequence = buffer.getLong();
+            blocks.add(block);
+        }
+        if (!blocks.isEmpty()) {
+            nextSequence = blocks.getLast().nextSequence;
+        }
+    }
+
+    private void recoverTail() throws IOException {
+        long position = blocks.isEmpty() ? 0 : blocks.getLast().end;
+        openBlock = new Block(position);
+        long fileSize = data.size();
+        MappedByteBuffer mapped = data.map(FileChannel.MapMode.READ_ONLY, 0, fileSize);
+
+        while (position + HEADER_LENGTH <= fileSize) {
+            mapped.position((int) position);
+            if (mapped.getInt() != MAGIC) {
+                break;
+            }
+            long batchSequence = mapped.getLong();
+            int recordCount = mapped.getInt();
+            int payloadLength = mapped.getInt();
+            long end = position + HEADER_LENGTH + payloadLength + HASH_LENGTH;
+            if (payloadLength < 0 || end > fileSize) {
+                break;
+            }
+
+            long minTime = Long.MAX_VALUE;
+            long maxTime = Long.MIN_VALUE;
+            long actionMask = 0;
+            for (int i = 0; i < recordCount; i++) {
+                long createdAt = mapped.getLong();
+                mapped.getLong();
+                String action = readString(mapped, mapped.getShort());
+                skipDetails(mapped);
+                minTime = Math.min(minTime, createdAt);
+                maxTime = Math.max(maxTime, createdAt);
+                actionMask |= actionBit(action);
+            }
+
+            size = end;
+            nextSequence = batchSequence + recordCount;
+            openBlock.add(minTime, maxTime, actionMask, recordCount, end, nextSequence);
+            if (openBlock.records >= indexInterval) {
+                closeBlock();
+            }
+            position = end;
+        }
+
+        size = position;
+        if (fileSize > size) {
+            data.truncate(size);
+        }
+    }
+
+    static long actionBit(String action) {
+        return 1L << Math.floorMod(action.hashCode(), Long.SIZE);
+    }
+
+    static EncodedBatch encode(byte[] previousHash, long firstSequence, List<AuditRecord> records) {
+        List<byte[]> actions = new ArrayList<>(records.size());
+        List<byte[]> details = new ArrayList<>(records.size());
+        int payloadLength = 0;
+        for (AuditRecord record : records) {
+            byte[] action = record.action().getBytes(StandardCharsets.UTF_8);
+            byte[] detail = record.details() != null ? record.details().getBytes(StandardCharsets.UTF_8) : null;
+            actions.add(action);
+            details.add(detail);
+            payloadLength += Long.BYTES * 2 + Short.BYTES + action.length + Integer.BYTES
+                    + (detail != null ? detail.length : 0);
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_LENGTH + payloadLength + HASH_LENGTH)
+                .putInt(MAGIC)
+                .putLong(firstSequence)
+                .putInt(records.size())
+                .putInt(payloadLength);
+
+        long minTime = Long.MAX_VALUE;
+        long maxTime = Long.MIN_VALUE;
+        long actionMask = 0;
+        for (int i = 0; i < records.size(); i++) {
+            AuditRecord record = records.get(i);
+            long createdAt = record.createdAt().toInstant().toEpochMilli();
+            buffer.putLong(createdAt);
+            buffer.putLong(record.userId() != null ? record.userId() : NO_USER);
+            buffer.putShort((short) actions.get(i).length).put(actions.get(i));
+            if (details.get(i) != null) {
+                buffer.putInt(details.get(i).length).put(details.get(i));
+            } else {
+                buffer.putInt(NO_DETAILS);
+            }
+            minTime = Math.min(minTime, createdAt);
+            maxTime = Math.max(maxTime, createdAt);
+            actionMask |= actionBit(record.action());
+        }
+
+        byte[] hash = hash(previousHash, buffer.array(), HEADER_LENGTH + payloadLength);
+        buffer.put(hash);
+        return new EncodedBatch(buffer.array(), hash, firstSequence, records.size(), minTime, maxTime, actionMask);
+    }
+
+    static byte[] hash(byte[] previousHash, byte[] batch, int length) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(previousHash);
+            digest.update(batch, 0, length);
+            return digest.digest();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String readString(ByteBuffer buffer, int length) {
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void skipDetails(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length > 0) {
+            buffer.position(buffer.position() + length);
+        }
+    }
+
+    record EncodedBatch(byte[] bytes, byte[] hash, long firstSequence, int recordCount,
+                        long minTime, long maxTime, long actionMask) {
+    }
+
+    /**
+     * Read-only snapshot of a segment, safe to use while the owner keeps appending.
+     */
+    record View(String name, MappedByteBuffer mapped, List<Block> blocks) {
+
+        /**
+         * Collect the records of the matching blocks that fall in [from, to) and carry the action, if
+         * one is given.
+         *
+         * @return false once {@code limit} entries have been collected
+         */
+        boolean find(long from, long to, String action, int limit, List<AuditTrailEntryDto> results) {
+            long actionBit = action != null ? actionBit(action) : 0;
+            for (Block block : blocks) {
+                if (block.maxTime < from || block.minTime >= to || (block.actionMask & actionBit) != actionBit) {
+                    continue;
+                }
+                ByteBuffer buffer = mapped.duplicate();
+                long position = block.start;
+                while (position < block.end) {
+                    buffer.position((int) position + Integer.BYTES);
+                    long sequence = buffer.getLong();
+                    int recordCount = buffer.getInt();
+                    int payloadLength = buffer.getInt();
+                    for (int i = 0; i < recordCount; i++, sequence++) {
+                        long createdAt = buffer.getLong();
+                        long userId = buffer.getLong();
+                        String recordAction = readString(buffer, buffer.getShort());
+                        if (createdAt < from || createdAt >= to || (action != null && !action.equals(recordAction))) {
+                            skipDetails(buffer);
+                            continue;
+                        }
+                        int detailsLength = buffer.getInt();
+
+                        AuditTrailEntryDto entry = new AuditTrailEntryDto();
+                        entry.setSequence(sequence);
+                        entry.setUserId(userId != NO_USER ? userId : null);
+                        entry.setAction(recordAction);
+                        entry.setDetails(detailsLength != NO_DETAILS ? readString(buffer, detailsLength) : null);
+                        entry.setCreatedAt(ZonedDateTime.ofInstant(Instant.ofEpochMilli(createdAt), ZONE));
+                        results.add(entry);
+                        if (results.size() >= limit) {
+                            return false;
+                        }
+                    }
+                    position += HEADER_LENGTH + payloadLength + HASH_LENGTH;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Recompute the chain over every batch of the segment. The batch ending at the anchor's sequence
+         * must also carry the anchor's hash, otherwise the chain was rewritten up to it.
+         *
+         * @param anchor head recorded outside the trail, null when there is none
+         * @return the verification state after the last batch, or the offset of the first broken batch
+         */
+        ChainState verify(ChainState state, Anchor anchor) {
+            ByteBuffer buffer = mapped.duplicate();
+            byte[] previousHash = state.hash();
+            long expectedSequence = state.nextSequence();
+            long batches = state.batches();
+            long records = state.records();
+            boolean anchorReached = state.anchorReached();
+            int position = 0;
+            while (position < buffer.limit()) {
+                buffer.position(position);
+                boolean framed = buffer.remaining() >= HEADER_LENGTH && buffer.getInt() == MAGIC;
+                long sequence = framed ? buffer.getLong() : 0;
+                int recordCount = framed ? buffer.getInt() : 0;
+                int payloadLength = framed ? buffer.getInt() : 0;
+                int length = HEADER_LENGTH + payloadLength;
+                if (!framed || payloadLength < 0 || position + length + HASH_LENGTH > buffer.limit()) {
+                    return new ChainState(previousHash, expectedSequence, batches, records, anchorReached,
+                            (long) position);
+                }
+
+                byte[] bytes = new byte[length];
+                buffer.position(position).get(bytes);
+                byte[] storedHash = new byte[HASH_LENGTH];
+                buffer.get(storedHash);
+                boolean sequenceBroken = expectedSequence >= 0 && sequence != expectedSequence;
+                if (sequenceBroken || !MessageDigest.isEqual(hash(previousHash, bytes, length), storedHash)) {
+                    return new ChainState(previousHash, expectedSequence, batches, records, anchorReached,
+                            (long) position);
+                }
+                if (anchor != null && sequence + recordCount - 1 == anchor.lastSequence()) {
+                    if (!MessageDigest.isEqual(anchor.hash(), storedHash)) {
+                        return new ChainState(previousHash, expectedSequence, batches, records, false,
+                                (long) position);
+                    }
+                    anchorReached = true;
+                }
+
+                previousHash = storedHash;
+                expectedSequence = sequence + recordCount;
+                batches++;
+                records += recordCount;
+                position += length + HASH_LENGTH;
+            }
+            return new ChainState(previousHash, expectedSequence, batches, records, anchorReached, null);
+        }
+    }
+
+    /**
+     * Sequence and hash of the last batch at some point in time, kept outside the trail.
+     */
+    record Anchor(long lastSequence, byte[] hash) {
+    }
+
+    /**
+     * @param nextSequence  expected first sequence of the next batch, -1 before the first batch
+     * @param anchorReached whether a batch ending at the anchor's sequence has been verified
+     * @param brokenOffset  offset of the first batch that does not fit the chain or the anchor, null while intact
+     */
+    record ChainState(byte[] hash, long nextSequence, long batches, long records, boolean anchorReached,
+                      Long brokenOffset) {
+
+        static ChainState genesis() {
+            return new ChainState(GENESIS_HASH, -1, 0, 0, false, null);
+        }
+    }
+
+    static final class Block {
+
+        private long start;
+        private long end;
+        private long minTime = Long.MAX_VALUE;
+        private long maxTime = Long.MIN_VALUE;
+        private long actionMask;
+        private long nextSequence;
+        private int records;
+
+        private Block(long start) {
+            this.start = start;
+            this.end = start;
+        }
+
+        private void add(long minTime, long maxTime, long actionMask, int records, long end, long nextSequence) {
+            this.minTime = Math.min(this.minTime, minTime);
+            this.maxTime = Math.max(this.maxTime, maxTime);
+            this.actionMask |= actionMask;
+            this.records += records;
+            this.end = end;
+            this.nextSequence = nextSequence;
+        }
+
+        private Block copy() {
+            Block copy = new Block(start);
+            copy.add(minTime, maxTime, actionMask, records, end, nextSequence);
+            return copy;
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package org.fd.mcb.modules.auditlog.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+import org.fd.mcb.modules.auditlog.dto.AuditRecord;
+
+/**
+ * Local append-only file of audit records, one JSON document per line. Records are synced to disk
+ * before {@link #append} returns. Replay moves the file aside first so appends can continue while the
+ * moved records are written to the database; whatever could not be written stays in the moved file and
+ * is picked up by the next replay. A crash between a committed batch and the rewrite of the moved file
+ * replays that batch again, so the file delivers at least once.
+ */
+@Slf4j
+class AuditSpillFile {
+
+    private final Path file;
+    private final Path replaying;
+    private final ObjectMapper objectMapper;
+
+    AuditSpillFile(Path file, ObjectMapper objectMapper) {
+        this.file = file;
+        this.replaying = file.resolveSibling(file.getFileName() + ".replaying");
+        this.objectMapper = objectMapper;
+    }
+
+    synchronized void append(List<AuditRecord> records) {
+        List<String> lines = new ArrayList<>(records.size());
+        for (AuditRecord record : records) {
+            try {
+                lines.add(objectMapper.writeValueAsString(record));
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Audit record cannot be serialized", e);
+            }
+        }
+
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            Files.write(file, lines, StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.DSYNC);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Hand the spilled records to the writer in batches. Stops at the first failing batch and keeps it
+     * and everything after it for the next replay.
+     *
+     * @return records handed over successfully
+     */
+    int replay(int batchSize, Consumer<List<AuditRecord>> writer) throws IOException {
+        synchronized (this) {
+            // A leftover from a failed replay goes first, new spills wait for the next round
+            if (!Files.exists(replaying)) {
+                if (!Files.exists(file)) {
+                    return 0;
+                }
+                Files.move(file, replaying, StandardCopyOption.ATOMIC_MOVE);
+            }
+        }
+
+        // Streamed batch by batch, a large spill never has to fit in memory
+        int replayed = 0;
+        try (BufferedReader reader = Files.newBufferedReader(replaying)) {
+            List<String> batch = new ArrayList<>(batchSize);
+            while (readBatch(reader, batch, batchSize)) {
+                try {
+                    writer.accept(parse(batch));
+                } catch (RuntimeException e) {
+                    keepRemainder(batch, reader);
+                    throw e;
+                }
+                replayed += batch.size();
+                batch.clear();
+            }
+        }
+
+        Files.delete(replaying);
+        return replayed;
+    }
+
+    private static boolean readBatch(BufferedReader reader, List<String> batch, int batchSize) throws IOException {
+        String line;
+        while (batch.size() < batchSize && (line = reader.readLine()) != null) {
+            batch.add(line);
+        }
+        return !batch.isEmpty();
+    }
+
+    /**
+     * Replace the moved file with the failed batch and everything not read yet. Written next to it and
+     * moved over it, so a crash leaves either the old or the new remainder, never a partial one.
+     */
+    private void keepRemainder(List<String> failedBatch, BufferedReader reader) throws IOException {
+        Path remainder = replaying.resolveSibling(replaying.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(remainder, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+             BufferedWriter out = new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8))) {
+            for (String line : failedBatch) {
+                out.write(line);
+                out.newLine();
+            }
+            reader.transferTo(out);
+            out.flush();
+            channel.force(true);
+        }
+        Files.move(remainder, replaying, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private List<AuditRecord> parse(List<String> lines) {
+        List<AuditRecord> records = new ArrayList<>(lines.size());
+        for (String line : lines) {
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                records.add(objectMapper.readValue(line, AuditRecord.class));
+            } catch (JsonProcessingException e) {
+                // A torn last line from a crash mid-append, nothing to recover from it
+                log.error("Skipping unreadable audit spill line: {}", line, e);
+            }
+        }
+        return records;
+    }
+}
@@ -0,0 +1,208 @@
+package org.fd.mcb.modules.auditlog.service.impl;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.fd.mcb.configs.AuditLogConfigProperties;
+import org.fd.mcb.modules.auditlog.dto.AuditRecord;
+import org.fd.mcb.modules.auditlog.dto.AuditTrailEntryDto;
+import org.fd.mcb.modules.auditlog.dto.AuditTrailVerificationDto;
+import org.fd.mcb.modules.auditlog.model.entity.AuditTrailAnchor;
+import org.fd.mcb.modules.auditlog.repository.AuditLogRepository;
+import org.fd.mcb.modules.auditlog.repository.AuditTrailAnchorRepository;
+import org.fd.mcb.modules.auditlog.service.AuditTrailService;
+import org.springframework.stereotype.Service;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AuditTrailServiceImpl implements AuditTrailService {
+
+    private final AuditLogConfigProperties config;
+    private final AuditTrailAnchorRepository auditTrailAnchorRepository;
+    private final AuditLogRepository auditLogRepository;
+
+    // Oldest first, only the last one is appended to
+    private final List<AuditSegment> segments = new CopyOnWriteArrayList<>();
+    private byte[] lastHash = AuditSegment.GENESIS_HASH;
+    private long nextSequence = 1;
+    private String trailId;
+    private long anchoredSequence;
+
+    @PostConstruct
+    synchronized void open() throws IOException {
+        AuditLogConfigProperties.Trail trail = config.getTrail();
+        if (!trail.isEnabled()) {
+            return;
+        }
+
+        Path directory = Path.of(trail.getDirectory());
+        Files.createDirectories(directory);
+        trailId = trail.getAnchorId() != null && !trail.getAnchorId().isBlank()
+                ? trail.getAnchorId()
+                : InetAddress.getLocalHost().getHostName() + ":" + directory.toAbsolutePath().normalize();
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            // Zero padded first sequence in the name, name order is append order
+            files = listing.filter(path -> path.getFileName().toString().endsWith(".seg")).sorted().toList();
+        }
+        for (Path file : files) {
+            segments.add(AuditSegment.open(file, trail.getIndexInterval()));
+        }
+
+        if (!segments.isEmpty()) {
+            AuditSegment last = segments.getLast();
+            byte[] hash = last.lastHash();
+            if (hash != null) {
+                lastHash = hash;
+            } else if (segments.size() > 1) {
+                // Empty last segment, the chain continues from the one before
+                lastHash = segments.get(segments.size() - 2).lastHash();
+            }
+            nextSequence = last.nextSequence();
+        } else {
+            segments.add(AuditSegment.create(directory, nextSequence, trail.getIndexInterval()));
+        }
+        log.info("Audit trail opened with {} segment(s), next sequence {}", segments.size(), nextSequence);
+    }
+
+    @PreDestroy
+    synchronized void close() throws IOException {
+        for (AuditSegment segment : segments) {
+            segment.close();
+        }
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return config.getTrail().isEnabled();
+    }
+
+    @Override
+    public synchronized void append(List<AuditRecord> records) {
+        if (!config.getTrail().isEnabled() || records.isEmpty()) {
+            return;
+        }
+
+        AuditSegment.EncodedBatch batch = AuditSegment.encode(lastHash, nextSequence, records);
+        try {
+            AuditSegment active = segments.getLast();
+            // A batch never spans segments
+            if (active.size() > 0 && active.size() + batch.bytes().length > config.getTrail().getSegmentSize()) {
+                active.seal();
+                active = AuditSegment.create(Path.of(config.getTrail().getDirectory()), nextSequence,
+                        config.getTrail().getIndexInterval());
+                segments.add(active);
+            }
+            active.append(batch);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        lastHash = batch.hash();
+        nextSequence += records.size();
+    }
+
+    @Override
+    public List<AuditTrailEntryDto> find(ZonedDateTime from, ZonedDateTime to, String action, Integer limit) {
+        int maxResults = config.getTrail().getMaxResults();
+        int effectiveLimit = limit != null ? Math.min(limit, maxResults) : maxResults;
+        long fromMillis = from != null ? from.toInstant().toEpochMilli() : Long.MIN_VALUE;
+        long toMillis = to != null ? to.toInstant().toEpochMilli() : Long.MAX_VALUE;
+
+        List<AuditTrailEntryDto> results = new ArrayList<>();
+        try {
+            for (AuditSegment segment : segments) {
+                if (!segment.view().find(fromMillis, toMillis, action, effectiveLimit, results)) {
+                    break;
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return results;
+    }
+
+    @Override
+    public void anchor() {
+        if (!config.getTrail().isEnabled()) {
+            return;
+        }
+
+        long lastSequence;
+        byte[] hash;
+        synchronized (this) {
+            lastSequence = nextSequence - 1;
+            hash = lastHash;
+        }
+        if (lastSequence < 1 || lastSequence == anchoredSequence) {
+            return;
+        }
+
+        AuditTrailAnchor anchor = new AuditTrailAnchor();
+        anchor.setTrailId(trailId);
+        anchor.setLastSequence(lastSequence);
+        anchor.setHash(HexFormat.of().formatHex(hash));
+        anchor.setCreatedAt(ZonedDateTime.now());
+        auditTrailAnchorRepository.save(anchor);
+        anchoredSequence = lastSequence;
+    }
+
+    @Override
+    public AuditTrailVerificationDto verify() {
+        // Read before the segments, so the trail being walked is at least as long as the anchored one
+        AuditSegment.Anchor anchor = config.getTrail().isEnabled()
+                ? auditTrailAnchorRepository.findTopByTrailIdOrderByLastSequenceDesc(trailId)
+                        .map(found -> new AuditSegment.Anchor(
+                                found.getLastSequence(), HexFormat.of().parseHex(found.getHash())))
+                        .orElse(null)
+                : null;
+
+        AuditSegment.ChainState state = AuditSegment.ChainState.genesis();
+        String brokenSegment = null;
+        try {
+            for (AuditSegment segment : segments) {
+                state = segment.view().verify(state, anchor);
+                if (state.brokenOffset() != null) {
+                    brokenSegment = segment.name();
+                    log.error("Audit trail chain broken in segment {} at offset {}", brokenSegment, state.brokenOffset());
+                    break;
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        Boolean anchorMatched = anchor != null ? state.anchorReached() : null;
+        if (brokenSegment == null && Boolean.FALSE.equals(anchorMatched)) {
+            log.error("Audit trail ends before its anchor at sequence {}", anchor.lastSequence());
+        }
+        long missingEntries = auditLogRepository.countByTrailedFalseAndCreatedAtBefore(
+                ZonedDateTime.now().minus(config.getTrail().getCatchUpDelay()));
+
+        AuditTrailVerificationDto dto = new AuditTrailVerificationDto();
+        dto.setValid(brokenSegment == null && !Boolean.FALSE.equals(anchorMatched));
+        dto.setSegments(segments.size());
+        dto.setBatches(state.batches());
+        dto.setRecords(state.records());
+        dto.setBrokenSegment(brokenSegment);
+        dto.setBrokenOffset(state.brokenOffset());
+        dto.setAnchoredSequence(anchor != null ? anchor.lastSequence() : null);
+        dto.setAnchorMatched(anchorMatched);
+        dto.setMissingEntries(missingEntries);
+        dto.setVerifiedAt(ZonedDateTime.now());
+        return dto;
+    }
+}
@@ -3,8 +3,12 @@ package org.fd.mcb.modules.journalentry.adapter.command;
 import org.fd.mcb.modules.journalentry.dto.context.JournalEntryContext;
 import org.fd.mcb.modules.journalentry.model.entity.JournalEntry;
 
+import java.util.List;
+
 public interface JournalEntryCommandAdapter {
 
     JournalEntry save(JournalEntryContext journalEntryContext);
 
+    void saveAll(List<JournalEntryContext> journalEntryContexts);
+
 }
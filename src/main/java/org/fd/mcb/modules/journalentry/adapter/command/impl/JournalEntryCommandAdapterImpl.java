@@ -6,8 +6,12 @@ import org.fd.mcb.modules.journalentry.dto.context.JournalEntryContext;
 import org.fd.mcb.modules.journalentry.mapper.JournalEntryMapper;
 import org.fd.mcb.modules.journalentry.model.entity.JournalEntry;
 import org.fd.mcb.modules.journalentry.model.repository.JournalEntryRepository;
+import org.fd.mcb.modules.reconciliation.service.RunningTotalsService;
 import org.springframework.stereotype.Service;
 
+import java.time.ZonedDateTime;
+import java.util.List;
+
 @Service
 @RequiredArgsConstructor
 public class JournalEntryCommandAdapterImpl implements JournalEntryCommandAdapter {
@@ -16,8 +20,26 @@ public class JournalEntryCommandAdapterImpl implements JournalEntryCommandAdapte
 
     private final JournalEntryRepository journalEntryRepository;
 
+    private final RunningTotalsService runningTotalsService;
+
     @Override
     public JournalEntry save(JournalEntryContext journalEntryContext) {
-        return journalEntryRepository.save(journalEntryMapper.toJournalEntry(journalEntryContext));
+        JournalEntry journalEntry = journalEntryMapper.toJournalEntry(journalEntryContext);
+        journalEntry.setCreatedAt(ZonedDateTime.now());
+        journalEntry = journalEntryRepository.save(journalEntry);
+        runningTotalsService.record(List.of(journalEntry));
+        return journalEntry;
+    }
+
+    @Override
+    public void saveAll(List<JournalEntryContext> journalEntryContexts) {
+        // One timestamp for the batch, the running totals bucket entries by it
+        ZonedDateTime now = ZonedDateTime.now();
+        List<JournalEntry> journalEntries = journalEntryContexts.stream()
+                .map(journalEntryMapper::toJournalEntry)
+                .peek(journalEntry -> journalEntry.setCreatedAt(now))
+                .toList();
+        journalEntryRepository.saveAll(journalEntries);
+        runningTotalsService.record(journalEntries);
     }
 }
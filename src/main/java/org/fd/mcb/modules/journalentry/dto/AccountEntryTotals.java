@@ -0,0 +1,12 @@
+package org.fd.mcb.modules.journalentry.dto;
+
+import java.math.BigDecimal;
+
+public record AccountEntryTotals(
+        Long accountId,
+        String accountNumber,
+        BigDecimal balance,
+        BigDecimal reconciledBalance,
+        BigDecimal totalCredits,
+        BigDecimal totalDebits) {
+}
@@ -0,0 +1,11 @@
+package org.fd.mcb.modules.journalentry.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Credits minus debits of one account over a period.
+ */
+public record AccountNetChange(
+        Long accountId,
+        BigDecimal netChange) {
+}
@@ -0,0 +1,7 @@
+package org.fd.mcb.modules.journalentry.dto;
+
+import java.math.BigDecimal;
+import org.fd.mcb.modules.journalentry.enums.EntryType;
+
+public record EntryTypeTotal(EntryType entryType, BigDecimal total) {
+}
@@ -6,8 +6,6 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
@@ -19,6 +17,7 @@ import lombok.Setter;
 import org.fd.mcb.modules.journalentry.enums.EntryType;
 import org.fd.mcb.modules.master.model.entity.BankAccount;
 import org.fd.mcb.modules.master.model.entity.Transaction;
+import org.fd.mcb.shared.id.PooledId;
 
 @Entity
 @Table(name = "journal_entries")
@@ -27,7 +26,7 @@ import org.fd.mcb.modules.master.model.entity.Transaction;
 public class JournalEntry {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledId(sequenceName = "journal_entries_seq")
     @Column(name = "id")
     private Long id;
 
@@ -46,6 +45,6 @@ public class JournalEntry {
     @Column(name = "amount", precision = 18, scale = 2, nullable = false)
     private BigDecimal amount;
 
-    @Column(name = "created_at", nullable = false, updatable = false, insertable = false, columnDefinition = "TIMESTAMP DEFAULT CURRENT_TIMESTAMP")
+    @Column(name = "created_at", nullable = false, updatable = false, columnDefinition = "TIMESTAMP DEFAULT CURRENT_TIMESTAMP")
     private ZonedDateTime createdAt;
 }
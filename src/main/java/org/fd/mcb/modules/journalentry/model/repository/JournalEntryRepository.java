@@ -1,8 +1,12 @@
 
 package org.fd.mcb.modules.journalentry.model.repository;
 
+import java.math.BigDecimal;
 import java.time.ZonedDateTime;
 import java.util.List;
+import org.fd.mcb.modules.journalentry.dto.AccountEntryTotals;
+import org.fd.mcb.modules.journalentry.dto.AccountNetChange;
+import org.fd.mcb.modules.journalentry.dto.EntryTypeTotal;
 import org.fd.mcb.modules.journalentry.enums.EntryType;
 import org.fd.mcb.modules.journalentry.model.entity.JournalEntry;
 import org.fd.mcb.modules.master.model.entity.BankAccount;
@@ -38,4 +42,42 @@ public interface JournalEntryRepository extends CrudRepository<JournalEntry, Lon
             @Param("entryType") EntryType entryType,
             @Param("startDate") ZonedDateTime startDate,
             @Param("endDate") ZonedDateTime endDate);
+
+    long countByCreatedAtBetween(ZonedDateTime startDate, ZonedDateTime endDate);
+
+    @Query("SELECT new org.fd.mcb.modules.journalentry.dto.EntryTypeTotal(je.entryType, SUM(je.amount)) " +
+            "FROM JournalEntry je WHERE je.createdAt BETWEEN :startDate AND :endDate GROUP BY je.entryType")
+    List<EntryTypeTotal> sumByEntryTypeAndDateRange(
+            @Param("startDate") ZonedDateTime startDate,
+            @Param("endDate") ZonedDateTime endDate);
+
+    @Query("SELECT new org.fd.mcb.modules.journalentry.dto.AccountEntryTotals(" +
+            "ba.id, ba.accountNumber, ba.balance, ba.reconciledBalance, " +
+            "SUM(CASE WHEN je.entryType = org.fd.mcb.modules.journalentry.enums.EntryType.CREDIT THEN je.amount ELSE 0bd END), " +
+            "SUM(CASE WHEN je.entryType = org.fd.mcb.modules.journalentry.enums.EntryType.DEBIT THEN je.amount ELSE 0bd END)) " +
+            "FROM JournalEntry je JOIN je.bankAccount ba " +
+            "WHERE je.createdAt BETWEEN :startDate AND :endDate AND ba.id BETWEEN :fromId AND :toId " +
+            "GROUP BY ba.id, ba.accountNumber, ba.balance, ba.reconciledBalance")
+    List<AccountEntryTotals> sumByAccountAndDateRange(
+            @Param("startDate") ZonedDateTime startDate,
+            @Param("endDate") ZonedDateTime endDate,
+            @Param("fromId") Long fromId,
+            @Param("toId") Long toId);
+
+    @Query("SELECT new org.fd.mcb.modules.journalentry.dto.AccountNetChange(je.bankAccount.id, " +
+            "SUM(CASE WHEN je.entryType = org.fd.mcb.modules.journalentry.enums.EntryType.CREDIT THEN je.amount ELSE -je.amount END)) " +
+            "FROM JournalEntry je WHERE je.createdAt > :after AND je.bankAccount.id BETWEEN :fromId AND :toId " +
+            "GROUP BY je.bankAccount.id")
+    List<AccountNetChange> sumNetChangeByAccountAfter(
+            @Param("after") ZonedDateTime after,
+            @Param("fromId") Long fromId,
+            @Param("toId") Long toId);
+
+    @Query("SELECT COALESCE(SUM(CASE WHEN je.entryType = org.fd.mcb.modules.journalentry.enums.EntryType.CREDIT " +
+            "THEN je.amount ELSE -je.amount END), 0) " +
+            "FROM JournalEntry je WHERE je.bankAccount.id = :accountId AND je.createdAt > :after AND je.createdAt <= :until")
+    BigDecimal sumNetChangeByAccountAndPeriod(
+            @Param("accountId") Long accountId,
+            @Param("after") ZonedDateTime after,
+            @Param("until") ZonedDateTime until);
 }
@@ -5,10 +5,12 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.fd.mcb.modules.auditlog.adapter.command.AuditLogCommandAdapter;
 import org.fd.mcb.modules.auditlog.dto.context.AuditLogContext;
+import org.fd.mcb.modules.auditlog.service.AuditLogService;
 import org.fd.mcb.modules.journalentry.adapter.command.JournalEntryCommandAdapter;
 import org.fd.mcb.modules.journalentry.dto.context.JournalEntryContext;
 import org.fd.mcb.modules.journalentry.dto.request.JournalEntryItemRequest;
@@ -24,6 +26,8 @@ import org.fd.mcb.modules.master.adapter.command.BankAccountCommandAdapter;
 import org.fd.mcb.modules.master.adapter.command.TransactionCommandAdapter;
 import org.fd.mcb.modules.master.adapter.query.BankAccountQueryAdapter;
 import org.fd.mcb.modules.master.adapter.query.PaymentTypeQueryAdapter;
+import org.fd.mcb.modules.master.engine.BalanceEngine;
+import org.fd.mcb.modules.master.engine.HotAccountService;
 import org.fd.mcb.modules.master.enums.AccountType;
 import org.fd.mcb.modules.master.enums.TransactionStatus;
 import org.fd.mcb.modules.master.model.entity.BankAccount;
@@ -53,9 +57,11 @@ public class ManualJournalEntryServiceImpl implements ManualJournalEntryService
     private final TransactionCommandAdapter transactionCommandAdapter;
     private final JournalEntryCommandAdapter journalEntryCommandAdapter;
     private final PaymentTypeQueryAdapter paymentTypeQueryAdapter;
-    private final AuditLogCommandAdapter auditLogCommandAdapter;
+    private final AuditLogService auditLogService;
     private final TransactionRepository transactionRepository;
     private final JournalEntryMapper journalEntryMapper;
+    private final BalanceEngine balanceEngine;
+    private final HotAccountService hotAccountService;
 
     @Override
     @Transactional(timeout = 10, propagation = Propagation.REQUIRES_NEW, isolation = Isolation.REPEATABLE_READ)
@@ -86,6 +92,14 @@ public class ManualJournalEntryServiceImpl implements ManualJournalEntryService
                 .build();
         Transaction transaction = transactionCommandAdapter.save(transactionContext);
 
+        // Credits parked on the stripes of hot accounts must be visible to the negative balance check.
+        // Merged before any account row is locked, stripes always go first
+        request.getEntries().stream()
+                .filter(item -> item.getEntryType() == EntryType.DEBIT)
+                .map(JournalEntryItemRequest::getAccountNumber)
+                .collect(Collectors.toCollection(TreeSet::new))
+                .forEach(hotAccountService::mergeStripes);
+
         // Process each journal entry item
         Map<String, BankAccount> accountCache = new HashMap<>();
         List<JournalEntry> createdEntries = new ArrayList<>();
@@ -103,6 +117,7 @@ public class ManualJournalEntryServiceImpl implements ManualJournalEntryService
             // Update account balance
             updateAccountBalance(bankAccount, item);
             bankAccountCommandAdapter.save(bankAccount);
+            balanceEngine.evict(bankAccount.getId());
 
             // Create journal entry
             JournalEntryContext journalEntryContext = JournalEntryContext.builder()
@@ -177,6 +192,7 @@ public class ManualJournalEntryServiceImpl implements ManualJournalEntryService
                 bankAccount.setAvailableBalance(bankAccount.getAvailableBalance().subtract(originalEntry.getAmount()));
             }
             bankAccountCommandAdapter.save(bankAccount);
+            balanceEngine.evict(bankAccount.getId());
 
             // Create reversal journal entry
             JournalEntryContext journalEntryContext = JournalEntryContext.builder()
@@ -195,7 +211,7 @@ public class ManualJournalEntryServiceImpl implements ManualJournalEntryService
                 .details("Reversed transaction " + request.getTransactionId() + ". Reason: " + request.getReason()
                         + ". Staff: " + (request.getStaffUsername() != null ? request.getStaffUsername() : "UNKNOWN"))
                 .build();
-        auditLogCommandAdapter.save(auditLogContext);
+        auditLogService.recordInTransaction(auditLogContext);
 
         // Build response
         return buildResponse(reversalTransaction, reversalEntries, request.getReason());
@@ -292,7 +308,7 @@ public class ManualJournalEntryServiceImpl implements ManualJournalEntryService
                 .action("MANUAL_JOURNAL_ENTRY_CREATED")
                 .details(details)
                 .build();
-        auditLogCommandAdapter.save(auditLogContext);
+        auditLogService.recordInTransaction(auditLogContext);
     }
 
     private ManualJournalEntryResponse buildResponse(Transaction transaction,
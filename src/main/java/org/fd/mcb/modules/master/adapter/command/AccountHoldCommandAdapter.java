@@ -3,10 +3,17 @@ package org.fd.mcb.modules.master.adapter.command;
 import org.fd.mcb.modules.master.model.entity.AccountHold;
 import org.fd.mcb.modules.transaction.dto.context.AccountHoldContext;
 
+import java.util.Collection;
+import java.util.List;
+
 public interface AccountHoldCommandAdapter {
 
     AccountHold save(AccountHoldContext context);
 
+    void saveAll(List<AccountHoldContext> contexts);
+
     void releaseHold(Long holdId);
 
+    int expireHolds(Collection<Long> holdIds);
+
 }
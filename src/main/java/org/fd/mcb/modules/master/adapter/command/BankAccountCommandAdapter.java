@@ -1,9 +1,24 @@
 package org.fd.mcb.modules.master.adapter.command;
 
+import org.fd.mcb.modules.master.enums.AccountType;
 import org.fd.mcb.modules.master.model.entity.BankAccount;
 
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+
 public interface BankAccountCommandAdapter {
 
     BankAccount save(BankAccount bankAccount);
 
+    void saveAll(List<BankAccount> bankAccounts);
+
+    int blockForReconciliation(Collection<Long> accountIds);
+
+    void applyBalanceDelta(Long accountId, BigDecimal balanceDelta, BigDecimal availableDelta, BigDecimal heldDelta);
+
+    boolean credit(String accountNumber, AccountType accountType, BigDecimal amount);
+
+    boolean debitIfSufficient(String accountNumber, AccountType accountType, BigDecimal amount);
+
 }
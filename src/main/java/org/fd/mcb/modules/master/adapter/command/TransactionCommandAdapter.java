@@ -3,8 +3,12 @@ package org.fd.mcb.modules.master.adapter.command;
 import org.fd.mcb.modules.master.model.entity.Transaction;
 import org.fd.mcb.modules.transaction.dto.context.TransactionContext;
 
+import java.util.List;
+
 public interface TransactionCommandAdapter {
 
     Transaction save(TransactionContext transactionContext);
 
+    List<Transaction> saveAll(List<TransactionContext> transactionContexts);
+
 }
@@ -2,6 +2,8 @@ package org.fd.mcb.modules.master.adapter.command.impl;
 
 import lombok.RequiredArgsConstructor;
 import org.fd.mcb.modules.master.adapter.command.AccountHoldCommandAdapter;
+import org.fd.mcb.modules.master.dto.HoldExpiry;
+import org.fd.mcb.modules.master.engine.HoldExpiryWheel;
 import org.fd.mcb.modules.master.enums.HoldStatus;
 import org.fd.mcb.modules.master.mapper.AccountHoldMapper;
 import org.fd.mcb.modules.master.model.entity.AccountHold;
@@ -10,6 +12,9 @@ import org.fd.mcb.modules.transaction.dto.context.AccountHoldContext;
 import org.springframework.stereotype.Service;
 
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 
 @Service
 @RequiredArgsConstructor
@@ -19,9 +24,22 @@ public class AccountHoldCommandAdapterImpl implements AccountHoldCommandAdapter
 
     private final AccountHoldMapper accountHoldMapper;
 
+    private final HoldExpiryWheel holdExpiryWheel;
+
     @Override
     public AccountHold save(AccountHoldContext context) {
-        return accountHoldRepository.save(accountHoldMapper.toAccountHoldFromContext(context));
+        AccountHold hold = accountHoldRepository.save(accountHoldMapper.toAccountHoldFromContext(context));
+        scheduleExpiry(List.of(hold));
+        return hold;
+    }
+
+    @Override
+    public void saveAll(List<AccountHoldContext> contexts) {
+        List<AccountHold> holds = new ArrayList<>(contexts.size());
+        accountHoldRepository.saveAll(contexts.stream()
+                .map(accountHoldMapper::toAccountHoldFromContext)
+                .toList()).forEach(holds::add);
+        scheduleExpiry(holds);
     }
 
     @Override
@@ -32,4 +50,17 @@ public class AccountHoldCommandAdapterImpl implements AccountHoldCommandAdapter
         hold.setReleasedAt(ZonedDateTime.now());
         accountHoldRepository.save(hold);
     }
+
+    @Override
+    public int expireHolds(Collection<Long> holdIds) {
+        return accountHoldRepository.markExpired(holdIds, ZonedDateTime.now());
+    }
+
+    private void scheduleExpiry(List<AccountHold> holds) {
+        holdExpiryWheel.scheduleAfterCommit(holds.stream()
+                .filter(hold -> hold.getStatus() == HoldStatus.ACTIVE && hold.getExpiresAt() != null)
+                .map(hold -> new HoldExpiry(hold.getId(), hold.getAccount().getId(),
+                        hold.getTransaction().getId(), hold.getAmount(), hold.getExpiresAt()))
+                .toList());
+    }
 }
@@ -2,19 +2,60 @@ package org.fd.mcb.modules.master.adapter.command.impl;
 
 import lombok.RequiredArgsConstructor;
 import org.fd.mcb.modules.master.adapter.command.BankAccountCommandAdapter;
+import org.fd.mcb.modules.master.engine.HotAccountService;
+import org.fd.mcb.modules.master.enums.AccountType;
 import org.fd.mcb.modules.master.model.entity.BankAccount;
 import org.fd.mcb.modules.master.model.repository.BankAccountRepository;
+import org.fd.mcb.shared.exception.BankAccountNotFoundException;
 import org.springframework.stereotype.Service;
 
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+
 @Service
 @RequiredArgsConstructor
 public class BankAccountCommandAdapterImpl implements BankAccountCommandAdapter {
 
     private final BankAccountRepository bankAccountRepository;
+    private final HotAccountService hotAccountService;
 
     @Override
     public BankAccount save(BankAccount bankAccount) {
         return bankAccountRepository.save(bankAccount);
     }
 
+    @Override
+    public void saveAll(List<BankAccount> bankAccounts) {
+        bankAccountRepository.saveAll(bankAccounts);
+    }
+
+    @Override
+    public int blockForReconciliation(Collection<Long> accountIds) {
+        return bankAccountRepository.blockForReconciliation(accountIds);
+    }
+
+    @Override
+    public void applyBalanceDelta(Long accountId, BigDecimal balanceDelta, BigDecimal availableDelta, BigDecimal heldDelta) {
+        if (bankAccountRepository.applyBalanceDelta(accountId, balanceDelta, availableDelta, heldDelta) == 0) {
+            throw new BankAccountNotFoundException();
+        }
+    }
+
+    @Override
+    public boolean credit(String accountNumber, AccountType accountType, BigDecimal amount) {
+        long started = System.nanoTime();
+        boolean applied = bankAccountRepository.creditByAccountNumber(accountNumber, accountType, amount) > 0;
+        hotAccountService.recordLockWait(accountNumber, System.nanoTime() - started);
+        return applied;
+    }
+
+    @Override
+    public boolean debitIfSufficient(String accountNumber, AccountType accountType, BigDecimal amount) {
+        long started = System.nanoTime();
+        boolean applied = bankAccountRepository.debitIfSufficientByAccountNumber(accountNumber, accountType, amount) > 0;
+        hotAccountService.recordLockWait(accountNumber, System.nanoTime() - started);
+        return applied;
+    }
+
 }
@@ -8,6 +8,9 @@ import org.fd.mcb.modules.transaction.dto.context.TransactionContext;
 import org.fd.mcb.modules.master.mapper.TransactionMapper;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @Service
 @RequiredArgsConstructor
 public class TransactionCommandAdapterImpl implements TransactionCommandAdapter {
@@ -20,4 +23,13 @@ public class TransactionCommandAdapterImpl implements TransactionCommandAdapter
     public Transaction save(TransactionContext transactionContext) {
         return transactionRepository.save(transactionMapper.toTransactionFromContext(transactionContext));
     }
+
+    @Override
+    public List<Transaction> saveAll(List<TransactionContext> transactionContexts) {
+        List<Transaction> saved = new ArrayList<>(transactionContexts.size());
+        transactionRepository.saveAll(transactionContexts.stream()
+                .map(transactionMapper::toTransactionFromContext)
+                .toList()).forEach(saved::add);
+        return saved;
+    }
 }
@@ -1,8 +1,11 @@
 package org.fd.mcb.modules.master.adapter.query;
 
+import org.fd.mcb.modules.master.dto.HoldExpiry;
 import org.fd.mcb.modules.master.model.entity.AccountHold;
 
 import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface AccountHoldQueryAdapter {
@@ -13,6 +16,8 @@ public interface AccountHoldQueryAdapter {
 
     BigDecimal calculateTotalActiveHolds(Long accountId);
 
-    List<AccountHold> findExpiredHolds();
+    List<Long> findActiveHoldIds(Collection<Long> holdIds);
+
+    List<HoldExpiry> findActiveHoldsExpiringBefore(ZonedDateTime expiresBefore, Long afterId, int limit);
 
 }
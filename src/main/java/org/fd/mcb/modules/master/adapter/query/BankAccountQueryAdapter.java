@@ -1,10 +1,17 @@
 package org.fd.mcb.modules.master.adapter.query;
 
+import org.fd.mcb.modules.master.dto.HeldAmountDrift;
 import org.fd.mcb.modules.master.enums.AccountType;
 import org.fd.mcb.modules.master.model.entity.BankAccount;
 
+import java.util.List;
+
 public interface BankAccountQueryAdapter {
 
     BankAccount findByAccountNumber(String accountNumber, AccountType accountType);
 
+    BankAccount findUnlockedByAccountNumber(String accountNumber, AccountType accountType);
+
+    List<HeldAmountDrift> findHeldAmountDrifts();
+
 }
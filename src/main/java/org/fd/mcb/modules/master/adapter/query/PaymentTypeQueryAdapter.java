@@ -2,8 +2,12 @@ package org.fd.mcb.modules.master.adapter.query;
 
 import org.fd.mcb.modules.master.model.entity.PaymentType;
 
+import java.util.Set;
+
 public interface PaymentTypeQueryAdapter {
 
     PaymentType findByName(String name);
 
+    Set<String> refresh();
+
 }
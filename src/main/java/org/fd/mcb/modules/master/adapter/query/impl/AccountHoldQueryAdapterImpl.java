@@ -2,13 +2,16 @@ package org.fd.mcb.modules.master.adapter.query.impl;
 
 import lombok.RequiredArgsConstructor;
 import org.fd.mcb.modules.master.adapter.query.AccountHoldQueryAdapter;
+import org.fd.mcb.modules.master.dto.HoldExpiry;
 import org.fd.mcb.modules.master.enums.HoldStatus;
 import org.fd.mcb.modules.master.model.entity.AccountHold;
 import org.fd.mcb.modules.master.model.repository.AccountHoldRepository;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.time.ZonedDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Service
@@ -34,8 +37,13 @@ public class AccountHoldQueryAdapterImpl implements AccountHoldQueryAdapter {
     }
 
     @Override
-    public List<AccountHold> findExpiredHolds() {
-        return accountHoldRepository.findByStatusAndExpiresAtBefore(HoldStatus.ACTIVE, ZonedDateTime.now());
+    public List<Long> findActiveHoldIds(Collection<Long> holdIds) {
+        return accountHoldRepository.findIdsByIdInAndStatus(holdIds, HoldStatus.ACTIVE);
+    }
+
+    @Override
+    public List<HoldExpiry> findActiveHoldsExpiringBefore(ZonedDateTime expiresBefore, Long afterId, int limit) {
+        return accountHoldRepository.findExpiries(HoldStatus.ACTIVE, expiresBefore, afterId, Limit.of(limit));
     }
 
 }
@@ -2,25 +2,33 @@ package org.fd.mcb.modules.master.adapter.query.impl;
 
 import lombok.RequiredArgsConstructor;
 import org.fd.mcb.modules.master.adapter.query.BankAccountQueryAdapter;
+import org.fd.mcb.modules.master.dto.HeldAmountDrift;
+import org.fd.mcb.modules.master.engine.HotAccountService;
 import org.fd.mcb.modules.master.enums.AccountStatus;
 import org.fd.mcb.modules.master.enums.AccountType;
+import org.fd.mcb.modules.master.enums.HoldStatus;
 import org.fd.mcb.modules.master.model.entity.BankAccount;
 import org.fd.mcb.modules.master.model.repository.BankAccountRepository;
 import org.fd.mcb.shared.exception.BankAccountNotActiveException;
 import org.fd.mcb.shared.exception.BankAccountNotFoundException;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
 @Service
 @RequiredArgsConstructor
 public class BankAccountQueryAdapterImpl implements BankAccountQueryAdapter {
 
     private final BankAccountRepository bankAccountRepository;
+    private final HotAccountService hotAccountService;
 
     @Override
     public BankAccount findByAccountNumber(String accountNumber, AccountType accountType) {
+        long started = System.nanoTime();
         BankAccount bankAccount = bankAccountRepository
                 .findByAccountNumberAndAccountType(accountNumber, accountType)
                 .orElseThrow(BankAccountNotFoundException::new);
+        hotAccountService.recordLockWait(accountNumber, System.nanoTime() - started);
 
         if (bankAccount.getStatus() != AccountStatus.ACTIVE) {
             throw new BankAccountNotActiveException();
@@ -29,4 +37,22 @@ public class BankAccountQueryAdapterImpl implements BankAccountQueryAdapter {
         return bankAccount;
     }
 
+    @Override
+    public BankAccount findUnlockedByAccountNumber(String accountNumber, AccountType accountType) {
+        BankAccount bankAccount = bankAccountRepository
+                .findUnlockedByAccountNumberAndAccountType(accountNumber, accountType)
+                .orElseThrow(BankAccountNotFoundException::new);
+
+        if (bankAccount.getStatus() != AccountStatus.ACTIVE) {
+            throw new BankAccountNotActiveException();
+        }
+
+        return bankAccount;
+    }
+
+    @Override
+    public List<HeldAmountDrift> findHeldAmountDrifts() {
+        return bankAccountRepository.findHeldAmountDrifts(HoldStatus.ACTIVE);
+    }
+
 }
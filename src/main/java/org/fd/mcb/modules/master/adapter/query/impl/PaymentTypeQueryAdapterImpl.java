@@ -1,22 +1,49 @@
 package org.fd.mcb.modules.master.adapter.query.impl;
 
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.fd.mcb.modules.master.adapter.query.PaymentTypeQueryAdapter;
 import org.fd.mcb.modules.master.model.entity.PaymentType;
 import org.fd.mcb.modules.master.model.repository.PaymentTypeRepository;
 import org.fd.mcb.shared.exception.PaymentTypeNotFoundException;
 import org.springframework.stereotype.Service;
 
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class PaymentTypeQueryAdapterImpl implements PaymentTypeQueryAdapter {
 
     private final PaymentTypeRepository paymentTypeRepository;
 
+    // payment_types is seed data, so lookups are served from an immutable snapshot swapped on refresh
+    private volatile Map<String, PaymentType> paymentTypesByName = Map.of();
+
+    @PostConstruct
+    void load() {
+        refresh();
+    }
+
     @Override
     public PaymentType findByName(String name) {
-        return paymentTypeRepository.findByName(name)
-                .orElseThrow(PaymentTypeNotFoundException::new);
+        PaymentType paymentType = paymentTypesByName.get(name);
+        if (paymentType == null) {
+            throw new PaymentTypeNotFoundException();
+        }
+        return paymentType;
+    }
+
+    @Override
+    public Set<String> refresh() {
+        paymentTypesByName = paymentTypeRepository.findAll().stream()
+                .collect(Collectors.toUnmodifiableMap(PaymentType::getName, Function.identity()));
+        log.info("Loaded {} payment types", paymentTypesByName.size());
+        return paymentTypesByName.keySet();
     }
 
 }
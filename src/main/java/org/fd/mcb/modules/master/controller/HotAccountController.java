@@ -0,0 +1,32 @@
+package org.fd.mcb.modules.master.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.fd.mcb.modules.master.dto.HotAccountDto;
+import org.fd.mcb.modules.master.engine.HotAccountService;
+import org.fd.mcb.shared.response.ResponseEnum;
+import org.fd.mcb.shared.response.ResponseHelper;
+import org.fd.mcb.shared.response.template.ResponseData;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/admin/hot-accounts")
+@RequiredArgsConstructor
+public class HotAccountController {
+
+    private final ResponseHelper responseHelper;
+    private final HotAccountService hotAccountService;
+
+    @GetMapping
+    public ResponseEntity<ResponseData<List<HotAccountDto>>> getHotAccounts() {
+        return responseHelper.createResponseData(
+                ResponseEnum.SUCCESS,
+                hotAccountService.findHotAccounts()
+        );
+    }
+
+}
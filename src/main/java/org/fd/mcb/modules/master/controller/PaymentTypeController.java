@@ -0,0 +1,31 @@
+package org.fd.mcb.modules.master.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.fd.mcb.modules.master.adapter.query.PaymentTypeQueryAdapter;
+import org.fd.mcb.shared.response.ResponseEnum;
+import org.fd.mcb.shared.response.ResponseHelper;
+import org.fd.mcb.shared.response.template.ResponseData;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Set;
+
+@RestController
+@RequestMapping("/payment-type")
+@RequiredArgsConstructor
+public class PaymentTypeController {
+
+    private final ResponseHelper responseHelper;
+    private final PaymentTypeQueryAdapter paymentTypeQueryAdapter;
+
+    @PostMapping("/refresh")
+    public ResponseEntity<ResponseData<Set<String>>> refresh() {
+        return responseHelper.createResponseData(
+                ResponseEnum.SUCCESS,
+                paymentTypeQueryAdapter.refresh()
+        );
+    }
+
+}
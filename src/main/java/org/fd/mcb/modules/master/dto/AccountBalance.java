@@ -0,0 +1,9 @@
+package org.fd.mcb.modules.master.dto;
+
+import java.math.BigDecimal;
+
+public record AccountBalance(
+        Long accountId,
+        BigDecimal balance,
+        BigDecimal heldAmount) {
+}
@@ -0,0 +1,10 @@
+package org.fd.mcb.modules.master.dto;
+
+public record AccountIdRange(
+        Long minId,
+        Long maxId) {
+
+    public boolean isEmpty() {
+        return minId == null || maxId == null;
+    }
+}
@@ -0,0 +1,15 @@
+package org.fd.mcb.modules.master.dto;
+
+import java.math.BigDecimal;
+
+public record AvailableBalanceDrift(
+        Long accountId,
+        String accountNumber,
+        BigDecimal balance,
+        BigDecimal availableBalance,
+        BigDecimal activeHolds) {
+
+    public BigDecimal expectedAvailableBalance() {
+        return balance.subtract(activeHolds);
+    }
+}
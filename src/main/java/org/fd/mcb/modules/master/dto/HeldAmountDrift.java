@@ -0,0 +1,14 @@
+package org.fd.mcb.modules.master.dto;
+
+import java.math.BigDecimal;
+
+public record HeldAmountDrift(
+        Long accountId,
+        String accountNumber,
+        BigDecimal heldAmount,
+        BigDecimal activeHolds) {
+
+    public BigDecimal difference() {
+        return heldAmount.subtract(activeHolds);
+    }
+}
@@ -0,0 +1,12 @@
+package org.fd.mcb.modules.master.dto;
+
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+
+public record HoldExpiry(
+        Long holdId,
+        Long accountId,
+        Long transactionId,
+        BigDecimal amount,
+        ZonedDateTime expiresAt) {
+}
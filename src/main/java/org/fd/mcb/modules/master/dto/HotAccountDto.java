@@ -0,0 +1,23 @@
+package org.fd.mcb.modules.master.dto;
+
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+import lombok.Data;
+
+@Data
+public class HotAccountDto {
+    private String accountNumber;
+    private boolean striped;
+    private ZonedDateTime stripedAt;
+    private BigDecimal pendingCredit;
+    // Last completed evaluation window
+    private long lockAcquisitions;
+    private long lockWaitMillis;
+    private double averageLockWaitMillis;
+    private long retries;
+    // Consecutive windows without contention, a striped account is unstriped after enough of them
+    private int quietWindows;
+    // Since this instance started tracking the account
+    private long totalLockWaitMillis;
+    private long totalRetries;
+}
@@ -0,0 +1,56 @@
+package org.fd.mcb.modules.master.engine;
+
+import java.math.BigDecimal;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import org.fd.mcb.modules.master.enums.BalanceOperation;
+import org.fd.mcb.modules.master.model.entity.BankAccount;
+import org.fd.mcb.modules.master.model.entity.Transaction;
+
+public interface BalanceEngine {
+
+    /**
+     * Whether postings should be routed through the engine instead of the locking path
+     */
+    boolean isEnabled();
+
+    /**
+     * Apply a balance operation on the shard that owns the account.
+     * Commands for the same account are applied strictly in submission order by a single writer.
+     * @param accountId The account whose balance is changed
+     * @param operation The balance operation
+     * @param amount The operation amount
+     * @param writeAhead Writes the business rows (transaction, hold) for this posting; runs in the
+     *                   shard's database transaction with the shard's copy of the account and must
+     *                   validate before writing anything
+     * @return The posting with the committed transaction and the resulting balances
+     */
+    BalancePosting post(Long accountId, BalanceOperation operation, BigDecimal amount,
+                        Function<BankAccount, Transaction> writeAhead);
+
+    /**
+     * Queue a balance operation on the shard that owns the account without waiting for it.
+     * Postings queued before the shard drains its queue are committed in the same group commit.
+     * @param accountId The account whose balance is changed
+     * @param operation The balance operation
+     * @param amount The operation amount
+     * @param writeAhead Same contract as for {@link #post}
+     * @return Completes once the posting is committed or rejected, wait for it with {@link #await}
+     */
+    CompletableFuture<BalancePosting> submit(Long accountId, BalanceOperation operation, BigDecimal amount,
+                                             Function<BankAccount, Transaction> writeAhead);
+
+    /**
+     * Wait for a submitted posting, with the same timeout and rejections as {@link #post}
+     * @param posting The future returned by {@link #submit}
+     * @return The posting with the committed transaction and the resulting balances
+     */
+    BalancePosting await(CompletableFuture<BalancePosting> posting);
+
+    /**
+     * Drop the in-memory state of an account so the next command reloads it from the database.
+     * Must be called after the account balance is changed outside the engine.
+     * @param accountId The account ID
+     */
+    void evict(Long accountId);
+}
@@ -0,0 +1,22 @@
+package org.fd.mcb.modules.master.engine;
+
+import java.math.BigDecimal;
+import lombok.Builder;
+import lombok.Getter;
+import org.fd.mcb.modules.journalentry.model.entity.JournalEntry;
+import org.fd.mcb.modules.master.model.entity.Transaction;
+
+@Getter
+@Builder
+public class BalancePosting {
+
+    private Long accountId;
+
+    private Transaction transaction;
+
+    private JournalEntry journalEntry;
+
+    private BigDecimal balance;
+
+    private BigDecimal availableBalance;
+}
@@ -0,0 +1,75 @@
+package org.fd.mcb.modules.master.engine;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.fd.mcb.configs.HoldExpiryConfigProperties;
+import org.fd.mcb.modules.master.dto.HoldExpiry;
+import org.fd.mcb.shared.util.HierarchicalTimingWheel;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * In-memory schedule of active holds by expiry. Holds are added once their authorization commits and
+ * on every reload from the database; a hold captured or cancelled in the meantime stays scheduled and
+ * is skipped when it comes due.
+ */
+@Component
+public class HoldExpiryWheel {
+
+    private final HierarchicalTimingWheel<HoldExpiry> wheel;
+    private final Set<Long> scheduled = new HashSet<>();
+
+    public HoldExpiryWheel(HoldExpiryConfigProperties config) {
+        this.wheel = new HierarchicalTimingWheel<>(config.getTick().toMillis(), config.getWheelSize(),
+                config.getLevels(), System.currentTimeMillis());
+    }
+
+    /**
+     * @return false when the hold expires beyond the wheel's horizon, a later reload picks it up
+     */
+    public synchronized boolean schedule(HoldExpiry hold) {
+        return schedule(hold, hold.expiresAt().toInstant().toEpochMilli());
+    }
+
+    public synchronized boolean schedule(HoldExpiry hold, long deadlineMillis) {
+        if (!scheduled.add(hold.holdId())) {
+            return true;
+        }
+        if (!wheel.add(hold, deadlineMillis)) {
+            scheduled.remove(hold.holdId());
+            return false;
+        }
+        return true;
+    }
+
+    public void scheduleAfterCommit(Collection<HoldExpiry> holds) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            holds.forEach(this::schedule);
+            return;
+        }
+        // A rolled back authorization has no hold to expire
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                holds.forEach(HoldExpiryWheel.this::schedule);
+            }
+        });
+    }
+
+    public synchronized List<HoldExpiry> pollDue(long nowMillis) {
+        List<HoldExpiry> due = wheel.advance(nowMillis);
+        due.forEach(hold -> scheduled.remove(hold.holdId()));
+        return due;
+    }
+
+    public synchronized int size() {
+        return wheel.size();
+    }
+
+    public long horizonMillis() {
+        return wheel.horizonMillis();
+    }
+}
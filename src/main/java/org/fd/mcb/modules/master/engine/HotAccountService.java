@@ -0,0 +1,67 @@
+package org.fd.mcb.modules.master.engine;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import org.fd.mcb.modules.master.dto.HotAccountDto;
+
+public interface HotAccountService {
+
+    /**
+     * Record how long acquiring the row lock of an account took on the locking or conditional-update path
+     * @param accountNumber The account number
+     * @param waitNanos Time spent waiting for the lock
+     */
+    void recordLockWait(String accountNumber, long waitNanos);
+
+    /**
+     * Count the lock failures of the retryable posting running on the calling thread against the account.
+     * Called by the posting flows with the account they lock, before locking it
+     * @param accountNumber The account number
+     */
+    void attributeRetries(String accountNumber);
+
+    /**
+     * Record a retried lock failure of a posting on the account
+     * @param accountNumber The account number
+     */
+    void recordRetry(String accountNumber);
+
+    /**
+     * Whether credits to the account go to its stripes instead of the account row
+     */
+    boolean isStriped(String accountNumber);
+
+    /**
+     * Add a credit to a random stripe of a striped account, without touching the account row
+     */
+    void creditStripe(Long accountId, BigDecimal amount);
+
+    /**
+     * Fold the stripes of a striped account back into its row, so the available balance seen by a
+     * following debit includes every committed credit. Must run before the account row is locked
+     * or loaded in the current transaction.
+     * @return The amount merged, zero for accounts that are not striped
+     */
+    BigDecimal mergeStripes(String accountNumber);
+
+    /**
+     * Merge the stripes of every account with pending credits, one transaction per account
+     */
+    void mergeAllStripes();
+
+    /**
+     * Credits sitting in the stripes of an account that are not part of its row balance yet
+     */
+    BigDecimal findPendingCredit(Long accountId);
+
+    Map<Long, BigDecimal> findPendingCredits(Long fromId, Long toId);
+
+    /**
+     * Close the current contention window, stripe the accounts that crossed a threshold in it and
+     * unstripe the striped accounts that stayed quiet long enough
+     */
+    void evaluate();
+
+    List<HotAccountDto> findHotAccounts();
+}
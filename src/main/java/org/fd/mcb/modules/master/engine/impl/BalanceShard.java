@@ -0,0 +1,306 @@
+package org.fd.mcb.modules.master.engine.impl;
+
+import jakarta.persistence.EntityManager;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+import org.fd.mcb.configs.exception.ModuleException;
+import org.fd.mcb.modules.journalentry.adapter.command.JournalEntryCommandAdapter;
+import org.fd.mcb.modules.journalentry.dto.context.JournalEntryContext;
+import org.fd.mcb.modules.journalentry.enums.EntryType;
+import org.fd.mcb.modules.journalentry.model.entity.JournalEntry;
+import org.fd.mcb.modules.master.adapter.command.BankAccountCommandAdapter;
+import org.fd.mcb.modules.master.engine.BalancePosting;
+import org.fd.mcb.modules.master.enums.BalanceOperation;
+import org.fd.mcb.modules.master.model.entity.BankAccount;
+import org.fd.mcb.modules.master.model.entity.Transaction;
+import org.fd.mcb.shared.exception.BalanceEngineUnavailableException;
+import org.fd.mcb.shared.exception.BankAccountNotFoundException;
+import org.fd.mcb.shared.exception.InsufficientAvailableBalanceException;
+import org.fd.mcb.shared.util.TransactionUtil;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Single writer for the accounts hashed to it. Postings are drained from the queue in batches and
+ * committed together (group commit): business rows and journal entries are written first, then one
+ * delta UPDATE per touched account, and only after the commit the in-memory balances are published
+ * and the callers released.
+ */
+@Slf4j
+class BalanceShard implements Runnable {
+
+    private final int index;
+    private final int maxBatchSize;
+    private final BlockingQueue<PendingPosting> queue;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final BankAccountCommandAdapter bankAccountCommandAdapter;
+    private final JournalEntryCommandAdapter journalEntryCommandAdapter;
+
+    // Only touched by the shard thread
+    private final Map<Long, AccountState> states = new HashMap<>();
+    private final Set<Long> evictions = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean running;
+    private Thread thread;
+
+    BalanceShard(int index,
+                 int queueCapacity,
+                 int maxBatchSize,
+                 TransactionTemplate transactionTemplate,
+                 EntityManager entityManager,
+                 BankAccountCommandAdapter bankAccountCommandAdapter,
+                 JournalEntryCommandAdapter journalEntryCommandAdapter) {
+        this.index = index;
+        this.maxBatchSize = maxBatchSize;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.transactionTemplate = transactionTemplate;
+        this.entityManager = entityManager;
+        this.bankAccountCommandAdapter = bankAccountCommandAdapter;
+        this.journalEntryCommandAdapter = journalEntryCommandAdapter;
+    }
+
+    void start() {
+        running = true;
+        thread = Thread.ofPlatform().name("balance-shard-" + index).start(this);
+    }
+
+    void stop() throws InterruptedException {
+        running = false;
+        thread.interrupt();
+        thread.join(Duration.ofSeconds(10));
+    }
+
+    boolean offer(PendingPosting posting, Duration timeout) throws InterruptedException {
+        return running && queue.offer(posting, timeout.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    void evict(Long accountId) {
+        evictions.add(accountId);
+    }
+
+    @Override
+    public void run() {
+        List<PendingPosting> batch = new ArrayList<>(maxBatchSize);
+        while (running) {
+            try {
+                batch.add(queue.take());
+                queue.drainTo(batch, maxBatchSize - 1);
+                applyEvictions();
+                process(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                log.error("Balance shard {} failed to process batch", index, e);
+            } finally {
+                batch.clear();
+            }
+        }
+
+        queue.drainTo(batch);
+        batch.forEach(posting -> posting.future().completeExceptionally(new BalanceEngineUnavailableException()));
+        log.info("Balance shard {} stopped", index);
+    }
+
+    private void applyEvictions() {
+        if (evictions.isEmpty()) {
+            return;
+        }
+        for (Long accountId : evictions) {
+            evictions.remove(accountId);
+            states.remove(accountId);
+        }
+    }
+
+    private void process(List<PendingPosting> batch) {
+        BatchResult result;
+        try {
+            result = transactionTemplate.execute(status -> applyBatch(batch));
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                batch.getFirst().future().completeExceptionally(e);
+                return;
+            }
+            // One posting poisoned the whole batch, isolate it by replaying them one by one
+            log.warn("Balance shard {} batch of {} rolled back, replaying individually", index, batch.size(), e);
+            for (PendingPosting posting : batch) {
+                process(List.of(posting));
+            }
+            return;
+        }
+
+        // Committed: publish the new balances, then release the callers
+        states.putAll(result.states());
+        result.outcomes().forEach((posting, outcome) -> {
+            if (outcome instanceof ModuleException rejection) {
+                posting.future().completeExceptionally(rejection);
+            } else {
+                posting.future().complete((BalancePosting) outcome);
+            }
+        });
+    }
+
+    private BatchResult applyBatch(List<PendingPosting> batch) {
+        Map<Long, AccountState> working = new HashMap<>();
+        Map<PendingPosting, Object> outcomes = new LinkedHashMap<>();
+
+        for (PendingPosting posting : batch) {
+            try {
+                AccountState state = working.computeIfAbsent(posting.accountId(), this::loadState);
+                BankAccount account = entityManager.getReference(BankAccount.class, posting.accountId());
+                validate(state, posting);
+                Transaction transaction = posting.writeAhead().apply(account);
+                JournalEntry journalEntry = writeJournalEntry(posting, account, transaction);
+                state.apply(posting.operation(), posting.amount());
+                outcomes.put(posting, BalancePosting.builder()
+                        .accountId(posting.accountId())
+                        .transaction(transaction)
+                        .journalEntry(journalEntry)
+                        .balance(state.balance)
+                        .availableBalance(state.availableBalance)
+                        .build());
+            } catch (ModuleException e) {
+                // Business rejection: nothing was written for this posting
+                outcomes.put(posting, e);
+            }
+        }
+
+        for (var entry : working.entrySet()) {
+            AccountState state = entry.getValue();
+            if (state.isDirty()) {
+                bankAccountCommandAdapter.applyBalanceDelta(
+                        entry.getKey(), state.balanceDelta, state.availableDelta, state.heldDelta);
+                state.clearDeltas();
+            }
+        }
+
+        return new BatchResult(working, outcomes);
+    }
+
+    private AccountState loadState(Long accountId) {
+        AccountState cached = states.get(accountId);
+        if (cached != null) {
+            return cached.copy();
+        }
+        BankAccount account = entityManager.find(BankAccount.class, accountId);
+        if (account == null) {
+            throw new BankAccountNotFoundException();
+        }
+        BigDecimal availableBalance = account.getAvailableBalance() != null ?
+                account.getAvailableBalance() : account.getBalance();
+        return new AccountState(account.getBalance(), availableBalance);
+    }
+
+    private void validate(AccountState state, PendingPosting posting) {
+        switch (posting.operation()) {
+            case DEBIT -> TransactionUtil.validateBalance(state.availableBalance, posting.amount());
+            case HOLD -> {
+                if (state.availableBalance.compareTo(posting.amount()) < 0) {
+                    throw new InsufficientAvailableBalanceException();
+                }
+            }
+            default -> {
+                // CREDIT, RELEASE and CAPTURE never reduce the available balance
+            }
+        }
+    }
+
+    private JournalEntry writeJournalEntry(PendingPosting posting, BankAccount account, Transaction transaction) {
+        EntryType entryType = switch (posting.operation()) {
+            case CREDIT -> EntryType.CREDIT;
+            case DEBIT, CAPTURE -> EntryType.DEBIT;
+            case HOLD, RELEASE -> null;
+        };
+        if (entryType == null) {
+            return null;
+        }
+
+        return journalEntryCommandAdapter.save(JournalEntryContext.builder()
+                .transaction(transaction)
+                .bankAccount(account)
+                .amount(posting.amount())
+                .entryType(entryType)
+                .build());
+    }
+
+    record PendingPosting(
+            Long accountId,
+            BalanceOperation operation,
+            BigDecimal amount,
+            Function<BankAccount, Transaction> writeAhead,
+            CompletableFuture<BalancePosting> future) {
+    }
+
+    private record BatchResult(Map<Long, AccountState> states, Map<PendingPosting, Object> outcomes) {
+    }
+
+    private static final class AccountState {
+
+        private BigDecimal balance;
+        private BigDecimal availableBalance;
+        private BigDecimal balanceDelta = BigDecimal.ZERO;
+        private BigDecimal availableDelta = BigDecimal.ZERO;
+        private BigDecimal heldDelta = BigDecimal.ZERO;
+
+        private AccountState(BigDecimal balance, BigDecimal availableBalance) {
+            this.balance = balance;
+            this.availableBalance = availableBalance;
+        }
+
+        private void apply(BalanceOperation operation, BigDecimal amount) {
+            BigDecimal ledgerChange = deltaOf(operation, amount, true);
+            BigDecimal availableChange = deltaOf(operation, amount, false);
+            balance = balance.add(ledgerChange);
+            availableBalance = availableBalance.add(availableChange);
+            balanceDelta = balanceDelta.add(ledgerChange);
+            availableDelta = availableDelta.add(availableChange);
+            heldDelta = heldDelta.add(heldChangeOf(operation, amount));
+        }
+
+        private static BigDecimal deltaOf(BalanceOperation operation, BigDecimal amount, boolean ledger) {
+            return switch (operation) {
+                case CREDIT -> amount;
+                case DEBIT -> amount.negate();
+                case HOLD -> ledger ? BigDecimal.ZERO : amount.negate();
+                case RELEASE -> ledger ? BigDecimal.ZERO : amount;
+                // Held funds leave the balance, the available balance already excluded them
+                case CAPTURE -> ledger ? amount.negate() : BigDecimal.ZERO;
+            };
+        }
+
+        private static BigDecimal heldChangeOf(BalanceOperation operation, BigDecimal amount) {
+            return switch (operation) {
+                case HOLD -> amount;
+                case RELEASE, CAPTURE -> amount.negate();
+                case CREDIT, DEBIT -> BigDecimal.ZERO;
+            };
+        }
+
+        private boolean isDirty() {
+            return balanceDelta.signum() != 0 || availableDelta.signum() != 0 || heldDelta.signum() != 0;
+        }
+
+        private void clearDeltas() {
+            balanceDelta = BigDecimal.ZERO;
+            availableDelta = BigDecimal.ZERO;
+            heldDelta = BigDecimal.ZERO;
+        }
+
+        private AccountState copy() {
+            return new AccountState(balance, availableBalance);
+        }
+    }
+}
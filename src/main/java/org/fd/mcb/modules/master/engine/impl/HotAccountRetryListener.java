@@ -0,0 +1,32 @@
+package org.fd.mcb.modules.master.engine.impl;
+
+import lombok.RequiredArgsConstructor;
+import org.fd.mcb.modules.master.engine.HotAccountService;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.retry.RetryCallback;
+import org.springframework.retry.RetryContext;
+import org.springframework.retry.RetryListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Global listener of the {@code @Retryable} posting methods, counts lock failures against the account
+ * the posting attributed its retries to.
+ */
+@Component
+@RequiredArgsConstructor
+public class HotAccountRetryListener implements RetryListener {
+
+    // Set by HotAccountService.attributeRetries on the context of the running retryable call
+    static final String ACCOUNT_ATTRIBUTE = "mcb.retry.hot-account";
+
+    private final HotAccountService hotAccountService;
+
+    @Override
+    public <T, E extends Throwable> void onError(RetryContext context, RetryCallback<T, E> callback,
+                                                 Throwable throwable) {
+        Object accountNumber = context.getAttribute(ACCOUNT_ATTRIBUTE);
+        if (accountNumber != null && throwable instanceof PessimisticLockingFailureException) {
+            hotAccountService.recordRetry(accountNumber.toString());
+        }
+    }
+}
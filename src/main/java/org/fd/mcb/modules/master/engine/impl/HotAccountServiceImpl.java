@@ -0,0 +1,321 @@
+package org.fd.mcb.modules.master.engine.impl;
+
+import jakarta.annotation.PostConstruct;
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.fd.mcb.configs.BalanceEngineConfigProperties;
+import org.fd.mcb.configs.HotAccountConfigProperties;
+import org.fd.mcb.modules.journalentry.dto.AccountNetChange;
+import org.fd.mcb.modules.master.dto.HotAccountDto;
+import org.fd.mcb.modules.master.engine.HotAccountService;
+import org.fd.mcb.modules.master.model.entity.AccountBalanceStripe;
+import org.fd.mcb.modules.master.model.entity.BankAccount;
+import org.fd.mcb.modules.master.model.repository.AccountBalanceStripeRepository;
+import org.fd.mcb.modules.master.model.repository.BankAccountRepository;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.retry.RetryContext;
+import org.springframework.retry.support.RetrySynchronizationManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class HotAccountServiceImpl implements HotAccountService {
+
+    private final HotAccountConfigProperties config;
+    private final BalanceEngineConfigProperties balanceEngineConfig;
+    private final BankAccountRepository bankAccountRepository;
+    private final AccountBalanceStripeRepository stripeRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<String, Contention> contention = new ConcurrentHashMap<>();
+    // Account number to id of every striped account, reloaded on each evaluation so other instances catch up
+    private volatile Map<String, Long> stripedAccounts = Map.of();
+
+    @PostConstruct
+    void load() {
+        refreshStripedAccounts();
+    }
+
+    @Override
+    public void recordLockWait(String accountNumber, long waitNanos) {
+        if (!isActive()) {
+            return;
+        }
+        contention.computeIfAbsent(accountNumber, k -> new Contention()).recordLock(waitNanos);
+    }
+
+    @Override
+    public void attributeRetries(String accountNumber) {
+        // The context of the retryable call itself, read back by HotAccountRetryListener when an attempt fails
+        RetryContext context = RetrySynchronizationManager.getContext();
+        if (context != null && isActive()) {
+            context.setAttribute(HotAccountRetryListener.ACCOUNT_ATTRIBUTE, accountNumber);
+        }
+    }
+
+    @Override
+    public void recordRetry(String accountNumber) {
+        if (isActive()) {
+            contention.computeIfAbsent(accountNumber, k -> new Contention()).recordRetry();
+        }
+    }
+
+    @Override
+    public boolean isStriped(String accountNumber) {
+        return isActive() && stripedAccounts.containsKey(accountNumber);
+    }
+
+    @Override
+    public void creditStripe(Long accountId, BigDecimal amount) {
+        ZonedDateTime now = ZonedDateTime.now();
+        int slot = ThreadLocalRandom.current().nextInt(Math.max(1, config.getStripes()));
+        // Slot 0 always exists, the stripe count may have been raised since the account was striped
+        if (stripeRepository.addCredit(accountId, slot, amount, now) == 0
+                && stripeRepository.addCredit(accountId, 0, amount, now) == 0) {
+            // Unstriped since this instance last refreshed its striped accounts, the row takes the credit
+            bankAccountRepository.applyBalanceDelta(accountId, amount, amount, BigDecimal.ZERO);
+        }
+    }
+
+    @Override
+    public BigDecimal mergeStripes(String accountNumber) {
+        Long accountId = isActive() ? stripedAccounts.get(accountNumber) : null;
+        if (accountId == null) {
+            return BigDecimal.ZERO;
+        }
+        return merge(accountId);
+    }
+
+    @Override
+    public void mergeAllStripes() {
+        for (Long accountId : stripeRepository.findAccountIdsWithPendingCredit()) {
+            try {
+                BigDecimal merged = transactionTemplate.execute(status -> merge(accountId));
+                log.debug("Merged {} of striped credits into account {}", merged, accountId);
+            } catch (Exception e) {
+                log.error("Failed to merge balance stripes of account {}", accountId, e);
+            }
+        }
+    }
+
+    @Override
+    public BigDecimal findPendingCredit(Long accountId) {
+        return stripeRepository.sumPendingCredit(accountId);
+    }
+
+    @Override
+    public Map<Long, BigDecimal> findPendingCredits(Long fromId, Long toId) {
+        Map<Long, BigDecimal> pending = new HashMap<>();
+        for (AccountNetChange change : stripeRepository.sumPendingCreditByAccount(fromId, toId)) {
+            pending.put(change.accountId(), change.netChange());
+        }
+        return pending;
+    }
+
+    @Override
+    public void evaluate() {
+        if (!isActive()) {
+            return;
+        }
+
+        long lockWaitThreshold = config.getLockWaitThreshold().toNanos();
+        Map<String, Long> striped = stripedAccounts;
+        // Credits to striped accounts take no lock, so they are tracked even when nothing contends on them
+        striped.keySet().forEach(accountNumber -> contention.computeIfAbsent(accountNumber, k -> new Contention()));
+        ZonedDateTime quietSince = ZonedDateTime.now()
+            .minus(config.getEvaluationInterval().multipliedBy(config.getUnstripeAfterQuietWindows()));
+
+        for (var entry : contention.entrySet()) {
+            Contention stats = entry.getValue();
+            stats.roll();
+
+            boolean hot = stats.lastWaitNanos >= lockWaitThreshold || stats.lastRetries >= config.getRetryThreshold();
+            Long stripedId = striped.get(entry.getKey());
+            if (hot && stripedId == null) {
+                log.warn("Account {} is hot: {} ms lock wait and {} retries in the last window, striping it",
+                    entry.getKey(), TimeUnit.NANOSECONDS.toMillis(stats.lastWaitNanos), stats.lastRetries);
+                if (stripe(entry.getKey())) {
+                    stats.stripedAt = ZonedDateTime.now();
+                }
+            } else if (stripedId != null) {
+                stats.quietWindows = hot ? 0 : stats.quietWindows + 1;
+                if (stats.quietWindows >= config.getUnstripeAfterQuietWindows() && unstripe(stripedId, quietSince)) {
+                    log.info("Account {} was quiet for {} windows, unstriped it", entry.getKey(), stats.quietWindows);
+                    contention.remove(entry.getKey(), stats);
+                }
+            } else if (stats.lastLocks == 0 && stats.lastRetries == 0) {
+                // Quiet accounts are dropped so the map only holds the recently contended ones
+                contention.remove(entry.getKey(), stats);
+            }
+        }
+
+        refreshStripedAccounts();
+    }
+
+    @Override
+    public List<HotAccountDto> findHotAccounts() {
+        Map<String, Long> striped = stripedAccounts;
+        List<HotAccountDto> hotAccounts = new ArrayList<>();
+        contention.forEach((accountNumber, stats) -> hotAccounts.add(toDto(accountNumber, stats, striped)));
+        striped.keySet().stream()
+            .filter(accountNumber -> !contention.containsKey(accountNumber))
+            .forEach(accountNumber -> hotAccounts.add(toDto(accountNumber, null, striped)));
+
+        hotAccounts.sort(Comparator.comparing(HotAccountDto::isStriped)
+            .thenComparingLong(HotAccountDto::getLockWaitMillis)
+            .reversed());
+        return hotAccounts;
+    }
+
+    private boolean isActive() {
+        // The balance engine serializes postings per account without row locks, there is nothing to stripe
+        return config.isEnabled() && !balanceEngineConfig.isEnabled();
+    }
+
+    private BigDecimal merge(Long accountId) {
+        // Stripes first, then the account row: the same order as every debit, so merges cannot deadlock with them
+        BigDecimal pending = stripeRepository.findForUpdateByAccountId(accountId).stream()
+            .map(AccountBalanceStripe::getPendingCredit)
+            .reduce(BigDecimal.ZERO, BigDecimal::add);
+        if (pending.signum() == 0) {
+            return BigDecimal.ZERO;
+        }
+
+        stripeRepository.resetByAccountId(accountId, ZonedDateTime.now());
+        bankAccountRepository.applyBalanceDelta(accountId, pending, pending, BigDecimal.ZERO);
+        return pending;
+    }
+
+    private boolean stripe(String accountNumber) {
+        try {
+            return Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+                BankAccount account = bankAccountRepository.findByAccountNumber(accountNumber).orElse(null);
+                if (account == null || stripeRepository.existsByAccountId(account.getId())) {
+                    return false;
+                }
+
+                ZonedDateTime now = ZonedDateTime.now();
+                List<AccountBalanceStripe> stripes = new ArrayList<>();
+                for (int slot = 0; slot < Math.max(1, config.getStripes()); slot++) {
+                    AccountBalanceStripe stripe = new AccountBalanceStripe();
+                    stripe.setAccountId(account.getId());
+                    stripe.setSlot(slot);
+                    stripe.setUpdatedAt(now);
+                    stripes.add(stripe);
+                }
+                stripeRepository.saveAll(stripes);
+                return true;
+            }));
+        } catch (DataIntegrityViolationException e) {
+            // Another instance striped it first
+            log.debug("Account {} was striped concurrently", accountNumber);
+            return false;
+        }
+    }
+
+    /**
+     * Fold the stripes back into the account row and drop them, unless a credit touched them since
+     * {@code quietSince}. Credits on any instance update the stripes, so this also holds when the
+     * account is only busy elsewhere.
+     */
+    private boolean unstripe(Long accountId, ZonedDateTime quietSince) {
+        try {
+            return Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+                // Stripes first, then the account row, as in merge
+                List<AccountBalanceStripe> stripes = stripeRepository.findForUpdateByAccountId(accountId);
+                if (stripes.isEmpty() || stripes.stream().anyMatch(stripe -> stripe.getUpdatedAt().isAfter(quietSince))) {
+                    return false;
+                }
+
+                BigDecimal pending = stripes.stream()
+                    .map(AccountBalanceStripe::getPendingCredit)
+                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+                if (pending.signum() != 0) {
+                    bankAccountRepository.applyBalanceDelta(accountId, pending, pending, BigDecimal.ZERO);
+                }
+                stripeRepository.deleteByAccountId(accountId);
+                return true;
+            }));
+        } catch (RuntimeException e) {
+            log.error("Failed to unstripe account {}", accountId, e);
+            return false;
+        }
+    }
+
+    private void refreshStripedAccounts() {
+        Map<String, Long> striped = new HashMap<>();
+        for (BankAccount account : bankAccountRepository.findStriped()) {
+            striped.put(account.getAccountNumber(), account.getId());
+        }
+        stripedAccounts = Map.copyOf(striped);
+    }
+
+    private HotAccountDto toDto(String accountNumber, Contention stats, Map<String, Long> striped) {
+        HotAccountDto dto = new HotAccountDto();
+        dto.setAccountNumber(accountNumber);
+        Long accountId = striped.get(accountNumber);
+        dto.setStriped(accountId != null);
+        if (accountId != null) {
+            dto.setPendingCredit(findPendingCredit(accountId));
+        }
+        if (stats != null) {
+            dto.setStripedAt(stats.stripedAt);
+            dto.setLockAcquisitions(stats.lastLocks);
+            dto.setLockWaitMillis(TimeUnit.NANOSECONDS.toMillis(stats.lastWaitNanos));
+            dto.setAverageLockWaitMillis(stats.lastLocks == 0 ? 0 :
+                stats.lastWaitNanos / 1_000_000.0 / stats.lastLocks);
+            dto.setRetries(stats.lastRetries);
+            dto.setQuietWindows(stats.quietWindows);
+            dto.setTotalLockWaitMillis(TimeUnit.NANOSECONDS.toMillis(stats.totalWaitNanos.sum()));
+            dto.setTotalRetries(stats.totalRetries.sum());
+        }
+        return dto;
+    }
+
+    private static final class Contention {
+
+        private final LongAdder windowLocks = new LongAdder();
+        private final LongAdder windowWaitNanos = new LongAdder();
+        private final LongAdder windowRetries = new LongAdder();
+        private final LongAdder totalWaitNanos = new LongAdder();
+        private final LongAdder totalRetries = new LongAdder();
+
+        // Values of the last completed window
+        private volatile long lastLocks;
+        private volatile long lastWaitNanos;
+        private volatile long lastRetries;
+        private volatile ZonedDateTime stripedAt;
+        // Consecutive windows a striped account crossed no threshold, only touched by evaluate
+        private volatile int quietWindows;
+
+        private void recordLock(long waitNanos) {
+            windowLocks.increment();
+            windowWaitNanos.add(waitNanos);
+            totalWaitNanos.add(waitNanos);
+        }
+
+        private void recordRetry() {
+            windowRetries.increment();
+            totalRetries.increment();
+        }
+
+        private void roll() {
+            lastLocks = windowLocks.sumThenReset();
+            lastWaitNanos = windowWaitNanos.sumThenReset();
+            lastRetries = windowRetries.sumThenReset();
+        }
+    }
+}
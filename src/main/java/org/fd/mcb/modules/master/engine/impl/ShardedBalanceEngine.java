@@ -0,0 +1,156 @@
+package org.fd.mcb.modules.master.engine.impl;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import java.math.BigDecimal;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.fd.mcb.configs.BalanceEngineConfigProperties;
+import org.fd.mcb.modules.journalentry.adapter.command.JournalEntryCommandAdapter;
+import org.fd.mcb.modules.master.adapter.command.BankAccountCommandAdapter;
+import org.fd.mcb.modules.master.engine.BalanceEngine;
+import org.fd.mcb.modules.master.engine.BalancePosting;
+import org.fd.mcb.modules.master.enums.BalanceOperation;
+import org.fd.mcb.modules.master.model.entity.BankAccount;
+import org.fd.mcb.modules.master.model.entity.Transaction;
+import org.fd.mcb.shared.exception.BalanceEngineUnavailableException;
+import org.fd.mcb.shared.exception.BalancePostingTimeoutException;
+import org.fd.mcb.shared.util.TransactionUtil;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ShardedBalanceEngine implements BalanceEngine {
+
+    private final BalanceEngineConfigProperties config;
+    private final PlatformTransactionManager transactionManager;
+    private final EntityManager entityManager;
+    private final BankAccountCommandAdapter bankAccountCommandAdapter;
+    private final JournalEntryCommandAdapter journalEntryCommandAdapter;
+
+    private BalanceShard[] shards;
+
+    @PostConstruct
+    void start() {
+        if (!config.isEnabled()) {
+            log.info("Balance engine disabled, postings use the locking path");
+            return;
+        }
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        transactionTemplate.setTimeout((int) config.getPostingTimeout().toSeconds());
+
+        shards = new BalanceShard[config.getShards()];
+        for (int i = 0; i < shards.length; i++) {
+            shards[i] = new BalanceShard(i,
+                    config.getQueueCapacity(),
+                    config.getMaxBatchSize(),
+                    transactionTemplate,
+                    entityManager,
+                    bankAccountCommandAdapter,
+                    journalEntryCommandAdapter);
+            shards[i].start();
+        }
+        log.info("Balance engine started with {} shards", shards.length);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        if (shards == null) {
+            return;
+        }
+        for (BalanceShard shard : shards) {
+            shard.stop();
+        }
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return shards != null;
+    }
+
+    @Override
+    public BalancePosting post(Long accountId, BalanceOperation operation, BigDecimal amount,
+                               Function<BankAccount, Transaction> writeAhead) {
+        return await(submit(accountId, operation, amount, writeAhead));
+    }
+
+    @Override
+    public CompletableFuture<BalancePosting> submit(Long accountId, BalanceOperation operation, BigDecimal amount,
+                                                    Function<BankAccount, Transaction> writeAhead) {
+        if (!isEnabled()) {
+            throw new BalanceEngineUnavailableException();
+        }
+        TransactionUtil.validateInvalidAmount(amount);
+
+        CompletableFuture<BalancePosting> future = new CompletableFuture<>();
+        BalanceShard.PendingPosting posting =
+                new BalanceShard.PendingPosting(accountId, operation, amount, writeAhead, future);
+
+        try {
+            if (!shardOf(accountId).offer(posting, config.getSubmitTimeout())) {
+                log.warn("Balance shard queue full, rejecting {} on account {}", operation, accountId);
+                throw new BalanceEngineUnavailableException();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BalanceEngineUnavailableException();
+        }
+        return future;
+    }
+
+    @Override
+    public BalancePosting await(CompletableFuture<BalancePosting> posting) {
+        try {
+            return posting.get(config.getPostingTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BalanceEngineUnavailableException();
+        } catch (TimeoutException e) {
+            // The posting is still queued and may commit later, the caller must not assume it failed
+            log.error("Timed out waiting for a balance posting");
+            throw new BalancePostingTimeoutException();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @Override
+    public void evict(Long accountId) {
+        if (!isEnabled()) {
+            return;
+        }
+        BalanceShard shard = shardOf(accountId);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            shard.evict(accountId);
+            return;
+        }
+        // Evict once the outside change is visible, otherwise the shard could reload the old balance
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                shard.evict(accountId);
+            }
+        });
+    }
+
+    private BalanceShard shardOf(Long accountId) {
+        return shards[Math.floorMod(Long.hashCode(accountId), shards.length)];
+    }
+}
@@ -0,0 +1,9 @@
+package org.fd.mcb.modules.master.enums;
+
+public enum BalanceOperation {
+    CREDIT,   // balance +, available +, CREDIT journal entry
+    DEBIT,    // balance -, available -, DEBIT journal entry
+    HOLD,     // available -, no journal entry
+    RELEASE,  // available +, no journal entry
+    CAPTURE   // balance -, held funds consumed, DEBIT journal entry
+}
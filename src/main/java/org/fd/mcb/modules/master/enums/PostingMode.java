@@ -0,0 +1,6 @@
+package org.fd.mcb.modules.master.enums;
+
+public enum PostingMode {
+    LOCKING,            // lock the account row, validate and update in Java
+    CONDITIONAL_UPDATE  // single guarded UPDATE, insufficient funds reported from the row count
+}
@@ -0,0 +1,40 @@
+package org.fd.mcb.modules.master.model.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * One credit slot of a striped (hot) account. Credits land on a random slot instead of the account
+ * row, the slots are merged back into the account before debits and periodically.
+ */
+@Entity
+@Table(name = "account_balance_stripes")
+@Getter
+@Setter
+public class AccountBalanceStripe {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "account_id", nullable = false)
+    private Long accountId;
+
+    @Column(name = "slot", nullable = false)
+    private Integer slot;
+
+    @Column(name = "pending_credit", precision = 18, scale = 2, nullable = false)
+    private BigDecimal pendingCredit = BigDecimal.ZERO;
+
+    @Column(name = "updated_at", nullable = false)
+    private ZonedDateTime updatedAt;
+}
@@ -5,8 +5,6 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
@@ -17,6 +15,7 @@ import lombok.Getter;
 import lombok.Setter;
 import org.fd.mcb.modules.master.enums.HoldStatus;
 import org.fd.mcb.modules.master.enums.HoldType;
+import org.fd.mcb.shared.id.PooledId;
 
 @Entity
 @Table(name = "account_holds")
@@ -25,7 +24,7 @@ import org.fd.mcb.modules.master.enums.HoldType;
 public class AccountHold {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledId(sequenceName = "account_holds_seq")
     @Column(name = "id")
     private Long id;
 
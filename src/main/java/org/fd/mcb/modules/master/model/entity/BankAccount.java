@@ -15,10 +15,14 @@ import java.math.BigDecimal;
 import java.time.ZonedDateTime;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.DynamicUpdate;
 import org.fd.mcb.modules.master.enums.AccountStatus;
 import org.fd.mcb.modules.master.enums.AccountType;
 
+// Only changed columns are written, so flushing e.g. a shadow balance cannot overwrite a balance
+// that was moved by a delta UPDATE after the entity was read
 @Entity
+@DynamicUpdate
 @Table(name = "bank_accounts")
 @Getter
 @Setter
@@ -46,6 +50,10 @@ public class BankAccount {
     @Column(name = "available_balance", precision = 18, scale = 2)
     private BigDecimal availableBalance;
 
+    // Sum of ACTIVE holds, maintained in the same transaction as every hold insert and release
+    @Column(name = "held_amount", precision = 18, scale = 2, nullable = false)
+    private BigDecimal heldAmount = BigDecimal.ZERO;
+
     @Enumerated(EnumType.STRING)
     @Column(name = "status")
     private AccountStatus status;
@@ -65,8 +73,18 @@ public class BankAccount {
     @Column(name = "reconciliation_blocked", nullable = false)
     private Boolean reconciliationBlocked = false;
 
-    public void updateAvailableBalance(BigDecimal totalHolds) {
-        this.availableBalance = this.balance.subtract(totalHolds);
+    public void addHold(BigDecimal amount) {
+        this.heldAmount = this.heldAmount.add(amount);
+        updateAvailableBalance();
+    }
+
+    public void releaseHold(BigDecimal amount) {
+        this.heldAmount = this.heldAmount.subtract(amount);
+        updateAvailableBalance();
+    }
+
+    public void updateAvailableBalance() {
+        this.availableBalance = this.balance.subtract(heldAmount);
     }
 
     public boolean hasPendingCorrection() {
@@ -6,8 +6,6 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.Lob;
@@ -22,6 +20,7 @@ import lombok.Getter;
 import lombok.Setter;
 import org.fd.mcb.modules.journalentry.model.entity.JournalEntry;
 import org.fd.mcb.modules.master.enums.TransactionStatus;
+import org.fd.mcb.shared.id.PooledId;
 
 @Entity
 @Table(name = "transactions")
@@ -30,7 +29,7 @@ import org.fd.mcb.modules.master.enums.TransactionStatus;
 public class Transaction {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledId(sequenceName = "transactions_seq")
     @Column(name = "id")
     private Long id;
 
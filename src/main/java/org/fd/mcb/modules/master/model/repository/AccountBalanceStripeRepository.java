@@ -0,0 +1,55 @@
+package org.fd.mcb.modules.master.model.repository;
+
+import jakarta.persistence.LockModeType;
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+import java.util.List;
+import org.fd.mcb.modules.journalentry.dto.AccountNetChange;
+import org.fd.mcb.modules.master.model.entity.AccountBalanceStripe;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface AccountBalanceStripeRepository extends CrudRepository<AccountBalanceStripe, Long> {
+
+    @Modifying
+    @Query("UPDATE AccountBalanceStripe s SET s.pendingCredit = s.pendingCredit + :amount, s.updatedAt = :now " +
+            "WHERE s.accountId = :accountId AND s.slot = :slot")
+    int addCredit(
+            @Param("accountId") Long accountId,
+            @Param("slot") int slot,
+            @Param("amount") BigDecimal amount,
+            @Param("now") ZonedDateTime now);
+
+    // Slot order keeps concurrent merges of one account from deadlocking
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM AccountBalanceStripe s WHERE s.accountId = :accountId ORDER BY s.slot")
+    List<AccountBalanceStripe> findForUpdateByAccountId(@Param("accountId") Long accountId);
+
+    @Modifying
+    @Query("UPDATE AccountBalanceStripe s SET s.pendingCredit = 0, s.updatedAt = :now WHERE s.accountId = :accountId")
+    int resetByAccountId(@Param("accountId") Long accountId, @Param("now") ZonedDateTime now);
+
+    @Query("SELECT COALESCE(SUM(s.pendingCredit), 0) FROM AccountBalanceStripe s WHERE s.accountId = :accountId")
+    BigDecimal sumPendingCredit(@Param("accountId") Long accountId);
+
+    @Query("SELECT new org.fd.mcb.modules.journalentry.dto.AccountNetChange(s.accountId, SUM(s.pendingCredit)) " +
+            "FROM AccountBalanceStripe s WHERE s.accountId BETWEEN :fromId AND :toId " +
+            "GROUP BY s.accountId HAVING SUM(s.pendingCredit) <> 0")
+    List<AccountNetChange> sumPendingCreditByAccount(
+            @Param("fromId") Long fromId,
+            @Param("toId") Long toId);
+
+    @Query("SELECT DISTINCT s.accountId FROM AccountBalanceStripe s WHERE s.pendingCredit <> 0")
+    List<Long> findAccountIdsWithPendingCredit();
+
+    boolean existsByAccountId(Long accountId);
+
+    @Modifying
+    @Query("DELETE FROM AccountBalanceStripe s WHERE s.accountId = :accountId")
+    int deleteByAccountId(@Param("accountId") Long accountId);
+}
@@ -1,7 +1,10 @@
 package org.fd.mcb.modules.master.model.repository;
 
+import org.fd.mcb.modules.master.dto.HoldExpiry;
 import org.fd.mcb.modules.master.enums.HoldStatus;
 import org.fd.mcb.modules.master.model.entity.AccountHold;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.query.Param;
@@ -9,6 +12,7 @@ import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.ZonedDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -22,5 +26,23 @@ public interface AccountHoldRepository extends CrudRepository<AccountHold, Long>
     @Query("SELECT COALESCE(SUM(ah.amount), 0) FROM AccountHold ah WHERE ah.account.id = :accountId AND ah.status = :status")
     BigDecimal sumAmountByAccountIdAndStatus(@Param("accountId") Long accountId, @Param("status") HoldStatus status);
 
-    List<AccountHold> findByStatusAndExpiresAtBefore(HoldStatus status, ZonedDateTime expiresAt);
+    @Query("SELECT ah.id FROM AccountHold ah WHERE ah.id IN :ids AND ah.status = :status")
+    List<Long> findIdsByIdInAndStatus(@Param("ids") Collection<Long> ids, @Param("status") HoldStatus status);
+
+    // Keyset paged, served by idx_account_holds_status_expires_at
+    @Query("SELECT new org.fd.mcb.modules.master.dto.HoldExpiry(" +
+            "ah.id, ah.account.id, ah.transaction.id, ah.amount, ah.expiresAt) " +
+            "FROM AccountHold ah WHERE ah.status = :status AND ah.expiresAt < :expiresBefore " +
+            "AND ah.id > :afterId ORDER BY ah.id")
+    List<HoldExpiry> findExpiries(
+            @Param("status") HoldStatus status,
+            @Param("expiresBefore") ZonedDateTime expiresBefore,
+            @Param("afterId") Long afterId,
+            Limit limit);
+
+    @Modifying
+    @Query("UPDATE AccountHold ah SET ah.status = org.fd.mcb.modules.master.enums.HoldStatus.EXPIRED, " +
+            "ah.releasedAt = :releasedAt WHERE ah.id IN :ids " +
+            "AND ah.status = org.fd.mcb.modules.master.enums.HoldStatus.ACTIVE")
+    int markExpired(@Param("ids") Collection<Long> ids, @Param("releasedAt") ZonedDateTime releasedAt);
 }
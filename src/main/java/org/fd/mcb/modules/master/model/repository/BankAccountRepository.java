@@ -2,12 +2,23 @@
 package org.fd.mcb.modules.master.model.repository;
 
 import jakarta.persistence.LockModeType;
+import org.fd.mcb.modules.master.dto.AccountBalance;
+import org.fd.mcb.modules.master.dto.AccountIdRange;
+import org.fd.mcb.modules.master.dto.AvailableBalanceDrift;
+import org.fd.mcb.modules.master.dto.HeldAmountDrift;
 import org.fd.mcb.modules.master.enums.AccountType;
+import org.fd.mcb.modules.master.enums.HoldStatus;
 import org.fd.mcb.modules.master.model.entity.BankAccount;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -16,4 +27,88 @@ public interface BankAccountRepository extends CrudRepository<BankAccount, Long>
     @Lock(LockModeType.PESSIMISTIC_READ)
     Optional<BankAccount> findByAccountNumberAndAccountType(String accountNumber, AccountType accountType);
 
+    Optional<BankAccount> findByAccountNumber(String accountNumber);
+
+    List<BankAccount> findByAccountNumberIn(Collection<String> accountNumbers);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT ba FROM BankAccount ba WHERE ba.accountNumber IN :accountNumbers ORDER BY ba.id")
+    List<BankAccount> findForUpdateByAccountNumberIn(@Param("accountNumbers") Collection<String> accountNumbers);
+
+    @Query("SELECT ba FROM BankAccount ba WHERE ba.id IN (SELECT s.accountId FROM AccountBalanceStripe s)")
+    List<BankAccount> findStriped();
+
+    @Query("SELECT COALESCE(SUM(ba.balance), 0) FROM BankAccount ba WHERE ba.accountNumber IN :accountNumbers")
+    BigDecimal sumBalanceByAccountNumberIn(@Param("accountNumbers") Collection<String> accountNumbers);
+
+    @Query("SELECT ba FROM BankAccount ba WHERE ba.accountNumber = :accountNumber AND ba.accountType = :accountType")
+    Optional<BankAccount> findUnlockedByAccountNumberAndAccountType(
+            @Param("accountNumber") String accountNumber,
+            @Param("accountType") AccountType accountType);
+
+    @Modifying
+    @Query("UPDATE BankAccount ba SET ba.balance = ba.balance + :balanceDelta, " +
+            "ba.availableBalance = COALESCE(ba.availableBalance, ba.balance) + :availableDelta, " +
+            "ba.heldAmount = ba.heldAmount + :heldDelta WHERE ba.id = :id")
+    int applyBalanceDelta(
+            @Param("id") Long id,
+            @Param("balanceDelta") BigDecimal balanceDelta,
+            @Param("availableDelta") BigDecimal availableDelta,
+            @Param("heldDelta") BigDecimal heldDelta);
+
+    @Modifying
+    @Query("UPDATE BankAccount ba SET ba.balance = ba.balance + :amount, " +
+            "ba.availableBalance = COALESCE(ba.availableBalance, ba.balance) + :amount " +
+            "WHERE ba.accountNumber = :accountNumber AND ba.accountType = :accountType " +
+            "AND ba.status = org.fd.mcb.modules.master.enums.AccountStatus.ACTIVE")
+    int creditByAccountNumber(
+            @Param("accountNumber") String accountNumber,
+            @Param("accountType") AccountType accountType,
+            @Param("amount") BigDecimal amount);
+
+    @Modifying
+    @Query("UPDATE BankAccount ba SET ba.balance = ba.balance - :amount, " +
+            "ba.availableBalance = COALESCE(ba.availableBalance, ba.balance) - :amount " +
+            "WHERE ba.accountNumber = :accountNumber AND ba.accountType = :accountType " +
+            "AND ba.status = org.fd.mcb.modules.master.enums.AccountStatus.ACTIVE " +
+            "AND COALESCE(ba.availableBalance, ba.balance) >= :amount")
+    int debitIfSufficientByAccountNumber(
+            @Param("accountNumber") String accountNumber,
+            @Param("accountType") AccountType accountType,
+            @Param("amount") BigDecimal amount);
+
+    @Query("SELECT new org.fd.mcb.modules.master.dto.HeldAmountDrift(" +
+            "ba.id, ba.accountNumber, ba.heldAmount, COALESCE(SUM(ah.amount), 0)) " +
+            "FROM BankAccount ba LEFT JOIN AccountHold ah ON ah.account = ba AND ah.status = :status " +
+            "GROUP BY ba.id, ba.accountNumber, ba.heldAmount " +
+            "HAVING ba.heldAmount <> COALESCE(SUM(ah.amount), 0)")
+    List<HeldAmountDrift> findHeldAmountDrifts(@Param("status") HoldStatus status);
+
+    @Query("SELECT new org.fd.mcb.modules.master.dto.AccountIdRange(MIN(ba.id), MAX(ba.id)) FROM BankAccount ba")
+    AccountIdRange findIdRange();
+
+    @Query("SELECT new org.fd.mcb.modules.master.dto.AvailableBalanceDrift(" +
+            "ba.id, ba.accountNumber, ba.balance, ba.availableBalance, COALESCE(SUM(ah.amount), 0)) " +
+            "FROM BankAccount ba LEFT JOIN AccountHold ah ON ah.account = ba AND ah.status = :status " +
+            "WHERE ba.id BETWEEN :fromId AND :toId " +
+            "GROUP BY ba.id, ba.accountNumber, ba.balance, ba.availableBalance " +
+            "HAVING ba.availableBalance IS NULL OR ba.availableBalance <> ba.balance - COALESCE(SUM(ah.amount), 0)")
+    List<AvailableBalanceDrift> findAvailableBalanceDrifts(
+            @Param("fromId") Long fromId,
+            @Param("toId") Long toId,
+            @Param("status") HoldStatus status);
+
+    long countByIdBetween(Long fromId, Long toId);
+
+    @Query("SELECT new org.fd.mcb.modules.master.dto.AccountBalance(ba.id, ba.balance, ba.heldAmount) " +
+            "FROM BankAccount ba WHERE ba.id BETWEEN :fromId AND :toId")
+    List<AccountBalance> findBalancesByIdBetween(
+            @Param("fromId") Long fromId,
+            @Param("toId") Long toId);
+
+    // Flushes pending entity updates first so they cannot overwrite the flag afterwards
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE BankAccount ba SET ba.reconciliationBlocked = true WHERE ba.id IN :ids")
+    int blockForReconciliation(@Param("ids") Collection<Long> ids);
+
 }
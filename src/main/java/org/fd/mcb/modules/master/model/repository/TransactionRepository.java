@@ -2,11 +2,19 @@
 package org.fd.mcb.modules.master.model.repository;
 
 import jakarta.persistence.LockModeType;
+import org.fd.mcb.modules.master.enums.TransactionStatus;
 import org.fd.mcb.modules.master.model.entity.Transaction;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -14,6 +22,33 @@ public interface TransactionRepository extends CrudRepository<Transaction, Long>
 
     Optional<Transaction> findByAuthCode(String authCode);
 
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<Transaction> findForUpdateByAuthCode(String authCode);
+
+    List<Transaction> findByStatusAndCapturedAtBeforeOrderByIdAsc(
+            TransactionStatus status, ZonedDateTime capturedBefore, Limit limit);
+
+    @Query("SELECT t FROM Transaction t WHERE t.createdAt > :startDate AND t.createdAt < :endDate " +
+            "AND t.status IN :statuses " +
+            "AND NOT EXISTS (SELECT 1 FROM JournalEntry je WHERE je.transaction = t)")
+    List<Transaction> findWithoutJournalEntries(
+            @Param("startDate") ZonedDateTime startDate,
+            @Param("endDate") ZonedDateTime endDate,
+            @Param("statuses") List<TransactionStatus> statuses);
+
+    // Ordered by id so concurrent lockers of overlapping sets cannot deadlock
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM Transaction t WHERE t.id IN :ids AND t.status = :status ORDER BY t.id")
+    List<Transaction> findForUpdateByIdInAndStatus(
+            @Param("ids") Collection<Long> ids,
+            @Param("status") TransactionStatus status);
+
+    @Modifying
+    @Query("UPDATE Transaction t SET t.status = org.fd.mcb.modules.master.enums.TransactionStatus.SETTLED, " +
+            "t.settledAt = :settledAt WHERE t.id IN :ids " +
+            "AND t.status = org.fd.mcb.modules.master.enums.TransactionStatus.CAPTURED")
+    int markCapturedAsSettled(@Param("ids") List<Long> ids, @Param("settledAt") ZonedDateTime settledAt);
+
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     Optional<Transaction> findByAuthCodeAndStatusIn(String authCode, org.fd.mcb.modules.master.enums.TransactionStatus... statuses);
 }
@@ -0,0 +1,33 @@
+package org.fd.mcb.modules.master.scheduled;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.fd.mcb.modules.master.engine.HotAccountService;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class HotAccountJob {
+
+    private final HotAccountService hotAccountService;
+
+    @Scheduled(fixedDelayString = "${hot-accounts.evaluation-interval:PT30S}")
+    public void evaluateHotAccounts() {
+        try {
+            hotAccountService.evaluate();
+        } catch (Exception e) {
+            log.error("Error during hot account evaluation job", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${hot-accounts.merge-interval:PT5S}")
+    public void mergeBalanceStripes() {
+        try {
+            hotAccountService.mergeAllStripes();
+        } catch (Exception e) {
+            log.error("Error during balance stripe merge job", e);
+        }
+    }
+}
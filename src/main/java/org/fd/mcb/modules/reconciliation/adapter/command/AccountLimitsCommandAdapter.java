@@ -1,5 +1,6 @@
 package org.fd.mcb.modules.reconciliation.adapter.command;
 
+import java.util.List;
 import org.fd.mcb.modules.master.model.entity.BankAccount;
 import org.fd.mcb.modules.reconciliation.model.entity.AccountLimits;
 
@@ -7,6 +8,8 @@ public interface AccountLimitsCommandAdapter {
 
     AccountLimits save(AccountLimits accountLimits);
 
+    void saveAll(List<AccountLimits> accountLimits);
+
     void deleteByAccount(BankAccount account);
 
     void deleteById(Long id);
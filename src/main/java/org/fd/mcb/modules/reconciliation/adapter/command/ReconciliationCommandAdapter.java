@@ -1,5 +1,8 @@
 package org.fd.mcb.modules.reconciliation.adapter.command;
 
+import java.time.ZonedDateTime;
+import java.util.List;
+import org.fd.mcb.modules.reconciliation.model.entity.ReconciliationCheckpoint;
 import org.fd.mcb.modules.reconciliation.model.entity.ReconciliationDiscrepancy;
 import org.fd.mcb.modules.reconciliation.model.entity.ReconciliationReport;
 
@@ -9,5 +12,19 @@ public interface ReconciliationCommandAdapter {
 
     ReconciliationDiscrepancy saveDiscrepancy(ReconciliationDiscrepancy discrepancy);
 
+    void saveDiscrepancies(List<ReconciliationDiscrepancy> discrepancies);
+
+    void markDiscrepanciesHandled(List<Long> discrepancyIds, ZonedDateTime handledAt);
+
+    void markDiscrepanciesAutoCorrected(List<Long> discrepancyIds);
+
     void deleteDiscrepancy(Long discrepancyId);
+
+    boolean claimReport(Long reportId, ZonedDateTime now, ZonedDateTime staleBefore);
+
+    void touchReport(Long reportId, ZonedDateTime now);
+
+    ReconciliationCheckpoint saveCheckpoint(ReconciliationCheckpoint checkpoint);
+
+    List<ReconciliationCheckpoint> saveCheckpoints(List<ReconciliationCheckpoint> checkpoints);
 }
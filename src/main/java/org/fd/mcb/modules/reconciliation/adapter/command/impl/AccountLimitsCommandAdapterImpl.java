@@ -1,5 +1,6 @@
 package org.fd.mcb.modules.reconciliation.adapter.command.impl;
 
+import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.fd.mcb.modules.master.model.entity.BankAccount;
 import org.fd.mcb.modules.reconciliation.adapter.command.AccountLimitsCommandAdapter;
@@ -18,6 +19,11 @@ public class AccountLimitsCommandAdapterImpl implements AccountLimitsCommandAdap
         return accountLimitsRepository.save(accountLimits);
     }
 
+    @Override
+    public void saveAll(List<AccountLimits> accountLimits) {
+        accountLimitsRepository.saveAll(accountLimits);
+    }
+
     @Override
     public void deleteByAccount(BankAccount account) {
         accountLimitsRepository.deleteByAccount(account);
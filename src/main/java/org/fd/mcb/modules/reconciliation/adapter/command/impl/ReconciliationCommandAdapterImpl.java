@@ -1,9 +1,14 @@
 package org.fd.mcb.modules.reconciliation.adapter.command.impl;
 
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.fd.mcb.modules.reconciliation.adapter.command.ReconciliationCommandAdapter;
+import org.fd.mcb.modules.reconciliation.model.entity.ReconciliationCheckpoint;
 import org.fd.mcb.modules.reconciliation.model.entity.ReconciliationDiscrepancy;
 import org.fd.mcb.modules.reconciliation.model.entity.ReconciliationReport;
+import org.fd.mcb.modules.reconciliation.model.repository.ReconciliationCheckpointRepository;
 import org.fd.mcb.modules.reconciliation.model.repository.ReconciliationDiscrepancyRepository;
 import org.fd.mcb.modules.reconciliation.model.repository.ReconciliationReportRepository;
 import org.springframework.stereotype.Service;
@@ -14,6 +19,7 @@ public class ReconciliationCommandAdapterImpl implements ReconciliationCommandAd
 
     private final ReconciliationReportRepository reportRepository;
     private final ReconciliationDiscrepancyRepository discrepancyRepository;
+    private final ReconciliationCheckpointRepository checkpointRepository;
 
     @Override
     public ReconciliationReport saveReport(ReconciliationReport report) {
@@ -25,8 +31,45 @@ public class ReconciliationCommandAdapterImpl implements ReconciliationCommandAd
         return discrepancyRepository.save(discrepancy);
     }
 
+    @Override
+    public void saveDiscrepancies(List<ReconciliationDiscrepancy> discrepancies) {
+        discrepancyRepository.saveAll(discrepancies);
+    }
+
+    @Override
+    public void markDiscrepanciesHandled(List<Long> discrepancyIds, ZonedDateTime handledAt) {
+        discrepancyRepository.markHandled(discrepancyIds, handledAt);
+    }
+
+    @Override
+    public void markDiscrepanciesAutoCorrected(List<Long> discrepancyIds) {
+        discrepancyRepository.markAutoCorrected(discrepancyIds);
+    }
+
     @Override
     public void deleteDiscrepancy(Long discrepancyId) {
         discrepancyRepository.deleteById(discrepancyId);
     }
+
+    @Override
+    public boolean claimReport(Long reportId, ZonedDateTime now, ZonedDateTime staleBefore) {
+        return reportRepository.claimForRun(reportId, now, staleBefore) > 0;
+    }
+
+    @Override
+    public void touchReport(Long reportId, ZonedDateTime now) {
+        reportRepository.touchHeartbeat(reportId, now);
+    }
+
+    @Override
+    public ReconciliationCheckpoint saveCheckpoint(ReconciliationCheckpoint checkpoint) {
+        return checkpointRepository.save(checkpoint);
+    }
+
+    @Override
+    public List<ReconciliationCheckpoint> saveCheckpoints(List<ReconciliationCheckpoint> checkpoints) {
+        List<ReconciliationCheckpoint> saved = new ArrayList<>();
+        checkpointRepository.saveAll(checkpoints).forEach(saved::add);
+        return saved;
+    }
 }
@@ -5,6 +5,7 @@ import java.util.List;
 import java.util.Optional;
 import org.fd.mcb.modules.reconciliation.enums.DiscrepancySeverity;
 import org.fd.mcb.modules.reconciliation.enums.ReconciliationStatus;
+import org.fd.mcb.modules.reconciliation.model.entity.ReconciliationCheckpoint;
 import org.fd.mcb.modules.reconciliation.model.entity.ReconciliationDiscrepancy;
 import org.fd.mcb.modules.reconciliation.model.entity.ReconciliationReport;
 import org.springframework.data.domain.Page;
@@ -27,4 +28,8 @@ public interface ReconciliationQueryAdapter {
     List<ReconciliationDiscrepancy> findDiscrepanciesByReportAndSeverity(ReconciliationReport report, DiscrepancySeverity severity);
 
     List<ReconciliationDiscrepancy> findDiscrepanciesByAccountId(Long accountId);
+
+    List<ReconciliationDiscrepancy> findUnhandledDiscrepanciesByReport(ReconciliationReport report);
+
+    List<ReconciliationCheckpoint> findCheckpointsByReport(ReconciliationReport report);
 }
@@ -7,8 +7,10 @@ import lombok.RequiredArgsConstructor;
 import org.fd.mcb.modules.reconciliation.adapter.query.ReconciliationQueryAdapter;
 import org.fd.mcb.modules.reconciliation.enums.DiscrepancySeverity;
 import org.fd.mcb.modules.reconciliation.enums.ReconciliationStatus;
+import org.fd.mcb.modules.reconciliation.model.entity.ReconciliationCheckpoint;
 import org.fd.mcb.modules.reconciliation.model.entity.ReconciliationDiscrepancy;
 import org.fd.mcb.modules.reconciliation.model.entity.ReconciliationReport;
+import org.fd.mcb.modules.reconciliation.model.repository.ReconciliationCheckpointRepository;
 import org.fd.mcb.modules.reconciliation.model.repository.ReconciliationDiscrepancyRepository;
 import org.fd.mcb.modules.reconciliation.model.repository.ReconciliationReportRepository;
 import org.springframework.data.domain.Page;
@@ -21,6 +23,7 @@ public class ReconciliationQueryAdapterImpl implements ReconciliationQueryAdapte
 
     private final ReconciliationReportRepository reportRepository;
     private final ReconciliationDiscrepancyRepository discrepancyRepository;
+    private final ReconciliationCheckpointRepository checkpointRepository;
 
     @Override
     public Optional<ReconciliationReport> findReportById(Long id) {
@@ -63,4 +66,14 @@ public class ReconciliationQueryAdapterImpl implements ReconciliationQueryAdapte
     public List<ReconciliationDiscrepancy> findDiscrepanciesByAccountId(Long accountId) {
         return discrepancyRepository.findByAccountId(accountId);
     }
+
+    @Override
+    public List<ReconciliationDiscrepancy> findUnhandledDiscrepanciesByReport(ReconciliationReport report) {
+        return discrepancyRepository.findByReportAndHandledAtIsNull(report);
+    }
+
+    @Override
+    public List<ReconciliationCheckpoint> findCheckpointsByReport(ReconciliationReport report) {
+        return checkpointRepository.findByReportOrderByIdAsc(report);
+    }
 }
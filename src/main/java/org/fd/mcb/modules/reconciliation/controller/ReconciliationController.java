@@ -1,18 +1,25 @@
 package org.fd.mcb.modules.reconciliation.controller;
 
 import java.time.LocalDate;
+import java.time.ZonedDateTime;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.fd.mcb.modules.reconciliation.adapter.query.ReconciliationQueryAdapter;
+import org.fd.mcb.modules.reconciliation.dto.BalanceAsOfDto;
+import org.fd.mcb.modules.reconciliation.dto.IntradayCheckDto;
 import org.fd.mcb.modules.reconciliation.dto.ReconciliationDiscrepancyDto;
+import org.fd.mcb.modules.reconciliation.dto.ReconciliationJobDto;
 import org.fd.mcb.modules.reconciliation.dto.ReconciliationReportDto;
 import org.fd.mcb.modules.reconciliation.enums.DiscrepancySeverity;
 import org.fd.mcb.modules.reconciliation.model.entity.ReconciliationDiscrepancy;
 import org.fd.mcb.modules.reconciliation.model.entity.ReconciliationReport;
+import org.fd.mcb.modules.reconciliation.service.BalanceSnapshotService;
+import org.fd.mcb.modules.reconciliation.service.ReconciliationJobService;
 import org.fd.mcb.modules.reconciliation.service.ReconciliationResponseService;
 import org.fd.mcb.modules.reconciliation.service.ReconciliationService;
 import org.fd.mcb.shared.exception.ReconciliationNotFoundException;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -20,6 +27,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RestController
 @RequestMapping("/reconciliation")
@@ -27,15 +35,31 @@ import org.springframework.web.bind.annotation.RestController;
 public class ReconciliationController {
 
     private final ReconciliationService reconciliationService;
+    private final ReconciliationJobService jobService;
+    private final BalanceSnapshotService balanceSnapshotService;
     private final ReconciliationResponseService responseService;
     private final ReconciliationQueryAdapter queryAdapter;
 
     @PostMapping("/run")
-    public ResponseEntity<ReconciliationReportDto> runReconciliation(
+    public ResponseEntity<ReconciliationJobDto> runReconciliation(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
 
-        ReconciliationReport report = reconciliationService.performReconciliation(date);
-        return ResponseEntity.ok(toDto(report));
+        return ResponseEntity.accepted().body(jobService.submit(date));
+    }
+
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<ReconciliationJobDto> getJob(@PathVariable String jobId) {
+        return ResponseEntity.ok(jobService.getJob(jobId));
+    }
+
+    @GetMapping(value = "/jobs/{jobId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamJob(@PathVariable String jobId) {
+        return jobService.stream(jobId);
+    }
+
+    @GetMapping("/intraday")
+    public ResponseEntity<IntradayCheckDto> runIntradayCheck() {
+        return ResponseEntity.ok(reconciliationService.performIntradayCheck());
     }
 
     @GetMapping("/reports/latest")
@@ -68,6 +92,14 @@ public class ReconciliationController {
             .toList());
     }
 
+    @GetMapping("/accounts/{accountId}/balance")
+    public ResponseEntity<BalanceAsOfDto> getBalanceAsOf(
+            @PathVariable Long accountId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) ZonedDateTime asOf) {
+
+        return ResponseEntity.ok(balanceSnapshotService.findBalanceAsOf(accountId, asOf));
+    }
+
     @PostMapping("/accounts/{accountId}/unblock")
     public ResponseEntity<Void> unblockAccount(
             @PathVariable Long accountId,
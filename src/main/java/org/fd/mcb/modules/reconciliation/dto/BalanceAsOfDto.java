@@ -0,0 +1,15 @@
+package org.fd.mcb.modules.reconciliation.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import lombok.Data;
+
+@Data
+public class BalanceAsOfDto {
+    private Long accountId;
+    private ZonedDateTime asOf;
+    private BigDecimal balance;
+    // Snapshot the balance was replayed from, null when it was derived from the current balance
+    private LocalDate snapshotDate;
+}
@@ -0,0 +1,19 @@
+package org.fd.mcb.modules.reconciliation.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.List;
+import lombok.Data;
+
+@Data
+public class IntradayCheckDto {
+    private LocalDate businessDate;
+    private ZonedDateTime checkedAt;
+    private Boolean fromRunningTotals;
+    private BigDecimal totalDebits;
+    private BigDecimal totalCredits;
+    private Boolean systemBalanced;
+    private Integer accountsChecked;
+    private List<IntradayMismatchDto> mismatches;
+}
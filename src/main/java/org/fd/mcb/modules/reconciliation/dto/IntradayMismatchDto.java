@@ -0,0 +1,13 @@
+package org.fd.mcb.modules.reconciliation.dto;
+
+import java.math.BigDecimal;
+import lombok.Data;
+
+@Data
+public class IntradayMismatchDto {
+    private Long accountId;
+    private String accountNumber;
+    private BigDecimal expectedBalance;
+    private BigDecimal actualBalance;
+    private BigDecimal difference;
+}
@@ -0,0 +1,19 @@
+package org.fd.mcb.modules.reconciliation.dto;
+
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import lombok.Data;
+import org.fd.mcb.modules.reconciliation.enums.ReconciliationPhase;
+
+@Data
+public class ReconciliationJobDto {
+    private String jobId;
+    private LocalDate reconciliationDate;
+    private ReconciliationPhase phase;
+    private Long reportId;
+    private Long accountsChecked;
+    private Integer discrepanciesFound;
+    private ZonedDateTime submittedAt;
+    private ZonedDateTime finishedAt;
+    private String error;
+}
@@ -0,0 +1,28 @@
+package org.fd.mcb.modules.reconciliation.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.fd.mcb.modules.master.dto.AccountIdRange;
+
+public record ReconciliationPartition(
+        int index,
+        Long fromId,
+        Long toId) {
+
+    /**
+     * Splits the account id space into at most {@code partitions} contiguous, inclusive ranges.
+     */
+    public static List<ReconciliationPartition> split(AccountIdRange range, int partitions) {
+        List<ReconciliationPartition> result = new ArrayList<>();
+        if (range.isEmpty()) {
+            return result;
+        }
+
+        long span = range.maxId() - range.minId() + 1;
+        long size = Math.max(1, Math.ceilDiv(span, Math.max(1, partitions)));
+        for (long from = range.minId(); from <= range.maxId(); from += size) {
+            result.add(new ReconciliationPartition(result.size(), from, Math.min(from + size - 1, range.maxId())));
+        }
+        return result;
+    }
+}
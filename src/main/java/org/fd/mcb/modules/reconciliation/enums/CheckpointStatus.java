@@ -0,0 +1,6 @@
+package org.fd.mcb.modules.reconciliation.enums;
+
+public enum CheckpointStatus {
+    PENDING,
+    COMPLETED
+}
@@ -0,0 +1,15 @@
+package org.fd.mcb.modules.reconciliation.enums;
+
+public enum ReconciliationPhase {
+    QUEUED,
+    STARTING,
+    SYSTEM_CHECKS,
+    ACCOUNT_CHECKS,
+    HANDLING_DISCREPANCIES,
+    COMPLETED,
+    FAILED;
+
+    public boolean isFinished() {
+        return this == COMPLETED || this == FAILED;
+    }
+}
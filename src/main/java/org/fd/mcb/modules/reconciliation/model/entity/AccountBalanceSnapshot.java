@@ -0,0 +1,45 @@
+package org.fd.mcb.modules.reconciliation.model.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import lombok.Getter;
+import lombok.Setter;
+import org.fd.mcb.shared.id.PooledId;
+
+@Entity
+@Table(name = "account_balance_snapshots")
+@Getter
+@Setter
+public class AccountBalanceSnapshot {
+
+    @Id
+    @PooledId(sequenceName = "account_balance_snapshots_seq")
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "account_id", nullable = false)
+    private Long accountId;
+
+    @Column(name = "snapshot_date", nullable = false)
+    private LocalDate snapshotDate;
+
+    @Column(name = "closing_balance", precision = 18, scale = 2, nullable = false)
+    private BigDecimal closingBalance;
+
+    @Column(name = "held_amount", precision = 18, scale = 2, nullable = false)
+    private BigDecimal heldAmount = BigDecimal.ZERO;
+
+    @Column(name = "total_debits", precision = 18, scale = 2, nullable = false)
+    private BigDecimal totalDebits = BigDecimal.ZERO;
+
+    @Column(name = "total_credits", precision = 18, scale = 2, nullable = false)
+    private BigDecimal totalCredits = BigDecimal.ZERO;
+
+    @Column(name = "created_at", nullable = false)
+    private ZonedDateTime createdAt;
+}
@@ -5,8 +5,6 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
@@ -17,6 +15,7 @@ import lombok.Getter;
 import lombok.Setter;
 import org.fd.mcb.modules.master.model.entity.BankAccount;
 import org.fd.mcb.modules.reconciliation.enums.AccountTier;
+import org.fd.mcb.shared.id.PooledId;
 
 @Entity
 @Table(name = "account_limits")
@@ -25,7 +24,7 @@ import org.fd.mcb.modules.reconciliation.enums.AccountTier;
 public class AccountLimits {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledId(sequenceName = "account_limits_seq")
     @Column(name = "id")
     private Long id;
 
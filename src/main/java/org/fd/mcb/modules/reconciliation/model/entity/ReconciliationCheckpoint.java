@@ -0,0 +1,66 @@
+package org.fd.mcb.modules.reconciliation.model.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import java.time.ZonedDateTime;
+import lombok.Getter;
+import lombok.Setter;
+import org.fd.mcb.modules.reconciliation.enums.CheckpointStatus;
+
+@Entity
+@Table(name = "reconciliation_checkpoints")
+@Getter
+@Setter
+public class ReconciliationCheckpoint {
+
+    public static final String SYSTEM_KEY = "SYSTEM";
+    public static final String PARTITION_KEY_PREFIX = "PARTITION-";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "report_id", nullable = false)
+    private ReconciliationReport report;
+
+    @Column(name = "checkpoint_key", length = 50, nullable = false)
+    private String checkpointKey;
+
+    @Column(name = "from_account_id")
+    private Long fromAccountId;
+
+    @Column(name = "to_account_id")
+    private Long toAccountId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", length = 50, nullable = false)
+    private CheckpointStatus status;
+
+    @Column(name = "discrepancy_count", nullable = false)
+    private Integer discrepancyCount = 0;
+
+    @Column(name = "completed_at")
+    private ZonedDateTime completedAt;
+
+    @Column(name = "created_at", nullable = false)
+    private ZonedDateTime createdAt;
+
+    public boolean isCompleted() {
+        return status == CheckpointStatus.COMPLETED;
+    }
+
+    public boolean isSystem() {
+        return SYSTEM_KEY.equals(checkpointKey);
+    }
+}
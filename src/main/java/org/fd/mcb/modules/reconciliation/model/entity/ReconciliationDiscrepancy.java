@@ -5,8 +5,6 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.Lob;
@@ -17,6 +15,7 @@ import lombok.Getter;
 import lombok.Setter;
 import org.fd.mcb.modules.reconciliation.enums.DiscrepancySeverity;
 import org.fd.mcb.modules.reconciliation.enums.DiscrepancyType;
+import org.fd.mcb.shared.id.PooledId;
 
 @Entity
 @Table(name = "reconciliation_discrepancies")
@@ -25,7 +24,7 @@ import org.fd.mcb.modules.reconciliation.enums.DiscrepancyType;
 public class ReconciliationDiscrepancy {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledId(sequenceName = "reconciliation_discrepancies_seq")
     @Column(name = "id")
     private Long id;
 
@@ -60,6 +59,9 @@ public class ReconciliationDiscrepancy {
     @Column(name = "auto_corrected", nullable = false)
     private Boolean autoCorrected = false;
 
+    @Column(name = "handled_at")
+    private ZonedDateTime handledAt;
+
     @Column(name = "created_at", nullable = false)
     private ZonedDateTime createdAt;
 }
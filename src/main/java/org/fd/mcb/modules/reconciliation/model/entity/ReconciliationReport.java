@@ -41,6 +41,10 @@ public class ReconciliationReport {
     @Column(name = "started_at", nullable = false)
     private ZonedDateTime startedAt;
 
+    // Only moved by the run's own UPDATEs, a report saved mid-run must not set it back
+    @Column(name = "heartbeat_at", updatable = false)
+    private ZonedDateTime heartbeatAt;
+
     @Column(name = "completed_at")
     private ZonedDateTime completedAt;
 
@@ -0,0 +1,45 @@
+package org.fd.mcb.modules.reconciliation.model.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import lombok.Getter;
+import lombok.Setter;
+
+@Entity
+@Table(name = "reconciliation_running_totals")
+@Getter
+@Setter
+public class ReconciliationRunningTotal {
+
+    public static final Long SYSTEM_ACCOUNT_ID = 0L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "business_date", nullable = false)
+    private LocalDate businessDate;
+
+    @Column(name = "account_id", nullable = false)
+    private Long accountId;
+
+    @Column(name = "total_debits", precision = 18, scale = 2, nullable = false)
+    private BigDecimal totalDebits = BigDecimal.ZERO;
+
+    @Column(name = "total_credits", precision = 18, scale = 2, nullable = false)
+    private BigDecimal totalCredits = BigDecimal.ZERO;
+
+    @Column(name = "entry_count", nullable = false)
+    private Long entryCount = 0L;
+
+    @Column(name = "updated_at", nullable = false)
+    private ZonedDateTime updatedAt;
+}
@@ -0,0 +1,34 @@
+package org.fd.mcb.modules.reconciliation.model.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import org.fd.mcb.modules.reconciliation.model.entity.AccountBalanceSnapshot;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface AccountBalanceSnapshotRepository extends CrudRepository<AccountBalanceSnapshot, Long> {
+
+    List<AccountBalanceSnapshot> findBySnapshotDateAndAccountIdBetween(LocalDate snapshotDate, Long fromId, Long toId);
+
+    Optional<AccountBalanceSnapshot> findFirstByAccountIdAndSnapshotDateLessThanOrderBySnapshotDateDesc(
+            Long accountId,
+            LocalDate snapshotDate);
+
+    Optional<AccountBalanceSnapshot> findFirstByAccountIdOrderBySnapshotDateDesc(Long accountId);
+
+    @Modifying
+    @Query("UPDATE AccountBalanceSnapshot s SET s.closingBalance = :actual " +
+            "WHERE s.accountId = :accountId AND s.closingBalance = :expected AND s.snapshotDate = " +
+            "(SELECT r.reconciliationDate FROM ReconciliationReport r WHERE r.id = :reportId)")
+    int replaceClosingBalance(
+            @Param("reportId") Long reportId,
+            @Param("accountId") Long accountId,
+            @Param("expected") BigDecimal expected,
+            @Param("actual") BigDecimal actual);
+}
@@ -0,0 +1,13 @@
+package org.fd.mcb.modules.reconciliation.model.repository;
+
+import java.util.List;
+import org.fd.mcb.modules.reconciliation.model.entity.ReconciliationCheckpoint;
+import org.fd.mcb.modules.reconciliation.model.entity.ReconciliationReport;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ReconciliationCheckpointRepository extends CrudRepository<ReconciliationCheckpoint, Long> {
+
+    List<ReconciliationCheckpoint> findByReportOrderByIdAsc(ReconciliationReport report);
+}
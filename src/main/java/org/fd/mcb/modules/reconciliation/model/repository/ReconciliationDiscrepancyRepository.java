@@ -1,10 +1,12 @@
 package org.fd.mcb.modules.reconciliation.model.repository;
 
+import java.time.ZonedDateTime;
 import java.util.List;
 import org.fd.mcb.modules.reconciliation.enums.DiscrepancySeverity;
 import org.fd.mcb.modules.reconciliation.enums.DiscrepancyType;
 import org.fd.mcb.modules.reconciliation.model.entity.ReconciliationDiscrepancy;
 import org.fd.mcb.modules.reconciliation.model.entity.ReconciliationReport;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.query.Param;
@@ -15,6 +17,8 @@ public interface ReconciliationDiscrepancyRepository extends CrudRepository<Reco
 
     List<ReconciliationDiscrepancy> findByReport(ReconciliationReport report);
 
+    List<ReconciliationDiscrepancy> findByReportAndHandledAtIsNull(ReconciliationReport report);
+
     List<ReconciliationDiscrepancy> findByReportAndSeverity(ReconciliationReport report, DiscrepancySeverity severity);
 
     List<ReconciliationDiscrepancy> findByEntityTypeAndEntityId(String entityType, Long entityId);
@@ -29,4 +33,12 @@ public interface ReconciliationDiscrepancyRepository extends CrudRepository<Reco
 
     @Query("SELECT d FROM ReconciliationDiscrepancy d WHERE d.severity = :severity AND d.autoCorrected = false ORDER BY d.createdAt DESC")
     List<ReconciliationDiscrepancy> findUncorrectedBySeverity(@Param("severity") DiscrepancySeverity severity);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE ReconciliationDiscrepancy d SET d.handledAt = :handledAt WHERE d.id IN :ids")
+    int markHandled(@Param("ids") List<Long> ids, @Param("handledAt") ZonedDateTime handledAt);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE ReconciliationDiscrepancy d SET d.autoCorrected = true WHERE d.id IN :ids")
+    int markAutoCorrected(@Param("ids") List<Long> ids);
 }
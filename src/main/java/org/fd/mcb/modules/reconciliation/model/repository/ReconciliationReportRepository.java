@@ -1,12 +1,14 @@
 package org.fd.mcb.modules.reconciliation.model.repository;
 
 import java.time.LocalDate;
+import java.time.ZonedDateTime;
 import java.util.List;
 import java.util.Optional;
 import org.fd.mcb.modules.reconciliation.enums.ReconciliationStatus;
 import org.fd.mcb.modules.reconciliation.model.entity.ReconciliationReport;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.query.Param;
@@ -34,4 +36,18 @@ public interface ReconciliationReportRepository extends CrudRepository<Reconcili
 
     @Query("SELECT r FROM ReconciliationReport r ORDER BY r.reconciliationDate DESC LIMIT 1")
     Optional<ReconciliationReport> findLatest();
+
+    @Modifying
+    @Query("UPDATE ReconciliationReport r SET r.status = org.fd.mcb.modules.reconciliation.enums.ReconciliationStatus.IN_PROGRESS, " +
+            "r.startedAt = :now, r.heartbeatAt = :now, r.completedAt = NULL WHERE r.id = :id " +
+            "AND (r.status = org.fd.mcb.modules.reconciliation.enums.ReconciliationStatus.FAILED " +
+            "OR (r.status = org.fd.mcb.modules.reconciliation.enums.ReconciliationStatus.IN_PROGRESS AND r.heartbeatAt < :staleBefore))")
+    int claimForRun(
+            @Param("id") Long id,
+            @Param("now") ZonedDateTime now,
+            @Param("staleBefore") ZonedDateTime staleBefore);
+
+    @Modifying
+    @Query("UPDATE ReconciliationReport r SET r.heartbeatAt = :now WHERE r.id = :id")
+    int touchHeartbeat(@Param("id") Long id, @Param("now") ZonedDateTime now);
 }
@@ -0,0 +1,41 @@
+package org.fd.mcb.modules.reconciliation.model.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Optional;
+import org.fd.mcb.modules.journalentry.dto.AccountEntryTotals;
+import org.fd.mcb.modules.reconciliation.model.entity.ReconciliationRunningTotal;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ReconciliationRunningTotalRepository extends CrudRepository<ReconciliationRunningTotal, Long> {
+
+    Optional<ReconciliationRunningTotal> findByBusinessDateAndAccountId(LocalDate businessDate, Long accountId);
+
+    @Modifying
+    @Query("UPDATE ReconciliationRunningTotal rt SET rt.totalDebits = rt.totalDebits + :debits, " +
+            "rt.totalCredits = rt.totalCredits + :credits, rt.entryCount = rt.entryCount + :entryCount, " +
+            "rt.updatedAt = :updatedAt WHERE rt.businessDate = :businessDate AND rt.accountId = :accountId")
+    int addTotals(
+            @Param("businessDate") LocalDate businessDate,
+            @Param("accountId") Long accountId,
+            @Param("debits") BigDecimal debits,
+            @Param("credits") BigDecimal credits,
+            @Param("entryCount") long entryCount,
+            @Param("updatedAt") ZonedDateTime updatedAt);
+
+    @Query("SELECT new org.fd.mcb.modules.journalentry.dto.AccountEntryTotals(" +
+            "ba.id, ba.accountNumber, ba.balance, ba.reconciledBalance, rt.totalCredits, rt.totalDebits) " +
+            "FROM ReconciliationRunningTotal rt JOIN BankAccount ba ON ba.id = rt.accountId " +
+            "WHERE rt.businessDate = :businessDate AND ba.id BETWEEN :fromId AND :toId")
+    List<AccountEntryTotals> findAccountTotals(
+            @Param("businessDate") LocalDate businessDate,
+            @Param("fromId") Long fromId,
+            @Param("toId") Long toId);
+}
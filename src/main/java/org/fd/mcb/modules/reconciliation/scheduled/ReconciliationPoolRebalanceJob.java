@@ -0,0 +1,30 @@
+package org.fd.mcb.modules.reconciliation.scheduled;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.fd.mcb.configs.ReconciliationConfigProperties;
+import org.fd.mcb.modules.reconciliation.service.ReconciliationPoolService;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReconciliationPoolRebalanceJob {
+
+    private final ReconciliationPoolService reconciliationPoolService;
+    private final ReconciliationConfigProperties config;
+
+    @Scheduled(fixedDelayString = "${reconciliation.pool.rebalance-interval:PT5M}")
+    public void rebalancePool() {
+        if (config.getPool().getShards() < 2) {
+            return;
+        }
+
+        try {
+            reconciliationPoolService.rebalance();
+        } catch (Exception e) {
+            log.error("Error during reconciliation pool rebalance job", e);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package org.fd.mcb.modules.reconciliation.scheduled;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.fd.mcb.configs.ReconciliationConfigProperties;
+import org.fd.mcb.modules.reconciliation.service.RunningTotalsService;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RunningTotalsFlushJob {
+
+    private final RunningTotalsService runningTotalsService;
+    private final ReconciliationConfigProperties config;
+
+    @Scheduled(fixedDelayString = "${reconciliation.running-totals.flush-interval:PT10S}")
+    public void flushRunningTotals() {
+        if (!config.getRunningTotals().isEnabled()) {
+            return;
+        }
+
+        try {
+            runningTotalsService.flush();
+        } catch (Exception e) {
+            log.error("Error during running totals flush job", e);
+        }
+    }
+}
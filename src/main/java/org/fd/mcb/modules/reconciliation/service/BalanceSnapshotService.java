@@ -0,0 +1,49 @@
+package org.fd.mcb.modules.reconciliation.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Map;
+import org.fd.mcb.modules.journalentry.dto.AccountEntryTotals;
+import org.fd.mcb.modules.reconciliation.dto.BalanceAsOfDto;
+
+public interface BalanceSnapshotService {
+
+    /**
+     * Closing balances of the accounts in the id range at the end of a date, keyed by account id
+     */
+    Map<Long, BigDecimal> findClosingBalances(LocalDate date, Long fromId, Long toId);
+
+    /**
+     * Net journal change (credits minus debits) per account after a point in time, keyed by account id
+     */
+    Map<Long, BigDecimal> findNetChangesAfter(ZonedDateTime after, Long fromId, Long toId);
+
+    /**
+     * Write the closing snapshot of a date for every account in the id range
+     * @param dayTotals The date's debit/credit totals of the accounts touched that day
+     * @param expectedClosing Closing balance derived from the journal, keyed by account id. Used instead of
+     *                        the row balance, so a mismatch left uncorrected is found again the next day
+     * @param laterChanges Net change posted after the date, taken off the current balance of the accounts
+     *                     without an expected closing balance
+     * @return The number of snapshots written
+     */
+    int writeSnapshots(LocalDate date, Long fromId, Long toId, List<AccountEntryTotals> dayTotals,
+                       Map<Long, BigDecimal> expectedClosing, Map<Long, BigDecimal> laterChanges);
+
+    /**
+     * Close the report's date on the actual balance once a mismatch was corrected by a later entry,
+     * otherwise the next day counts the correction on top of the expected balance
+     * @param expected The journal's balance the snapshot was written with, left alone if it was not
+     * @param actual The row balance the discrepancy was found with
+     */
+    void correctClosingBalance(Long reportId, Long accountId, BigDecimal expected, BigDecimal actual);
+
+    /**
+     * Take the account's current balance as correct, moving its latest closing snapshot to match it
+     */
+    void rebaseLatestSnapshot(Long accountId);
+
+    BalanceAsOfDto findBalanceAsOf(Long accountId, ZonedDateTime asOf);
+}
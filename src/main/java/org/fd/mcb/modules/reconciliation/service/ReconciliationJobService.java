@@ -0,0 +1,22 @@
+package org.fd.mcb.modules.reconciliation.service;
+
+import java.time.LocalDate;
+import org.fd.mcb.modules.reconciliation.dto.ReconciliationJobDto;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public interface ReconciliationJobService {
+
+    /**
+     * Queue a reconciliation run for a date on the reconciliation executor
+     * @param date The date to reconcile
+     * @return The job snapshot, carrying the id used to follow it
+     */
+    ReconciliationJobDto submit(LocalDate date);
+
+    ReconciliationJobDto getJob(String jobId);
+
+    /**
+     * Stream the job progress as Server-Sent Events until the job finishes
+     */
+    SseEmitter stream(String jobId);
+}
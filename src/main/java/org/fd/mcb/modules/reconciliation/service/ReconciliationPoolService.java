@@ -0,0 +1,38 @@
+package org.fd.mcb.modules.reconciliation.service;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import org.fd.mcb.modules.master.model.entity.BankAccount;
+
+public interface ReconciliationPoolService {
+
+    /**
+     * Account numbers of the pool shards in shard order, shard 0 is the original pool account
+     */
+    List<String> shardAccountNumbers();
+
+    /**
+     * Shard that funds the corrections of an account, stable for a given shard count
+     */
+    int shardOf(Long accountId);
+
+    /**
+     * Lock the given shards for the rest of the caller's transaction, in the same order as rebalance
+     * @param shards Shard indexes, see {@link #shardOf}
+     * @return The shard accounts by shard index, shards without an account are left out
+     */
+    Map<Integer, BankAccount> lockShards(Collection<Integer> shards);
+
+    /**
+     * Logical balance of the pool, the sum of all its shards
+     */
+    BigDecimal getBalance();
+
+    /**
+     * Spread the pool evenly over its shards once any shard falls below its share of the
+     * low-balance threshold
+     */
+    void rebalance();
+}
@@ -0,0 +1,25 @@
+package org.fd.mcb.modules.reconciliation.service;
+
+import org.fd.mcb.modules.reconciliation.enums.ReconciliationPhase;
+
+/**
+ * Receives progress of a reconciliation run. Callbacks may arrive from the partition worker threads.
+ */
+public interface ReconciliationProgressListener {
+
+    ReconciliationProgressListener NONE = new ReconciliationProgressListener() {
+    };
+
+    default void onReportStarted(Long reportId) {
+    }
+
+    default void onPhase(ReconciliationPhase phase) {
+    }
+
+    /**
+     * @param accountsChecked accounts checked since the previous call
+     * @param discrepanciesFound discrepancies found since the previous call
+     */
+    default void onProgress(long accountsChecked, int discrepanciesFound) {
+    }
+}
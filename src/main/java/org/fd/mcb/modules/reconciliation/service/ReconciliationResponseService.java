@@ -1,5 +1,6 @@
 package org.fd.mcb.modules.reconciliation.service;
 
+import java.util.List;
 import org.fd.mcb.modules.reconciliation.model.entity.ReconciliationDiscrepancy;
 
 public interface ReconciliationResponseService {
@@ -10,6 +11,12 @@ public interface ReconciliationResponseService {
      */
     void handleDiscrepancy(ReconciliationDiscrepancy discrepancy);
 
+    /**
+     * Handle a batch of discrepancies in one transaction, accounts are loaded and updated in bulk
+     * @param discrepancies The persisted discrepancies to handle
+     */
+    void handleDiscrepancies(List<ReconciliationDiscrepancy> discrepancies);
+
     /**
      * Unblock an account after manual review
      * @param accountId The account ID to unblock
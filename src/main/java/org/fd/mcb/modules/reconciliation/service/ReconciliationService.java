@@ -1,6 +1,7 @@
 package org.fd.mcb.modules.reconciliation.service;
 
 import java.time.LocalDate;
+import org.fd.mcb.modules.reconciliation.dto.IntradayCheckDto;
 import org.fd.mcb.modules.reconciliation.model.entity.ReconciliationReport;
 
 public interface ReconciliationService {
@@ -12,6 +13,20 @@ public interface ReconciliationService {
      */
     ReconciliationReport performReconciliation(LocalDate date);
 
+    /**
+     * Perform complete reconciliation for a specific date, reporting progress as it goes
+     * @param date The date to reconcile
+     * @param listener Receives the phase and per-partition progress
+     * @return The reconciliation report
+     */
+    ReconciliationReport performReconciliation(LocalDate date, ReconciliationProgressListener listener);
+
+    /**
+     * Compare today's journal totals against the current balances without creating a report
+     * @return The accounts whose balance does not match today's entries
+     */
+    IntradayCheckDto performIntradayCheck();
+
     /**
      * Get the latest reconciliation report
      * @return The most recent reconciliation report
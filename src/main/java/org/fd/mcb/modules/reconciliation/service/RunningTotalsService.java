@@ -0,0 +1,31 @@
+package org.fd.mcb.modules.reconciliation.service;
+
+import java.time.LocalDate;
+import java.util.List;
+import org.fd.mcb.modules.journalentry.dto.AccountEntryTotals;
+import org.fd.mcb.modules.journalentry.dto.EntryTypeTotal;
+import org.fd.mcb.modules.journalentry.model.entity.JournalEntry;
+
+public interface RunningTotalsService {
+
+    /**
+     * Add the entries to the in-memory accumulators once the surrounding transaction commits
+     */
+    void record(List<JournalEntry> entries);
+
+    /**
+     * Write the accumulated deltas to reconciliation_running_totals
+     */
+    void flush();
+
+    /**
+     * Whether the running totals of a date saw every entry of that day, i.e. the entry count summed by
+     * every instance matches the journal entries of the day. Flushes this instance's deltas first.
+     * Otherwise the journal entries have to be read.
+     */
+    boolean isComplete(LocalDate businessDate);
+
+    List<EntryTypeTotal> findSystemTotals(LocalDate businessDate);
+
+    List<AccountEntryTotals> findAccountTotals(LocalDate businessDate, Long fromId, Long toId);
+}
@@ -0,0 +1,148 @@
+package org.fd.mcb.modules.reconciliation.service.impl;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.fd.mcb.modules.journalentry.dto.AccountEntryTotals;
+import org.fd.mcb.modules.journalentry.dto.AccountNetChange;
+import org.fd.mcb.modules.journalentry.model.repository.JournalEntryRepository;
+import org.fd.mcb.modules.master.dto.AccountBalance;
+import org.fd.mcb.modules.master.engine.HotAccountService;
+import org.fd.mcb.modules.master.model.entity.BankAccount;
+import org.fd.mcb.modules.master.model.repository.BankAccountRepository;
+import org.fd.mcb.modules.reconciliation.dto.BalanceAsOfDto;
+import org.fd.mcb.modules.reconciliation.model.entity.AccountBalanceSnapshot;
+import org.fd.mcb.modules.reconciliation.model.repository.AccountBalanceSnapshotRepository;
+import org.fd.mcb.modules.reconciliation.service.BalanceSnapshotService;
+import org.fd.mcb.shared.exception.BankAccountNotFoundException;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BalanceSnapshotServiceImpl implements BalanceSnapshotService {
+
+    private static final ZoneId BUSINESS_ZONE = ZoneId.of("Asia/Jakarta");
+
+    private final AccountBalanceSnapshotRepository snapshotRepository;
+    private final JournalEntryRepository journalEntryRepository;
+    private final BankAccountRepository bankAccountRepository;
+    private final HotAccountService hotAccountService;
+
+    @Override
+    public Map<Long, BigDecimal> findClosingBalances(LocalDate date, Long fromId, Long toId) {
+        Map<Long, BigDecimal> closingBalances = new HashMap<>();
+        for (AccountBalanceSnapshot snapshot : snapshotRepository.findBySnapshotDateAndAccountIdBetween(date, fromId, toId)) {
+            closingBalances.put(snapshot.getAccountId(), snapshot.getClosingBalance());
+        }
+        return closingBalances;
+    }
+
+    @Override
+    public Map<Long, BigDecimal> findNetChangesAfter(ZonedDateTime after, Long fromId, Long toId) {
+        Map<Long, BigDecimal> netChanges = new HashMap<>();
+        for (AccountNetChange change : journalEntryRepository.sumNetChangeByAccountAfter(after, fromId, toId)) {
+            netChanges.put(change.accountId(), change.netChange());
+        }
+        return netChanges;
+    }
+
+    @Override
+    public int writeSnapshots(LocalDate date, Long fromId, Long toId, List<AccountEntryTotals> dayTotals,
+                              Map<Long, BigDecimal> expectedClosing, Map<Long, BigDecimal> laterChanges) {
+        Map<Long, AccountEntryTotals> totalsByAccount = new HashMap<>();
+        dayTotals.forEach(totals -> totalsByAccount.put(totals.accountId(), totals));
+
+        ZonedDateTime now = ZonedDateTime.now();
+        List<AccountBalanceSnapshot> snapshots = new ArrayList<>();
+        for (AccountBalance account : bankAccountRepository.findBalancesByIdBetween(fromId, toId)) {
+            AccountBalanceSnapshot snapshot = new AccountBalanceSnapshot();
+            snapshot.setAccountId(account.accountId());
+            snapshot.setSnapshotDate(date);
+            // The journal's balance, not the row's: an opening balance that already agrees with a drifted
+            // row would hide the drift from the next day's check
+            BigDecimal closingBalance = expectedClosing.get(account.accountId());
+            if (closingBalance == null) {
+                // Nothing to derive it from yet. Entries posted after the date are taken back off,
+                // so a late run still gets the closing balance
+                closingBalance = account.balance()
+                    .subtract(laterChanges.getOrDefault(account.accountId(), BigDecimal.ZERO));
+            }
+            snapshot.setClosingBalance(closingBalance);
+            // Holds are not journaled, the held amount is the one at the time of the run
+            snapshot.setHeldAmount(account.heldAmount());
+
+            AccountEntryTotals totals = totalsByAccount.get(account.accountId());
+            if (totals != null) {
+                snapshot.setTotalDebits(totals.totalDebits());
+                snapshot.setTotalCredits(totals.totalCredits());
+            }
+            snapshot.setCreatedAt(now);
+            snapshots.add(snapshot);
+        }
+
+        snapshotRepository.saveAll(snapshots);
+        log.debug("Wrote {} balance snapshot(s) for {} in accounts {} to {}", snapshots.size(), date, fromId, toId);
+        return snapshots.size();
+    }
+
+    @Override
+    public void correctClosingBalance(Long reportId, Long accountId, BigDecimal expected, BigDecimal actual) {
+        snapshotRepository.replaceClosingBalance(reportId, accountId, expected, actual);
+    }
+
+    @Override
+    public void rebaseLatestSnapshot(Long accountId) {
+        Optional<AccountBalanceSnapshot> latest = snapshotRepository.findFirstByAccountIdOrderBySnapshotDateDesc(accountId);
+        if (latest.isEmpty()) {
+            return;
+        }
+        BankAccount account = bankAccountRepository.findById(accountId)
+            .orElseThrow(BankAccountNotFoundException::new);
+
+        // Walk back from the current balance, as the balance of the day the snapshot closed
+        AccountBalanceSnapshot snapshot = latest.get();
+        ZonedDateTime endOfSnapshotDay = snapshot.getSnapshotDate().plusDays(1)
+            .atStartOfDay(BUSINESS_ZONE).minusNanos(1);
+        snapshot.setClosingBalance(account.getBalance().add(hotAccountService.findPendingCredit(accountId)).subtract(
+            journalEntryRepository.sumNetChangeByAccountAndPeriod(accountId, endOfSnapshotDay, ZonedDateTime.now())));
+        snapshotRepository.save(snapshot);
+    }
+
+    @Override
+    public BalanceAsOfDto findBalanceAsOf(Long accountId, ZonedDateTime asOf) {
+        BankAccount account = bankAccountRepository.findById(accountId)
+            .orElseThrow(BankAccountNotFoundException::new);
+
+        BalanceAsOfDto result = new BalanceAsOfDto();
+        result.setAccountId(accountId);
+        result.setAsOf(asOf);
+
+        // Replay forward from the latest closing snapshot before that day
+        LocalDate day = asOf.withZoneSameInstant(BUSINESS_ZONE).toLocalDate();
+        Optional<AccountBalanceSnapshot> snapshot = snapshotRepository
+            .findFirstByAccountIdAndSnapshotDateLessThanOrderBySnapshotDateDesc(accountId, day);
+
+        if (snapshot.isPresent()) {
+            ZonedDateTime endOfSnapshotDay = snapshot.get().getSnapshotDate().plusDays(1)
+                .atStartOfDay(BUSINESS_ZONE).minusNanos(1);
+            result.setBalance(snapshot.get().getClosingBalance().add(
+                journalEntryRepository.sumNetChangeByAccountAndPeriod(accountId, endOfSnapshotDay, asOf)));
+            result.setSnapshotDate(snapshot.get().getSnapshotDate());
+            return result;
+        }
+
+        // No snapshot yet, walk back from the current balance including credits still on its stripes
+        result.setBalance(account.getBalance().add(hotAccountService.findPendingCredit(accountId)).subtract(
+            journalEntryRepository.sumNetChangeByAccountAndPeriod(accountId, asOf, ZonedDateTime.now())));
+        return result;
+    }
+}
@@ -0,0 +1,182 @@
+package org.fd.mcb.modules.reconciliation.service.impl;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.fd.mcb.configs.ReconciliationConfigProperties;
+import org.fd.mcb.configs.exception.ModuleException;
+import org.fd.mcb.modules.reconciliation.dto.ReconciliationJobDto;
+import org.fd.mcb.modules.reconciliation.enums.ReconciliationPhase;
+import org.fd.mcb.modules.reconciliation.service.ReconciliationJobService;
+import org.fd.mcb.modules.reconciliation.service.ReconciliationProgressListener;
+import org.fd.mcb.modules.reconciliation.service.ReconciliationService;
+import org.fd.mcb.shared.exception.ReconciliationInProgressException;
+import org.fd.mcb.shared.exception.ReconciliationJobNotFoundException;
+import org.fd.mcb.shared.response.ResponseEnum;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReconciliationJobServiceImpl implements ReconciliationJobService {
+
+    private static final String PROGRESS_EVENT = "progress";
+
+    private final ReconciliationService reconciliationService;
+    private final ReconciliationConfigProperties config;
+    private final TaskExecutor reconciliationJobExecutor;
+
+    // Jobs live in memory only, the report and its checkpoints are the durable record
+    private final Map<String, ReconciliationJob> jobs = new ConcurrentHashMap<>();
+
+    @Override
+    public ReconciliationJobDto submit(LocalDate date) {
+        evictFinishedJobs();
+
+        ReconciliationJob job = new ReconciliationJob(UUID.randomUUID().toString(), date);
+        jobs.put(job.id, job);
+
+        try {
+            reconciliationJobExecutor.execute(() -> run(job));
+        } catch (TaskRejectedException e) {
+            log.warn("Reconciliation executor saturated, rejecting job for date {}", date);
+            jobs.remove(job.id);
+            throw new ReconciliationInProgressException();
+        }
+
+        log.info("Queued reconciliation job {} for date {}", job.id, date);
+        return job.toDto();
+    }
+
+    @Override
+    public ReconciliationJobDto getJob(String jobId) {
+        return findJob(jobId).toDto();
+    }
+
+    @Override
+    public SseEmitter stream(String jobId) {
+        ReconciliationJob job = findJob(jobId);
+        SseEmitter emitter = new SseEmitter(config.getJobs().getStreamTimeout().toMillis());
+        emitter.onCompletion(() -> job.emitters.remove(emitter));
+        emitter.onTimeout(() -> job.emitters.remove(emitter));
+        emitter.onError(e -> job.emitters.remove(emitter));
+
+        job.emitters.add(emitter);
+        // The first event carries the current state, the job may even be finished already
+        job.publish(emitter);
+        return emitter;
+    }
+
+    private void run(ReconciliationJob job) {
+        try {
+            reconciliationService.performReconciliation(job.date, job);
+            job.finish(ReconciliationPhase.COMPLETED, null);
+        } catch (ModuleException e) {
+            job.finish(ReconciliationPhase.FAILED, e.getResponseEnum().getResponseCode());
+        } catch (Exception e) {
+            log.error("Reconciliation job {} failed", job.id, e);
+            job.finish(ReconciliationPhase.FAILED, ResponseEnum.INTERNAL_SERVER_ERROR.getResponseCode());
+        }
+    }
+
+    private ReconciliationJob findJob(String jobId) {
+        ReconciliationJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new ReconciliationJobNotFoundException();
+        }
+        return job;
+    }
+
+    private void evictFinishedJobs() {
+        ZonedDateTime cutoff = ZonedDateTime.now().minus(config.getJobs().getRetention());
+        jobs.values().removeIf(job -> job.finishedAt != null && job.finishedAt.isBefore(cutoff));
+    }
+
+    private static final class ReconciliationJob implements ReconciliationProgressListener {
+
+        private final String id;
+        private final LocalDate date;
+        private final ZonedDateTime submittedAt = ZonedDateTime.now();
+        private final AtomicLong accountsChecked = new AtomicLong();
+        private final AtomicInteger discrepanciesFound = new AtomicInteger();
+        private final List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+
+        private volatile ReconciliationPhase phase = ReconciliationPhase.QUEUED;
+        private volatile Long reportId;
+        private volatile ZonedDateTime finishedAt;
+        private volatile String error;
+
+        private ReconciliationJob(String id, LocalDate date) {
+            this.id = id;
+            this.date = date;
+        }
+
+        @Override
+        public void onReportStarted(Long reportId) {
+            this.reportId = reportId;
+            publishAll();
+        }
+
+        @Override
+        public void onPhase(ReconciliationPhase phase) {
+            this.phase = phase;
+            publishAll();
+        }
+
+        @Override
+        public void onProgress(long accountsChecked, int discrepanciesFound) {
+            this.accountsChecked.addAndGet(accountsChecked);
+            this.discrepanciesFound.addAndGet(discrepanciesFound);
+            publishAll();
+        }
+
+        private void finish(ReconciliationPhase phase, String error) {
+            this.error = error;
+            this.finishedAt = ZonedDateTime.now();
+            this.phase = phase;
+            publishAll();
+        }
+
+        private void publishAll() {
+            emitters.forEach(this::publish);
+        }
+
+        private void publish(SseEmitter emitter) {
+            try {
+                emitter.send(SseEmitter.event().name(PROGRESS_EVENT).data(toDto()));
+                if (phase.isFinished()) {
+                    emitter.complete();
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Client went away, stop streaming to it
+                emitters.remove(emitter);
+            }
+        }
+
+        private ReconciliationJobDto toDto() {
+            ReconciliationJobDto dto = new ReconciliationJobDto();
+            dto.setJobId(id);
+            dto.setReconciliationDate(date);
+            dto.setPhase(phase);
+            dto.setReportId(reportId);
+            dto.setAccountsChecked(accountsChecked.get());
+            dto.setDiscrepanciesFound(discrepanciesFound.get());
+            dto.setSubmittedAt(submittedAt);
+            dto.setFinishedAt(finishedAt);
+            dto.setError(error);
+            return dto;
+        }
+    }
+}
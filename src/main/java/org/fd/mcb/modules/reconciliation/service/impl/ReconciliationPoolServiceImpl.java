@@ -0,0 +1,162 @@
+package org.fd.mcb.modules.reconciliation.service.impl;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.fd.mcb.configs.ReconciliationConfigProperties;
+import org.fd.mcb.modules.journalentry.adapter.command.JournalEntryCommandAdapter;
+import org.fd.mcb.modules.journalentry.dto.context.JournalEntryContext;
+import org.fd.mcb.modules.journalentry.enums.EntryType;
+import org.fd.mcb.modules.master.adapter.command.BankAccountCommandAdapter;
+import org.fd.mcb.modules.master.adapter.command.TransactionCommandAdapter;
+import org.fd.mcb.modules.master.adapter.query.PaymentTypeQueryAdapter;
+import org.fd.mcb.modules.master.engine.BalanceEngine;
+import org.fd.mcb.modules.master.enums.TransactionStatus;
+import org.fd.mcb.modules.master.model.entity.BankAccount;
+import org.fd.mcb.modules.master.model.entity.Transaction;
+import org.fd.mcb.modules.master.model.repository.BankAccountRepository;
+import org.fd.mcb.modules.reconciliation.service.ReconciliationPoolService;
+import org.fd.mcb.modules.transaction.dto.context.TransactionContext;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReconciliationPoolServiceImpl implements ReconciliationPoolService {
+
+    private static final String REBALANCE_PAYMENT_TYPE = "RECONCILIATION_POOL_REBALANCE";
+    private static final String REBALANCE_CHANNEL = "RECONCILIATION";
+
+    private final BankAccountRepository bankAccountRepository;
+    private final BankAccountCommandAdapter bankAccountCommandAdapter;
+    private final TransactionCommandAdapter transactionCommandAdapter;
+    private final JournalEntryCommandAdapter journalEntryCommandAdapter;
+    private final PaymentTypeQueryAdapter paymentTypeQueryAdapter;
+    private final ReconciliationConfigProperties config;
+    private final BalanceEngine balanceEngine;
+
+    @Override
+    public List<String> shardAccountNumbers() {
+        String accountNumber = config.getPool().getAccountNumber();
+        return IntStream.range(0, Math.max(1, config.getPool().getShards()))
+            .mapToObj(shard -> shard == 0 ? accountNumber : accountNumber + "-" + shard)
+            .toList();
+    }
+
+    @Override
+    public int shardOf(Long accountId) {
+        return Math.floorMod(Long.hashCode(accountId), shardAccountNumbers().size());
+    }
+
+    @Override
+    public Map<Integer, BankAccount> lockShards(Collection<Integer> shards) {
+        List<String> numbers = shardAccountNumbers();
+        Map<String, Integer> shardByNumber = new HashMap<>();
+        shards.forEach(shard -> shardByNumber.put(numbers.get(shard), shard));
+
+        // Locked in id order, the same order rebalance uses
+        Map<Integer, BankAccount> locked = new TreeMap<>();
+        bankAccountRepository.findForUpdateByAccountNumberIn(shardByNumber.keySet())
+            .forEach(account -> locked.put(shardByNumber.get(account.getAccountNumber()), account));
+        return locked;
+    }
+
+    @Override
+    public BigDecimal getBalance() {
+        return bankAccountRepository.sumBalanceByAccountNumberIn(shardAccountNumbers());
+    }
+
+    @Override
+    @Transactional
+    public void rebalance() {
+        // Locked in id order so concurrent rebalances cannot deadlock
+        List<BankAccount> shards = inShardOrder(
+            bankAccountRepository.findForUpdateByAccountNumberIn(shardAccountNumbers()));
+        if (shards.size() < 2) {
+            return;
+        }
+
+        BigDecimal shardCount = BigDecimal.valueOf(shards.size());
+        BigDecimal floor = config.getPool().getLowBalanceThreshold().divide(shardCount, 2, RoundingMode.DOWN);
+        if (shards.stream().noneMatch(shard -> shard.getBalance().compareTo(floor) < 0)) {
+            return;
+        }
+
+        BigDecimal total = shards.stream().map(BankAccount::getBalance).reduce(BigDecimal.ZERO, BigDecimal::add);
+        if (total.signum() <= 0) {
+            log.error("Reconciliation pool is exhausted, balance: {}", total);
+            return;
+        }
+        if (total.compareTo(config.getPool().getLowBalanceThreshold()) < 0) {
+            log.warn("Reconciliation pool balance {} is below the threshold of {}, rebalancing what is left",
+                total, config.getPool().getLowBalanceThreshold());
+        }
+
+        // Every shard gets the same share, the rounding remainder stays on shard 0
+        BigDecimal target = total.divide(shardCount, 2, RoundingMode.DOWN);
+        List<BigDecimal> deltas = new ArrayList<>();
+        BigDecimal othersDelta = BigDecimal.ZERO;
+        for (int i = 1; i < shards.size(); i++) {
+            BigDecimal delta = target.subtract(shards.get(i).getBalance());
+            deltas.add(delta);
+            othersDelta = othersDelta.add(delta);
+        }
+        deltas.addFirst(othersDelta.negate());
+
+        BigDecimal moved = deltas.stream().filter(delta -> delta.signum() > 0)
+            .reduce(BigDecimal.ZERO, BigDecimal::add);
+        Transaction transaction = transactionCommandAdapter.save(TransactionContext.builder()
+            .amount(moved)
+            .channel(REBALANCE_CHANNEL)
+            .paymentType(paymentTypeQueryAdapter.findByName(REBALANCE_PAYMENT_TYPE))
+            .status(TransactionStatus.COMPLETED)
+            .build());
+
+        List<JournalEntryContext> entries = new ArrayList<>();
+        for (int i = 0; i < shards.size(); i++) {
+            BankAccount shard = shards.get(i);
+            BigDecimal delta = deltas.get(i);
+            if (delta.signum() == 0) {
+                continue;
+            }
+            bankAccountCommandAdapter.applyBalanceDelta(shard.getId(), delta, delta, BigDecimal.ZERO);
+            balanceEngine.evict(shard.getId());
+            entries.add(JournalEntryContext.builder()
+                .transaction(transaction)
+                .bankAccount(shard)
+                .amount(delta.abs())
+                .entryType(delta.signum() > 0 ? EntryType.CREDIT : EntryType.DEBIT)
+                .build());
+        }
+        journalEntryCommandAdapter.saveAll(entries);
+
+        log.info("Rebalanced reconciliation pool: moved {} across {} shards, {} per shard",
+            moved, shards.size(), target);
+    }
+
+    private List<BankAccount> inShardOrder(List<BankAccount> accounts) {
+        Map<String, BankAccount> byNumber = accounts.stream()
+            .collect(Collectors.toMap(BankAccount::getAccountNumber, Function.identity()));
+        List<String> numbers = shardAccountNumbers();
+        List<BankAccount> shards = numbers.stream()
+            .map(byNumber::get)
+            .filter(Objects::nonNull)
+            .toList();
+        if (shards.size() < numbers.size()) {
+            log.warn("Only {} of {} reconciliation pool shard accounts exist", shards.size(), numbers.size());
+        }
+        return shards;
+    }
+}
@@ -2,22 +2,42 @@ package org.fd.mcb.modules.reconciliation.service.impl;
 
 import java.math.BigDecimal;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.fd.mcb.configs.ReconciliationConfigProperties;
-import org.fd.mcb.modules.auditlog.adapter.command.AuditLogCommandAdapter;
+import org.fd.mcb.modules.auditlog.dto.context.AuditLogContext;
+import org.fd.mcb.modules.auditlog.service.AuditLogService;
+import org.fd.mcb.modules.journalentry.adapter.command.JournalEntryCommandAdapter;
+import org.fd.mcb.modules.journalentry.dto.context.JournalEntryContext;
+import org.fd.mcb.modules.journalentry.enums.EntryType;
 import org.fd.mcb.modules.master.adapter.command.BankAccountCommandAdapter;
+import org.fd.mcb.modules.master.adapter.command.TransactionCommandAdapter;
+import org.fd.mcb.modules.master.adapter.query.PaymentTypeQueryAdapter;
+import org.fd.mcb.modules.master.engine.BalanceEngine;
+import org.fd.mcb.modules.master.enums.TransactionStatus;
 import org.fd.mcb.modules.master.model.entity.BankAccount;
+import org.fd.mcb.modules.master.model.entity.Transaction;
 import org.fd.mcb.modules.master.model.repository.BankAccountRepository;
 import org.fd.mcb.modules.reconciliation.adapter.command.AccountLimitsCommandAdapter;
 import org.fd.mcb.modules.reconciliation.adapter.command.ReconciliationCommandAdapter;
 import org.fd.mcb.modules.reconciliation.enums.AccountTier;
-import org.fd.mcb.modules.reconciliation.enums.DiscrepancySeverity;
+import org.fd.mcb.modules.reconciliation.enums.DiscrepancyType;
 import org.fd.mcb.modules.reconciliation.model.entity.AccountLimits;
 import org.fd.mcb.modules.reconciliation.model.entity.ReconciliationDiscrepancy;
+import org.fd.mcb.modules.reconciliation.service.BalanceSnapshotService;
+import org.fd.mcb.modules.reconciliation.service.ReconciliationPoolService;
 import org.fd.mcb.modules.reconciliation.service.ReconciliationResponseService;
+import org.fd.mcb.modules.transaction.dto.context.TransactionContext;
 import org.fd.mcb.shared.exception.BankAccountNotFoundException;
-import org.fd.mcb.shared.exception.ReconciliationPoolInsufficientFundsException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -26,81 +46,155 @@ import org.springframework.transaction.annotation.Transactional;
 @Slf4j
 public class ReconciliationResponseServiceImpl implements ReconciliationResponseService {
 
+    private static final String CORRECTION_PAYMENT_TYPE = "RECONCILIATION_CORRECTION";
+    private static final String CORRECTION_CHANNEL = "RECONCILIATION";
+
     private final ReconciliationCommandAdapter reconciliationCommandAdapter;
     private final AccountLimitsCommandAdapter accountLimitsCommandAdapter;
     private final BankAccountCommandAdapter bankAccountCommandAdapter;
     private final BankAccountRepository bankAccountRepository;
-    private final AuditLogCommandAdapter auditLogCommandAdapter;
+    private final TransactionCommandAdapter transactionCommandAdapter;
+    private final JournalEntryCommandAdapter journalEntryCommandAdapter;
+    private final PaymentTypeQueryAdapter paymentTypeQueryAdapter;
+    private final ReconciliationPoolService reconciliationPoolService;
+    private final BalanceSnapshotService balanceSnapshotService;
+    private final AuditLogService auditLogService;
     private final ReconciliationConfigProperties config;
+    private final BalanceEngine balanceEngine;
 
     @Override
     @Transactional
     public void handleDiscrepancy(ReconciliationDiscrepancy discrepancy) {
-        log.info("Handling discrepancy: Type={}, Severity={}, EntityType={}, EntityId={}",
-            discrepancy.getDiscrepancyType(),
-            discrepancy.getSeverity(),
-            discrepancy.getEntityType(),
-            discrepancy.getEntityId());
+        handleDiscrepancies(List.of(discrepancy));
+    }
+
+    @Override
+    @Transactional
+    public void handleDiscrepancies(List<ReconciliationDiscrepancy> discrepancies) {
+        if (discrepancies.isEmpty()) {
+            return;
+        }
+        log.info("Handling {} discrepancies", discrepancies.size());
+
+        // Preload every affected account with one IN query
+        HandlingBatch batch = new HandlingBatch(loadAccounts(discrepancies));
+
+        for (ReconciliationDiscrepancy discrepancy : discrepancies) {
+            log.debug("Handling discrepancy: Type={}, Severity={}, EntityType={}, EntityId={}",
+                discrepancy.getDiscrepancyType(),
+                discrepancy.getSeverity(),
+                discrepancy.getEntityType(),
+                discrepancy.getEntityId());
+
+            // Always log to audit
+            auditLog("DISCREPANCY_DETECTED", discrepancy);
+
+            // Hybrid tiered response based on severity
+            switch (discrepancy.getSeverity()) {
+                case LOW -> handleLowSeverity(discrepancy, batch);
+                case MEDIUM -> handleMediumSeverity(discrepancy, batch);
+                case HIGH -> handleHighSeverity(discrepancy, batch);
+                case CRITICAL -> handleCriticalSeverity(discrepancy, batch);
+            }
+        }
 
-        // Always log to audit
-        auditLog("DISCREPANCY_DETECTED", discrepancy);
+        // Corrections of the whole batch are netted into one pool movement per funding shard
+        applyPoolCorrections(batch);
 
-        // Hybrid tiered response based on severity
-        switch (discrepancy.getSeverity()) {
-            case LOW -> handleLowSeverity(discrepancy);
-            case MEDIUM -> handleMediumSeverity(discrepancy);
-            case HIGH -> handleHighSeverity(discrepancy);
-            case CRITICAL -> handleCriticalSeverity(discrepancy);
+        // Account changes and limits go out as JDBC batches
+        bankAccountCommandAdapter.saveAll(new ArrayList<>(batch.touchedAccounts.values()));
+        accountLimitsCommandAdapter.saveAll(batch.limits);
+
+        // Runs after the account changes are flushed so their UPDATEs cannot reset the flag
+        if (!batch.blockedAccountIds.isEmpty()) {
+            bankAccountCommandAdapter.blockForReconciliation(batch.blockedAccountIds);
+            log.warn("{} account(s) have been hard blocked", batch.blockedAccountIds.size());
         }
+
+        if (!batch.autoCorrectedIds.isEmpty()) {
+            reconciliationCommandAdapter.markDiscrepanciesAutoCorrected(batch.autoCorrectedIds);
+        }
+        // Marks the discrepancies so a resumed run does not act on them twice
+        reconciliationCommandAdapter.markDiscrepanciesHandled(
+            discrepancies.stream().map(ReconciliationDiscrepancy::getId).toList(), ZonedDateTime.now());
+
+        batch.correctedAccountIds.forEach(balanceEngine::evict);
     }
 
-    private void handleLowSeverity(ReconciliationDiscrepancy discrepancy) {
-        log.info("Low severity discrepancy - attempting auto-correction");
+    private Map<Long, BankAccount> loadAccounts(List<ReconciliationDiscrepancy> discrepancies) {
+        Set<Long> accountIds = new HashSet<>();
+        for (ReconciliationDiscrepancy discrepancy : discrepancies) {
+            if ("BANK_ACCOUNT".equals(discrepancy.getEntityType())) {
+                accountIds.add(discrepancy.getEntityId());
+            }
+        }
+
+        Map<Long, BankAccount> accounts = new HashMap<>();
+        bankAccountRepository.findAllById(accountIds).forEach(account -> accounts.put(account.getId(), account));
+        return accounts;
+    }
+
+    private void handleLowSeverity(ReconciliationDiscrepancy discrepancy, HandlingBatch batch) {
+        log.debug("Low severity discrepancy - attempting auto-correction");
 
         if (!config.isAutoCorrectEnabled()) {
-            log.info("Auto-correction disabled. Logging only.");
+            log.debug("Auto-correction disabled. Logging only.");
+            return;
+        }
+
+        // An available balance mismatch is a hold drift, moving money from the pool would not fix it
+        if (discrepancy.getDiscrepancyType() != DiscrepancyType.ACCOUNT_BALANCE_MISMATCH) {
+            log.debug("Discrepancy {} is not a balance mismatch. Logging only.", discrepancy.getId());
             return;
         }
 
         if ("BANK_ACCOUNT".equals(discrepancy.getEntityType())) {
-            try {
-                autoCorrectFromPool(discrepancy);
-                discrepancy.setAutoCorrected(true);
-                reconciliationCommandAdapter.saveDiscrepancy(discrepancy);
-                auditLog("DISCREPANCY_AUTO_CORRECTED", discrepancy);
-            } catch (Exception e) {
-                log.error("Auto-correction failed for discrepancy {}", discrepancy.getId(), e);
-                // Fall back to shadow balance
-                enableShadowBalance(discrepancy);
+            BankAccount account = batch.account(discrepancy);
+            BigDecimal difference = differenceOf(discrepancy);
+            if (account == null || difference == null) {
+                return;
             }
+            // Applied together with the rest of the batch, see applyPoolCorrections
+            batch.corrections.add(new PoolCorrection(discrepancy, account, difference));
         }
     }
 
-    private void handleMediumSeverity(ReconciliationDiscrepancy discrepancy) {
-        log.info("Medium severity discrepancy - applying soft limits");
+    private void handleMediumSeverity(ReconciliationDiscrepancy discrepancy, HandlingBatch batch) {
+        log.debug("Medium severity discrepancy - applying soft limits");
 
         if ("BANK_ACCOUNT".equals(discrepancy.getEntityType())) {
-            applySoftLimits(discrepancy, AccountTier.TIER_3_LIMITED);
-            enableShadowBalance(discrepancy);
+            BankAccount account = batch.account(discrepancy);
+            if (account == null) {
+                return;
+            }
+            batch.limits.add(newSoftLimits(discrepancy, account, AccountTier.TIER_3_LIMITED));
+            enableShadowBalance(discrepancy, account, batch);
             auditLog("SOFT_LIMITS_APPLIED", discrepancy);
         }
     }
 
-    private void handleHighSeverity(ReconciliationDiscrepancy discrepancy) {
-        log.info("High severity discrepancy - applying restrictive soft limits");
+    private void handleHighSeverity(ReconciliationDiscrepancy discrepancy, HandlingBatch batch) {
+        log.debug("High severity discrepancy - applying restrictive soft limits");
 
         if ("BANK_ACCOUNT".equals(discrepancy.getEntityType())) {
-            applySoftLimits(discrepancy, AccountTier.TIER_4_MINIMAL);
-            enableShadowBalance(discrepancy);
+            BankAccount account = batch.account(discrepancy);
+            if (account == null) {
+                return;
+            }
+            batch.limits.add(newSoftLimits(discrepancy, account, AccountTier.TIER_4_MINIMAL));
+            enableShadowBalance(discrepancy, account, batch);
             auditLog("SOFT_LIMITS_APPLIED", discrepancy);
         }
     }
 
-    private void handleCriticalSeverity(ReconciliationDiscrepancy discrepancy) {
+    private void handleCriticalSeverity(ReconciliationDiscrepancy discrepancy, HandlingBatch batch) {
         log.warn("Critical severity discrepancy - hard blocking account");
 
         if ("BANK_ACCOUNT".equals(discrepancy.getEntityType())) {
-            blockAccount(discrepancy);
+            if (batch.account(discrepancy) == null) {
+                return;
+            }
+            batch.blockedAccountIds.add(discrepancy.getEntityId());
             auditLog("ACCOUNT_HARD_BLOCKED", discrepancy);
         } else if ("SYSTEM".equals(discrepancy.getEntityType())) {
             log.error("CRITICAL: System-wide discrepancy detected. Manual intervention required!");
@@ -109,51 +203,138 @@ public class ReconciliationResponseServiceImpl implements ReconciliationResponse
         }
     }
 
-    private void autoCorrectFromPool(ReconciliationDiscrepancy discrepancy) {
-        log.info("Auto-correcting discrepancy {} from reconciliation pool", discrepancy.getId());
+    private void applyPoolCorrections(HandlingBatch batch) {
+        if (batch.corrections.isEmpty()) {
+            return;
+        }
 
-        BankAccount customerAccount = bankAccountRepository.findById(discrepancy.getEntityId())
-            .orElseThrow(BankAccountNotFoundException::new);
+        // Each correction is funded by the shard its account maps to, so only those shards are locked
+        Set<String> shardNumbers = new HashSet<>(reconciliationPoolService.shardAccountNumbers());
+        Map<Integer, List<PoolCorrection>> correctionsByShard = new TreeMap<>();
+        for (PoolCorrection correction : batch.corrections) {
+            if (shardNumbers.contains(correction.account().getAccountNumber())) {
+                log.warn("Discrepancy {} is on the reconciliation pool itself, it cannot correct itself",
+                    correction.discrepancy().getId());
+                enableShadowBalance(correction.discrepancy(), correction.account(), batch);
+                continue;
+            }
+            correctionsByShard.computeIfAbsent(reconciliationPoolService.shardOf(correction.account().getId()),
+                k -> new ArrayList<>()).add(correction);
+        }
+        if (correctionsByShard.isEmpty()) {
+            return;
+        }
 
-        BankAccount poolAccount = bankAccountRepository
-            .findByAccountNumber(config.getPool().getAccountNumber())
-            .orElseThrow(() -> new RuntimeException("Reconciliation pool account not found"));
+        // The sufficiency checks below must see balances no one else can move until this batch commits
+        Map<Integer, BankAccount> shards = reconciliationPoolService.lockShards(correctionsByShard.keySet());
 
-        BigDecimal difference = new BigDecimal(discrepancy.getExpectedValue())
-            .subtract(new BigDecimal(discrepancy.getActualValue()));
+        List<PoolCorrection> accepted = new ArrayList<>();
+        Map<BankAccount, BigDecimal> netToCustomers = new LinkedHashMap<>();
+        for (var entry : correctionsByShard.entrySet()) {
+            BankAccount shard = shards.get(entry.getKey());
+            if (shard == null) {
+                log.error("Reconciliation pool shard {} not found", entry.getKey());
+                // Fall back to shadow balance
+                entry.getValue().forEach(correction ->
+                    enableShadowBalance(correction.discrepancy(), correction.account(), batch));
+                continue;
+            }
 
-        // Check pool has sufficient funds
-        if (poolAccount.getBalance().compareTo(difference.abs()) < 0) {
-            log.error("Reconciliation pool has insufficient funds. Pool balance: {}, Required: {}",
-                poolAccount.getBalance(), difference.abs());
-            throw new ReconciliationPoolInsufficientFundsException();
+            // Money returned by over-credited accounts funds the shortfalls on the same shard
+            BigDecimal funds = shard.getBalance();
+            BigDecimal net = BigDecimal.ZERO;
+            List<PoolCorrection> shortfalls = new ArrayList<>();
+            for (PoolCorrection correction : entry.getValue()) {
+                if (correction.difference().signum() < 0) {
+                    funds = funds.subtract(correction.difference());
+                    net = net.add(correction.difference());
+                    accepted.add(correction);
+                } else {
+                    shortfalls.add(correction);
+                }
+            }
+            for (PoolCorrection correction : shortfalls) {
+                if (funds.compareTo(correction.difference()) < 0) {
+                    log.error("Reconciliation pool shard {} has insufficient funds. Required: {}",
+                        shard.getAccountNumber(), correction.difference());
+                    enableShadowBalance(correction.discrepancy(), correction.account(), batch);
+                    continue;
+                }
+                funds = funds.subtract(correction.difference());
+                net = net.add(correction.difference());
+                accepted.add(correction);
+            }
+            netToCustomers.put(shard, net);
         }
-
-        // Apply correction
-        if (difference.compareTo(BigDecimal.ZERO) > 0) {
-            // Customer account is short - transfer from pool
-            poolAccount.setBalance(poolAccount.getBalance().subtract(difference));
-            customerAccount.setBalance(customerAccount.getBalance().add(difference));
-            log.info("Transferred {} from pool to account {}", difference, customerAccount.getAccountNumber());
-        } else {
-            // Customer account is over - transfer to pool
-            BigDecimal absAmount = difference.abs();
-            customerAccount.setBalance(customerAccount.getBalance().subtract(absAmount));
-            poolAccount.setBalance(poolAccount.getBalance().add(absAmount));
-            log.info("Transferred {} from account {} to pool", absAmount, customerAccount.getAccountNumber());
+        if (accepted.isEmpty()) {
+            return;
         }
 
-        bankAccountCommandAdapter.save(poolAccount);
-        bankAccountCommandAdapter.save(customerAccount);
+        Transaction transaction = transactionCommandAdapter.save(TransactionContext.builder()
+            .amount(accepted.stream().map(correction -> correction.difference().abs())
+                .reduce(BigDecimal.ZERO, BigDecimal::add))
+            .channel(CORRECTION_CHANNEL)
+            .paymentType(paymentTypeQueryAdapter.findByName(CORRECTION_PAYMENT_TYPE))
+            .status(TransactionStatus.COMPLETED)
+            .build());
+
+        // Customer legs: the account is short when the difference is positive. Applied as a delta, the
+        // account was read without a lock and postings may have moved its balance since
+        List<JournalEntryContext> entries = new ArrayList<>();
+        for (PoolCorrection correction : accepted) {
+            BankAccount account = correction.account();
+            BigDecimal difference = correction.difference();
+            bankAccountCommandAdapter.applyBalanceDelta(account.getId(), difference, difference, BigDecimal.ZERO);
+            batch.correctedAccountIds.add(account.getId());
+            // The entry below is journaled on the day it is posted, not on the reconciled date
+            balanceSnapshotService.correctClosingBalance(correction.discrepancy().getReport().getId(), account.getId(),
+                new BigDecimal(correction.discrepancy().getExpectedValue()),
+                new BigDecimal(correction.discrepancy().getActualValue()));
+
+            entries.add(JournalEntryContext.builder()
+                .transaction(transaction)
+                .bankAccount(account)
+                .amount(difference.abs())
+                .entryType(difference.signum() > 0 ? EntryType.CREDIT : EntryType.DEBIT)
+                .build());
+
+            correction.discrepancy().setAutoCorrected(true);
+            batch.autoCorrectedIds.add(correction.discrepancy().getId());
+            auditLog("DISCREPANCY_AUTO_CORRECTED", correction.discrepancy());
+        }
 
-        log.info("Auto-correction completed successfully");
+        // Pool legs: one delta UPDATE and one entry per shard for the net of its corrections
+        BigDecimal poolMovement = BigDecimal.ZERO;
+        for (var entry : netToCustomers.entrySet()) {
+            if (entry.getValue().signum() == 0) {
+                continue;
+            }
+            BankAccount shard = entry.getKey();
+            BigDecimal shardDelta = entry.getValue().negate();
+            bankAccountCommandAdapter.applyBalanceDelta(shard.getId(), shardDelta, shardDelta, BigDecimal.ZERO);
+            batch.correctedAccountIds.add(shard.getId());
+            poolMovement = poolMovement.add(shardDelta);
+
+            entries.add(JournalEntryContext.builder()
+                .transaction(transaction)
+                .bankAccount(shard)
+                .amount(shardDelta.abs())
+                .entryType(shardDelta.signum() < 0 ? EntryType.DEBIT : EntryType.CREDIT)
+                .build());
+        }
+        journalEntryCommandAdapter.saveAll(entries);
+
+        BigDecimal poolBalance = reconciliationPoolService.getBalance();
+        log.info("Auto-corrected {} account(s), net pool movement: {}, pool balance: {}",
+            accepted.size(), poolMovement, poolBalance);
+        if (poolBalance.compareTo(config.getPool().getLowBalanceThreshold()) < 0) {
+            log.warn("Reconciliation pool balance {} is below the threshold of {}",
+                poolBalance, config.getPool().getLowBalanceThreshold());
+        }
     }
 
-    private void applySoftLimits(ReconciliationDiscrepancy discrepancy, AccountTier tier) {
-        log.info("Applying soft limits (tier: {}) to account {}", tier, discrepancy.getEntityId());
-
-        BankAccount account = bankAccountRepository.findById(discrepancy.getEntityId())
-            .orElseThrow(BankAccountNotFoundException::new);
+    private AccountLimits newSoftLimits(ReconciliationDiscrepancy discrepancy, BankAccount account, AccountTier tier) {
+        log.debug("Applying soft limits (tier: {}) to account {}", tier, account.getId());
 
         AccountLimits limits = new AccountLimits();
         limits.setAccount(account);
@@ -178,36 +359,32 @@ public class ReconciliationResponseServiceImpl implements ReconciliationResponse
             }
         }
 
-        accountLimitsCommandAdapter.save(limits);
-        log.info("Soft limits applied successfully");
+        return limits;
     }
 
-    private void enableShadowBalance(ReconciliationDiscrepancy discrepancy) {
-        log.info("Enabling shadow balance tracking for account {}", discrepancy.getEntityId());
-
-        BankAccount account = bankAccountRepository.findById(discrepancy.getEntityId())
-            .orElseThrow(BankAccountNotFoundException::new);
-
-        BigDecimal difference = new BigDecimal(discrepancy.getExpectedValue())
-            .subtract(new BigDecimal(discrepancy.getActualValue()));
+    private void enableShadowBalance(ReconciliationDiscrepancy discrepancy, BankAccount account, HandlingBatch batch) {
+        BigDecimal difference = differenceOf(discrepancy);
+        if (difference == null) {
+            return;
+        }
 
         account.setPendingCorrection(difference);
         account.setReconciledBalance(account.getBalance());
-        bankAccountCommandAdapter.save(account);
+        batch.touch(account);
 
-        log.info("Shadow balance enabled with pending correction: {}", difference);
+        log.debug("Shadow balance enabled for account {} with pending correction: {}", account.getId(), difference);
     }
 
-    private void blockAccount(ReconciliationDiscrepancy discrepancy) {
-        log.warn("Hard blocking account {} due to critical discrepancy", discrepancy.getEntityId());
-
-        BankAccount account = bankAccountRepository.findById(discrepancy.getEntityId())
-            .orElseThrow(BankAccountNotFoundException::new);
-
-        account.setReconciliationBlocked(true);
-        bankAccountCommandAdapter.save(account);
-
-        log.warn("Account {} has been hard blocked", account.getAccountNumber());
+    private BigDecimal differenceOf(ReconciliationDiscrepancy discrepancy) {
+        try {
+            return new BigDecimal(discrepancy.getExpectedValue())
+                .subtract(new BigDecimal(discrepancy.getActualValue()));
+        } catch (NumberFormatException | NullPointerException e) {
+            // e.g. a missing available balance, there is no amount to correct
+            log.warn("Discrepancy {} has no numeric difference, expected={}, actual={}",
+                discrepancy.getId(), discrepancy.getExpectedValue(), discrepancy.getActualValue());
+            return null;
+        }
     }
 
     @Override
@@ -223,6 +400,8 @@ public class ReconciliationResponseServiceImpl implements ReconciliationResponse
         account.setReconciledBalance(account.getBalance());
         account.setLastReconciledAt(ZonedDateTime.now());
         bankAccountCommandAdapter.save(account);
+        // Otherwise the next run compares against the balance the justification has just overruled
+        balanceSnapshotService.rebaseLatestSnapshot(accountId);
 
         // Remove any soft limits
         accountLimitsCommandAdapter.deleteByAccount(account);
@@ -245,11 +424,42 @@ public class ReconciliationResponseServiceImpl implements ReconciliationResponse
     }
 
     private void auditLog(String action, String details) {
-        try {
-            // TODO: Implement proper audit logging
-            log.info("AUDIT: {} - {}", action, details);
-        } catch (Exception e) {
-            log.error("Failed to write audit log", e);
+        auditLogService.record(AuditLogContext.builder()
+            .action(action)
+            .details(details)
+            .build());
+    }
+
+    /**
+     * Changes collected while handling one batch of discrepancies, written out together at the end.
+     */
+    private final class HandlingBatch {
+
+        private final Map<Long, BankAccount> accounts;
+        private final Map<Long, BankAccount> touchedAccounts = new LinkedHashMap<>();
+        private final List<AccountLimits> limits = new ArrayList<>();
+        private final Set<Long> blockedAccountIds = new LinkedHashSet<>();
+        private final Set<Long> correctedAccountIds = new LinkedHashSet<>();
+        private final List<Long> autoCorrectedIds = new ArrayList<>();
+        private final List<PoolCorrection> corrections = new ArrayList<>();
+
+        private HandlingBatch(Map<Long, BankAccount> accounts) {
+            this.accounts = accounts;
+        }
+
+        private BankAccount account(ReconciliationDiscrepancy discrepancy) {
+            BankAccount account = accounts.get(discrepancy.getEntityId());
+            if (account == null) {
+                log.error("Account {} of discrepancy {} not found, skipping", discrepancy.getEntityId(), discrepancy.getId());
+            }
+            return account;
         }
+
+        private void touch(BankAccount account) {
+            touchedAccounts.put(account.getId(), account);
+        }
+    }
+
+    private record PoolCorrection(ReconciliationDiscrepancy discrepancy, BankAccount account, BigDecimal difference) {
     }
 }
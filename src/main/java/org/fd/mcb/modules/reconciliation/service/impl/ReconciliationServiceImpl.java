@@ -4,30 +4,51 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.fd.mcb.configs.ReconciliationConfigProperties;
+import org.fd.mcb.modules.journalentry.dto.AccountEntryTotals;
+import org.fd.mcb.modules.journalentry.dto.EntryTypeTotal;
 import org.fd.mcb.modules.journalentry.enums.EntryType;
-import org.fd.mcb.modules.journalentry.model.entity.JournalEntry;
 import org.fd.mcb.modules.journalentry.model.repository.JournalEntryRepository;
+import org.fd.mcb.modules.master.dto.AccountIdRange;
+import org.fd.mcb.modules.master.dto.AvailableBalanceDrift;
+import org.fd.mcb.modules.master.engine.HotAccountService;
+import org.fd.mcb.modules.master.enums.HoldStatus;
 import org.fd.mcb.modules.master.enums.TransactionStatus;
-import org.fd.mcb.modules.master.model.entity.BankAccount;
 import org.fd.mcb.modules.master.model.entity.Transaction;
 import org.fd.mcb.modules.master.model.repository.BankAccountRepository;
 import org.fd.mcb.modules.master.model.repository.TransactionRepository;
 import org.fd.mcb.modules.reconciliation.adapter.command.ReconciliationCommandAdapter;
 import org.fd.mcb.modules.reconciliation.adapter.query.ReconciliationQueryAdapter;
+import org.fd.mcb.modules.reconciliation.dto.IntradayCheckDto;
+import org.fd.mcb.modules.reconciliation.dto.IntradayMismatchDto;
+import org.fd.mcb.modules.reconciliation.dto.ReconciliationPartition;
+import org.fd.mcb.modules.reconciliation.enums.CheckpointStatus;
 import org.fd.mcb.modules.reconciliation.enums.DiscrepancySeverity;
 import org.fd.mcb.modules.reconciliation.enums.DiscrepancyType;
+import org.fd.mcb.modules.reconciliation.enums.ReconciliationPhase;
 import org.fd.mcb.modules.reconciliation.enums.ReconciliationStatus;
+import org.fd.mcb.modules.reconciliation.model.entity.ReconciliationCheckpoint;
 import org.fd.mcb.modules.reconciliation.model.entity.ReconciliationDiscrepancy;
 import org.fd.mcb.modules.reconciliation.model.entity.ReconciliationReport;
+import org.fd.mcb.modules.reconciliation.service.BalanceSnapshotService;
+import org.fd.mcb.modules.reconciliation.service.ReconciliationProgressListener;
 import org.fd.mcb.modules.reconciliation.service.ReconciliationService;
+import org.fd.mcb.modules.reconciliation.service.RunningTotalsService;
 import org.fd.mcb.modules.reconciliation.service.ReconciliationResponseService;
+import org.fd.mcb.shared.exception.ReconciliationInProgressException;
 import org.fd.mcb.shared.exception.ReconciliationNotFoundException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Service
 @RequiredArgsConstructor
@@ -41,53 +62,93 @@ public class ReconciliationServiceImpl implements ReconciliationService {
     private final TransactionRepository transactionRepository;
     private final BankAccountRepository bankAccountRepository;
     private final ReconciliationConfigProperties config;
+    private final TransactionTemplate transactionTemplate;
+    private final ForkJoinPool reconciliationPool;
+    private final RunningTotalsService runningTotalsService;
+    private final BalanceSnapshotService balanceSnapshotService;
+    private final HotAccountService hotAccountService;
 
     @Override
-    @Transactional
     public ReconciliationReport performReconciliation(LocalDate date) {
-        log.info("Starting reconciliation for date: {}", date);
+        return performReconciliation(date, ReconciliationProgressListener.NONE);
+    }
 
-        // Create report
-        ReconciliationReport report = new ReconciliationReport();
-        report.setReconciliationDate(date);
-        report.setStatus(ReconciliationStatus.IN_PROGRESS);
-        report.setStartedAt(ZonedDateTime.now());
-        report.setCreatedAt(ZonedDateTime.now());
-        report = reconciliationCommandAdapter.saveReport(report);
+    @Override
+    public ReconciliationReport performReconciliation(LocalDate date, ReconciliationProgressListener listener) {
+        log.info("Starting reconciliation for date: {}", date);
+        listener.onPhase(ReconciliationPhase.STARTING);
 
-        List<ReconciliationDiscrepancy> allDiscrepancies = new ArrayList<>();
+        // Create the report, or take over the failed/abandoned run of the same date
+        ReconciliationReport report = startRun(date);
+        listener.onReportStarted(report.getId());
+        if (report.getStatus() != ReconciliationStatus.IN_PROGRESS) {
+            log.info("Reconciliation for date {} already completed with status {}", date, report.getStatus());
+            return report;
+        }
 
         try {
             // Get date range for the reconciliation date
             ZonedDateTime startOfDay = date.atStartOfDay(java.time.ZoneId.of("Asia/Jakarta"));
             ZonedDateTime endOfDay = startOfDay.plusDays(1).minusNanos(1);
 
-            // Perform all reconciliation checks
-            allDiscrepancies.addAll(checkDoubleEntryBalance(report, startOfDay, endOfDay));
-            allDiscrepancies.addAll(checkAccountBalances(report, startOfDay, endOfDay));
-            allDiscrepancies.addAll(checkTransactionCompleteness(report, startOfDay, endOfDay));
-            allDiscrepancies.addAll(checkAvailableBalances(report, startOfDay, endOfDay));
+            // Decided once per run, flushes this instance's accumulated totals before comparing them
+            boolean fromRunningTotals = runningTotalsService.isComplete(date);
 
-            // Save all discrepancies
-            for (ReconciliationDiscrepancy discrepancy : allDiscrepancies) {
-                reconciliationCommandAdapter.saveDiscrepancy(discrepancy);
+            List<ReconciliationCheckpoint> checkpoints = planCheckpoints(report);
+            List<ReconciliationCheckpoint> pending = checkpoints.stream()
+                .filter(checkpoint -> !checkpoint.isCompleted())
+                .toList();
+            log.info("Reconciliation for date {}: {} of {} checkpoints pending",
+                date, pending.size(), checkpoints.size());
+
+            // Work done by an earlier attempt still counts towards the progress
+            for (ReconciliationCheckpoint checkpoint : checkpoints) {
+                if (checkpoint.isCompleted()) {
+                    listener.onProgress(countAccounts(checkpoint), checkpoint.getDiscrepancyCount());
+                }
             }
 
-            // Process discrepancies with hybrid response strategy
-            for (ReconciliationDiscrepancy discrepancy : allDiscrepancies) {
-                responseService.handleDiscrepancy(discrepancy);
+            // System-wide checks run once over the whole day
+            listener.onPhase(ReconciliationPhase.SYSTEM_CHECKS);
+            for (ReconciliationCheckpoint checkpoint : pending) {
+                if (checkpoint.isSystem()) {
+                    int found = runSystemChecks(report, checkpoint, startOfDay, endOfDay, fromRunningTotals);
+                    listener.onProgress(0, found);
+                }
+            }
+
+            // Per-account checks run in parallel, each partition commits its own discrepancies
+            listener.onPhase(ReconciliationPhase.ACCOUNT_CHECKS);
+            reconcilePartitions(report, pending.stream()
+                .filter(checkpoint -> !checkpoint.isSystem())
+                .toList(), startOfDay, endOfDay, fromRunningTotals, listener);
+
+            // Process discrepancies with hybrid response strategy, skipping those handled by an earlier attempt
+            listener.onPhase(ReconciliationPhase.HANDLING_DISCREPANCIES);
+            List<ReconciliationDiscrepancy> unhandled =
+                reconciliationQueryAdapter.findUnhandledDiscrepanciesByReport(report);
+            int batchSize = config.getHandlingBatchSize();
+            Long reportId = report.getId();
+            for (int from = 0; from < unhandled.size(); from += batchSize) {
+                responseService.handleDiscrepancies(
+                    unhandled.subList(from, Math.min(from + batchSize, unhandled.size())));
+                transactionTemplate.executeWithoutResult(status ->
+                    reconciliationCommandAdapter.touchReport(reportId, ZonedDateTime.now()));
             }
 
             // Update report status
-            report.setTotalDiscrepancies(allDiscrepancies.size());
-            report.setStatus(allDiscrepancies.isEmpty() ?
+            int totalDiscrepancies = reconciliationQueryAdapter.findCheckpointsByReport(report).stream()
+                .mapToInt(ReconciliationCheckpoint::getDiscrepancyCount)
+                .sum();
+            report.setTotalDiscrepancies(totalDiscrepancies);
+            report.setStatus(totalDiscrepancies == 0 ?
                 ReconciliationStatus.COMPLETED :
                 ReconciliationStatus.COMPLETED_WITH_DISCREPANCIES);
             report.setCompletedAt(ZonedDateTime.now());
             report = reconciliationCommandAdapter.saveReport(report);
 
             log.info("Reconciliation completed for date: {}. Total discrepancies: {}",
-                date, allDiscrepancies.size());
+                date, totalDiscrepancies);
 
             return report;
 
@@ -100,26 +161,200 @@ public class ReconciliationServiceImpl implements ReconciliationService {
         }
     }
 
+    private ReconciliationReport startRun(LocalDate date) {
+        Optional<ReconciliationReport> existing = reconciliationQueryAdapter.findReportByDate(date);
+
+        if (existing.isEmpty()) {
+            ReconciliationReport report = new ReconciliationReport();
+            report.setReconciliationDate(date);
+            report.setStatus(ReconciliationStatus.IN_PROGRESS);
+            report.setStartedAt(ZonedDateTime.now());
+            report.setHeartbeatAt(report.getStartedAt());
+            report.setCreatedAt(ZonedDateTime.now());
+            try {
+                return reconciliationCommandAdapter.saveReport(report);
+            } catch (DataIntegrityViolationException e) {
+                // Another run created the report for this date first
+                throw new ReconciliationInProgressException();
+            }
+        }
+
+        ReconciliationReport report = existing.get();
+        if (report.getStatus() == ReconciliationStatus.COMPLETED ||
+            report.getStatus() == ReconciliationStatus.COMPLETED_WITH_DISCREPANCIES) {
+            return report;
+        }
+
+        // Only one run can move a FAILED report, or one whose run stopped checking in, back to IN_PROGRESS
+        ZonedDateTime now = ZonedDateTime.now();
+        Boolean claimed = transactionTemplate.execute(status -> reconciliationCommandAdapter.claimReport(
+            report.getId(), now, now.minus(config.getRunTimeout())));
+        if (!Boolean.TRUE.equals(claimed)) {
+            throw new ReconciliationInProgressException();
+        }
+
+        log.info("Resuming reconciliation report {} for date {}", report.getId(), date);
+        return reconciliationQueryAdapter.findReportById(report.getId())
+            .orElseThrow(ReconciliationNotFoundException::new);
+    }
+
+    private List<ReconciliationCheckpoint> planCheckpoints(ReconciliationReport report) {
+        List<ReconciliationCheckpoint> checkpoints = reconciliationQueryAdapter.findCheckpointsByReport(report);
+        if (!checkpoints.isEmpty()) {
+            return checkpoints;
+        }
+
+        // The partition ranges are fixed on the first attempt so a resumed run checks the same accounts
+        List<ReconciliationCheckpoint> plan = new ArrayList<>();
+        plan.add(newCheckpoint(report, ReconciliationCheckpoint.SYSTEM_KEY, null, null));
+
+        List<ReconciliationPartition> partitions = ReconciliationPartition.split(
+            bankAccountRepository.findIdRange(), config.getPartitioning().getPartitions());
+        for (ReconciliationPartition partition : partitions) {
+            plan.add(newCheckpoint(report, ReconciliationCheckpoint.PARTITION_KEY_PREFIX + partition.index(),
+                partition.fromId(), partition.toId()));
+        }
+
+        return reconciliationCommandAdapter.saveCheckpoints(plan);
+    }
+
+    private ReconciliationCheckpoint newCheckpoint(ReconciliationReport report, String key, Long fromId, Long toId) {
+        ReconciliationCheckpoint checkpoint = new ReconciliationCheckpoint();
+        checkpoint.setReport(report);
+        checkpoint.setCheckpointKey(key);
+        checkpoint.setFromAccountId(fromId);
+        checkpoint.setToAccountId(toId);
+        checkpoint.setStatus(CheckpointStatus.PENDING);
+        checkpoint.setCreatedAt(ZonedDateTime.now());
+        return checkpoint;
+    }
+
+    private int runSystemChecks(
+            ReconciliationReport report,
+            ReconciliationCheckpoint checkpoint,
+            ZonedDateTime startOfDay,
+            ZonedDateTime endOfDay,
+            boolean fromRunningTotals) {
+
+        return transactionTemplate.execute(status -> {
+            List<ReconciliationDiscrepancy> discrepancies = new ArrayList<>();
+            discrepancies.addAll(checkDoubleEntryBalance(report, startOfDay, endOfDay, fromRunningTotals));
+            discrepancies.addAll(checkTransactionCompleteness(report, startOfDay, endOfDay));
+            reconciliationCommandAdapter.saveDiscrepancies(discrepancies);
+
+            // The day's totals are kept with the checkpoint in case a later step fails
+            reconciliationCommandAdapter.saveReport(report);
+            completeCheckpoint(checkpoint, discrepancies.size());
+            return discrepancies.size();
+        });
+    }
+
+    private void reconcilePartitions(
+            ReconciliationReport report,
+            List<ReconciliationCheckpoint> checkpoints,
+            ZonedDateTime startOfDay,
+            ZonedDateTime endOfDay,
+            boolean fromRunningTotals,
+            ReconciliationProgressListener listener) {
+
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < checkpoints.size(); i++) {
+            ReconciliationCheckpoint checkpoint = checkpoints.get(i);
+            ReconciliationPartition partition = new ReconciliationPartition(
+                i, checkpoint.getFromAccountId(), checkpoint.getToAccountId());
+            futures.add(CompletableFuture.runAsync(
+                () -> reconcilePartition(report, checkpoint, partition, startOfDay, endOfDay, fromRunningTotals, listener),
+                reconciliationPool));
+        }
+
+        try {
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private void reconcilePartition(
+            ReconciliationReport report,
+            ReconciliationCheckpoint checkpoint,
+            ReconciliationPartition partition,
+            ZonedDateTime startOfDay,
+            ZonedDateTime endOfDay,
+            boolean fromRunningTotals,
+            ReconciliationProgressListener listener) {
+
+        log.debug("Reconciling {}: accounts {} to {}",
+            checkpoint.getCheckpointKey(), partition.fromId(), partition.toId());
+
+        // Discrepancies, snapshots and the checkpoint commit together, so a retry never duplicates them
+        Integer found = transactionTemplate.execute(status -> {
+            LocalDate date = report.getReconciliationDate();
+
+            // One aggregated row per account of the partition touched during the day
+            List<AccountEntryTotals> dayTotals = loadAccountTotals(
+                fromRunningTotals, date, startOfDay, endOfDay, partition.fromId(), partition.toId());
+            // Postings made after the day, e.g. when a failed run is resumed later
+            Map<Long, BigDecimal> laterChanges = balanceSnapshotService.findNetChangesAfter(
+                endOfDay, partition.fromId(), partition.toId());
+            // Credits still on the stripes of hot accounts are journaled but not in the row balance yet
+            hotAccountService.findPendingCredits(partition.fromId(), partition.toId())
+                .forEach((accountId, pending) -> laterChanges.merge(accountId, pending.negate(), BigDecimal::add));
+            Map<Long, BigDecimal> openingBalances = balanceSnapshotService.findClosingBalances(
+                date.minusDays(1), partition.fromId(), partition.toId());
+
+            // Untouched accounts close where they opened, touched ones where their journal says
+            Map<Long, BigDecimal> expectedClosing = new HashMap<>(openingBalances);
+            List<ReconciliationDiscrepancy> discrepancies = new ArrayList<>();
+            discrepancies.addAll(checkAccountBalances(report, dayTotals, openingBalances, laterChanges, expectedClosing));
+            discrepancies.addAll(checkAvailableBalances(report, partition));
+            reconciliationCommandAdapter.saveDiscrepancies(discrepancies);
+
+            balanceSnapshotService.writeSnapshots(
+                date, partition.fromId(), partition.toId(), dayTotals, expectedClosing, laterChanges);
+            completeCheckpoint(checkpoint, discrepancies.size());
+            return discrepancies.size();
+        });
+
+        listener.onProgress(countAccounts(checkpoint), found);
+    }
+
+    private long countAccounts(ReconciliationCheckpoint checkpoint) {
+        if (checkpoint.isSystem()) {
+            return 0;
+        }
+        return bankAccountRepository.countByIdBetween(checkpoint.getFromAccountId(), checkpoint.getToAccountId());
+    }
+
+    private void completeCheckpoint(ReconciliationCheckpoint checkpoint, int discrepancyCount) {
+        checkpoint.setStatus(CheckpointStatus.COMPLETED);
+        checkpoint.setDiscrepancyCount(discrepancyCount);
+        checkpoint.setCompletedAt(ZonedDateTime.now());
+        reconciliationCommandAdapter.saveCheckpoint(checkpoint);
+        // Keeps the run from being taken over as stale while it is still making progress
+        reconciliationCommandAdapter.touchReport(checkpoint.getReport().getId(), checkpoint.getCompletedAt());
+    }
+
     private List<ReconciliationDiscrepancy> checkDoubleEntryBalance(
             ReconciliationReport report,
             ZonedDateTime startOfDay,
-            ZonedDateTime endOfDay) {
+            ZonedDateTime endOfDay,
+            boolean fromRunningTotals) {
 
         log.debug("Checking double-entry balance for period: {} to {}", startOfDay, endOfDay);
         List<ReconciliationDiscrepancy> discrepancies = new ArrayList<>();
 
-        // Get all journal entries for the day
-        List<JournalEntry> entries = journalEntryRepository.findByDateRangeOrderByCreatedAtDesc(
-            startOfDay, endOfDay);
-
+        // Use the day's running totals, or sum the day's entries per entry type in the database
         BigDecimal totalDebits = BigDecimal.ZERO;
         BigDecimal totalCredits = BigDecimal.ZERO;
 
-        for (JournalEntry entry : entries) {
-            if (entry.getEntryType() == EntryType.DEBIT) {
-                totalDebits = totalDebits.add(entry.getAmount());
-            } else if (entry.getEntryType() == EntryType.CREDIT) {
-                totalCredits = totalCredits.add(entry.getAmount());
+        for (EntryTypeTotal total : loadSystemTotals(fromRunningTotals, report.getReconciliationDate(), startOfDay, endOfDay)) {
+            if (total.entryType() == EntryType.DEBIT) {
+                totalDebits = totalDebits.add(total.total());
+            } else if (total.entryType() == EntryType.CREDIT) {
+                totalCredits = totalCredits.add(total.total());
             }
         }
 
@@ -155,45 +390,44 @@ public class ReconciliationServiceImpl implements ReconciliationService {
 
     private List<ReconciliationDiscrepancy> checkAccountBalances(
             ReconciliationReport report,
-            ZonedDateTime startOfDay,
-            ZonedDateTime endOfDay) {
+            List<AccountEntryTotals> accountTotals,
+            Map<Long, BigDecimal> openingBalances,
+            Map<Long, BigDecimal> laterChanges,
+            Map<Long, BigDecimal> expectedClosing) {
 
-        log.debug("Checking account balances for period: {} to {}", startOfDay, endOfDay);
+        log.debug("Checking account balances for {} account(s) of {}",
+            accountTotals.size(), report.getReconciliationDate());
         List<ReconciliationDiscrepancy> discrepancies = new ArrayList<>();
 
-        // Get all journal entries for the day
-        List<JournalEntry> entries = journalEntryRepository.findByDateRangeOrderByCreatedAtDesc(
-            startOfDay, endOfDay);
-
-        // Group by account
-        var accountEntries = entries.stream()
-            .collect(java.util.stream.Collectors.groupingBy(JournalEntry::getBankAccount));
-
-        for (var entry : accountEntries.entrySet()) {
-            BankAccount account = entry.getKey();
-            List<JournalEntry> accountJournalEntries = entry.getValue();
-
+        for (AccountEntryTotals account : accountTotals) {
             // Calculate expected balance from journal entries
-            BigDecimal calculatedBalance = calculateExpectedBalance(account, accountJournalEntries);
-            BigDecimal actualBalance = account.getBalance();
+            BigDecimal calculatedBalance = calculateExpectedBalance(
+                account, openingBalances.get(account.accountId()));
+            // Only anchored to a known balance when there is one, otherwise it starts from the row itself
+            if (openingBalances.containsKey(account.accountId()) || account.reconciledBalance() != null) {
+                expectedClosing.put(account.accountId(), calculatedBalance);
+            }
+            // Closing balance of the day, the current balance without what was posted since
+            BigDecimal actualBalance = account.balance()
+                .subtract(laterChanges.getOrDefault(account.accountId(), BigDecimal.ZERO));
 
             if (calculatedBalance.compareTo(actualBalance) != 0) {
                 BigDecimal difference = actualBalance.subtract(calculatedBalance);
 
                 log.warn("Account balance mismatch for account {}: Expected: {}, Actual: {}, Difference: {}",
-                    account.getAccountNumber(), calculatedBalance, actualBalance, difference);
+                    account.accountNumber(), calculatedBalance, actualBalance, difference);
 
                 ReconciliationDiscrepancy discrepancy = new ReconciliationDiscrepancy();
                 discrepancy.setReport(report);
                 discrepancy.setDiscrepancyType(DiscrepancyType.ACCOUNT_BALANCE_MISMATCH);
                 discrepancy.setEntityType("BANK_ACCOUNT");
-                discrepancy.setEntityId(account.getId());
+                discrepancy.setEntityId(account.accountId());
                 discrepancy.setExpectedValue(calculatedBalance.toString());
                 discrepancy.setActualValue(actualBalance.toString());
                 discrepancy.setSeverity(determineSeverity(difference.abs()));
                 discrepancy.setDescription(String.format(
                     "Account %s balance mismatch. Calculated from journal entries: %s, Actual balance: %s, Difference: %s",
-                    account.getAccountNumber(), calculatedBalance, actualBalance, difference));
+                    account.accountNumber(), calculatedBalance, actualBalance, difference));
                 discrepancy.setCreatedAt(ZonedDateTime.now());
 
                 discrepancies.add(discrepancy);
@@ -203,21 +437,39 @@ public class ReconciliationServiceImpl implements ReconciliationService {
         return discrepancies;
     }
 
-    private BigDecimal calculateExpectedBalance(BankAccount account, List<JournalEntry> todayEntries) {
-        // Start with reconciled balance if available, otherwise use current balance
-        BigDecimal expectedBalance = account.getReconciledBalance() != null ?
-            account.getReconciledBalance() : account.getBalance();
-
-        // Apply today's journal entries
-        for (JournalEntry entry : todayEntries) {
-            if (entry.getEntryType() == EntryType.CREDIT) {
-                expectedBalance = expectedBalance.add(entry.getAmount());
-            } else if (entry.getEntryType() == EntryType.DEBIT) {
-                expectedBalance = expectedBalance.subtract(entry.getAmount());
-            }
+    private List<EntryTypeTotal> loadSystemTotals(
+            boolean fromRunningTotals,
+            LocalDate date,
+            ZonedDateTime startOfDay,
+            ZonedDateTime endOfDay) {
+
+        if (fromRunningTotals) {
+            return runningTotalsService.findSystemTotals(date);
         }
+        return journalEntryRepository.sumByEntryTypeAndDateRange(startOfDay, endOfDay);
+    }
+
+    private List<AccountEntryTotals> loadAccountTotals(
+            boolean fromRunningTotals,
+            LocalDate date,
+            ZonedDateTime startOfDay,
+            ZonedDateTime endOfDay,
+            Long fromId,
+            Long toId) {
+
+        if (fromRunningTotals) {
+            return runningTotalsService.findAccountTotals(date, fromId, toId);
+        }
+        return journalEntryRepository.sumByAccountAndDateRange(startOfDay, endOfDay, fromId, toId);
+    }
 
-        return expectedBalance;
+    private BigDecimal calculateExpectedBalance(AccountEntryTotals account, BigDecimal openingBalance) {
+        // Start with the previous day's closing snapshot, then the reconciled balance, otherwise the current balance
+        BigDecimal expectedBalance = openingBalance != null ? openingBalance :
+            account.reconciledBalance() != null ? account.reconciledBalance() : account.balance();
+
+        // Apply today's journal entry totals
+        return expectedBalance.add(account.totalCredits()).subtract(account.totalDebits());
     }
 
     private List<ReconciliationDiscrepancy> checkTransactionCompleteness(
@@ -228,40 +480,27 @@ public class ReconciliationServiceImpl implements ReconciliationService {
         log.debug("Checking transaction completeness for period: {} to {}", startOfDay, endOfDay);
         List<ReconciliationDiscrepancy> discrepancies = new ArrayList<>();
 
-        // Get all completed/settled transactions for the day
-        Iterable<Transaction> allTransactions = transactionRepository.findAll();
-        List<Transaction> dayTransactions = new ArrayList<>();
-
-        for (Transaction txn : allTransactions) {
-            if (txn.getCreatedAt().isAfter(startOfDay) && txn.getCreatedAt().isBefore(endOfDay)) {
-                if (txn.getStatus() == TransactionStatus.COMPLETED ||
-                    txn.getStatus() == TransactionStatus.SETTLED) {
-                    dayTransactions.add(txn);
-                }
-            }
-        }
-
-        for (Transaction txn : dayTransactions) {
-            List<JournalEntry> entries = journalEntryRepository.findByTransactionOrderByCreatedAtDesc(txn);
+        // Only the day's completed/settled transactions that have no journal entry at all
+        List<Transaction> incompleteTransactions = transactionRepository.findWithoutJournalEntries(
+            startOfDay, endOfDay, List.of(TransactionStatus.COMPLETED, TransactionStatus.SETTLED));
 
-            if (entries.isEmpty()) {
-                log.warn("Transaction {} has no journal entries", txn.getId());
+        for (Transaction txn : incompleteTransactions) {
+            log.warn("Transaction {} has no journal entries", txn.getId());
 
-                ReconciliationDiscrepancy discrepancy = new ReconciliationDiscrepancy();
-                discrepancy.setReport(report);
-                discrepancy.setDiscrepancyType(DiscrepancyType.MISSING_JOURNAL_ENTRIES);
-                discrepancy.setEntityType("TRANSACTION");
-                discrepancy.setEntityId(txn.getId());
-                discrepancy.setExpectedValue("1 or more");
-                discrepancy.setActualValue("0");
-                discrepancy.setSeverity(determineSeverity(txn.getAmount()));
-                discrepancy.setDescription(String.format(
-                    "Transaction %d (%s) has no journal entries. Amount: %s",
-                    txn.getId(), txn.getStatus(), txn.getAmount()));
-                discrepancy.setCreatedAt(ZonedDateTime.now());
+            ReconciliationDiscrepancy discrepancy = new ReconciliationDiscrepancy();
+            discrepancy.setReport(report);
+            discrepancy.setDiscrepancyType(DiscrepancyType.MISSING_JOURNAL_ENTRIES);
+            discrepancy.setEntityType("TRANSACTION");
+            discrepancy.setEntityId(txn.getId());
+            discrepancy.setExpectedValue("1 or more");
+            discrepancy.setActualValue("0");
+            discrepancy.setSeverity(determineSeverity(txn.getAmount()));
+            discrepancy.setDescription(String.format(
+                "Transaction %d (%s) has no journal entries. Amount: %s",
+                txn.getId(), txn.getStatus(), txn.getAmount()));
+            discrepancy.setCreatedAt(ZonedDateTime.now());
 
-                discrepancies.add(discrepancy);
-            }
+            discrepancies.add(discrepancy);
         }
 
         return discrepancies;
@@ -269,34 +508,45 @@ public class ReconciliationServiceImpl implements ReconciliationService {
 
     private List<ReconciliationDiscrepancy> checkAvailableBalances(
             ReconciliationReport report,
-            ZonedDateTime startOfDay,
-            ZonedDateTime endOfDay) {
+            ReconciliationPartition partition) {
 
-        log.debug("Checking available balances for period: {} to {}", startOfDay, endOfDay);
+        log.debug("Checking available balances for accounts: {} to {}", partition.fromId(), partition.toId());
         List<ReconciliationDiscrepancy> discrepancies = new ArrayList<>();
 
-        // This is a simplified check - in a real implementation, you would query active holds
-        // and verify available_balance = balance - sum(holds)
+        // available_balance = balance - sum(active holds), summed per account of the partition in the database
+        List<AvailableBalanceDrift> drifts = bankAccountRepository.findAvailableBalanceDrifts(
+            partition.fromId(), partition.toId(), HoldStatus.ACTIVE);
 
-        Iterable<BankAccount> allAccounts = bankAccountRepository.findAll();
+        for (AvailableBalanceDrift drift : drifts) {
+            BigDecimal expectedBalance = drift.expectedAvailableBalance();
 
-        for (BankAccount account : allAccounts) {
-            // For now, just check if available balance exists
-            if (account.getAvailableBalance() == null) {
-                ReconciliationDiscrepancy discrepancy = new ReconciliationDiscrepancy();
-                discrepancy.setReport(report);
-                discrepancy.setDiscrepancyType(DiscrepancyType.AVAILABLE_BALANCE_MISMATCH);
-                discrepancy.setEntityType("BANK_ACCOUNT");
-                discrepancy.setEntityId(account.getId());
-                discrepancy.setExpectedValue(account.getBalance().toString());
+            ReconciliationDiscrepancy discrepancy = new ReconciliationDiscrepancy();
+            discrepancy.setReport(report);
+            discrepancy.setDiscrepancyType(DiscrepancyType.AVAILABLE_BALANCE_MISMATCH);
+            discrepancy.setEntityType("BANK_ACCOUNT");
+            discrepancy.setEntityId(drift.accountId());
+            discrepancy.setExpectedValue(expectedBalance.toString());
+            if (drift.availableBalance() == null) {
                 discrepancy.setActualValue("NULL");
                 discrepancy.setSeverity(DiscrepancySeverity.LOW);
                 discrepancy.setDescription(String.format(
-                    "Account %s has null available balance", account.getAccountNumber()));
-                discrepancy.setCreatedAt(ZonedDateTime.now());
-
-                discrepancies.add(discrepancy);
+                    "Account %s has null available balance", drift.accountNumber()));
+            } else {
+                BigDecimal difference = drift.availableBalance().subtract(expectedBalance);
+                log.warn("Available balance mismatch for account {}: Expected: {}, Actual: {}, Difference: {}",
+                    drift.accountNumber(), expectedBalance, drift.availableBalance(), difference);
+
+                discrepancy.setActualValue(drift.availableBalance().toString());
+                discrepancy.setSeverity(determineSeverity(difference));
+                discrepancy.setDescription(String.format(
+                    "Account %s available balance mismatch. Balance: %s, Active holds: %s, " +
+                        "Available balance: %s, Difference: %s",
+                    drift.accountNumber(), drift.balance(), drift.activeHolds(),
+                    drift.availableBalance(), difference));
             }
+            discrepancy.setCreatedAt(ZonedDateTime.now());
+
+            discrepancies.add(discrepancy);
         }
 
         return discrepancies;
@@ -316,6 +566,67 @@ public class ReconciliationServiceImpl implements ReconciliationService {
         }
     }
 
+    @Override
+    public IntradayCheckDto performIntradayCheck() {
+        java.time.ZoneId zone = java.time.ZoneId.of("Asia/Jakarta");
+        LocalDate today = LocalDate.now(zone);
+        ZonedDateTime startOfDay = today.atStartOfDay(zone);
+        ZonedDateTime now = ZonedDateTime.now(zone);
+        log.info("Running intraday reconciliation check for {}", today);
+
+        boolean fromRunningTotals = runningTotalsService.isComplete(today);
+
+        // Read-only: nothing is persisted or corrected, the EOD run stays the source of record
+        IntradayCheckDto result = new IntradayCheckDto();
+        result.setBusinessDate(today);
+        result.setCheckedAt(now);
+        result.setFromRunningTotals(fromRunningTotals);
+
+        BigDecimal totalDebits = BigDecimal.ZERO;
+        BigDecimal totalCredits = BigDecimal.ZERO;
+        for (EntryTypeTotal total : loadSystemTotals(fromRunningTotals, today, startOfDay, now)) {
+            if (total.entryType() == EntryType.DEBIT) {
+                totalDebits = totalDebits.add(total.total());
+            } else if (total.entryType() == EntryType.CREDIT) {
+                totalCredits = totalCredits.add(total.total());
+            }
+        }
+        result.setTotalDebits(totalDebits);
+        result.setTotalCredits(totalCredits);
+        result.setSystemBalanced(totalDebits.compareTo(totalCredits) == 0);
+
+        List<IntradayMismatchDto> mismatches = new ArrayList<>();
+        AccountIdRange idRange = bankAccountRepository.findIdRange();
+        List<AccountEntryTotals> accountTotals = idRange.isEmpty() ? List.of() :
+            loadAccountTotals(fromRunningTotals, today, startOfDay, now, idRange.minId(), idRange.maxId());
+
+        Map<Long, BigDecimal> openingBalances = idRange.isEmpty() ? Map.of() :
+            balanceSnapshotService.findClosingBalances(today.minusDays(1), idRange.minId(), idRange.maxId());
+        Map<Long, BigDecimal> pendingCredits = idRange.isEmpty() ? Map.of() :
+            hotAccountService.findPendingCredits(idRange.minId(), idRange.maxId());
+
+        for (AccountEntryTotals account : accountTotals) {
+            BigDecimal calculatedBalance = calculateExpectedBalance(account, openingBalances.get(account.accountId()));
+            BigDecimal actualBalance = account.balance()
+                .add(pendingCredits.getOrDefault(account.accountId(), BigDecimal.ZERO));
+            if (calculatedBalance.compareTo(actualBalance) != 0) {
+                IntradayMismatchDto mismatch = new IntradayMismatchDto();
+                mismatch.setAccountId(account.accountId());
+                mismatch.setAccountNumber(account.accountNumber());
+                mismatch.setExpectedBalance(calculatedBalance);
+                mismatch.setActualBalance(actualBalance);
+                mismatch.setDifference(actualBalance.subtract(calculatedBalance));
+                mismatches.add(mismatch);
+            }
+        }
+        result.setAccountsChecked(accountTotals.size());
+        result.setMismatches(mismatches);
+
+        log.info("Intraday check for {} completed. Accounts checked: {}, mismatches: {}",
+            today, accountTotals.size(), mismatches.size());
+        return result;
+    }
+
     @Override
     public ReconciliationReport getLatestReport() {
         return reconciliationQueryAdapter.findLatestReport()
@@ -0,0 +1,179 @@
+package org.fd.mcb.modules.reconciliation.service.impl;
+
+import jakarta.annotation.PreDestroy;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.fd.mcb.configs.ReconciliationConfigProperties;
+import org.fd.mcb.modules.journalentry.dto.AccountEntryTotals;
+import org.fd.mcb.modules.journalentry.dto.EntryTypeTotal;
+import org.fd.mcb.modules.journalentry.enums.EntryType;
+import org.fd.mcb.modules.journalentry.model.entity.JournalEntry;
+import org.fd.mcb.modules.journalentry.model.repository.JournalEntryRepository;
+import org.fd.mcb.modules.reconciliation.model.entity.ReconciliationRunningTotal;
+import org.fd.mcb.modules.reconciliation.model.repository.ReconciliationRunningTotalRepository;
+import org.fd.mcb.modules.reconciliation.service.RunningTotalsService;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RunningTotalsServiceImpl implements RunningTotalsService {
+
+    private static final ZoneId BUSINESS_ZONE = ZoneId.of("Asia/Jakarta");
+
+    private final ReconciliationRunningTotalRepository runningTotalRepository;
+    private final ReconciliationConfigProperties config;
+    private final TransactionTemplate transactionTemplate;
+    private final JournalEntryRepository journalEntryRepository;
+
+    private final Map<TotalKey, Delta> pending = new ConcurrentHashMap<>();
+
+    @Override
+    public void record(List<JournalEntry> entries) {
+        if (!config.getRunningTotals().isEnabled() || entries.isEmpty()) {
+            return;
+        }
+
+        // Bucketed by the entry's created_at, the same column the journal queries of a day filter on
+        Map<TotalKey, Delta> deltas = new HashMap<>();
+        for (JournalEntry entry : entries) {
+            LocalDate businessDate = entry.getCreatedAt().withZoneSameInstant(BUSINESS_ZONE).toLocalDate();
+            Delta delta = Delta.of(entry);
+            deltas.merge(new TotalKey(businessDate, ReconciliationRunningTotal.SYSTEM_ACCOUNT_ID), delta, Delta::plus);
+            if (entry.getBankAccount() != null) {
+                deltas.merge(new TotalKey(businessDate, entry.getBankAccount().getId()), delta, Delta::plus);
+            }
+        }
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            accumulate(deltas);
+            return;
+        }
+        // Rolled back entries must never reach the totals
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                accumulate(deltas);
+            }
+        });
+    }
+
+    @Override
+    public synchronized void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        Map<TotalKey, Delta> batch = new HashMap<>();
+        for (TotalKey key : pending.keySet()) {
+            Delta delta = pending.remove(key);
+            if (delta != null) {
+                batch.put(key, delta);
+            }
+        }
+
+        try {
+            ZonedDateTime now = ZonedDateTime.now();
+            transactionTemplate.executeWithoutResult(status -> batch.forEach((key, delta) -> {
+                int updated = runningTotalRepository.addTotals(key.businessDate(), key.accountId(),
+                    delta.debits(), delta.credits(), delta.count(), now);
+                if (updated == 0) {
+                    ReconciliationRunningTotal total = new ReconciliationRunningTotal();
+                    total.setBusinessDate(key.businessDate());
+                    total.setAccountId(key.accountId());
+                    total.setTotalDebits(delta.debits());
+                    total.setTotalCredits(delta.credits());
+                    total.setEntryCount(delta.count());
+                    total.setUpdatedAt(now);
+                    runningTotalRepository.save(total);
+                }
+            }));
+            log.debug("Flushed {} running total(s)", batch.size());
+        } catch (RuntimeException e) {
+            // Nothing was written, keep the deltas for the next flush
+            accumulate(batch);
+            throw e;
+        }
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        try {
+            flush();
+        } catch (Exception e) {
+            log.error("Failed to flush running totals on shutdown, {} total(s) lost", pending.size(), e);
+        }
+    }
+
+    @Override
+    public boolean isComplete(LocalDate businessDate) {
+        if (!config.getRunningTotals().isEnabled()) {
+            return false;
+        }
+
+        // Deltas still buffered here would otherwise show up as missing entries
+        flush();
+
+        // Any instance that was down, disabled or holds unflushed deltas leaves the count short
+        long accumulated = runningTotalRepository
+            .findByBusinessDateAndAccountId(businessDate, ReconciliationRunningTotal.SYSTEM_ACCOUNT_ID)
+            .map(ReconciliationRunningTotal::getEntryCount)
+            .orElse(0L);
+        ZonedDateTime startOfDay = businessDate.atStartOfDay(BUSINESS_ZONE);
+        long journaled = journalEntryRepository.countByCreatedAtBetween(
+            startOfDay, startOfDay.plusDays(1).minusNanos(1));
+
+        if (accumulated != journaled) {
+            log.info("Running totals of {} cover {} of {} journal entries, reading the journal instead",
+                businessDate, accumulated, journaled);
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public List<EntryTypeTotal> findSystemTotals(LocalDate businessDate) {
+        return runningTotalRepository
+            .findByBusinessDateAndAccountId(businessDate, ReconciliationRunningTotal.SYSTEM_ACCOUNT_ID)
+            .map(total -> List.of(
+                new EntryTypeTotal(EntryType.DEBIT, total.getTotalDebits()),
+                new EntryTypeTotal(EntryType.CREDIT, total.getTotalCredits())))
+            .orElse(List.of());
+    }
+
+    @Override
+    public List<AccountEntryTotals> findAccountTotals(LocalDate businessDate, Long fromId, Long toId) {
+        return runningTotalRepository.findAccountTotals(businessDate, fromId, toId);
+    }
+
+    private void accumulate(Map<TotalKey, Delta> deltas) {
+        deltas.forEach((key, delta) -> pending.merge(key, delta, Delta::plus));
+    }
+
+    private record TotalKey(LocalDate businessDate, Long accountId) {
+    }
+
+    private record Delta(BigDecimal debits, BigDecimal credits, long count) {
+
+        private static Delta of(JournalEntry entry) {
+            return entry.getEntryType() == EntryType.DEBIT ?
+                new Delta(entry.getAmount(), BigDecimal.ZERO, 1) :
+                new Delta(BigDecimal.ZERO, entry.getAmount(), 1);
+        }
+
+        private Delta plus(Delta other) {
+            return new Delta(debits.add(other.debits), credits.add(other.credits), count + other.count);
+        }
+    }
+}
@@ -1,12 +1,17 @@
 package org.fd.mcb.modules.transaction.controller;
 
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.fd.mcb.modules.transaction.dto.request.BulkTransferAuthRequest;
 import org.fd.mcb.modules.transaction.dto.request.DepositWithdrawReq;
+import org.fd.mcb.modules.transaction.dto.request.PostingBatchRequest;
 import org.fd.mcb.modules.transaction.dto.request.TransferAuthRequest;
 import org.fd.mcb.modules.transaction.dto.request.TransferCancellationRequest;
 import org.fd.mcb.modules.transaction.dto.request.TransferCaptureRequest;
 import org.fd.mcb.modules.transaction.dto.request.TransferSettlementRequest;
 import org.fd.mcb.modules.transaction.dto.response.AccountResponse;
+import org.fd.mcb.modules.transaction.dto.response.BulkTransferAuthResponse;
+import org.fd.mcb.modules.transaction.dto.response.PostingBatchResponse;
 import org.fd.mcb.modules.transaction.dto.response.TransferAuthResponse;
 import org.fd.mcb.modules.transaction.dto.response.TransferCancellationResponse;
 import org.fd.mcb.modules.transaction.dto.response.TransferCaptureResponse;
@@ -59,6 +64,16 @@ public class AccountController {
         );
     }
 
+    @PostMapping("/postings/batch")
+    public ResponseEntity<ResponseData<PostingBatchResponse>> postBatch(
+            @Valid @RequestBody PostingBatchRequest request
+    ) {
+        return responseHelper.createResponseData(
+                ResponseEnum.SUCCESS,
+                accountService.postBatch(request)
+        );
+    }
+
     @PostMapping("/transfer/authorize")
     public ResponseEntity<ResponseData<TransferAuthResponse>> authorizeTransfer(
             @RequestBody TransferAuthRequest request
@@ -69,6 +84,16 @@ public class AccountController {
         );
     }
 
+    @PostMapping("/transfer/authorize/bulk")
+    public ResponseEntity<ResponseData<BulkTransferAuthResponse>> authorizeTransfers(
+            @Valid @RequestBody BulkTransferAuthRequest request
+    ) {
+        return responseHelper.createResponseData(
+                ResponseEnum.SUCCESS,
+                transferAuthorizationService.authorizeTransfers(request)
+        );
+    }
+
     @PostMapping("/transfer/capture")
     public ResponseEntity<ResponseData<TransferCaptureResponse>> captureTransfer(
             @RequestBody TransferCaptureRequest request
@@ -0,0 +1,16 @@
+package org.fd.mcb.modules.transaction.dto.request;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+
+@Getter
+@Setter
+public class BulkTransferAuthItem {
+
+    private String destAccountNumber;
+
+    private BigDecimal amount;
+
+}
@@ -0,0 +1,22 @@
+package org.fd.mcb.modules.transaction.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+public class BulkTransferAuthRequest {
+
+    private String sourceAccountNumber;
+
+    private String channel;
+
+    @NotEmpty(message = "Transfers list cannot be empty")
+    @Size(max = 1000, message = "At most 1000 transfers are allowed per bulk authorization")
+    private List<BulkTransferAuthItem> transfers;
+
+}
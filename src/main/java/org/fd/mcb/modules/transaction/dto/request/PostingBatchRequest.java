@@ -0,0 +1,19 @@
+package org.fd.mcb.modules.transaction.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+public class PostingBatchRequest {
+
+    // Items are validated one by one so a bad item fails on its own instead of the whole batch
+    @NotEmpty(message = "Postings list cannot be empty")
+    @Size(max = 1000, message = "At most 1000 postings are allowed per batch")
+    private List<PostingItemRequest> postings;
+
+}
@@ -0,0 +1,19 @@
+package org.fd.mcb.modules.transaction.dto.request;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.fd.mcb.modules.transaction.enums.PostingType;
+
+import java.math.BigDecimal;
+
+@Getter
+@Setter
+public class PostingItemRequest {
+
+    private String accountNumber;
+
+    private PostingType type;
+
+    private BigDecimal amount;
+
+}
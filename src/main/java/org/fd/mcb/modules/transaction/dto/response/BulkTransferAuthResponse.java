@@ -0,0 +1,24 @@
+package org.fd.mcb.modules.transaction.dto.response;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+@Getter
+@Setter
+@Builder
+public class BulkTransferAuthResponse {
+
+    private String sourceAccountNumber;
+
+    private BigDecimal totalAmount;
+
+    private ZonedDateTime expiresAt;
+
+    private List<TransferAuthResponse> authorizations;
+
+}
@@ -0,0 +1,20 @@
+package org.fd.mcb.modules.transaction.dto.response;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@Builder
+public class PostingBatchResponse {
+
+    private Integer succeeded;
+
+    private Integer failed;
+
+    private List<PostingItemResult> results;
+
+}
@@ -0,0 +1,31 @@
+package org.fd.mcb.modules.transaction.dto.response;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+import org.fd.mcb.modules.transaction.enums.PostingType;
+
+import java.math.BigDecimal;
+
+@Getter
+@Setter
+@Builder
+public class PostingItemResult {
+
+    private Integer index;
+
+    private String accountNumber;
+
+    private PostingType type;
+
+    private BigDecimal amount;
+
+    private boolean success;
+
+    private String responseCode;
+
+    private Long transactionId;
+
+    private BigDecimal currentBalance;
+
+}
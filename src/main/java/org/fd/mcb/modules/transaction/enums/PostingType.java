@@ -0,0 +1,6 @@
+package org.fd.mcb.modules.transaction.enums;
+
+public enum PostingType {
+    DEPOSIT,
+    WITHDRAWAL
+}
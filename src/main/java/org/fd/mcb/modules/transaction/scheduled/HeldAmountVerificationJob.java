@@ -0,0 +1,36 @@
+package org.fd.mcb.modules.transaction.scheduled;
+
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.fd.mcb.modules.master.adapter.query.BankAccountQueryAdapter;
+import org.fd.mcb.modules.master.dto.HeldAmountDrift;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class HeldAmountVerificationJob {
+
+    private final BankAccountQueryAdapter bankAccountQueryAdapter;
+
+    /**
+     * Recomputes every account's held amount from its ACTIVE holds and flags the accounts whose
+     * running held_amount has drifted. Nothing is corrected automatically.
+     */
+    @Scheduled(fixedRate = 3600000) // Every hour
+    public void verifyHeldAmounts() {
+        log.info("Running held amount verification job");
+        try {
+            List<HeldAmountDrift> drifts = bankAccountQueryAdapter.findHeldAmountDrifts();
+            for (HeldAmountDrift drift : drifts) {
+                log.warn("Held amount drift on account {}: held_amount={}, active holds={}, difference={}",
+                        drift.accountNumber(), drift.heldAmount(), drift.activeHolds(), drift.difference());
+            }
+            log.info("Held amount verification completed, {} account(s) drifted", drifts.size());
+        } catch (Exception e) {
+            log.error("Error during held amount verification job", e);
+        }
+    }
+}
@@ -2,7 +2,7 @@ package org.fd.mcb.modules.transaction.scheduled;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.fd.mcb.modules.transaction.service.TransferAuthorizationService;
+import org.fd.mcb.modules.transaction.service.HoldExpiryService;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
@@ -11,16 +11,29 @@ import org.springframework.stereotype.Component;
 @RequiredArgsConstructor
 public class HoldExpirationJob {
 
-    private final TransferAuthorizationService transferAuthService;
+    private final HoldExpiryService holdExpiryService;
 
-    @Scheduled(fixedRate = 300000) // Every 5 minutes
-    public void expireOldHolds() {
-        log.info("Running hold expiration job");
+    @Scheduled(fixedDelayString = "${hold-expiry.tick:PT1S}")
+    public void expireDueHolds() {
         try {
-            transferAuthService.expireHolds();
-            log.info("Hold expiration job completed successfully");
+            int expired = holdExpiryService.expireDue();
+            if (expired > 0) {
+                log.info("Hold expiration job expired {} hold(s)", expired);
+            }
         } catch (Exception e) {
             log.error("Error during hold expiration job", e);
         }
     }
+
+    // Also runs right after startup, seeding the timing wheel
+    @Scheduled(fixedDelayString = "${hold-expiry.reload-interval:PT10M}")
+    public void reloadHolds() {
+        log.info("Running hold reload job");
+        try {
+            int scheduled = holdExpiryService.reload();
+            log.info("Hold reload job completed, {} hold(s) scheduled", scheduled);
+        } catch (Exception e) {
+            log.error("Error during hold reload job", e);
+        }
+    }
 }
@@ -0,0 +1,32 @@
+package org.fd.mcb.modules.transaction.scheduled;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.fd.mcb.configs.SettlementConfigProperties;
+import org.fd.mcb.modules.transaction.service.TransferSettlementService;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NettingSettlementJob {
+
+    private final TransferSettlementService transferSettlementService;
+    private final SettlementConfigProperties config;
+
+    @Scheduled(fixedDelayString = "${settlement.netting.interval:PT1M}")
+    public void settleCapturedTransfers() {
+        if (!config.getNetting().isEnabled()) {
+            return;
+        }
+
+        log.info("Running netting settlement job");
+        try {
+            int settled = transferSettlementService.settleCapturedTransfers();
+            log.info("Netting settlement job completed, {} transfer(s) settled", settled);
+        } catch (Exception e) {
+            log.error("Error during netting settlement job", e);
+        }
+    }
+}
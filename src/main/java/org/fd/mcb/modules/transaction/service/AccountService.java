@@ -1,7 +1,9 @@
 package org.fd.mcb.modules.transaction.service;
 
 import org.fd.mcb.modules.transaction.dto.request.DepositWithdrawReq;
+import org.fd.mcb.modules.transaction.dto.request.PostingBatchRequest;
 import org.fd.mcb.modules.transaction.dto.response.AccountResponse;
+import org.fd.mcb.modules.transaction.dto.response.PostingBatchResponse;
 
 import java.util.concurrent.ExecutionException;
 
@@ -11,4 +13,6 @@ public interface AccountService {
 
     AccountResponse withdrawal(DepositWithdrawReq request);
 
+    PostingBatchResponse postBatch(PostingBatchRequest request);
+
 }
@@ -0,0 +1,9 @@
+package org.fd.mcb.modules.transaction.service;
+
+public interface HoldExpiryService {
+
+    int reload();
+
+    int expireDue();
+
+}
@@ -1,14 +1,16 @@
 package org.fd.mcb.modules.transaction.service;
 
+import org.fd.mcb.modules.transaction.dto.request.BulkTransferAuthRequest;
 import org.fd.mcb.modules.transaction.dto.request.TransferAuthRequest;
+import org.fd.mcb.modules.transaction.dto.response.BulkTransferAuthResponse;
 import org.fd.mcb.modules.transaction.dto.response.TransferAuthResponse;
 
 public interface TransferAuthorizationService {
 
     TransferAuthResponse authorizeTransfer(TransferAuthRequest request);
 
-    void releaseHold(String authCode);
+    BulkTransferAuthResponse authorizeTransfers(BulkTransferAuthRequest request);
 
-    void expireHolds();
+    void releaseHold(String authCode);
 
 }
@@ -7,4 +7,6 @@ public interface TransferSettlementService {
 
     TransferSettlementResponse settleTransfer(TransferSettlementRequest request);
 
+    int settleCapturedTransfers();
+
 }
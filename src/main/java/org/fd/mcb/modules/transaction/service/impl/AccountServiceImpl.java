@@ -1,6 +1,9 @@
 package org.fd.mcb.modules.transaction.service.impl;
 
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
+import org.fd.mcb.configs.exception.ModuleException;
+import org.fd.mcb.configs.AccountPostingConfigProperties;
 import org.fd.mcb.modules.journalentry.adapter.command.JournalEntryCommandAdapter;
 import org.fd.mcb.modules.journalentry.dto.context.JournalEntryContext;
 import org.fd.mcb.modules.journalentry.enums.EntryType;
@@ -8,27 +11,52 @@ import org.fd.mcb.modules.master.adapter.command.BankAccountCommandAdapter;
 import org.fd.mcb.modules.master.adapter.command.TransactionCommandAdapter;
 import org.fd.mcb.modules.master.adapter.query.BankAccountQueryAdapter;
 import org.fd.mcb.modules.master.adapter.query.PaymentTypeQueryAdapter;
+import org.fd.mcb.modules.master.engine.BalanceEngine;
+import org.fd.mcb.modules.master.engine.BalancePosting;
+import org.fd.mcb.modules.master.engine.HotAccountService;
 import org.fd.mcb.modules.master.enums.AccountType;
+import org.fd.mcb.modules.master.enums.BalanceOperation;
+import org.fd.mcb.modules.master.enums.PostingMode;
 import org.fd.mcb.modules.master.model.entity.BankAccount;
 import org.fd.mcb.modules.master.model.entity.PaymentType;
 import org.fd.mcb.modules.master.model.entity.Transaction;
 import org.fd.mcb.modules.transaction.dto.context.TransactionContext;
 import org.fd.mcb.modules.transaction.dto.request.DepositWithdrawReq;
+import org.fd.mcb.modules.transaction.dto.request.PostingBatchRequest;
+import org.fd.mcb.modules.transaction.dto.request.PostingItemRequest;
 import org.fd.mcb.modules.transaction.dto.response.AccountResponse;
+import org.fd.mcb.modules.transaction.dto.response.PostingBatchResponse;
+import org.fd.mcb.modules.transaction.dto.response.PostingItemResult;
+import org.fd.mcb.modules.transaction.enums.PostingType;
 import org.fd.mcb.modules.transaction.mapper.AccountMapper;
 import org.fd.mcb.modules.transaction.service.AccountService;
+import org.fd.mcb.shared.exception.BalanceInsufficientException;
+import org.fd.mcb.shared.exception.InvalidParamException;
+import org.fd.mcb.shared.metrics.PostingMetrics;
+import org.fd.mcb.shared.metrics.PostingPhase;
+import org.fd.mcb.shared.metrics.PostingTimer;
+import org.fd.mcb.shared.response.ResponseEnum;
 import org.fd.mcb.shared.util.TransactionUtil;
-import org.springframework.core.task.TaskExecutor;
 import org.springframework.dao.PessimisticLockingFailureException;
 import org.springframework.retry.annotation.Backoff;
 import org.springframework.retry.annotation.Retryable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.math.BigDecimal;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 
 @Service
 @RequiredArgsConstructor
@@ -41,9 +69,23 @@ public class AccountServiceImpl implements AccountService {
     private final TransactionCommandAdapter transactionCommandAdapter;
     private final JournalEntryCommandAdapter journalEntryCommandAdapter;
 
+    private final BalanceEngine balanceEngine;
+    private final HotAccountService hotAccountService;
+    private final AccountPostingConfigProperties postingConfig;
+    private final PostingMetrics postingMetrics;
+
     private final AccountMapper accountMapper;
+    private final PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate batchTransactionTemplate;
 
-    private final TaskExecutor virtualThreadExecutor;
+    @PostConstruct
+    void init() {
+        batchTransactionTemplate = new TransactionTemplate(transactionManager);
+        batchTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        batchTransactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        batchTransactionTemplate.setTimeout(30);
+    }
 
     @Override
     @Transactional(timeout = 5, propagation = Propagation.REQUIRES_NEW, isolation = Isolation.REPEATABLE_READ)
@@ -53,19 +95,24 @@ public class AccountServiceImpl implements AccountService {
             backoff = @Backoff(delay = 100)
     )
     public AccountResponse deposit(DepositWithdrawReq request) {
+        PostingTimer timer = postingMetrics.start("deposit");
         TransactionUtil.validateInvalidAmount(request.getAmount());
+        hotAccountService.attributeRetries(request.getAccountNumber());
+
+        if (balanceEngine.isEnabled()) {
+            return postThroughEngine(request, BalanceOperation.CREDIT, "DEPOSIT", timer);
+        }
+        if (hotAccountService.isStriped(request.getAccountNumber())) {
+            return postToStripe(request, timer);
+        }
+        if (postingConfig.getDeposit() == PostingMode.CONDITIONAL_UPDATE) {
+            return postWithConditionalUpdate(request, EntryType.CREDIT, "DEPOSIT", timer);
+        }
 
-        CompletableFuture<BankAccount> bankAccountFuture = CompletableFuture.supplyAsync(() ->
-                        bankAccountQueryAdapter.findByAccountNumber(request.getAccountNumber(), AccountType.SAVINGS),
-                virtualThreadExecutor
-        );
-        CompletableFuture<PaymentType> paymentTypeFuture = CompletableFuture.supplyAsync(() ->
-                        paymentTypeQueryAdapter.findByName("DEPOSIT"),
-                virtualThreadExecutor
-        );
-        CompletableFuture.allOf(bankAccountFuture, paymentTypeFuture).join();
-        BankAccount bankAccount = bankAccountFuture.join();
-        PaymentType paymentType = paymentTypeFuture.join();
+        timer.phase(PostingPhase.LOCK);
+        BankAccount bankAccount = bankAccountQueryAdapter.findByAccountNumber(request.getAccountNumber(), AccountType.SAVINGS);
+        timer.phase(PostingPhase.QUERY);
+        PaymentType paymentType = paymentTypeQueryAdapter.findByName("DEPOSIT");
 
         TransactionContext transactionContext = TransactionContext.builder()
                 .amount(request.getAmount())
@@ -73,8 +120,10 @@ public class AccountServiceImpl implements AccountService {
                 .channel("ATM")
                 .paymentType(paymentType)
                 .build();
+        timer.phase(PostingPhase.JOURNAL);
         Transaction transaction = transactionCommandAdapter.save(transactionContext);
 
+        timer.phase(PostingPhase.MUTATION);
         bankAccount.setBalance(bankAccount.getBalance().add(request.getAmount()));
         // Update available balance (if null, initialize it)
         if (bankAccount.getAvailableBalance() == null) {
@@ -84,6 +133,7 @@ public class AccountServiceImpl implements AccountService {
         }
         bankAccountCommandAdapter.save(bankAccount);
 
+        timer.phase(PostingPhase.JOURNAL);
         JournalEntryContext journalEntryContext = JournalEntryContext.builder()
                 .transaction(transaction)
                 .bankAccount(bankAccount)
@@ -103,21 +153,25 @@ public class AccountServiceImpl implements AccountService {
             backoff = @Backoff(delay = 100)
     )
     public AccountResponse withdrawal(DepositWithdrawReq request) {
+        PostingTimer timer = postingMetrics.start("withdrawal");
         TransactionUtil.validateInvalidAmount(request.getAmount());
+        hotAccountService.attributeRetries(request.getAccountNumber());
+
+        if (balanceEngine.isEnabled()) {
+            return postThroughEngine(request, BalanceOperation.DEBIT, "WITHDRAWAL", timer);
+        }
+        // Credits parked on the stripes of a hot account must be visible to the balance check
+        timer.phase(PostingPhase.LOCK);
+        hotAccountService.mergeStripes(request.getAccountNumber());
+        if (postingConfig.getWithdrawal() == PostingMode.CONDITIONAL_UPDATE) {
+            return postWithConditionalUpdate(request, EntryType.DEBIT, "WITHDRAWAL", timer);
+        }
 
-        CompletableFuture<BankAccount> bankAccountFuture = CompletableFuture.supplyAsync(() -> {
-            BankAccount ba = bankAccountQueryAdapter.findByAccountNumber(request.getAccountNumber(), AccountType.SAVINGS);
-            // Validate available balance (respects holds)
-            TransactionUtil.validateBalance(ba.getAvailableBalance() != null ? ba.getAvailableBalance() : ba.getBalance(), request.getAmount());
-            return ba;
-        }, virtualThreadExecutor);
-        CompletableFuture<PaymentType> paymentTypeFuture = CompletableFuture.supplyAsync(() ->
-                paymentTypeQueryAdapter.findByName("WITHDRAWAL"),
-                virtualThreadExecutor
-        );
-        CompletableFuture.allOf(bankAccountFuture, paymentTypeFuture).join();
-        BankAccount bankAccount = bankAccountFuture.join();
-        PaymentType paymentType = paymentTypeFuture.join();
+        BankAccount bankAccount = bankAccountQueryAdapter.findByAccountNumber(request.getAccountNumber(), AccountType.SAVINGS);
+        // Validate available balance (respects holds)
+        TransactionUtil.validateBalance(bankAccount.getAvailableBalance() != null ? bankAccount.getAvailableBalance() : bankAccount.getBalance(), request.getAmount());
+        timer.phase(PostingPhase.QUERY);
+        PaymentType paymentType = paymentTypeQueryAdapter.findByName("WITHDRAWAL");
 
         TransactionContext transactionContext = TransactionContext.builder()
                 .amount(request.getAmount())
@@ -125,8 +179,10 @@ public class AccountServiceImpl implements AccountService {
                 .channel("ATM")
                 .paymentType(paymentType)
                 .build();
+        timer.phase(PostingPhase.JOURNAL);
         Transaction transaction = transactionCommandAdapter.save(transactionContext);
 
+        timer.phase(PostingPhase.MUTATION);
         bankAccount.setBalance(bankAccount.getBalance().subtract(request.getAmount()));
         // Update available balance (if null, initialize it first)
         if (bankAccount.getAvailableBalance() == null) {
@@ -136,6 +192,7 @@ public class AccountServiceImpl implements AccountService {
         }
         bankAccountCommandAdapter.save(bankAccount);
 
+        timer.phase(PostingPhase.JOURNAL);
         JournalEntryContext journalEntryContext = JournalEntryContext.builder()
                 .transaction(transaction)
                 .bankAccount(bankAccount)
@@ -147,4 +204,308 @@ public class AccountServiceImpl implements AccountService {
         return accountMapper.toAccountResponse(transaction, bankAccount);
     }
 
+    @Override
+    @Retryable(
+            retryFor = {SQLException.class, PessimisticLockingFailureException.class},
+            maxAttempts = 5,
+            backoff = @Backoff(delay = 100)
+    )
+    public PostingBatchResponse postBatch(PostingBatchRequest request) {
+        List<PostingItemRequest> items = request.getPostings();
+        PostingItemResult[] results = new PostingItemResult[items.size()];
+
+        // 1. Validate each item on its own and group the valid ones by account, sorted so that
+        // concurrent batches lock shared accounts in the same order
+        Map<String, List<Integer>> itemsByAccount = new TreeMap<>();
+        for (int i = 0; i < items.size(); i++) {
+            PostingItemRequest item = items.get(i);
+            try {
+                if (item.getAccountNumber() == null || item.getType() == null) {
+                    throw new InvalidParamException();
+                }
+                TransactionUtil.validateInvalidAmount(item.getAmount());
+                itemsByAccount.computeIfAbsent(item.getAccountNumber(), k -> new ArrayList<>()).add(i);
+            } catch (ModuleException e) {
+                results[i] = failedItem(i, item, e);
+            }
+        }
+
+        // The engine commits on its shards, only the locking path needs a transaction of its own
+        if (balanceEngine.isEnabled()) {
+            postBatchThroughEngine(items, itemsByAccount, results);
+        } else {
+            batchTransactionTemplate.executeWithoutResult(status -> postBatchWithLocks(items, itemsByAccount, results));
+        }
+        return toBatchResponse(results);
+    }
+
+    private void postBatchThroughEngine(List<PostingItemRequest> items, Map<String, List<Integer>> itemsByAccount,
+                                        PostingItemResult[] results) {
+        PostingTimer timer = postingMetrics.start("posting_batch");
+        timer.phase(PostingPhase.QUERY);
+        PaymentType depositType = paymentTypeQueryAdapter.findByName("DEPOSIT");
+        PaymentType withdrawalType = paymentTypeQueryAdapter.findByName("WITHDRAWAL");
+
+        // 2. Queue every item before waiting on any, so items on different shards and items queued
+        // together on one shard share their group commits instead of paying one commit each
+        timer.phase(PostingPhase.ENGINE);
+        Map<Integer, CompletableFuture<BalancePosting>> submitted = new TreeMap<>();
+        for (var entry : itemsByAccount.entrySet()) {
+            BankAccount bankAccount;
+            try {
+                bankAccount = bankAccountQueryAdapter.findUnlockedByAccountNumber(entry.getKey(), AccountType.SAVINGS);
+            } catch (ModuleException e) {
+                entry.getValue().forEach(i -> results[i] = failedItem(i, items.get(i), e));
+                continue;
+            }
+            for (Integer i : entry.getValue()) {
+                PostingItemRequest item = items.get(i);
+                BalanceOperation operation = item.getType() == PostingType.DEPOSIT ?
+                        BalanceOperation.CREDIT : BalanceOperation.DEBIT;
+                PaymentType paymentType = operation == BalanceOperation.CREDIT ? depositType : withdrawalType;
+                try {
+                    submitted.put(i, balanceEngine.submit(bankAccount.getId(), operation, item.getAmount(),
+                            engineWriteAhead(item.getAmount(), operation, paymentType)));
+                } catch (ModuleException e) {
+                    results[i] = failedItem(i, item, e);
+                }
+            }
+        }
+
+        // 3. Join the postings, a rejected item fails on its own without affecting the rest of the batch
+        submitted.forEach((i, future) -> {
+            PostingItemRequest item = items.get(i);
+            try {
+                BalancePosting posting = balanceEngine.await(future);
+                results[i] = postedItem(i, item, posting.getTransaction().getId(), posting.getBalance());
+            } catch (ModuleException e) {
+                results[i] = failedItem(i, item, e);
+            }
+        });
+        timer.finish();
+    }
+
+    private void postBatchWithLocks(List<PostingItemRequest> items, Map<String, List<Integer>> itemsByAccount,
+                                    PostingItemResult[] results) {
+        PostingTimer timer = postingMetrics.start("posting_batch");
+        timer.phase(PostingPhase.QUERY);
+        PaymentType depositType = paymentTypeQueryAdapter.findByName("DEPOSIT");
+        PaymentType withdrawalType = paymentTypeQueryAdapter.findByName("WITHDRAWAL");
+
+        List<Integer> postedIndexes = new ArrayList<>();
+        List<BankAccount> postedAccounts = new ArrayList<>();
+        List<BigDecimal> postedBalances = new ArrayList<>();
+        List<TransactionContext> transactionContexts = new ArrayList<>();
+
+        // 2. Lock each account once, apply its items in request order and write the net change with one UPDATE
+        for (var entry : itemsByAccount.entrySet()) {
+            BankAccount bankAccount;
+            try {
+                timer.phase(PostingPhase.LOCK);
+                hotAccountService.mergeStripes(entry.getKey());
+                bankAccount = bankAccountQueryAdapter.findByAccountNumber(entry.getKey(), AccountType.SAVINGS);
+            } catch (ModuleException e) {
+                entry.getValue().forEach(i -> results[i] = failedItem(i, items.get(i), e));
+                continue;
+            }
+
+            timer.phase(PostingPhase.MUTATION);
+            BigDecimal balance = bankAccount.getBalance();
+            BigDecimal availableBalance = bankAccount.getAvailableBalance() != null ?
+                    bankAccount.getAvailableBalance() : bankAccount.getBalance();
+            BigDecimal netChange = BigDecimal.ZERO;
+
+            for (Integer i : entry.getValue()) {
+                PostingItemRequest item = items.get(i);
+                TransactionContext.TransactionContextBuilder transactionContext = TransactionContext.builder()
+                        .amount(item.getAmount())
+                        .channel("ATM");
+                BigDecimal signedAmount;
+                if (item.getType() == PostingType.DEPOSIT) {
+                    signedAmount = item.getAmount();
+                    transactionContext.destinationAccount(bankAccount).paymentType(depositType);
+                } else {
+                    try {
+                        TransactionUtil.validateBalance(availableBalance, item.getAmount());
+                    } catch (ModuleException e) {
+                        results[i] = failedItem(i, item, e);
+                        continue;
+                    }
+                    signedAmount = item.getAmount().negate();
+                    transactionContext.sourceAccount(bankAccount).paymentType(withdrawalType);
+                }
+
+                balance = balance.add(signedAmount);
+                availableBalance = availableBalance.add(signedAmount);
+                netChange = netChange.add(signedAmount);
+
+                postedIndexes.add(i);
+                postedAccounts.add(bankAccount);
+                postedBalances.add(balance);
+                transactionContexts.add(transactionContext.build());
+            }
+
+            if (netChange.signum() != 0) {
+                bankAccountCommandAdapter.applyBalanceDelta(bankAccount.getId(), netChange, netChange, BigDecimal.ZERO);
+            }
+        }
+
+        // 3. Insert the transactions and their journal entries in bulk
+        timer.phase(PostingPhase.JOURNAL);
+        List<Transaction> transactions = transactionCommandAdapter.saveAll(transactionContexts);
+        List<JournalEntryContext> journalEntryContexts = new ArrayList<>(transactions.size());
+        for (int n = 0; n < transactions.size(); n++) {
+            int i = postedIndexes.get(n);
+            PostingItemRequest item = items.get(i);
+            journalEntryContexts.add(JournalEntryContext.builder()
+                    .transaction(transactions.get(n))
+                    .bankAccount(postedAccounts.get(n))
+                    .amount(item.getAmount())
+                    .entryType(item.getType() == PostingType.DEPOSIT ? EntryType.CREDIT : EntryType.DEBIT)
+                    .build());
+            results[i] = postedItem(i, item, transactions.get(n).getId(), postedBalances.get(n));
+        }
+        journalEntryCommandAdapter.saveAll(journalEntryContexts);
+    }
+
+    private PostingItemResult postedItem(int index, PostingItemRequest item, Long transactionId, BigDecimal balance) {
+        return PostingItemResult.builder()
+                .index(index)
+                .accountNumber(item.getAccountNumber())
+                .type(item.getType())
+                .amount(item.getAmount())
+                .success(true)
+                .responseCode(ResponseEnum.SUCCESS.getResponseCode())
+                .transactionId(transactionId)
+                .currentBalance(balance)
+                .build();
+    }
+
+    private PostingItemResult failedItem(int index, PostingItemRequest item, ModuleException e) {
+        return PostingItemResult.builder()
+                .index(index)
+                .accountNumber(item.getAccountNumber())
+                .type(item.getType())
+                .amount(item.getAmount())
+                .success(false)
+                .responseCode(e.getResponseEnum().getResponseCode())
+                .build();
+    }
+
+    private PostingBatchResponse toBatchResponse(PostingItemResult[] results) {
+        int succeeded = (int) Arrays.stream(results).filter(PostingItemResult::isSuccess).count();
+        return PostingBatchResponse.builder()
+                .succeeded(succeeded)
+                .failed(results.length - succeeded)
+                .results(List.of(results))
+                .build();
+    }
+
+    private AccountResponse postWithConditionalUpdate(DepositWithdrawReq request, EntryType entryType,
+                                                      String paymentTypeName, PostingTimer timer) {
+        // 1. Guarded UPDATE, the balance check happens in the statement instead of a lock-read-write round trip
+        timer.phase(PostingPhase.MUTATION);
+        boolean applied = entryType == EntryType.CREDIT ?
+                bankAccountCommandAdapter.credit(request.getAccountNumber(), AccountType.SAVINGS, request.getAmount()) :
+                bankAccountCommandAdapter.debitIfSufficient(request.getAccountNumber(), AccountType.SAVINGS, request.getAmount());
+
+        // 2. Read back the updated row, this also reports a missing or inactive account when nothing matched
+        timer.phase(PostingPhase.QUERY);
+        BankAccount bankAccount = bankAccountQueryAdapter.findUnlockedByAccountNumber(request.getAccountNumber(), AccountType.SAVINGS);
+        if (!applied) {
+            throw new BalanceInsufficientException();
+        }
+        PaymentType paymentType = paymentTypeQueryAdapter.findByName(paymentTypeName);
+
+        // 3. Record the transaction and journal entry in the same transaction as the UPDATE
+        timer.phase(PostingPhase.JOURNAL);
+        TransactionContext.TransactionContextBuilder transactionContext = TransactionContext.builder()
+                .amount(request.getAmount())
+                .channel("ATM")
+                .paymentType(paymentType);
+        if (entryType == EntryType.CREDIT) {
+            transactionContext.destinationAccount(bankAccount);
+        } else {
+            transactionContext.sourceAccount(bankAccount);
+        }
+        Transaction transaction = transactionCommandAdapter.save(transactionContext.build());
+
+        JournalEntryContext journalEntryContext = JournalEntryContext.builder()
+                .transaction(transaction)
+                .bankAccount(bankAccount)
+                .amount(request.getAmount())
+                .entryType(entryType)
+                .build();
+        journalEntryCommandAdapter.save(journalEntryContext);
+
+        return accountMapper.toAccountResponse(transaction, bankAccount);
+    }
+
+    private AccountResponse postToStripe(DepositWithdrawReq request, PostingTimer timer) {
+        // No row lock: the credit goes to one of the hot account's stripes and is merged into the row later
+        timer.phase(PostingPhase.QUERY);
+        BankAccount bankAccount = bankAccountQueryAdapter.findUnlockedByAccountNumber(request.getAccountNumber(), AccountType.SAVINGS);
+        PaymentType paymentType = paymentTypeQueryAdapter.findByName("DEPOSIT");
+
+        TransactionContext transactionContext = TransactionContext.builder()
+                .amount(request.getAmount())
+                .destinationAccount(bankAccount)
+                .channel("ATM")
+                .paymentType(paymentType)
+                .build();
+        timer.phase(PostingPhase.JOURNAL);
+        Transaction transaction = transactionCommandAdapter.save(transactionContext);
+
+        timer.phase(PostingPhase.MUTATION);
+        hotAccountService.creditStripe(bankAccount.getId(), request.getAmount());
+
+        timer.phase(PostingPhase.JOURNAL);
+        JournalEntryContext journalEntryContext = JournalEntryContext.builder()
+                .transaction(transaction)
+                .bankAccount(bankAccount)
+                .amount(request.getAmount())
+                .entryType(EntryType.CREDIT)
+                .build();
+        journalEntryCommandAdapter.save(journalEntryContext);
+
+        return AccountResponse.builder()
+                .transactionId(transaction.getId())
+                .currentBalance(bankAccount.getBalance().add(hotAccountService.findPendingCredit(bankAccount.getId())))
+                .build();
+    }
+
+    private AccountResponse postThroughEngine(DepositWithdrawReq request, BalanceOperation operation,
+                                              String paymentTypeName, PostingTimer timer) {
+        // No row lock: the shard owning the account serializes every posting on it
+        timer.phase(PostingPhase.QUERY);
+        BankAccount bankAccount = bankAccountQueryAdapter.findUnlockedByAccountNumber(request.getAccountNumber(), AccountType.SAVINGS);
+        PaymentType paymentType = paymentTypeQueryAdapter.findByName(paymentTypeName);
+
+        // Queueing on the shard and its group commit, the shard's own phases are not split further
+        timer.phase(PostingPhase.ENGINE);
+        BalancePosting posting = balanceEngine.post(bankAccount.getId(), operation, request.getAmount(),
+                engineWriteAhead(request.getAmount(), operation, paymentType));
+
+        return AccountResponse.builder()
+                .transactionId(posting.getTransaction().getId())
+                .currentBalance(posting.getBalance())
+                .build();
+    }
+
+    private Function<BankAccount, Transaction> engineWriteAhead(BigDecimal amount, BalanceOperation operation,
+                                                                PaymentType paymentType) {
+        return account -> {
+            TransactionContext.TransactionContextBuilder transactionContext = TransactionContext.builder()
+                    .amount(amount)
+                    .channel("ATM")
+                    .paymentType(paymentType);
+            if (operation == BalanceOperation.CREDIT) {
+                transactionContext.destinationAccount(account);
+            } else {
+                transactionContext.sourceAccount(account);
+            }
+            return transactionCommandAdapter.save(transactionContext.build());
+        };
+    }
+
 }
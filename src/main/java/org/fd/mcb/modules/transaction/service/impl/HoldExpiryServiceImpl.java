@@ -0,0 +1,202 @@
+package org.fd.mcb.modules.transaction.service.impl;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.fd.mcb.configs.HoldExpiryConfigProperties;
+import org.fd.mcb.modules.master.adapter.command.AccountHoldCommandAdapter;
+import org.fd.mcb.modules.master.adapter.command.BankAccountCommandAdapter;
+import org.fd.mcb.modules.master.adapter.query.AccountHoldQueryAdapter;
+import org.fd.mcb.modules.master.dto.HoldExpiry;
+import org.fd.mcb.modules.master.engine.BalanceEngine;
+import org.fd.mcb.modules.master.engine.BalancePosting;
+import org.fd.mcb.modules.master.engine.HoldExpiryWheel;
+import org.fd.mcb.modules.master.enums.BalanceOperation;
+import org.fd.mcb.modules.master.enums.HoldStatus;
+import org.fd.mcb.modules.master.enums.TransactionStatus;
+import org.fd.mcb.modules.master.model.entity.AccountHold;
+import org.fd.mcb.modules.master.model.entity.Transaction;
+import org.fd.mcb.modules.master.model.repository.TransactionRepository;
+import org.fd.mcb.modules.transaction.service.HoldExpiryService;
+import org.fd.mcb.shared.exception.InvalidTransactionStatusException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class HoldExpiryServiceImpl implements HoldExpiryService {
+
+    private final HoldExpiryConfigProperties config;
+    private final HoldExpiryWheel holdExpiryWheel;
+
+    private final AccountHoldQueryAdapter accountHoldQueryAdapter;
+    private final AccountHoldCommandAdapter accountHoldCommandAdapter;
+    private final BankAccountCommandAdapter bankAccountCommandAdapter;
+    private final TransactionRepository transactionRepository;
+
+    private final BalanceEngine balanceEngine;
+    private final TransactionTemplate transactionTemplate;
+
+    @Override
+    public int reload() {
+        // Stay a tick inside the horizon, the wheel may be lagging behind the clock
+        ZonedDateTime horizon = ZonedDateTime.now()
+                .plus(Duration.ofMillis(holdExpiryWheel.horizonMillis()))
+                .minus(config.getTick().multipliedBy(2));
+
+        int scheduled = 0;
+        Long afterId = 0L;
+        List<HoldExpiry> page;
+        do {
+            page = accountHoldQueryAdapter.findActiveHoldsExpiringBefore(horizon, afterId, config.getPageSize());
+            for (HoldExpiry hold : page) {
+                if (holdExpiryWheel.schedule(hold)) {
+                    scheduled++;
+                }
+            }
+            if (!page.isEmpty()) {
+                afterId = page.getLast().holdId();
+            }
+        } while (page.size() == config.getPageSize());
+
+        return scheduled;
+    }
+
+    @Override
+    public int expireDue() {
+        List<HoldExpiry> due = holdExpiryWheel.pollDue(System.currentTimeMillis());
+        if (due.isEmpty()) {
+            return 0;
+        }
+
+        int expired = 0;
+        for (List<HoldExpiry> chunk : chunkByAccount(due)) {
+            if (balanceEngine.isEnabled()) {
+                expired += expireThroughEngine(chunk);
+                continue;
+            }
+            try {
+                Integer count = transactionTemplate.execute(status -> expireChunk(chunk));
+                expired += count != null ? count : 0;
+            } catch (RuntimeException e) {
+                // Nothing in the chunk was expired, try it again shortly
+                log.warn("Failed to expire {} hold(s), retrying in {}", chunk.size(), config.getRetryDelay(), e);
+                long retryAt = System.currentTimeMillis() + config.getRetryDelay().toMillis();
+                chunk.forEach(hold -> holdExpiryWheel.schedule(hold, retryAt));
+            }
+        }
+        return expired;
+    }
+
+    private List<List<HoldExpiry>> chunkByAccount(List<HoldExpiry> due) {
+        // Account order keeps the balance updates of concurrent chunks in the same lock order
+        Map<Long, List<HoldExpiry>> byAccount = new TreeMap<>();
+        due.forEach(hold -> byAccount.computeIfAbsent(hold.accountId(), id -> new ArrayList<>()).add(hold));
+
+        List<List<HoldExpiry>> chunks = new ArrayList<>();
+        List<HoldExpiry> chunk = new ArrayList<>();
+        for (List<HoldExpiry> accountHolds : byAccount.values()) {
+            if (!chunk.isEmpty() && chunk.size() + accountHolds.size() > config.getChunkSize()) {
+                chunks.add(chunk);
+                chunk = new ArrayList<>();
+            }
+            chunk.addAll(accountHolds);
+        }
+        if (!chunk.isEmpty()) {
+            chunks.add(chunk);
+        }
+        return chunks;
+    }
+
+    private int expireChunk(List<HoldExpiry> chunk) {
+        Map<Long, HoldExpiry> byTransaction = chunk.stream()
+                .collect(Collectors.toMap(HoldExpiry::transactionId, Function.identity()));
+
+        // Capture and cancellation lock the transaction too, whoever gets it first decides the outcome.
+        // Locked in id order, each of them locks a single transaction, so this cannot deadlock with them
+        List<Transaction> transactions = transactionRepository
+                .findForUpdateByIdInAndStatus(byTransaction.keySet(), TransactionStatus.AUTHORIZED);
+        if (transactions.isEmpty()) {
+            return 0;
+        }
+        Set<Long> activeHoldIds = new HashSet<>(accountHoldQueryAdapter.findActiveHoldIds(transactions.stream()
+                .map(transaction -> byTransaction.get(transaction.getId()).holdId())
+                .toList()));
+        if (activeHoldIds.isEmpty()) {
+            return 0;
+        }
+
+        Map<Long, BigDecimal> releasedByAccount = new TreeMap<>();
+        for (Transaction transaction : transactions) {
+            HoldExpiry hold = byTransaction.get(transaction.getId());
+            if (!activeHoldIds.contains(hold.holdId())) {
+                continue;
+            }
+            transaction.setStatus(TransactionStatus.CANCELLED);
+            releasedByAccount.merge(hold.accountId(), hold.amount(), BigDecimal::add);
+        }
+
+        int expired = accountHoldCommandAdapter.expireHolds(activeHoldIds);
+        // One update per account for all of its holds in the chunk
+        releasedByAccount.forEach((accountId, amount) ->
+                bankAccountCommandAdapter.applyBalanceDelta(accountId, BigDecimal.ZERO, amount, amount.negate()));
+        return expired;
+    }
+
+    private int expireThroughEngine(List<HoldExpiry> chunk) {
+        // The whole chunk is queued before waiting on any of it, so the holds of an account land in one
+        // group commit of its shard, which writes a single balance update per account
+        Map<HoldExpiry, CompletableFuture<BalancePosting>> submitted = new LinkedHashMap<>();
+        for (HoldExpiry hold : chunk) {
+            try {
+                submitted.put(hold, balanceEngine.submit(hold.accountId(), BalanceOperation.RELEASE, hold.amount(),
+                        account -> expireUnderShard(hold)));
+            } catch (RuntimeException e) {
+                retryLater(hold, e);
+            }
+        }
+
+        int expired = 0;
+        for (var entry : submitted.entrySet()) {
+            try {
+                balanceEngine.await(entry.getValue());
+                expired++;
+            } catch (InvalidTransactionStatusException e) {
+                // Already captured or cancelled, nothing to expire
+            } catch (RuntimeException e) {
+                retryLater(entry.getKey(), e);
+            }
+        }
+        return expired;
+    }
+
+    private Transaction expireUnderShard(HoldExpiry hold) {
+        // Re-read under the shard: the hold may have been captured or cancelled meanwhile
+        AccountHold current = accountHoldQueryAdapter.findByTransactionId(hold.transactionId());
+        if (current.getStatus() != HoldStatus.ACTIVE) {
+            throw new InvalidTransactionStatusException();
+        }
+        accountHoldCommandAdapter.expireHolds(List.of(hold.holdId()));
+        Transaction transaction = current.getTransaction();
+        transaction.setStatus(TransactionStatus.CANCELLED);
+        return transaction;
+    }
+
+    private void retryLater(HoldExpiry hold, RuntimeException e) {
+        log.warn("Failed to expire hold {}, retrying in {}", hold.holdId(), config.getRetryDelay(), e);
+        holdExpiryWheel.schedule(hold, System.currentTimeMillis() + config.getRetryDelay().toMillis());
+    }
+}
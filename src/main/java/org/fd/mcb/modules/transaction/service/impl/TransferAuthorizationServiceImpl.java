@@ -7,7 +7,11 @@ import org.fd.mcb.modules.master.adapter.command.TransactionCommandAdapter;
 import org.fd.mcb.modules.master.adapter.query.AccountHoldQueryAdapter;
 import org.fd.mcb.modules.master.adapter.query.BankAccountQueryAdapter;
 import org.fd.mcb.modules.master.adapter.query.PaymentTypeQueryAdapter;
+import org.fd.mcb.modules.master.engine.BalanceEngine;
+import org.fd.mcb.modules.master.engine.BalancePosting;
+import org.fd.mcb.modules.master.engine.HotAccountService;
 import org.fd.mcb.modules.master.enums.AccountType;
+import org.fd.mcb.modules.master.enums.BalanceOperation;
 import org.fd.mcb.modules.master.enums.HoldStatus;
 import org.fd.mcb.modules.master.enums.HoldType;
 import org.fd.mcb.modules.master.enums.TransactionStatus;
@@ -15,14 +19,22 @@ import org.fd.mcb.modules.master.model.entity.AccountHold;
 import org.fd.mcb.modules.master.model.entity.BankAccount;
 import org.fd.mcb.modules.master.model.entity.PaymentType;
 import org.fd.mcb.modules.master.model.entity.Transaction;
+import org.fd.mcb.modules.master.model.repository.TransactionRepository;
 import org.fd.mcb.modules.transaction.dto.context.AccountHoldContext;
 import org.fd.mcb.modules.transaction.dto.context.TransactionContext;
+import org.fd.mcb.modules.transaction.dto.request.BulkTransferAuthItem;
+import org.fd.mcb.modules.transaction.dto.request.BulkTransferAuthRequest;
 import org.fd.mcb.modules.transaction.dto.request.TransferAuthRequest;
+import org.fd.mcb.modules.transaction.dto.response.BulkTransferAuthResponse;
 import org.fd.mcb.modules.transaction.dto.response.TransferAuthResponse;
 import org.fd.mcb.modules.transaction.service.TransferAuthorizationService;
+import org.fd.mcb.shared.exception.AuthorizationNotFoundException;
 import org.fd.mcb.shared.exception.InsufficientAvailableBalanceException;
+import org.fd.mcb.shared.exception.InvalidTransactionStatusException;
+import org.fd.mcb.shared.metrics.PostingMetrics;
+import org.fd.mcb.shared.metrics.PostingPhase;
+import org.fd.mcb.shared.metrics.PostingTimer;
 import org.fd.mcb.shared.util.TransactionUtil;
-import org.springframework.core.task.TaskExecutor;
 import org.springframework.dao.PessimisticLockingFailureException;
 import org.springframework.retry.annotation.Backoff;
 import org.springframework.retry.annotation.Retryable;
@@ -34,9 +46,12 @@ import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
 import java.sql.SQLException;
 import java.time.ZonedDateTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
-import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
 
 @Service
 @RequiredArgsConstructor
@@ -44,13 +59,16 @@ public class TransferAuthorizationServiceImpl implements TransferAuthorizationSe
 
     private final BankAccountQueryAdapter bankAccountQueryAdapter;
     private final PaymentTypeQueryAdapter paymentTypeQueryAdapter;
-    private final AccountHoldQueryAdapter accountHoldQueryAdapter;
 
     private final BankAccountCommandAdapter bankAccountCommandAdapter;
     private final TransactionCommandAdapter transactionCommandAdapter;
     private final AccountHoldCommandAdapter accountHoldCommandAdapter;
+    private final AccountHoldQueryAdapter accountHoldQueryAdapter;
+    private final TransactionRepository transactionRepository;
 
-    private final TaskExecutor virtualThreadExecutor;
+    private final BalanceEngine balanceEngine;
+    private final HotAccountService hotAccountService;
+    private final PostingMetrics postingMetrics;
 
     @Override
     @Transactional(timeout = 5, propagation = Propagation.REQUIRES_NEW, isolation = Isolation.REPEATABLE_READ)
@@ -60,37 +78,33 @@ public class TransferAuthorizationServiceImpl implements TransferAuthorizationSe
             backoff = @Backoff(delay = 100)
     )
     public TransferAuthResponse authorizeTransfer(TransferAuthRequest request) {
+        PostingTimer timer = postingMetrics.start("transfer_authorization");
         TransactionUtil.validateInvalidAmount(request.getAmount());
+        hotAccountService.attributeRetries(request.getSourceAccountNumber());
 
-        // Parallel async fetch with pessimistic locks
-        CompletableFuture<BankAccount> sourceAccountFuture = CompletableFuture.supplyAsync(() -> {
-            BankAccount account = bankAccountQueryAdapter
-                    .findByAccountNumber(request.getSourceAccountNumber(), AccountType.SAVINGS);
-
-            // Validate available balance (not just balance)
-            if (account.getAvailableBalance() == null ||
-                account.getAvailableBalance().compareTo(request.getAmount()) < 0) {
-                throw new InsufficientAvailableBalanceException();
-            }
-
-            return account;
-        }, virtualThreadExecutor);
+        if (balanceEngine.isEnabled()) {
+            return authorizeThroughEngine(request, timer);
+        }
 
-        CompletableFuture<BankAccount> destAccountFuture = CompletableFuture.supplyAsync(() ->
-                bankAccountQueryAdapter
-                        .findByAccountNumber(request.getDestAccountNumber(), AccountType.SAVINGS),
-                virtualThreadExecutor
-        );
+        // Credits parked on the stripes of a hot source account must be visible to the balance check.
+        // The merge, the lock and the hold all run on this thread in this transaction: a lookup on another
+        // connection would wait for the row lock the merge already holds here
+        timer.phase(PostingPhase.LOCK);
+        hotAccountService.mergeStripes(request.getSourceAccountNumber());
+        BankAccount sourceAccount = bankAccountQueryAdapter
+                .findByAccountNumber(request.getSourceAccountNumber(), AccountType.SAVINGS);
 
-        CompletableFuture<PaymentType> paymentTypeFuture = CompletableFuture.supplyAsync(() ->
-                        paymentTypeQueryAdapter.findByName("TRANSFER_AUTH"),
-                virtualThreadExecutor
-        );
+        // Validate available balance (not just balance)
+        if (sourceAccount.getAvailableBalance() == null ||
+            sourceAccount.getAvailableBalance().compareTo(request.getAmount()) < 0) {
+            throw new InsufficientAvailableBalanceException();
+        }
 
-        CompletableFuture.allOf(sourceAccountFuture, destAccountFuture, paymentTypeFuture).join();
-        BankAccount sourceAccount = sourceAccountFuture.join();
-        BankAccount destAccount = destAccountFuture.join();
-        PaymentType paymentType = paymentTypeFuture.join();
+        // The destination only has to exist, locking it would let two opposite transfers deadlock
+        BankAccount destAccount = bankAccountQueryAdapter
+                .findUnlockedByAccountNumber(request.getDestAccountNumber(), AccountType.SAVINGS);
+        timer.phase(PostingPhase.QUERY);
+        PaymentType paymentType = paymentTypeQueryAdapter.findByName("TRANSFER_AUTH");
 
         // Generate auth code
         String authCode = generateAuthCode();
@@ -107,9 +121,11 @@ public class TransferAuthorizationServiceImpl implements TransferAuthorizationSe
                 .authCode(authCode)
                 .expiresAt(expiresAt)
                 .build();
+        timer.phase(PostingPhase.JOURNAL);
         Transaction transaction = transactionCommandAdapter.save(transactionContext);
 
         // Create AccountHold (place hold on funds)
+        timer.phase(PostingPhase.MUTATION);
         AccountHoldContext holdContext = AccountHoldContext.builder()
                 .account(sourceAccount)
                 .transaction(transaction)
@@ -121,8 +137,7 @@ public class TransferAuthorizationServiceImpl implements TransferAuthorizationSe
         accountHoldCommandAdapter.save(holdContext);
 
         // Update available balance (balance stays same, available decreases)
-        BigDecimal totalHolds = accountHoldQueryAdapter.calculateTotalActiveHolds(sourceAccount.getId());
-        sourceAccount.updateAvailableBalance(totalHolds);
+        sourceAccount.addHold(request.getAmount());
         bankAccountCommandAdapter.save(sourceAccount);
 
         // NO journal entry yet - funds not moved
@@ -136,42 +151,254 @@ public class TransferAuthorizationServiceImpl implements TransferAuthorizationSe
     }
 
     @Override
-    @Transactional(timeout = 5, propagation = Propagation.REQUIRES_NEW, isolation = Isolation.REPEATABLE_READ)
+    @Transactional(timeout = 30, propagation = Propagation.REQUIRES_NEW, isolation = Isolation.REPEATABLE_READ)
     @Retryable(
             retryFor = {SQLException.class, PessimisticLockingFailureException.class},
             maxAttempts = 5,
             backoff = @Backoff(delay = 100)
     )
-    public void releaseHold(String authCode) {
-        // Find transaction by auth code
-        // Find hold by transaction
-        // Release hold
-        // Update available balance
-        // Update transaction status to CANCELLED
-
-        // Implementation for future capture/cancel feature
-        throw new UnsupportedOperationException("Release hold not yet implemented");
+    public BulkTransferAuthResponse authorizeTransfers(BulkTransferAuthRequest request) {
+        PostingTimer timer = postingMetrics.start("bulk_transfer_authorization");
+        hotAccountService.attributeRetries(request.getSourceAccountNumber());
+        // 1. Validate every amount and compute the combined hold
+        BigDecimal totalAmount = BigDecimal.ZERO;
+        for (BulkTransferAuthItem item : request.getTransfers()) {
+            TransactionUtil.validateInvalidAmount(item.getAmount());
+            totalAmount = totalAmount.add(item.getAmount());
+        }
+
+        timer.phase(PostingPhase.QUERY);
+        PaymentType paymentType = paymentTypeQueryAdapter.findByName("TRANSFER_AUTH");
+        String channel = request.getChannel() != null ? request.getChannel() : "API";
+        ZonedDateTime expiresAt = ZonedDateTime.now().plusHours(24);
+
+        if (balanceEngine.isEnabled()) {
+            return authorizeTransfersThroughEngine(request, totalAmount, paymentType, channel, expiresAt, timer);
+        }
+
+        // 2. Lock the source once and check the combined amount against its available balance,
+        // including credits still parked on its stripes
+        timer.phase(PostingPhase.LOCK);
+        hotAccountService.mergeStripes(request.getSourceAccountNumber());
+        BankAccount sourceAccount = bankAccountQueryAdapter
+                .findByAccountNumber(request.getSourceAccountNumber(), AccountType.SAVINGS);
+        if (sourceAccount.getAvailableBalance() == null ||
+            sourceAccount.getAvailableBalance().compareTo(totalAmount) < 0) {
+            throw new InsufficientAvailableBalanceException();
+        }
+
+        // 3. Resolve each distinct destination once
+        Map<String, BankAccount> destAccounts = resolveDestAccounts(request.getTransfers(),
+                accountNumber -> bankAccountQueryAdapter.findByAccountNumber(accountNumber, AccountType.SAVINGS));
+
+        // 4. Create all AUTHORIZED transactions and their holds in bulk
+        timer.phase(PostingPhase.JOURNAL);
+        List<Transaction> transactions = createBulkHolds(
+                sourceAccount, destAccounts, request.getTransfers(), paymentType, channel, expiresAt);
+
+        // 5. One available balance update for the whole bulk
+        timer.phase(PostingPhase.MUTATION);
+        sourceAccount.addHold(totalAmount);
+        bankAccountCommandAdapter.save(sourceAccount);
+
+        return toBulkResponse(request.getSourceAccountNumber(), totalAmount, expiresAt, transactions);
     }
 
     @Override
     @Transactional(timeout = 5, propagation = Propagation.REQUIRES_NEW, isolation = Isolation.REPEATABLE_READ)
-    public void expireHolds() {
-        List<AccountHold> expiredHolds = accountHoldQueryAdapter.findExpiredHolds();
-
-        for (AccountHold hold : expiredHolds) {
-            // Release the hold
-            accountHoldCommandAdapter.releaseHold(hold.getId());
-
-            // Update transaction status to CANCELLED
-            Transaction transaction = hold.getTransaction();
-            transaction.setStatus(TransactionStatus.CANCELLED);
-
-            // Update available balance
-            BankAccount account = hold.getAccount();
-            BigDecimal totalHolds = accountHoldQueryAdapter.calculateTotalActiveHolds(account.getId());
-            account.updateAvailableBalance(totalHolds);
-            bankAccountCommandAdapter.save(account);
+    @Retryable(
+            retryFor = {SQLException.class, PessimisticLockingFailureException.class},
+            maxAttempts = 5,
+            backoff = @Backoff(delay = 100)
+    )
+    public void releaseHold(String authCode) {
+        PostingTimer timer = postingMetrics.start("hold_release");
+        if (balanceEngine.isEnabled()) {
+            // No lock here: the shard writes this row in its own transaction and locks it there
+            timer.phase(PostingPhase.QUERY);
+            Transaction transaction = transactionRepository.findByAuthCode(authCode)
+                    .orElseThrow(AuthorizationNotFoundException::new);
+            releaseThroughEngine(transaction, timer);
+            return;
         }
+
+        // 1. Find transaction by auth code, locked like capture, cancellation and hold expiry lock it
+        timer.phase(PostingPhase.LOCK);
+        Transaction transaction = transactionRepository.findForUpdateByAuthCode(authCode)
+                .orElseThrow(AuthorizationNotFoundException::new);
+
+        // 2. Find the still active hold of the authorized transaction
+        timer.phase(PostingPhase.QUERY);
+        AccountHold hold = validateReleasable(transaction);
+
+        // 3. Release hold
+        timer.phase(PostingPhase.MUTATION);
+        accountHoldCommandAdapter.releaseHold(hold.getId());
+
+        // 4. Restore the available balance by delta, the source account is not locked
+        bankAccountCommandAdapter.applyBalanceDelta(transaction.getSourceAccount().getId(),
+                BigDecimal.ZERO, hold.getAmount(), hold.getAmount().negate());
+
+        // 5. Update transaction status
+        transaction.setStatus(TransactionStatus.CANCELLED);
+        transactionRepository.save(transaction);
+    }
+
+    private void releaseThroughEngine(Transaction transaction, PostingTimer timer) {
+        Long transactionId = transaction.getId();
+
+        timer.phase(PostingPhase.ENGINE);
+        balanceEngine.post(transaction.getSourceAccount().getId(), BalanceOperation.RELEASE,
+                transaction.getAmount(), account -> {
+                    // Re-validate under the shard, a concurrent capture of the same auth code serializes here
+                    Transaction current = transactionRepository.findById(transactionId)
+                            .orElseThrow(AuthorizationNotFoundException::new);
+                    AccountHold hold = validateReleasable(current);
+
+                    accountHoldCommandAdapter.releaseHold(hold.getId());
+                    current.setStatus(TransactionStatus.CANCELLED);
+                    return transactionRepository.save(current);
+                });
+    }
+
+    private AccountHold validateReleasable(Transaction transaction) {
+        if (transaction.getStatus() != TransactionStatus.AUTHORIZED) {
+            throw new InvalidTransactionStatusException();
+        }
+
+        AccountHold hold = accountHoldQueryAdapter.findByTransactionId(transaction.getId());
+        if (hold.getStatus() != HoldStatus.ACTIVE) {
+            throw new InvalidTransactionStatusException();
+        }
+        return hold;
+    }
+
+    private TransferAuthResponse authorizeThroughEngine(TransferAuthRequest request, PostingTimer timer) {
+        // No row locks: the shard owning the source account serializes the hold against other postings
+        timer.phase(PostingPhase.QUERY);
+        BankAccount sourceAccount = bankAccountQueryAdapter
+                .findUnlockedByAccountNumber(request.getSourceAccountNumber(), AccountType.SAVINGS);
+        BankAccount destAccount = bankAccountQueryAdapter
+                .findUnlockedByAccountNumber(request.getDestAccountNumber(), AccountType.SAVINGS);
+        PaymentType paymentType = paymentTypeQueryAdapter.findByName("TRANSFER_AUTH");
+
+        String authCode = generateAuthCode();
+        ZonedDateTime expiresAt = ZonedDateTime.now().plusHours(24);
+
+        timer.phase(PostingPhase.ENGINE);
+        BalancePosting posting = balanceEngine.post(sourceAccount.getId(), BalanceOperation.HOLD, request.getAmount(), account -> {
+            Transaction transaction = transactionCommandAdapter.save(TransactionContext.builder()
+                    .amount(request.getAmount())
+                    .sourceAccount(account)
+                    .destinationAccount(destAccount)
+                    .channel(request.getChannel() != null ? request.getChannel() : "API")
+                    .paymentType(paymentType)
+                    .status(TransactionStatus.AUTHORIZED)
+                    .authCode(authCode)
+                    .expiresAt(expiresAt)
+                    .build());
+            accountHoldCommandAdapter.save(AccountHoldContext.builder()
+                    .account(account)
+                    .transaction(transaction)
+                    .holdType(HoldType.TRANSFER_AUTH)
+                    .amount(request.getAmount())
+                    .status(HoldStatus.ACTIVE)
+                    .expiresAt(expiresAt)
+                    .build());
+            return transaction;
+        });
+
+        return TransferAuthResponse.builder()
+                .authCode(authCode)
+                .transactionId(posting.getTransaction().getId())
+                .status(TransactionStatus.AUTHORIZED)
+                .expiresAt(expiresAt)
+                .build();
+    }
+
+    private BulkTransferAuthResponse authorizeTransfersThroughEngine(BulkTransferAuthRequest request,
+                                                                     BigDecimal totalAmount,
+                                                                     PaymentType paymentType,
+                                                                     String channel,
+                                                                     ZonedDateTime expiresAt,
+                                                                     PostingTimer timer) {
+        BankAccount sourceAccount = bankAccountQueryAdapter
+                .findUnlockedByAccountNumber(request.getSourceAccountNumber(), AccountType.SAVINGS);
+        Map<String, BankAccount> destAccounts = resolveDestAccounts(request.getTransfers(),
+                accountNumber -> bankAccountQueryAdapter.findUnlockedByAccountNumber(accountNumber, AccountType.SAVINGS));
+
+        // A single HOLD for the combined amount, the shard checks it against the available balance
+        timer.phase(PostingPhase.ENGINE);
+        AtomicReference<List<Transaction>> created = new AtomicReference<>();
+        balanceEngine.post(sourceAccount.getId(), BalanceOperation.HOLD, totalAmount, account -> {
+            List<Transaction> transactions = createBulkHolds(
+                    account, destAccounts, request.getTransfers(), paymentType, channel, expiresAt);
+            created.set(transactions);
+            return transactions.getFirst();
+        });
+
+        return toBulkResponse(request.getSourceAccountNumber(), totalAmount, expiresAt, created.get());
+    }
+
+    private Map<String, BankAccount> resolveDestAccounts(List<BulkTransferAuthItem> items,
+                                                         Function<String, BankAccount> lookup) {
+        Map<String, BankAccount> destAccounts = new HashMap<>();
+        for (BulkTransferAuthItem item : items) {
+            destAccounts.computeIfAbsent(item.getDestAccountNumber(), lookup);
+        }
+        return destAccounts;
+    }
+
+    private List<Transaction> createBulkHolds(BankAccount sourceAccount,
+                                              Map<String, BankAccount> destAccounts,
+                                              List<BulkTransferAuthItem> items,
+                                              PaymentType paymentType,
+                                              String channel,
+                                              ZonedDateTime expiresAt) {
+        List<Transaction> transactions = transactionCommandAdapter.saveAll(items.stream()
+                .map(item -> TransactionContext.builder()
+                        .amount(item.getAmount())
+                        .sourceAccount(sourceAccount)
+                        .destinationAccount(destAccounts.get(item.getDestAccountNumber()))
+                        .channel(channel)
+                        .paymentType(paymentType)
+                        .status(TransactionStatus.AUTHORIZED)
+                        .authCode(generateAuthCode())
+                        .expiresAt(expiresAt)
+                        .build())
+                .toList());
+
+        accountHoldCommandAdapter.saveAll(transactions.stream()
+                .map(transaction -> AccountHoldContext.builder()
+                        .account(sourceAccount)
+                        .transaction(transaction)
+                        .holdType(HoldType.TRANSFER_AUTH)
+                        .amount(transaction.getAmount())
+                        .status(HoldStatus.ACTIVE)
+                        .expiresAt(expiresAt)
+                        .build())
+                .toList());
+
+        return transactions;
+    }
+
+    private BulkTransferAuthResponse toBulkResponse(String sourceAccountNumber,
+                                                    BigDecimal totalAmount,
+                                                    ZonedDateTime expiresAt,
+                                                    List<Transaction> transactions) {
+        return BulkTransferAuthResponse.builder()
+                .sourceAccountNumber(sourceAccountNumber)
+                .totalAmount(totalAmount)
+                .expiresAt(expiresAt)
+                .authorizations(transactions.stream()
+                        .map(transaction -> TransferAuthResponse.builder()
+                                .authCode(transaction.getAuthCode())
+                                .transactionId(transaction.getId())
+                                .status(TransactionStatus.AUTHORIZED)
+                                .expiresAt(expiresAt)
+                                .build())
+                        .toList())
+                .build();
     }
 
     private String generateAuthCode() {
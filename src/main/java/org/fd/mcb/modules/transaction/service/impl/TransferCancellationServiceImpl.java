@@ -5,6 +5,8 @@ import org.fd.mcb.modules.master.adapter.command.AccountHoldCommandAdapter;
 import org.fd.mcb.modules.master.adapter.command.BankAccountCommandAdapter;
 import org.fd.mcb.modules.master.adapter.query.AccountHoldQueryAdapter;
 import org.fd.mcb.modules.master.adapter.query.BankAccountQueryAdapter;
+import org.fd.mcb.modules.master.engine.BalanceEngine;
+import org.fd.mcb.modules.master.enums.BalanceOperation;
 import org.fd.mcb.modules.master.enums.HoldStatus;
 import org.fd.mcb.modules.master.enums.TransactionStatus;
 import org.fd.mcb.modules.master.model.entity.AccountHold;
@@ -16,6 +18,9 @@ import org.fd.mcb.modules.transaction.dto.response.TransferCancellationResponse;
 import org.fd.mcb.modules.transaction.service.TransferCancellationService;
 import org.fd.mcb.shared.exception.AuthorizationNotFoundException;
 import org.fd.mcb.shared.exception.InvalidTransactionStatusException;
+import org.fd.mcb.shared.metrics.PostingMetrics;
+import org.fd.mcb.shared.metrics.PostingPhase;
+import org.fd.mcb.shared.metrics.PostingTimer;
 import org.springframework.dao.PessimisticLockingFailureException;
 import org.springframework.retry.annotation.Backoff;
 import org.springframework.retry.annotation.Retryable;
@@ -36,6 +41,8 @@ public class TransferCancellationServiceImpl implements TransferCancellationServ
     private final AccountHoldCommandAdapter accountHoldCommandAdapter;
     private final BankAccountQueryAdapter bankAccountQueryAdapter;
     private final BankAccountCommandAdapter bankAccountCommandAdapter;
+    private final BalanceEngine balanceEngine;
+    private final PostingMetrics postingMetrics;
 
     @Override
     @Transactional(timeout = 5, propagation = Propagation.REQUIRES_NEW, isolation = Isolation.REPEATABLE_READ)
@@ -45,37 +52,76 @@ public class TransferCancellationServiceImpl implements TransferCancellationServ
             backoff = @Backoff(delay = 100)
     )
     public TransferCancellationResponse cancelTransfer(TransferCancellationRequest request) {
-        // 1. Find transaction by auth code (with pessimistic lock)
-        Transaction transaction = transactionRepository.findByAuthCode(request.getAuthCode())
-                .orElseThrow(AuthorizationNotFoundException::new);
-
-        // 2. Validate transaction status is AUTHORIZED
-        if (transaction.getStatus() != TransactionStatus.AUTHORIZED) {
-            throw new InvalidTransactionStatusException();
+        PostingTimer timer = postingMetrics.start("cancellation");
+        if (balanceEngine.isEnabled()) {
+            // No lock here: the shard writes this row in its own transaction and locks it there
+            timer.phase(PostingPhase.QUERY);
+            Transaction transaction = transactionRepository.findByAuthCode(request.getAuthCode())
+                    .orElseThrow(AuthorizationNotFoundException::new);
+            return cancelThroughEngine(transaction, timer);
         }
 
-        // 3. Find associated hold
-        AccountHold hold = accountHoldQueryAdapter.findByTransactionId(transaction.getId());
-        if (hold.getStatus() != HoldStatus.ACTIVE) {
-            throw new InvalidTransactionStatusException();
-        }
+        // 1. Find transaction by auth code (with pessimistic lock, capture and hold expiry lock it too,
+        // so whichever gets it first decides the outcome)
+        timer.phase(PostingPhase.LOCK);
+        Transaction transaction = transactionRepository.findForUpdateByAuthCode(request.getAuthCode())
+                .orElseThrow(AuthorizationNotFoundException::new);
 
-        // 4. Fetch source account (with pessimistic lock)
+        // 2-3. Validate transaction status is AUTHORIZED and its hold is still active
+        timer.phase(PostingPhase.QUERY);
+        AccountHold hold = validateCancellable(transaction);
+
+        // 4. Source account, not locked: its balances change by delta below
         BankAccount sourceAccount = transaction.getSourceAccount();
 
         // 5. Release hold
+        timer.phase(PostingPhase.MUTATION);
         accountHoldCommandAdapter.releaseHold(hold.getId());
 
-        // 6. Recalculate available balance (restore funds)
-        BigDecimal totalHolds = accountHoldQueryAdapter.calculateTotalActiveHolds(sourceAccount.getId());
-        sourceAccount.updateAvailableBalance(totalHolds);
-        bankAccountCommandAdapter.save(sourceAccount);
+        // 6. Restore the available balance
+        bankAccountCommandAdapter.applyBalanceDelta(sourceAccount.getId(),
+                BigDecimal.ZERO, hold.getAmount(), hold.getAmount().negate());
 
         // 7. Update transaction status
         transaction.setStatus(TransactionStatus.CANCELLED);
         transactionRepository.save(transaction);
 
         // 8. Return response
+        return toResponse(transaction);
+    }
+
+    private TransferCancellationResponse cancelThroughEngine(Transaction transaction, PostingTimer timer) {
+        Long transactionId = transaction.getId();
+
+        timer.phase(PostingPhase.ENGINE);
+        balanceEngine.post(transaction.getSourceAccount().getId(), BalanceOperation.RELEASE,
+                transaction.getAmount(), account -> {
+                    // Re-validate under the shard, a concurrent capture of the same auth code serializes here
+                    Transaction current = transactionRepository.findById(transactionId)
+                            .orElseThrow(AuthorizationNotFoundException::new);
+                    AccountHold hold = validateCancellable(current);
+
+                    accountHoldCommandAdapter.releaseHold(hold.getId());
+                    current.setStatus(TransactionStatus.CANCELLED);
+                    return transactionRepository.save(current);
+                });
+
+        return toResponse(transaction);
+    }
+
+    private AccountHold validateCancellable(Transaction transaction) {
+        if (transaction.getStatus() != TransactionStatus.AUTHORIZED) {
+            throw new InvalidTransactionStatusException();
+        }
+
+        AccountHold hold = accountHoldQueryAdapter.findByTransactionId(transaction.getId());
+        if (hold.getStatus() != HoldStatus.ACTIVE) {
+            throw new InvalidTransactionStatusException();
+        }
+        return hold;
+    }
+
+    private TransferCancellationResponse toResponse(Transaction transaction) {
         return TransferCancellationResponse.builder()
                 .transactionId(transaction.getId())
                 .authCode(transaction.getAuthCode())
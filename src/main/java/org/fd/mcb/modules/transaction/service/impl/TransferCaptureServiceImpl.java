@@ -7,6 +7,9 @@ import org.fd.mcb.modules.journalentry.enums.EntryType;
 import org.fd.mcb.modules.master.adapter.command.AccountHoldCommandAdapter;
 import org.fd.mcb.modules.master.adapter.command.BankAccountCommandAdapter;
 import org.fd.mcb.modules.master.adapter.query.AccountHoldQueryAdapter;
+import org.fd.mcb.modules.master.engine.BalanceEngine;
+import org.fd.mcb.modules.master.engine.BalancePosting;
+import org.fd.mcb.modules.master.enums.BalanceOperation;
 import org.fd.mcb.modules.master.enums.HoldStatus;
 import org.fd.mcb.modules.master.enums.TransactionStatus;
 import org.fd.mcb.modules.master.model.entity.AccountHold;
@@ -19,6 +22,9 @@ import org.fd.mcb.modules.transaction.service.TransferCaptureService;
 import org.fd.mcb.shared.exception.AuthorizationExpiredException;
 import org.fd.mcb.shared.exception.AuthorizationNotFoundException;
 import org.fd.mcb.shared.exception.TransferAlreadyCapturedException;
+import org.fd.mcb.shared.metrics.PostingMetrics;
+import org.fd.mcb.shared.metrics.PostingPhase;
+import org.fd.mcb.shared.metrics.PostingTimer;
 import org.springframework.dao.PessimisticLockingFailureException;
 import org.springframework.retry.annotation.Backoff;
 import org.springframework.retry.annotation.Retryable;
@@ -40,6 +46,8 @@ public class TransferCaptureServiceImpl implements TransferCaptureService {
     private final AccountHoldCommandAdapter accountHoldCommandAdapter;
     private final BankAccountCommandAdapter bankAccountCommandAdapter;
     private final JournalEntryCommandAdapter journalEntryCommandAdapter;
+    private final BalanceEngine balanceEngine;
+    private final PostingMetrics postingMetrics;
 
     @Override
     @Transactional(timeout = 5, propagation = Propagation.REQUIRES_NEW, isolation = Isolation.REPEATABLE_READ)
@@ -49,39 +57,29 @@ public class TransferCaptureServiceImpl implements TransferCaptureService {
             backoff = @Backoff(delay = 100)
     )
     public TransferCaptureResponse captureTransfer(TransferCaptureRequest request) {
-        // 1. Find transaction by auth code (with pessimistic lock)
-        Transaction transaction = transactionRepository.findByAuthCode(request.getAuthCode())
-                .orElseThrow(AuthorizationNotFoundException::new);
-
-        // 2. Validate transaction status
-        if (transaction.getStatus() == TransactionStatus.CAPTURED ||
-            transaction.getStatus() == TransactionStatus.SETTLED) {
-            throw new TransferAlreadyCapturedException();
+        PostingTimer timer = postingMetrics.start("capture");
+        if (balanceEngine.isEnabled()) {
+            // No lock here: the shard writes this row in its own transaction and locks it there
+            timer.phase(PostingPhase.QUERY);
+            Transaction transaction = transactionRepository.findByAuthCode(request.getAuthCode())
+                    .orElseThrow(AuthorizationNotFoundException::new);
+            return captureThroughEngine(transaction, timer);
         }
 
-        if (transaction.getStatus() != TransactionStatus.AUTHORIZED) {
-            throw new AuthorizationNotFoundException();
-        }
-
-        // 3. Validate not expired
-        if (transaction.getExpiresAt() != null &&
-            transaction.getExpiresAt().isBefore(ZonedDateTime.now())) {
-            throw new AuthorizationExpiredException();
-        }
+        // 1. Find transaction by auth code (with pessimistic lock, cancellation and hold expiry lock it
+        // too, so whichever gets it first decides the outcome)
+        timer.phase(PostingPhase.LOCK);
+        Transaction transaction = transactionRepository.findForUpdateByAuthCode(request.getAuthCode())
+                .orElseThrow(AuthorizationNotFoundException::new);
 
-        // 4. Find associated hold
-        AccountHold hold = accountHoldQueryAdapter.findByTransactionId(transaction.getId());
-        if (hold.getStatus() != HoldStatus.ACTIVE) {
-            throw new AuthorizationNotFoundException();
-        }
+        // 2-4. Validate status, expiry and the associated hold
+        timer.phase(PostingPhase.QUERY);
+        AccountHold hold = validateCapturable(transaction);
 
-        // 5. Fetch source account (with pessimistic lock)
+        // 5. Source account, not locked: its balances change by delta below
         BankAccount sourceAccount = transaction.getSourceAccount();
 
-        // 6. Debit source account actual balance (now actually moving money)
-        sourceAccount.setBalance(sourceAccount.getBalance().subtract(transaction.getAmount()));
-
-        // 7. Update transaction
+        // 6-7. Update transaction
         transaction.setStatus(TransactionStatus.CAPTURED);
         transaction.setCapturedAt(ZonedDateTime.now());
         transactionRepository.save(transaction);
@@ -89,12 +87,13 @@ public class TransferCaptureServiceImpl implements TransferCaptureService {
         // 8. Release hold (funds now debited from actual balance)
         accountHoldCommandAdapter.releaseHold(hold.getId());
 
-        // 9. Recalculate available balance (hold released, so available increases)
-        BigDecimal totalHolds = accountHoldQueryAdapter.calculateTotalActiveHolds(sourceAccount.getId());
-        sourceAccount.updateAvailableBalance(totalHolds);
-        bankAccountCommandAdapter.save(sourceAccount);
+        // 9. Debit the actual balance and release the hold in one update, the available balance
+        // already excluded the held funds
+        bankAccountCommandAdapter.applyBalanceDelta(sourceAccount.getId(),
+                transaction.getAmount().negate(), BigDecimal.ZERO, hold.getAmount().negate());
 
         // 10. Create DEBIT journal entry on source account
+        timer.phase(PostingPhase.JOURNAL);
         JournalEntryContext journalEntryContext = JournalEntryContext.builder()
                 .transaction(transaction)
                 .bankAccount(sourceAccount)
@@ -114,4 +113,55 @@ public class TransferCaptureServiceImpl implements TransferCaptureService {
                 .capturedAt(transaction.getCapturedAt())
                 .build();
     }
+
+    private TransferCaptureResponse captureThroughEngine(Transaction transaction, PostingTimer timer) {
+        Long transactionId = transaction.getId();
+
+        timer.phase(PostingPhase.ENGINE);
+        BalancePosting posting = balanceEngine.post(transaction.getSourceAccount().getId(), BalanceOperation.CAPTURE,
+                transaction.getAmount(), account -> {
+                    // Re-validate under the shard, concurrent captures of the same auth code serialize here
+                    Transaction current = transactionRepository.findById(transactionId)
+                            .orElseThrow(AuthorizationNotFoundException::new);
+                    AccountHold hold = validateCapturable(current);
+
+                    current.setStatus(TransactionStatus.CAPTURED);
+                    current.setCapturedAt(ZonedDateTime.now());
+                    transactionRepository.save(current);
+                    accountHoldCommandAdapter.releaseHold(hold.getId());
+                    return current;
+                });
+
+        return TransferCaptureResponse.builder()
+                .transactionId(transactionId)
+                .authCode(transaction.getAuthCode())
+                .status(TransactionStatus.CAPTURED)
+                .amount(transaction.getAmount())
+                .sourceAccountNumber(transaction.getSourceAccount().getAccountNumber())
+                .destinationAccountNumber(transaction.getDestinationAccount().getAccountNumber())
+                .capturedAt(posting.getTransaction().getCapturedAt())
+                .build();
+    }
+
+    private AccountHold validateCapturable(Transaction transaction) {
+        if (transaction.getStatus() == TransactionStatus.CAPTURED ||
+            transaction.getStatus() == TransactionStatus.SETTLED) {
+            throw new TransferAlreadyCapturedException();
+        }
+
+        if (transaction.getStatus() != TransactionStatus.AUTHORIZED) {
+            throw new AuthorizationNotFoundException();
+        }
+
+        if (transaction.getExpiresAt() != null &&
+            transaction.getExpiresAt().isBefore(ZonedDateTime.now())) {
+            throw new AuthorizationExpiredException();
+        }
+
+        AccountHold hold = accountHoldQueryAdapter.findByTransactionId(transaction.getId());
+        if (hold.getStatus() != HoldStatus.ACTIVE) {
+            throw new AuthorizationNotFoundException();
+        }
+        return hold;
+    }
 }
@@ -1,10 +1,15 @@
 package org.fd.mcb.modules.transaction.service.impl;
 
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.fd.mcb.configs.SettlementConfigProperties;
 import org.fd.mcb.modules.journalentry.adapter.command.JournalEntryCommandAdapter;
 import org.fd.mcb.modules.journalentry.dto.context.JournalEntryContext;
 import org.fd.mcb.modules.journalentry.enums.EntryType;
 import org.fd.mcb.modules.master.adapter.command.BankAccountCommandAdapter;
+import org.fd.mcb.modules.master.engine.BalanceEngine;
+import org.fd.mcb.modules.master.engine.BalancePosting;
+import org.fd.mcb.modules.master.enums.BalanceOperation;
 import org.fd.mcb.modules.master.enums.TransactionStatus;
 import org.fd.mcb.modules.master.model.entity.BankAccount;
 import org.fd.mcb.modules.master.model.entity.Transaction;
@@ -15,6 +20,10 @@ import org.fd.mcb.modules.transaction.service.TransferSettlementService;
 import org.fd.mcb.shared.exception.AuthorizationNotFoundException;
 import org.fd.mcb.shared.exception.InvalidTransactionStatusException;
 import org.fd.mcb.shared.exception.TransferAlreadySettledException;
+import org.fd.mcb.shared.metrics.PostingMetrics;
+import org.fd.mcb.shared.metrics.PostingPhase;
+import org.fd.mcb.shared.metrics.PostingTimer;
+import org.springframework.data.domain.Limit;
 import org.springframework.dao.PessimisticLockingFailureException;
 import org.springframework.retry.annotation.Backoff;
 import org.springframework.retry.annotation.Retryable;
@@ -23,9 +32,15 @@ import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
 import java.sql.SQLException;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class TransferSettlementServiceImpl implements TransferSettlementService {
@@ -33,6 +48,9 @@ public class TransferSettlementServiceImpl implements TransferSettlementService
     private final TransactionRepository transactionRepository;
     private final BankAccountCommandAdapter bankAccountCommandAdapter;
     private final JournalEntryCommandAdapter journalEntryCommandAdapter;
+    private final BalanceEngine balanceEngine;
+    private final SettlementConfigProperties config;
+    private final PostingMetrics postingMetrics;
 
     @Override
     @Transactional(timeout = 5, propagation = Propagation.REQUIRES_NEW, isolation = Isolation.REPEATABLE_READ)
@@ -42,23 +60,28 @@ public class TransferSettlementServiceImpl implements TransferSettlementService
             backoff = @Backoff(delay = 100)
     )
     public TransferSettlementResponse settleTransfer(TransferSettlementRequest request) {
-        // 1. Find transaction by auth code (with pessimistic lock)
-        Transaction transaction = transactionRepository.findByAuthCode(request.getAuthCode())
+        PostingTimer timer = postingMetrics.start("settlement");
+        if (balanceEngine.isEnabled()) {
+            // No lock here: the shard writes this row in its own transaction and locks it there
+            timer.phase(PostingPhase.QUERY);
+            Transaction transaction = transactionRepository.findByAuthCode(request.getAuthCode())
+                    .orElseThrow(AuthorizationNotFoundException::new);
+            return settleThroughEngine(transaction, timer);
+        }
+
+        // 1. Find transaction by auth code (with pessimistic lock, so it cannot race the netting job)
+        timer.phase(PostingPhase.LOCK);
+        Transaction transaction = transactionRepository.findForUpdateByAuthCode(request.getAuthCode())
                 .orElseThrow(AuthorizationNotFoundException::new);
 
         // 2. Validate transaction status
-        if (transaction.getStatus() == TransactionStatus.SETTLED) {
-            throw new TransferAlreadySettledException();
-        }
-
-        if (transaction.getStatus() != TransactionStatus.CAPTURED) {
-            throw new InvalidTransactionStatusException();
-        }
+        validateSettleable(transaction);
 
         // 3. Fetch destination account (with pessimistic lock)
         BankAccount destinationAccount = transaction.getDestinationAccount();
 
         // 4. Credit destination account
+        timer.phase(PostingPhase.MUTATION);
         destinationAccount.setBalance(destinationAccount.getBalance().add(transaction.getAmount()));
 
         // Initialize or update available balance
@@ -73,6 +96,7 @@ public class TransferSettlementServiceImpl implements TransferSettlementService
         bankAccountCommandAdapter.save(destinationAccount);
 
         // 5. Create CREDIT journal entry on destination account
+        timer.phase(PostingPhase.JOURNAL);
         JournalEntryContext journalEntryContext = JournalEntryContext.builder()
                 .transaction(transaction)
                 .bankAccount(destinationAccount)
@@ -82,6 +106,7 @@ public class TransferSettlementServiceImpl implements TransferSettlementService
         journalEntryCommandAdapter.save(journalEntryContext);
 
         // 6. Update transaction
+        timer.phase(PostingPhase.MUTATION);
         transaction.setStatus(TransactionStatus.SETTLED);
         transaction.setSettledAt(ZonedDateTime.now());
         transactionRepository.save(transaction);
@@ -97,4 +122,105 @@ public class TransferSettlementServiceImpl implements TransferSettlementService
                 .settledAt(transaction.getSettledAt())
                 .build();
     }
+
+    @Override
+    @Transactional(timeout = 60, propagation = Propagation.REQUIRES_NEW, isolation = Isolation.REPEATABLE_READ)
+    public int settleCapturedTransfers() {
+        PostingTimer timer = postingMetrics.start("settlement_netting");
+        ZonedDateTime settledAt = ZonedDateTime.now();
+        timer.phase(PostingPhase.QUERY);
+        List<Transaction> captured = transactionRepository.findByStatusAndCapturedAtBeforeOrderByIdAsc(
+                TransactionStatus.CAPTURED, settledAt, Limit.of(config.getNetting().getMaxBatchSize()));
+        if (captured.isEmpty()) {
+            return 0;
+        }
+
+        // 1. Lock the window and settle only what is still captured, a transfer settled synchronously
+        // in the meantime drops out instead of aborting the run
+        timer.phase(PostingPhase.LOCK);
+        List<Long> ids = captured.stream().map(Transaction::getId).toList();
+        captured = transactionRepository.findForUpdateByIdInAndStatus(ids, TransactionStatus.CAPTURED);
+        if (captured.isEmpty()) {
+            return 0;
+        }
+        transactionRepository.markCapturedAsSettled(captured.stream().map(Transaction::getId).toList(), settledAt);
+
+        // 2. Net per destination account, in id order so concurrent writers lock accounts consistently
+        timer.phase(PostingPhase.MUTATION);
+        Map<Long, List<Transaction>> byDestination = new TreeMap<>();
+        for (Transaction transaction : captured) {
+            byDestination.computeIfAbsent(transaction.getDestinationAccount().getId(), k -> new ArrayList<>())
+                    .add(transaction);
+        }
+
+        List<JournalEntryContext> journalEntryContexts = new ArrayList<>(captured.size());
+        for (var entry : byDestination.entrySet()) {
+            BigDecimal netAmount = BigDecimal.ZERO;
+            for (Transaction transaction : entry.getValue()) {
+                netAmount = netAmount.add(transaction.getAmount());
+                journalEntryContexts.add(JournalEntryContext.builder()
+                        .transaction(transaction)
+                        .bankAccount(transaction.getDestinationAccount())
+                        .amount(transaction.getAmount())
+                        .entryType(EntryType.CREDIT)
+                        .build());
+            }
+
+            // 3. One balance update per destination account
+            bankAccountCommandAdapter.applyBalanceDelta(entry.getKey(), netAmount, netAmount, BigDecimal.ZERO);
+            balanceEngine.evict(entry.getKey());
+        }
+
+        // 4. Every transfer keeps its own CREDIT journal entry
+        timer.phase(PostingPhase.JOURNAL);
+        journalEntryCommandAdapter.saveAll(journalEntryContexts);
+
+        log.info("Netting run settled {} transfers across {} destination accounts",
+                captured.size(), byDestination.size());
+        return captured.size();
+    }
+
+    private TransferSettlementResponse settleThroughEngine(Transaction transaction, PostingTimer timer) {
+        Long transactionId = transaction.getId();
+
+        timer.phase(PostingPhase.ENGINE);
+        BalancePosting posting = balanceEngine.post(transaction.getDestinationAccount().getId(), BalanceOperation.CREDIT,
+                transaction.getAmount(), account -> {
+                    // Re-validate under the shard with the row locked, so a concurrent netting run either
+                    // settles the transfer first and it is rejected here, or waits for this settlement
+                    List<Transaction> locked = transactionRepository.findForUpdateByIdInAndStatus(
+                            List.of(transactionId), TransactionStatus.CAPTURED);
+                    if (locked.isEmpty()) {
+                        // Not captured any more, report why
+                        validateSettleable(transactionRepository.findById(transactionId)
+                                .orElseThrow(AuthorizationNotFoundException::new));
+                        throw new InvalidTransactionStatusException();
+                    }
+                    Transaction current = locked.getFirst();
+
+                    current.setStatus(TransactionStatus.SETTLED);
+                    current.setSettledAt(ZonedDateTime.now());
+                    return transactionRepository.save(current);
+                });
+
+        return TransferSettlementResponse.builder()
+                .transactionId(transactionId)
+                .authCode(transaction.getAuthCode())
+                .status(TransactionStatus.SETTLED)
+                .amount(transaction.getAmount())
+                .sourceAccountNumber(transaction.getSourceAccount().getAccountNumber())
+                .destinationAccountNumber(transaction.getDestinationAccount().getAccountNumber())
+                .settledAt(posting.getTransaction().getSettledAt())
+                .build();
+    }
+
+    private void validateSettleable(Transaction transaction) {
+        if (transaction.getStatus() == TransactionStatus.SETTLED) {
+            throw new TransferAlreadySettledException();
+        }
+
+        if (transaction.getStatus() != TransactionStatus.CAPTURED) {
+            throw new InvalidTransactionStatusException();
+        }
+    }
 }
@@ -0,0 +1,10 @@
+package org.fd.mcb.shared.exception;
+
+import org.fd.mcb.configs.exception.ModuleException;
+import org.fd.mcb.shared.response.ResponseEnum;
+
+public class BalancePostingTimeoutException extends ModuleException {
+    public BalancePostingTimeoutException() {
+        super(ResponseEnum.BALANCE_POSTING_TIMEOUT);
+    }
+}
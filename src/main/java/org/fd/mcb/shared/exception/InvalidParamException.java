@@ -0,0 +1,10 @@
+package org.fd.mcb.shared.exception;
+
+import org.fd.mcb.configs.exception.ModuleException;
+import org.fd.mcb.shared.response.ResponseEnum;
+
+public class InvalidParamException extends ModuleException {
+    public InvalidParamException() {
+        super(ResponseEnum.INVALID_PARAM);
+    }
+}
@@ -0,0 +1,10 @@
+package org.fd.mcb.shared.exception;
+
+import org.fd.mcb.configs.exception.ModuleException;
+import org.fd.mcb.shared.response.ResponseEnum;
+
+public class ReconciliationJobNotFoundException extends ModuleException {
+    public ReconciliationJobNotFoundException() {
+        super(ResponseEnum.RECONCILIATION_JOB_NOT_FOUND);
+    }
+}
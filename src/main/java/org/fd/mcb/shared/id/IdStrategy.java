@@ -0,0 +1,6 @@
+package org.fd.mcb.shared.id;
+
+public enum IdStrategy {
+    SEQUENCE,     // pooled-lo over a DB sequence, one round trip per allocation block
+    TIME_ORDERED  // node-aware 64-bit id (timestamp | node | counter), no round trip at all
+}
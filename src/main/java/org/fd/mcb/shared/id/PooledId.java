@@ -0,0 +1,22 @@
+package org.fd.mcb.shared.id;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import org.hibernate.annotations.IdGeneratorType;
+
+/**
+ * Identifier generated before the INSERT so Hibernate can batch inserts, unlike IDENTITY columns.
+ * The strategy is chosen globally with the {@code mcb.id.strategy} Hibernate property.
+ */
+@IdGeneratorType(PooledIdGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface PooledId {
+
+    String sequenceName();
+
+    // Must match the INCREMENT BY of the sequence
+    int allocationSize() default 50;
+}
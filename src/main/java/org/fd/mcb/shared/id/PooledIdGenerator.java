@@ -0,0 +1,88 @@
+package org.fd.mcb.shared.id;
+
+import java.lang.reflect.Member;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.EnumSet;
+import java.util.Map;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.jdbc.spi.JdbcCoordinator;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+import org.hibernate.generator.GeneratorCreationContext;
+
+public class PooledIdGenerator implements BeforeExecutionGenerator {
+
+    public static final String STRATEGY_SETTING = "mcb.id.strategy";
+    public static final String NODE_ID_SETTING = "mcb.id.node-id";
+
+    private final IdStrategy strategy;
+    private final String sequenceName;
+    private final int allocationSize;
+    private final TimeOrderedIdGenerator timeOrdered;
+
+    // Pooled-lo state: ids in [next, hi] are reserved for this node
+    private long next;
+    private long hi = -1;
+
+    public PooledIdGenerator(PooledId config, Member member, GeneratorCreationContext context) {
+        Map<String, Object> settings = context.getServiceRegistry()
+                .requireService(ConfigurationService.class)
+                .getSettings();
+        this.strategy = IdStrategy.valueOf(
+                String.valueOf(settings.getOrDefault(STRATEGY_SETTING, IdStrategy.SEQUENCE.name())).toUpperCase());
+        this.sequenceName = config.sequenceName();
+        this.allocationSize = config.allocationSize();
+        this.timeOrdered = strategy == IdStrategy.TIME_ORDERED ?
+                new TimeOrderedIdGenerator(Integer.parseInt(String.valueOf(settings.getOrDefault(NODE_ID_SETTING, "0")))) :
+                null;
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue, EventType eventType) {
+        if (strategy == IdStrategy.TIME_ORDERED) {
+            return timeOrdered.next();
+        }
+        return nextFromSequence(session);
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+
+    private synchronized long nextFromSequence(SharedSessionContractImplementor session) {
+        if (next > hi) {
+            // The sequence steps by allocationSize, each value it hands out opens a new block
+            next = fetchSequenceValue(session);
+            hi = next + allocationSize - 1;
+        }
+        return next++;
+    }
+
+    private long fetchSequenceValue(SharedSessionContractImplementor session) {
+        String sql = session.getJdbcServices().getDialect()
+                .getSequenceSupport()
+                .getSequenceNextValString(sequenceName);
+        JdbcCoordinator jdbcCoordinator = session.getJdbcCoordinator();
+        PreparedStatement statement = jdbcCoordinator.getStatementPreparer().prepareStatement(sql);
+        try {
+            ResultSet resultSet = jdbcCoordinator.getResultSetReturn().extract(statement, sql);
+            try {
+                resultSet.next();
+                return resultSet.getLong(1);
+            } finally {
+                jdbcCoordinator.getLogicalConnection().getResourceRegistry().release(resultSet, statement);
+            }
+        } catch (SQLException e) {
+            throw session.getJdbcServices().getSqlExceptionHelper()
+                    .convert(e, "Could not fetch next value of " + sequenceName, sql);
+        } finally {
+            jdbcCoordinator.getLogicalConnection().getResourceRegistry().release(statement);
+            jdbcCoordinator.afterStatementExecution();
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package org.fd.mcb.shared.id;
+
+/**
+ * 64-bit ids laid out as 41 bits of milliseconds since 2024-01-01 UTC, 10 bits of node id and a
+ * 12 bit per-millisecond counter. Ids from one node are strictly increasing, also when the clock
+ * steps back, because the generator then keeps counting on its last timestamp.
+ */
+class TimeOrderedIdGenerator {
+
+    private static final long EPOCH_MILLIS = 1704067200000L;
+    private static final int NODE_BITS = 10;
+    private static final int COUNTER_BITS = 12;
+    private static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+    private static final long COUNTER_MASK = (1L << COUNTER_BITS) - 1;
+
+    private final long nodeId;
+
+    private long lastMillis = -1;
+    private long counter;
+
+    TimeOrderedIdGenerator(long nodeId) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Node id must be between 0 and " + MAX_NODE_ID);
+        }
+        this.nodeId = nodeId;
+    }
+
+    synchronized long next() {
+        long now = Math.max(System.currentTimeMillis(), lastMillis);
+        if (now == lastMillis) {
+            counter = (counter + 1) & COUNTER_MASK;
+            if (counter == 0) {
+                // Counter exhausted for this millisecond, borrow the next one instead of spinning
+                now++;
+            }
+        } else {
+            counter = 0;
+        }
+        lastMillis = now;
+        return ((now - EPOCH_MILLIS) << (NODE_BITS + COUNTER_BITS)) | (nodeId << COUNTER_BITS) | counter;
+    }
+}
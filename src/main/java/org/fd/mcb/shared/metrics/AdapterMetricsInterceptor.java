@@ -0,0 +1,145 @@
+package org.fd.mcb.shared.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.fd.mcb.configs.AdapterMetricsConfigProperties;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.Slice;
+import org.springframework.util.function.SingletonSupplier;
+
+/**
+ * Times adapter calls and records the rows they return, tagged with the adapter, the adapter method
+ * and the service method that made the call. Meters are cached per method and caller so a call costs
+ * two map lookups, plus a short stack walk when callers are recorded.
+ */
+public class AdapterMetricsInterceptor implements MethodInterceptor {
+
+    public static final String CALL_TIMER = "mcb.adapter.calls";
+    public static final String ROWS_SUMMARY = "mcb.adapter.rows";
+
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+
+    private final Supplier<MeterRegistry> meterRegistry;
+    private final Supplier<AdapterMetricsConfigProperties> config;
+
+    private final Map<Class<?>, String> adapterNames = new ConcurrentHashMap<>();
+    private final Map<CallKey, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<CallKey, DistributionSummary> rowSummaries = new ConcurrentHashMap<>();
+
+    public AdapterMetricsInterceptor(ObjectProvider<MeterRegistry> meterRegistry,
+                                     ObjectProvider<AdapterMetricsConfigProperties> config) {
+        this.meterRegistry = SingletonSupplier.of(meterRegistry::getObject);
+        this.config = SingletonSupplier.of(config::getObject);
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        String caller = config.get().isRecordCaller() ? findCaller() : "unknown";
+        long start = System.nanoTime();
+        Object result;
+        try {
+            result = invocation.proceed();
+        } catch (Throwable e) {
+            timer(invocation, caller, e.getClass().getSimpleName()).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+        timer(invocation, caller, "none").record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        long rows = rows(result, invocation.getMethod().getReturnType());
+        if (rows >= 0) {
+            rowSummary(invocation, caller).record(rows);
+        }
+        return result;
+    }
+
+    private Timer timer(MethodInvocation invocation, String caller, String exception) {
+        return timers.computeIfAbsent(new CallKey(invocation.getMethod(), caller, exception), key ->
+                Timer.builder(CALL_TIMER)
+                        .description("Adapter calls by adapter method and calling service method")
+                        .tag("adapter", adapterName(invocation))
+                        .tag("method", key.method().getName())
+                        .tag("caller", key.caller())
+                        .tag("exception", key.exception())
+                        .register(meterRegistry.get()));
+    }
+
+    private DistributionSummary rowSummary(MethodInvocation invocation, String caller) {
+        return rowSummaries.computeIfAbsent(new CallKey(invocation.getMethod(), caller, null), key ->
+                DistributionSummary.builder(ROWS_SUMMARY)
+                        .description("Rows returned or affected per adapter call")
+                        .tag("adapter", adapterName(invocation))
+                        .tag("method", key.method().getName())
+                        .tag("caller", key.caller())
+                        .register(meterRegistry.get()));
+    }
+
+    private String adapterName(MethodInvocation invocation) {
+        Class<?> targetClass = invocation.getThis() != null ?
+                AopUtils.getTargetClass(invocation.getThis()) : invocation.getMethod().getDeclaringClass();
+        return adapterNames.computeIfAbsent(targetClass, type -> {
+            Class<?> adapter = AdapterMetricsPostProcessor.adapterInterface(type);
+            return adapter != null ? adapter.getSimpleName() : type.getSimpleName();
+        });
+    }
+
+    private String findCaller() {
+        String callerPackage = config.get().getCallerPackage();
+        return STACK_WALKER.walk(frames -> frames
+                // Skip adapters calling each other and the generated proxy classes in between
+                .filter(frame -> frame.getClassName().startsWith(callerPackage) &&
+                        !frame.getClassName().contains(".adapter.") &&
+                        !frame.getClassName().contains("$$"))
+                .findFirst()
+                .map(frame -> simpleName(frame.getClassName()) + "." + methodName(frame.getMethodName()))
+                .orElse("unknown"));
+    }
+
+    private static String simpleName(String className) {
+        return className.substring(className.lastIndexOf('.') + 1);
+    }
+
+    private static String methodName(String frameMethod) {
+        // lambda$deposit$0 belongs to deposit
+        if (frameMethod.startsWith("lambda$")) {
+            int end = frameMethod.indexOf('$', "lambda$".length());
+            return end > 0 ? frameMethod.substring("lambda$".length(), end) : frameMethod;
+        }
+        return frameMethod;
+    }
+
+    /**
+     * Rows returned by a read or affected by a bulk write, -1 when the method has no row count.
+     */
+    private static long rows(Object result, Class<?> returnType) {
+        if (returnType == void.class || returnType == boolean.class) {
+            return -1;
+        }
+        // Bulk updates report their affected rows as int, a BigDecimal is an aggregate over one row
+        if (returnType == int.class || returnType == long.class) {
+            return ((Number) result).longValue();
+        }
+        return switch (result) {
+            case null -> 0;
+            case Collection<?> collection -> collection.size();
+            case Map<?, ?> map -> map.size();
+            case Optional<?> optional -> optional.isPresent() ? 1 : 0;
+            case Slice<?> slice -> slice.getNumberOfElements();
+            case Object[] array -> array.length;
+            default -> 1;
+        };
+    }
+
+    private record CallKey(Method method, String caller, String exception) {
+    }
+}
@@ -0,0 +1,46 @@
+package org.fd.mcb.shared.metrics;
+
+import java.lang.reflect.Method;
+import org.springframework.aop.framework.AbstractAdvisingBeanPostProcessor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Wraps every {@code *QueryAdapter} and {@code *CommandAdapter} bean with {@link AdapterMetricsInterceptor}.
+ * Beans that are already proxied get the advisor added to their existing proxy.
+ */
+public class AdapterMetricsPostProcessor extends AbstractAdvisingBeanPostProcessor {
+
+    public AdapterMetricsPostProcessor(AdapterMetricsInterceptor interceptor) {
+        this.advisor = new DefaultPointcutAdvisor(new AdapterMethodPointcut(), interceptor);
+        // Outside the adapter's own transaction advice, the timing covers what the caller waits for
+        setBeforeExistingAdvisors(true);
+    }
+
+    static Class<?> adapterInterface(Class<?> targetClass) {
+        for (Class<?> candidate : ClassUtils.getAllInterfacesForClassAsSet(targetClass)) {
+            String name = candidate.getSimpleName();
+            if (name.endsWith("QueryAdapter") || name.endsWith("CommandAdapter")) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    private static class AdapterMethodPointcut extends StaticMethodMatcherPointcut {
+
+        AdapterMethodPointcut() {
+            setClassFilter(targetClass -> adapterInterface(targetClass) != null);
+        }
+
+        @Override
+        public boolean matches(Method method, Class<?> targetClass) {
+            // Evaluated once per method when the proxy is built, not per call
+            Class<?> adapter = adapterInterface(targetClass);
+            return adapter != null &&
+                    ReflectionUtils.findMethod(adapter, method.getName(), method.getParameterTypes()) != null;
+        }
+    }
+}
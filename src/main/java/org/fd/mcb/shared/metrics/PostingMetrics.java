@@ -0,0 +1,40 @@
+package org.fd.mcb.shared.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Component
+@RequiredArgsConstructor
+public class PostingMetrics {
+
+    public static final String PHASE_TIMER = "mcb.posting.phase";
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Start timing one attempt of a posting flow. Inside the flow's own transaction the phases are
+     * recorded when that transaction completes, outside of one the flow calls {@link PostingTimer#finish()}.
+     */
+    public PostingTimer start(String flow) {
+        PostingTimer timer = new PostingTimer(this, flow);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(timer);
+            timer.register();
+        }
+        return timer;
+    }
+
+    void record(String flow, PostingPhase phase, String outcome, long nanos) {
+        Timer.builder(PHASE_TIMER)
+                .description("Time spent per phase of a posting flow attempt")
+                .tag("flow", flow)
+                .tag("phase", phase.tag())
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,16 @@
+package org.fd.mcb.shared.metrics;
+
+import java.util.Locale;
+
+public enum PostingPhase {
+    LOCK,
+    QUERY,
+    MUTATION,
+    JOURNAL,
+    ENGINE,
+    COMMIT;
+
+    public String tag() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,82 @@
+package org.fd.mcb.shared.metrics;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+
+/**
+ * Splits one attempt of a posting flow into {@link PostingPhase phases}. Each call to {@link #phase}
+ * ends the running phase and starts the next one, a phase entered twice adds up. The commit is timed
+ * from {@code beforeCommit} to completion, and on rollback the phase that was running when the attempt
+ * failed keeps the time up to the rollback, so a lock wait that ends in a timeout is still visible.
+ * A flow that runs outside a transaction ends its timer with {@link #finish()} instead.
+ */
+public class PostingTimer implements TransactionSynchronization {
+
+    private static final PostingPhase[] PHASES = PostingPhase.values();
+
+    private final PostingMetrics metrics;
+    private final String flow;
+    private final long[] elapsed = new long[PHASES.length];
+    private final boolean[] entered = new boolean[PHASES.length];
+
+    private PostingPhase current;
+    private long mark;
+    private boolean registered;
+
+    PostingTimer(PostingMetrics metrics, String flow) {
+        this.metrics = metrics;
+        this.flow = flow;
+    }
+
+    public void phase(PostingPhase phase) {
+        long now = System.nanoTime();
+        stop(now);
+        current = phase;
+        entered[phase.ordinal()] = true;
+        mark = now;
+    }
+
+    /**
+     * Record the phases of a flow that has no transaction of its own, such as one that only waits on
+     * the balance engine. Does nothing when the timer is bound to a transaction.
+     */
+    public void finish() {
+        if (!registered) {
+            complete("committed");
+        }
+    }
+
+    void register() {
+        registered = true;
+    }
+
+    @Override
+    public void beforeCommit(boolean readOnly) {
+        phase(PostingPhase.COMMIT);
+    }
+
+    @Override
+    public void afterCompletion(int status) {
+        complete(switch (status) {
+            case STATUS_COMMITTED -> "committed";
+            case STATUS_ROLLED_BACK -> "rolled_back";
+            default -> "unknown";
+        });
+    }
+
+    private void complete(String outcome) {
+        stop(System.nanoTime());
+        current = null;
+
+        for (PostingPhase phase : PHASES) {
+            if (entered[phase.ordinal()]) {
+                metrics.record(flow, phase, outcome, elapsed[phase.ordinal()]);
+            }
+        }
+    }
+
+    private void stop(long now) {
+        if (current != null) {
+            elapsed[current.ordinal()] += now - mark;
+        }
+    }
+}
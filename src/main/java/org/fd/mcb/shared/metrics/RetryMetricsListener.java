@@ -0,0 +1,82 @@
+package org.fd.mcb.shared.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.retry.RetryCallback;
+import org.springframework.retry.RetryContext;
+import org.springframework.retry.RetryListener;
+import org.springframework.retry.interceptor.MethodInvocationRetryCallback;
+import org.springframework.stereotype.Component;
+
+/**
+ * Global listener of the {@code @Retryable} methods, counts every attempt by method and outcome and the
+ * calls that gave up after the last attempt.
+ */
+@Component
+@RequiredArgsConstructor
+public class RetryMetricsListener implements RetryListener {
+
+    public static final String ATTEMPT_COUNTER = "mcb.posting.retry.attempts";
+    public static final String EXHAUSTED_COUNTER = "mcb.posting.retry.exhausted";
+
+    // Read by TimedRetrySleeper, which only sees the context
+    static final String METHOD_ATTRIBUTE = "mcb.retry.method";
+
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public <T, E extends Throwable> boolean open(RetryContext context, RetryCallback<T, E> callback) {
+        context.setAttribute(METHOD_ATTRIBUTE, methodName(callback));
+        return true;
+    }
+
+    @Override
+    public <T, E extends Throwable> void onSuccess(RetryContext context, RetryCallback<T, E> callback, T result) {
+        attempts(context, "none").increment();
+    }
+
+    @Override
+    public <T, E extends Throwable> void onError(RetryContext context, RetryCallback<T, E> callback,
+                                                 Throwable throwable) {
+        attempts(context, throwable.getClass().getSimpleName()).increment();
+    }
+
+    @Override
+    public <T, E extends Throwable> void close(RetryContext context, RetryCallback<T, E> callback,
+                                               Throwable throwable) {
+        if (throwable != null && context.hasAttribute(RetryContext.EXHAUSTED)) {
+            Counter.builder(EXHAUSTED_COUNTER)
+                    .description("Calls of a retryable method that failed on their last attempt")
+                    .tag("method", method(context))
+                    .tag("exception", throwable.getClass().getSimpleName())
+                    .register(meterRegistry)
+                    .increment();
+        }
+    }
+
+    static String method(RetryContext context) {
+        Object method = context != null ? context.getAttribute(METHOD_ATTRIBUTE) : null;
+        return method != null ? method.toString() : "unknown";
+    }
+
+    private Counter attempts(RetryContext context, String exception) {
+        return Counter.builder(ATTEMPT_COUNTER)
+                .description("Attempts of a retryable method by the exception they failed with")
+                .tag("method", method(context))
+                .tag("exception", exception)
+                .register(meterRegistry);
+    }
+
+    private String methodName(RetryCallback<?, ?> callback) {
+        if (callback instanceof MethodInvocationRetryCallback<?, ?> methodCallback) {
+            MethodInvocation invocation = methodCallback.getInvocation();
+            Class<?> targetClass = invocation.getThis() != null ?
+                    AopUtils.getTargetClass(invocation.getThis()) : invocation.getMethod().getDeclaringClass();
+            return targetClass.getSimpleName() + "." + invocation.getMethod().getName();
+        }
+        return "unknown";
+    }
+}
@@ -0,0 +1,36 @@
+package org.fd.mcb.shared.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
+import org.springframework.retry.backoff.Sleeper;
+import org.springframework.retry.support.RetrySynchronizationManager;
+import org.springframework.stereotype.Component;
+
+/**
+ * Sleeper of the {@code @Retryable} backoffs, picked up by the retry configuration as the only
+ * {@link Sleeper} bean. Records how long each method spent backing off between attempts.
+ */
+@Component
+@RequiredArgsConstructor
+public class TimedRetrySleeper implements Sleeper {
+
+    public static final String BACKOFF_TIMER = "mcb.posting.retry.backoff";
+
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public void sleep(long backOffPeriod) throws InterruptedException {
+        long start = System.nanoTime();
+        try {
+            Thread.sleep(backOffPeriod);
+        } finally {
+            Timer.builder(BACKOFF_TIMER)
+                    .description("Time a retryable method spent backing off between attempts")
+                    .tag("method", RetryMetricsListener.method(RetrySynchronizationManager.getContext()))
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -23,6 +23,8 @@ public enum ResponseEnum {
   NEGATIVE_BALANCE_NOT_ALLOWED("negative_balance_not_allowed", "negative.balance.not.allowed", HttpStatus.BAD_REQUEST),
   INVALID_JOURNAL_ENTRY("invalid_journal_entry", "invalid.journal.entry", HttpStatus.BAD_REQUEST),
   JOURNAL_ENTRY_NOT_FOUND("journal_entry_not_found", "journal.entry.not.found", HttpStatus.NOT_FOUND),
+  BALANCE_ENGINE_UNAVAILABLE("balance_engine_unavailable", "balance.engine.unavailable", HttpStatus.SERVICE_UNAVAILABLE),
+  BALANCE_POSTING_TIMEOUT("balance_posting_timeout", "balance.posting.timeout", HttpStatus.GATEWAY_TIMEOUT),
 
   // Reconciliation-related errors
   ACCOUNT_RECONCILIATION_BLOCKED("account_reconciliation_blocked", "account.reconciliation.blocked", HttpStatus.FORBIDDEN),
@@ -30,6 +32,7 @@ public enum ResponseEnum {
   RECONCILIATION_POOL_INSUFFICIENT_FUNDS("reconciliation_pool_insufficient_funds", "reconciliation.pool.insufficient.funds", HttpStatus.INTERNAL_SERVER_ERROR),
   RECONCILIATION_NOT_FOUND("reconciliation_not_found", "reconciliation.not.found", HttpStatus.NOT_FOUND),
   RECONCILIATION_IN_PROGRESS("reconciliation_in_progress", "reconciliation.in.progress", HttpStatus.CONFLICT),
+  RECONCILIATION_JOB_NOT_FOUND("reconciliation_job_not_found", "reconciliation.job.not.found", HttpStatus.NOT_FOUND),
 
   INVALID_PARAM("invalid_param", "invalid.param", HttpStatus.BAD_REQUEST),
   INTERNAL_SERVER_ERROR("internal_server_error", "internal.server.error", HttpStatus.INTERNAL_SERVER_ERROR);
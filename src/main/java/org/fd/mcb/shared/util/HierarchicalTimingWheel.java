@@ -0,0 +1,114 @@
+package org.fd.mcb.shared.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hierarchical timing wheel. Level 0 has {@code wheelSize} slots of one tick each, every further
+ * level has slots as wide as the whole level below it. Adding and expiring an entry is O(1); an entry
+ * on a higher level is cascaded down once its slot comes up. Entries past the top level's span are
+ * rejected and have to be added again later. Not thread-safe.
+ */
+public class HierarchicalTimingWheel<T> {
+
+    private final long tickMillis;
+    private final int wheelSize;
+    private final long[] levelTickMillis;
+    private final List<List<Entry<T>>>[] levels;
+    private final List<T> due = new ArrayList<>();
+
+    // Start of the tick in progress, every deadline before it has been handed out
+    private long currentTime;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    public HierarchicalTimingWheel(long tickMillis, int wheelSize, int levelCount, long startMillis) {
+        this.tickMillis = tickMillis;
+        this.wheelSize = wheelSize;
+        this.levelTickMillis = new long[levelCount];
+        this.levels = new List[levelCount];
+        for (int level = 0; level < levelCount; level++) {
+            levelTickMillis[level] = level == 0 ? tickMillis : levelTickMillis[level - 1] * wheelSize;
+            levels[level] = new ArrayList<>(wheelSize);
+            for (int slot = 0; slot < wheelSize; slot++) {
+                levels[level].add(new ArrayList<>());
+            }
+        }
+        this.currentTime = startMillis - Math.floorMod(startMillis, tickMillis);
+    }
+
+    /**
+     * @return false when the deadline lies beyond the span of the top level
+     */
+    public boolean add(T value, long deadlineMillis) {
+        if (!place(new Entry<>(value, deadlineMillis))) {
+            return false;
+        }
+        size++;
+        return true;
+    }
+
+    /**
+     * Move the wheel forward to {@code nowMillis} and return every entry whose deadline has passed.
+     */
+    public List<T> advance(long nowMillis) {
+        while (currentTime + tickMillis <= nowMillis) {
+            // The tick is over, so is every deadline in it
+            List<Entry<T>> slot = slotOf(0, currentTime);
+            slot.forEach(entry -> due.add(entry.value()));
+            slot.clear();
+
+            currentTime += tickMillis;
+            // Top down, so entries cascaded from one level can drop further in the same step
+            for (int level = levels.length - 1; level > 0; level--) {
+                if (currentTime % levelTickMillis[level] == 0) {
+                    List<Entry<T>> cascaded = slotOf(level, currentTime);
+                    List<Entry<T>> entries = new ArrayList<>(cascaded);
+                    cascaded.clear();
+                    entries.forEach(this::place);
+                }
+            }
+        }
+
+        List<T> expired = new ArrayList<>(due);
+        due.clear();
+        size -= expired.size();
+        return expired;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Deadlines less than this far ahead are always accepted
+     */
+    public long horizonMillis() {
+        return levelTickMillis[levels.length - 1] * (wheelSize - 1);
+    }
+
+    private boolean place(Entry<T> entry) {
+        long deadline = entry.deadlineMillis();
+        if (deadline < currentTime) {
+            due.add(entry.value());
+            return true;
+        }
+        // Less than a full turn ahead on the level, so the slot cannot alias the one being drained
+        for (int level = 0; level < levels.length; level++) {
+            long ticksAhead = Math.floorDiv(deadline, levelTickMillis[level])
+                    - Math.floorDiv(currentTime, levelTickMillis[level]);
+            if (ticksAhead < wheelSize) {
+                slotOf(level, deadline).add(entry);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private List<Entry<T>> slotOf(int level, long timeMillis) {
+        return levels[level].get((int) Math.floorMod(Math.floorDiv(timeMillis, levelTickMillis[level]), (long) wheelSize));
+    }
+
+    private record Entry<T>(T value, long deadlineMillis) {
+    }
+}
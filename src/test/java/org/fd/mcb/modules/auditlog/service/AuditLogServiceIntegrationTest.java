@@ -0,0 +1,67 @@
+package org.fd.mcb.modules.auditlog.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.ZonedDateTime;
+import java.util.UUID;
+import java.util.stream.StreamSupport;
+import org.fd.mcb.modules.auditlog.dto.context.AuditLogContext;
+import org.fd.mcb.modules.auditlog.model.entity.AuditLog;
+import org.fd.mcb.modules.auditlog.repository.AuditLogRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:audit_log_service_test",
+		"balance-engine.enabled=false",
+		// Flushed by the test only
+		"audit-log.flush-interval=PT1H",
+		"audit-log.spill-file=build/audit-log-service-test/audit-log-spill.jsonl",
+		"audit-log.trail.directory=build/audit-log-service-test/audit-trail"
+})
+class AuditLogServiceIntegrationTest {
+
+	private static final String ACTION = "TRAIL_HANDOFF_TEST";
+
+	@Autowired
+	private AuditLogService auditLogService;
+
+	@Autowired
+	private AuditTrailService auditTrailService;
+
+	@Autowired
+	private AuditLogRepository auditLogRepository;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Test
+	void leavesTheTrailAppendOfACommittedEntryToTheWriter() {
+		ZonedDateTime from = ZonedDateTime.now().minusMinutes(1);
+		String details = UUID.randomUUID().toString();
+
+		transactionTemplate.executeWithoutResult(status -> auditLogService.recordInTransaction(
+				AuditLogContext.builder().action(ACTION).details(details).build()));
+
+		// Committed, but the committing thread did not touch the trail
+		assertThat(auditLog(details).getTrailed()).isFalse();
+		assertThat(auditTrailService.find(from, ZonedDateTime.now().plusMinutes(1), ACTION, 10))
+				.noneMatch(entry -> details.equals(entry.getDetails()));
+
+		auditLogService.flush();
+
+		assertThat(auditLog(details).getTrailed()).isTrue();
+		assertThat(auditTrailService.find(from, ZonedDateTime.now().plusMinutes(1), ACTION, 10))
+				.filteredOn(entry -> details.equals(entry.getDetails()))
+				.hasSize(1);
+	}
+
+	private AuditLog auditLog(String details) {
+		return StreamSupport.stream(auditLogRepository.findAll().spliterator(), false)
+				.filter(auditLog -> details.equals(auditLog.getDetails()))
+				.findFirst()
+				.orElseThrow();
+	}
+}
@@ -0,0 +1,142 @@
+package org.fd.mcb.modules.auditlog.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.fd.mcb.modules.auditlog.dto.AuditRecord;
+import org.fd.mcb.modules.auditlog.dto.AuditTrailEntryDto;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class AuditSegmentTest {
+
+	private static final int INDEX_INTERVAL = 2;
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void cutsOffABatchTornMidWrite() throws IOException {
+		AuditSegment segment = AuditSegment.create(directory, 1, INDEX_INTERVAL);
+		byte[] hash = appendBatches(segment, AuditSegment.GENESIS_HASH, 1, 3);
+		long intactSize = segment.size();
+		segment.close();
+
+		// Half of a fourth batch made it to disk before the crash
+		Path dataPath = directory.resolve(segment.name());
+		byte[] torn = AuditSegment.encode(hash, 7, records("torn", 2)).bytes();
+		Files.write(dataPath, Arrays.copyOf(torn, torn.length / 2), StandardOpenOption.APPEND);
+
+		AuditSegment reopened = AuditSegment.open(dataPath, INDEX_INTERVAL);
+		assertThat(reopened.size()).isEqualTo(intactSize);
+		assertThat(Files.size(dataPath)).isEqualTo(intactSize);
+		assertThat(reopened.nextSequence()).isEqualTo(7);
+		assertThat(reopened.lastHash()).isEqualTo(hash);
+
+		AuditSegment.ChainState state = reopened.view().verify(AuditSegment.ChainState.genesis(), null);
+		assertThat(state.brokenOffset()).isNull();
+		assertThat(state.batches()).isEqualTo(3);
+		assertThat(state.records()).isEqualTo(6);
+		reopened.close();
+	}
+
+	@Test
+	void chainContinuesAfterRecovery() throws IOException {
+		AuditSegment segment = AuditSegment.create(directory, 1, INDEX_INTERVAL);
+		byte[] hash = appendBatches(segment, AuditSegment.GENESIS_HASH, 1, 2);
+		segment.close();
+
+		Path dataPath = directory.resolve(segment.name());
+		Files.write(dataPath, new byte[]{0x41, 0x55, 0x44}, StandardOpenOption.APPEND);
+
+		AuditSegment reopened = AuditSegment.open(dataPath, INDEX_INTERVAL);
+		byte[] lastHash = appendBatches(reopened, reopened.lastHash(), reopened.nextSequence(), 2);
+
+		AuditSegment.ChainState state = reopened.view().verify(AuditSegment.ChainState.genesis(),
+				new AuditSegment.Anchor(4, hash));
+		assertThat(state.brokenOffset()).isNull();
+		assertThat(state.anchorReached()).isTrue();
+		assertThat(state.records()).isEqualTo(8);
+		assertThat(state.hash()).isEqualTo(lastHash);
+
+		List<AuditTrailEntryDto> found = new ArrayList<>();
+		reopened.view().find(Long.MIN_VALUE, Long.MAX_VALUE, null, 100, found);
+		assertThat(found).extracting(AuditTrailEntryDto::getSequence).containsExactly(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L);
+		reopened.close();
+	}
+
+	@Test
+	void dropsATornIndexEntryAndRebuildsItsBlock() throws IOException {
+		AuditSegment segment = AuditSegment.create(directory, 1, INDEX_INTERVAL);
+		appendBatches(segment, AuditSegment.GENESIS_HASH, 1, 3);
+		segment.close();
+
+		// The last index entry was only partly written
+		Path dataPath = directory.resolve(segment.name());
+		Path indexPath = AuditSegment.indexPathOf(dataPath);
+		long indexSize = Files.size(indexPath);
+		try (FileChannel index = FileChannel.open(indexPath, StandardOpenOption.WRITE)) {
+			index.truncate(indexSize - 10);
+		}
+
+		AuditSegment reopened = AuditSegment.open(dataPath, INDEX_INTERVAL);
+		assertThat(Files.size(indexPath)).isEqualTo(indexSize);
+		List<AuditTrailEntryDto> found = new ArrayList<>();
+		reopened.view().find(Long.MIN_VALUE, Long.MAX_VALUE, "action-2", 100, found);
+		assertThat(found).extracting(AuditTrailEntryDto::getSequence).containsExactly(5L, 6L);
+		reopened.close();
+	}
+
+	@Test
+	void verifyRejectsATrailThatDoesNotEndInItsAnchor() throws IOException {
+		AuditSegment segment = AuditSegment.create(directory, 1, INDEX_INTERVAL);
+		appendBatches(segment, AuditSegment.GENESIS_HASH, 1, 2);
+
+		// Anchored past the end, as if the last batches had been cut off
+		AuditSegment.ChainState truncated = segment.view().verify(AuditSegment.ChainState.genesis(),
+				new AuditSegment.Anchor(6, segment.lastHash()));
+		assertThat(truncated.brokenOffset()).isNull();
+		assertThat(truncated.anchorReached()).isFalse();
+
+		// Same length, different history
+		AuditSegment.ChainState rewritten = segment.view().verify(AuditSegment.ChainState.genesis(),
+				new AuditSegment.Anchor(4, new byte[AuditSegment.HASH_LENGTH]));
+		assertThat(rewritten.brokenOffset()).isNotNull();
+		assertThat(rewritten.anchorReached()).isFalse();
+		segment.close();
+	}
+
+	/**
+	 * Append {@code count} batches of two records each, batch {@code i} with action "action-i".
+	 *
+	 * @return the hash of the last batch
+	 */
+	private static byte[] appendBatches(AuditSegment segment, byte[] previousHash, long firstSequence, int count)
+			throws IOException {
+		byte[] hash = previousHash;
+		long sequence = firstSequence;
+		for (int i = 0; i < count; i++) {
+			AuditSegment.EncodedBatch batch = AuditSegment.encode(hash, sequence, records("action-" + i, 2));
+			segment.append(batch);
+			hash = batch.hash();
+			sequence += batch.recordCount();
+		}
+		return hash;
+	}
+
+	private static List<AuditRecord> records(String action, int count) {
+		List<AuditRecord> records = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			records.add(new AuditRecord(1L, action, "details " + i, ZonedDateTime.now()));
+		}
+		return records;
+	}
+}
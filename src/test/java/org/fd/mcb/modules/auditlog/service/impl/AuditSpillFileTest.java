@@ -0,0 +1,94 @@
+package org.fd.mcb.modules.auditlog.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.fd.mcb.modules.auditlog.dto.AuditRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class AuditSpillFileTest {
+
+	@TempDir
+	Path directory;
+
+	private Path path;
+	private AuditSpillFile spillFile;
+
+	@BeforeEach
+	void setUp() {
+		path = directory.resolve("audit-log-spill.jsonl");
+		spillFile = new AuditSpillFile(path, new ObjectMapper().findAndRegisterModules());
+	}
+
+	@Test
+	void replayHandsOverEverythingAndRemovesTheFile() throws IOException {
+		spillFile.append(records("a", 5));
+
+		List<String> written = new ArrayList<>();
+		assertThat(spillFile.replay(2, batch -> written.addAll(actions(batch)))).isEqualTo(5);
+
+		assertThat(written).containsExactly("a-0", "a-1", "a-2", "a-3", "a-4");
+		assertThat(spillFile.replay(2, batch -> written.addAll(actions(batch)))).isZero();
+		assertThat(directory).isEmptyDirectory();
+	}
+
+	@Test
+	void keepsTheFailedBatchAndEverythingAfterIt() throws IOException {
+		spillFile.append(records("a", 5));
+
+		List<String> written = new ArrayList<>();
+		assertThatThrownBy(() -> spillFile.replay(2, batch -> {
+			if (!written.isEmpty()) {
+				throw new IllegalStateException("database unreachable");
+			}
+			written.addAll(actions(batch));
+		})).isInstanceOf(IllegalStateException.class);
+		assertThat(written).containsExactly("a-0", "a-1");
+
+		// Spilled while the remainder waits, goes after it
+		spillFile.append(records("b", 1));
+
+		written.clear();
+		assertThat(spillFile.replay(2, batch -> written.addAll(actions(batch)))).isEqualTo(3);
+		assertThat(written).containsExactly("a-2", "a-3", "a-4");
+
+		written.clear();
+		assertThat(spillFile.replay(2, batch -> written.addAll(actions(batch)))).isEqualTo(1);
+		assertThat(written).containsExactly("b-0");
+		assertThat(directory).isEmptyDirectory();
+	}
+
+	@Test
+	void skipsATornLastLine() throws IOException {
+		spillFile.append(records("a", 2));
+		Files.writeString(path, "{\"userId\":1,\"act", StandardOpenOption.APPEND);
+
+		List<AuditRecord> written = new ArrayList<>();
+		spillFile.replay(10, written::addAll);
+
+		assertThat(actions(written)).containsExactly("a-0", "a-1");
+		assertThat(written.getFirst().createdAt()).isNotNull();
+	}
+
+	private static List<AuditRecord> records(String prefix, int count) {
+		List<AuditRecord> records = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			records.add(new AuditRecord(1L, prefix + "-" + i, null, ZonedDateTime.now()));
+		}
+		return records;
+	}
+
+	private static List<String> actions(List<AuditRecord> records) {
+		return records.stream().map(AuditRecord::action).toList();
+	}
+}
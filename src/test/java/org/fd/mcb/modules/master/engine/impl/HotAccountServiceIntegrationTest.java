@@ -0,0 +1,166 @@
+package org.fd.mcb.modules.master.engine.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.fd.mcb.modules.master.engine.HotAccountService;
+import org.fd.mcb.modules.master.enums.AccountStatus;
+import org.fd.mcb.modules.master.enums.AccountType;
+import org.fd.mcb.modules.master.model.entity.AccountBalanceStripe;
+import org.fd.mcb.modules.master.model.entity.BankAccount;
+import org.fd.mcb.modules.master.model.entity.Customer;
+import org.fd.mcb.modules.master.model.repository.AccountBalanceStripeRepository;
+import org.fd.mcb.modules.master.model.repository.BankAccountRepository;
+import org.fd.mcb.modules.master.model.repository.CustomerRepository;
+import org.fd.mcb.modules.transaction.dto.request.DepositWithdrawReq;
+import org.fd.mcb.modules.transaction.service.AccountService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.retry.support.RetryTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:hot_account_test",
+		"balance-engine.enabled=false",
+		"hot-accounts.enabled=true",
+		// Evaluated and merged by the tests only
+		"hot-accounts.merge-interval=PT1H",
+		"hot-accounts.evaluation-interval=PT1H",
+		"hot-accounts.unstripe-after-quiet-windows=1",
+		"audit-log.spill-file=build/hot-account-test/audit-log-spill.jsonl",
+		"audit-log.trail.directory=build/hot-account-test/audit-trail"
+})
+class HotAccountServiceIntegrationTest {
+
+	@Autowired
+	private HotAccountService hotAccountService;
+
+	@Autowired
+	private HotAccountRetryListener retryListener;
+
+	@Autowired
+	private AccountService accountService;
+
+	@Autowired
+	private CustomerRepository customerRepository;
+
+	@Autowired
+	private BankAccountRepository bankAccountRepository;
+
+	@Autowired
+	private AccountBalanceStripeRepository stripeRepository;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Test
+	void countsRetriesAgainstTheAttributedAccount() {
+		BankAccount account = openAccount("100.00");
+		RetryTemplate retryTemplate = RetryTemplate.builder()
+				.maxAttempts(2)
+				.retryOn(PessimisticLockingFailureException.class)
+				.withListener(retryListener)
+				.build();
+
+		AtomicInteger attempts = new AtomicInteger();
+		retryTemplate.execute(context -> {
+			hotAccountService.attributeRetries(account.getAccountNumber());
+			if (attempts.getAndIncrement() == 0) {
+				throw new PessimisticLockingFailureException("Lock wait timeout");
+			}
+			return null;
+		});
+
+		assertThat(hotAccountService.findHotAccounts())
+				.filteredOn(hot -> hot.getAccountNumber().equals(account.getAccountNumber()))
+				.singleElement()
+				.satisfies(hot -> assertThat(hot.getTotalRetries()).isEqualTo(1));
+	}
+
+	@Test
+	void unstripesAnAccountThatStayedQuiet() {
+		BankAccount account = openAccount("100.00");
+		// Last credited well before the quiet period, part of it not merged yet
+		stripe(account, ZonedDateTime.now().minusHours(2), new BigDecimal("50.00"));
+
+		hotAccountService.evaluate();
+
+		assertThat(hotAccountService.isStriped(account.getAccountNumber())).isFalse();
+		assertThat(stripeRepository.existsByAccountId(account.getId())).isFalse();
+		assertBalance(account, "150.00");
+	}
+
+	@Test
+	void keepsAnAccountStripedWhileItTakesCredits() {
+		BankAccount account = openAccount("100.00");
+		stripe(account, ZonedDateTime.now().minusHours(2), BigDecimal.ZERO);
+
+		DepositWithdrawReq deposit = new DepositWithdrawReq();
+		deposit.setAccountNumber(account.getAccountNumber());
+		deposit.setAmount(new BigDecimal("40.00"));
+		accountService.deposit(deposit);
+		hotAccountService.evaluate();
+
+		assertThat(hotAccountService.isStriped(account.getAccountNumber())).isTrue();
+		assertThat(hotAccountService.findPendingCredit(account.getId())).isEqualByComparingTo("40.00");
+		assertBalance(account, "100.00");
+	}
+
+	@Test
+	void creditsTheRowOnceTheStripesAreGone() {
+		BankAccount account = openAccount("100.00");
+
+		// As on an instance that has not seen the account being unstriped yet
+		transactionTemplate.executeWithoutResult(status ->
+				hotAccountService.creditStripe(account.getId(), new BigDecimal("25.00")));
+
+		assertBalance(account, "125.00");
+	}
+
+	private void stripe(BankAccount account, ZonedDateTime updatedAt, BigDecimal pendingCredit) {
+		List<AccountBalanceStripe> stripes = new ArrayList<>();
+		for (int slot = 0; slot < 2; slot++) {
+			AccountBalanceStripe stripe = new AccountBalanceStripe();
+			stripe.setAccountId(account.getId());
+			stripe.setSlot(slot);
+			stripe.setPendingCredit(slot == 0 ? pendingCredit : BigDecimal.ZERO);
+			stripe.setUpdatedAt(updatedAt);
+			stripes.add(stripe);
+		}
+		stripeRepository.saveAll(stripes);
+		// Picks up the new stripes, they are only judged from the next window on
+		hotAccountService.evaluate();
+		assertThat(hotAccountService.isStriped(account.getAccountNumber())).isTrue();
+	}
+
+	private BankAccount openAccount(String balance) {
+		Customer customer = new Customer();
+		customer.setCin(UUID.randomUUID().toString());
+		customer.setFullName("Hot Account Test");
+		customer.setCreatedAt(ZonedDateTime.now());
+		customerRepository.save(customer);
+
+		BankAccount account = new BankAccount();
+		account.setCustomer(customer);
+		account.setAccountNumber(UUID.randomUUID().toString().substring(0, 30));
+		account.setAccountType(AccountType.SAVINGS);
+		account.setStatus(AccountStatus.ACTIVE);
+		account.setBalance(new BigDecimal(balance));
+		account.setAvailableBalance(new BigDecimal(balance));
+		account.setOpenedAt(ZonedDateTime.now());
+		return bankAccountRepository.save(account);
+	}
+
+	private void assertBalance(BankAccount account, String balance) {
+		BankAccount current = bankAccountRepository.findById(account.getId()).orElseThrow();
+		assertThat(current.getBalance()).as("balance").isEqualByComparingTo(balance);
+		assertThat(current.getAvailableBalance()).as("available balance").isEqualByComparingTo(balance);
+	}
+}
@@ -0,0 +1,242 @@
+package org.fd.mcb.modules.reconciliation.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import org.fd.mcb.modules.journalentry.enums.EntryType;
+import org.fd.mcb.modules.journalentry.model.entity.JournalEntry;
+import org.fd.mcb.modules.journalentry.model.repository.JournalEntryRepository;
+import org.fd.mcb.modules.master.enums.AccountStatus;
+import org.fd.mcb.modules.master.enums.AccountType;
+import org.fd.mcb.modules.master.model.entity.BankAccount;
+import org.fd.mcb.modules.master.model.entity.Customer;
+import org.fd.mcb.modules.master.model.repository.BankAccountRepository;
+import org.fd.mcb.modules.master.model.repository.CustomerRepository;
+import org.fd.mcb.modules.reconciliation.enums.DiscrepancySeverity;
+import org.fd.mcb.modules.reconciliation.enums.DiscrepancyType;
+import org.fd.mcb.modules.reconciliation.enums.ReconciliationStatus;
+import org.fd.mcb.modules.reconciliation.model.entity.ReconciliationDiscrepancy;
+import org.fd.mcb.modules.reconciliation.model.entity.ReconciliationReport;
+import org.fd.mcb.modules.reconciliation.model.repository.ReconciliationDiscrepancyRepository;
+import org.fd.mcb.modules.reconciliation.model.repository.ReconciliationReportRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:reconciliation_pool_test",
+		"balance-engine.enabled=false",
+		"hot-accounts.enabled=false",
+		// A pool of the test's own, the seeded one is moved by the rebalance job on startup
+		"reconciliation.pool.account-number=TEST-POOL",
+		"reconciliation.pool.shards=4",
+		"reconciliation.pool.low-balance-threshold=10000.00",
+		"reconciliation.pool.rebalance-interval=PT1H",
+		"audit-log.spill-file=build/reconciliation-pool-test/audit-log-spill.jsonl",
+		"audit-log.trail.directory=build/reconciliation-pool-test/audit-trail"
+})
+class ReconciliationPoolIntegrationTest {
+
+	@Autowired
+	private ReconciliationPoolService reconciliationPoolService;
+
+	@Autowired
+	private ReconciliationResponseService reconciliationResponseService;
+
+	@Autowired
+	private CustomerRepository customerRepository;
+
+	@Autowired
+	private BankAccountRepository bankAccountRepository;
+
+	@Autowired
+	private JournalEntryRepository journalEntryRepository;
+
+	@Autowired
+	private ReconciliationReportRepository reportRepository;
+
+	@Autowired
+	private ReconciliationDiscrepancyRepository discrepancyRepository;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	private List<BankAccount> shards;
+
+	@BeforeEach
+	void setUpPool() {
+		shards = reconciliationPoolService.shardAccountNumbers().stream()
+				.map(accountNumber -> bankAccountRepository.findByAccountNumber(accountNumber)
+						.orElseGet(() -> openAccount(accountNumber, AccountType.SYSTEM, "0.00")))
+				.toList();
+	}
+
+	@Test
+	void rebalanceSpreadsThePoolEvenlyOverItsShards() {
+		fundPool("20000.00", "0.00", "0.00", "0.00");
+
+		reconciliationPoolService.rebalance();
+
+		for (BankAccount shard : shards) {
+			assertBalance(shard, "5000.00");
+		}
+		assertThat(reconciliationPoolService.getBalance()).isEqualByComparingTo("20000.00");
+		assertLatestEntry(shards.get(0), EntryType.DEBIT, "15000.00");
+		for (BankAccount shard : shards.subList(1, shards.size())) {
+			assertLatestEntry(shard, EntryType.CREDIT, "5000.00");
+		}
+
+		// Every shard holds at least its share of the threshold now, nothing left to move
+		long entries = journalEntryRepository.count();
+		reconciliationPoolService.rebalance();
+		assertThat(journalEntryRepository.count()).isEqualTo(entries);
+	}
+
+	@Test
+	void locksTheRequestedShardsByIndex() {
+		Map<Integer, BankAccount> locked = transactionTemplate.execute(status ->
+				reconciliationPoolService.lockShards(Set.of(3, 1)));
+
+		assertThat(locked).containsOnlyKeys(1, 3);
+		assertThat(locked.get(1).getAccountNumber()).isEqualTo("TEST-POOL-1");
+		assertThat(locked.get(3).getAccountNumber()).isEqualTo("TEST-POOL-3");
+	}
+
+	@Test
+	void nettedCorrectionsMoveEachShardOnceByItsNet() {
+		fundPool("1000.00", "1000.00", "1000.00", "1000.00");
+		BankAccount shortAccount = openAccount("100.00");
+		BankAccount overAccount = openAccount("100.00");
+		BankAccount otherShortAccount = openAccount("100.00");
+
+		ReconciliationReport report = report();
+		List<ReconciliationDiscrepancy> discrepancies = new ArrayList<>();
+		discrepancyRepository.saveAll(List.of(
+				lowMismatch(report, shortAccount, "110.00"),
+				lowMismatch(report, overAccount, "95.00"),
+				lowMismatch(report, otherShortAccount, "103.00"))).forEach(discrepancies::add);
+
+		reconciliationResponseService.handleDiscrepancies(discrepancies);
+
+		assertBalance(shortAccount, "110.00");
+		assertBalance(overAccount, "95.00");
+		assertBalance(otherShortAccount, "103.00");
+		assertLatestEntry(shortAccount, EntryType.CREDIT, "10.00");
+		assertLatestEntry(overAccount, EntryType.DEBIT, "5.00");
+		assertLatestEntry(otherShortAccount, EntryType.CREDIT, "3.00");
+
+		// Each shard pays the net of the corrections it funds, in one movement
+		Map<Integer, BigDecimal> netByShard = new HashMap<>();
+		netByShard.merge(reconciliationPoolService.shardOf(shortAccount.getId()), new BigDecimal("10.00"), BigDecimal::add);
+		netByShard.merge(reconciliationPoolService.shardOf(overAccount.getId()), new BigDecimal("-5.00"), BigDecimal::add);
+		netByShard.merge(reconciliationPoolService.shardOf(otherShortAccount.getId()), new BigDecimal("3.00"), BigDecimal::add);
+		for (int index = 0; index < shards.size(); index++) {
+			BigDecimal net = netByShard.getOrDefault(index, BigDecimal.ZERO);
+			assertBalance(shards.get(index), new BigDecimal("1000.00").subtract(net).toPlainString());
+		}
+		assertThat(reconciliationPoolService.getBalance()).isEqualByComparingTo("3992.00");
+
+		assertThat(discrepancyRepository.findByReport(report)).hasSize(3).allSatisfy(discrepancy -> {
+			assertThat(discrepancy.getAutoCorrected()).isTrue();
+			assertThat(discrepancy.getHandledAt()).isNotNull();
+		});
+	}
+
+	@Test
+	void shortfallBeyondTheShardFundsFallsBackToAShadowBalance() {
+		fundPool("0.00", "0.00", "0.00", "0.00");
+		BankAccount account = openAccount("100.00");
+		long entries = journalEntryRepository.count();
+
+		ReconciliationReport report = report();
+		ReconciliationDiscrepancy discrepancy = discrepancyRepository.save(lowMismatch(report, account, "108.00"));
+		reconciliationResponseService.handleDiscrepancies(List.of(discrepancy));
+
+		BankAccount current = bankAccountRepository.findById(account.getId()).orElseThrow();
+		assertThat(current.getBalance()).isEqualByComparingTo("100.00");
+		assertThat(current.getPendingCorrection()).isEqualByComparingTo("8.00");
+		assertThat(journalEntryRepository.count()).isEqualTo(entries);
+		assertThat(reconciliationPoolService.getBalance()).isZero();
+		assertThat(discrepancyRepository.findById(discrepancy.getId())).hasValueSatisfying(handled ->
+				assertThat(handled.getAutoCorrected()).isFalse());
+	}
+
+	private void fundPool(String... balances) {
+		for (int index = 0; index < shards.size(); index++) {
+			BankAccount shard = bankAccountRepository.findById(shards.get(index).getId()).orElseThrow();
+			shard.setBalance(new BigDecimal(balances[index]));
+			shard.setAvailableBalance(new BigDecimal(balances[index]));
+			bankAccountRepository.save(shard);
+		}
+	}
+
+	private ReconciliationReport report() {
+		ReconciliationReport report = new ReconciliationReport();
+		// One report per date, each test takes a date of its own
+		report.setReconciliationDate(LocalDate.of(2000, 1, 1).plusDays(reportRepository.count()));
+		report.setStatus(ReconciliationStatus.IN_PROGRESS);
+		report.setStartedAt(ZonedDateTime.now());
+		report.setHeartbeatAt(report.getStartedAt());
+		report.setCreatedAt(report.getStartedAt());
+		return reportRepository.save(report);
+	}
+
+	private static ReconciliationDiscrepancy lowMismatch(ReconciliationReport report, BankAccount account,
+														 String expected) {
+		ReconciliationDiscrepancy discrepancy = new ReconciliationDiscrepancy();
+		discrepancy.setReport(report);
+		discrepancy.setDiscrepancyType(DiscrepancyType.ACCOUNT_BALANCE_MISMATCH);
+		discrepancy.setEntityType("BANK_ACCOUNT");
+		discrepancy.setEntityId(account.getId());
+		discrepancy.setExpectedValue(expected);
+		discrepancy.setActualValue(account.getBalance().toPlainString());
+		discrepancy.setSeverity(DiscrepancySeverity.LOW);
+		discrepancy.setCreatedAt(ZonedDateTime.now());
+		return discrepancy;
+	}
+
+	private void assertLatestEntry(BankAccount account, EntryType entryType, String amount) {
+		List<JournalEntry> entries = journalEntryRepository.findByBankAccountOrderByCreatedAtDesc(account);
+		assertThat(entries).isNotEmpty();
+		assertThat(entries.getFirst().getEntryType()).isEqualTo(entryType);
+		assertThat(entries.getFirst().getAmount()).isEqualByComparingTo(amount);
+	}
+
+	private BankAccount openAccount(String balance) {
+		return openAccount(UUID.randomUUID().toString().substring(0, 30), AccountType.SAVINGS, balance);
+	}
+
+	private BankAccount openAccount(String accountNumber, AccountType accountType, String balance) {
+		Customer customer = new Customer();
+		customer.setCin(UUID.randomUUID().toString());
+		customer.setFullName("Reconciliation Pool Test");
+		customer.setCreatedAt(ZonedDateTime.now());
+		customerRepository.save(customer);
+
+		BankAccount account = new BankAccount();
+		account.setCustomer(customer);
+		account.setAccountNumber(accountNumber);
+		account.setAccountType(accountType);
+		account.setStatus(AccountStatus.ACTIVE);
+		account.setBalance(new BigDecimal(balance));
+		account.setAvailableBalance(new BigDecimal(balance));
+		account.setOpenedAt(ZonedDateTime.now());
+		return bankAccountRepository.save(account);
+	}
+
+	private void assertBalance(BankAccount account, String balance) {
+		BankAccount current = bankAccountRepository.findById(account.getId()).orElseThrow();
+		assertThat(current.getBalance()).as("balance").isEqualByComparingTo(balance);
+		assertThat(current.getAvailableBalance()).as("available balance").isEqualByComparingTo(balance);
+	}
+}
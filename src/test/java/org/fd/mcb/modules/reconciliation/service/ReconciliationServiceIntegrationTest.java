@@ -0,0 +1,240 @@
+package org.fd.mcb.modules.reconciliation.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.UUID;
+import org.fd.mcb.modules.journalentry.enums.EntryType;
+import org.fd.mcb.modules.journalentry.model.repository.JournalEntryRepository;
+import org.fd.mcb.modules.master.enums.AccountStatus;
+import org.fd.mcb.modules.master.enums.AccountType;
+import org.fd.mcb.modules.master.model.entity.BankAccount;
+import org.fd.mcb.modules.master.model.entity.Customer;
+import org.fd.mcb.modules.master.model.repository.BankAccountRepository;
+import org.fd.mcb.modules.master.model.repository.CustomerRepository;
+import org.fd.mcb.modules.reconciliation.enums.DiscrepancyType;
+import org.fd.mcb.modules.reconciliation.enums.ReconciliationStatus;
+import org.fd.mcb.modules.reconciliation.model.entity.AccountBalanceSnapshot;
+import org.fd.mcb.modules.reconciliation.model.entity.ReconciliationDiscrepancy;
+import org.fd.mcb.modules.reconciliation.model.entity.ReconciliationReport;
+import org.fd.mcb.modules.reconciliation.model.repository.AccountBalanceSnapshotRepository;
+import org.fd.mcb.modules.reconciliation.model.repository.ReconciliationDiscrepancyRepository;
+import org.fd.mcb.modules.reconciliation.model.repository.ReconciliationReportRepository;
+import org.fd.mcb.modules.transaction.dto.request.DepositWithdrawReq;
+import org.fd.mcb.modules.transaction.service.AccountService;
+import org.fd.mcb.shared.exception.ReconciliationInProgressException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:reconciliation_service_test",
+		"balance-engine.enabled=false",
+		"hot-accounts.enabled=false",
+		// The day's totals are read from the journal
+		"reconciliation.running-totals.enabled=false",
+		"audit-log.spill-file=build/reconciliation-service-test/audit-log-spill.jsonl",
+		"audit-log.trail.directory=build/reconciliation-service-test/audit-trail"
+})
+class ReconciliationServiceIntegrationTest {
+
+	private static final ZoneId BUSINESS_ZONE = ZoneId.of("Asia/Jakarta");
+
+	@Autowired
+	private ReconciliationService reconciliationService;
+
+	@Autowired
+	private ReconciliationResponseService reconciliationResponseService;
+
+	@Autowired
+	private AccountService accountService;
+
+	@Autowired
+	private CustomerRepository customerRepository;
+
+	@Autowired
+	private BankAccountRepository bankAccountRepository;
+
+	@Autowired
+	private JournalEntryRepository journalEntryRepository;
+
+	@Autowired
+	private AccountBalanceSnapshotRepository snapshotRepository;
+
+	@Autowired
+	private ReconciliationDiscrepancyRepository discrepancyRepository;
+
+	@Autowired
+	private ReconciliationReportRepository reportRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Test
+	void findsAnUncorrectedMismatchAgainOnTheNextDay() {
+		LocalDate day = LocalDate.now(BUSINESS_ZONE).minusDays(10);
+		BankAccount account = openAccount("100.00");
+		snapshot(account, day.minusDays(1), "100.00");
+		depositOn(account, "10.00", day);
+		// Moved without a journal entry, large enough to only be limited, not corrected
+		drift(account, "160.00");
+
+		ReconciliationReport first = reconciliationService.performReconciliation(day);
+		assertThat(balanceMismatches(first, account)).singleElement()
+				.satisfies(discrepancy -> assertThat(discrepancy.getAutoCorrected()).isFalse());
+		assertThat(closingBalance(account, day)).isEqualByComparingTo("110.00");
+
+		depositOn(account, "10.00", day.plusDays(1));
+		ReconciliationReport second = reconciliationService.performReconciliation(day.plusDays(1));
+		assertThat(balanceMismatches(second, account)).singleElement()
+				.satisfies(discrepancy -> {
+					assertThat(new BigDecimal(discrepancy.getExpectedValue())).isEqualByComparingTo("120.00");
+					assertThat(new BigDecimal(discrepancy.getActualValue())).isEqualByComparingTo("170.00");
+				});
+		assertThat(closingBalance(account, day.plusDays(1))).isEqualByComparingTo("120.00");
+
+		// Accepting the row after review moves the comparison onto it
+		reconciliationResponseService.unblockAccount(account.getId(), "Balance verified against the ledger");
+		assertThat(closingBalance(account, day.plusDays(1))).isEqualByComparingTo("170.00");
+
+		depositOn(account, "10.00", day.plusDays(2));
+		ReconciliationReport third = reconciliationService.performReconciliation(day.plusDays(2));
+		assertThat(balanceMismatches(third, account)).isEmpty();
+		assertThat(closingBalance(account, day.plusDays(2))).isEqualByComparingTo("180.00");
+	}
+
+	@Test
+	void doesNotCountAnAutoCorrectionTwice() {
+		LocalDate today = LocalDate.now(BUSINESS_ZONE);
+		LocalDate yesterday = today.minusDays(1);
+		BankAccount account = openAccount("100.00");
+		snapshot(account, yesterday.minusDays(1), "100.00");
+		depositOn(account, "10.00", yesterday);
+		drift(account, "115.00");
+
+		ReconciliationReport first = reconciliationService.performReconciliation(yesterday);
+		assertThat(balanceMismatches(first, account)).singleElement()
+				.satisfies(discrepancy -> assertThat(discrepancy.getAutoCorrected()).isTrue());
+		assertBalance(account, "110.00");
+		// The correction is journaled today, yesterday closed on the balance it corrected
+		assertThat(journalEntryRepository.findByBankAccountOrderByCreatedAtDesc(account))
+				.filteredOn(entry -> entry.getEntryType() == EntryType.DEBIT)
+				.singleElement()
+				.satisfies(entry -> assertThat(entry.getAmount()).isEqualByComparingTo("5.00"));
+		assertThat(closingBalance(account, yesterday)).isEqualByComparingTo("115.00");
+
+		deposit(account, "10.00");
+		ReconciliationReport second = reconciliationService.performReconciliation(today);
+		assertThat(balanceMismatches(second, account)).isEmpty();
+		assertThat(closingBalance(account, today)).isEqualByComparingTo("120.00");
+	}
+
+	@Test
+	void takesOverARunOnlyOnceItsHeartbeatStopped() {
+		LocalDate day = LocalDate.now(BUSINESS_ZONE).minusDays(20);
+		// Started long before the run timeout, but still checking in
+		ReconciliationReport running = inProgressReport(day, ZonedDateTime.now().minusMinutes(1));
+
+		assertThatThrownBy(() -> reconciliationService.performReconciliation(day))
+				.isInstanceOf(ReconciliationInProgressException.class);
+
+		// The run died without failing its report
+		transactionTemplate.executeWithoutResult(status ->
+				reportRepository.touchHeartbeat(running.getId(), ZonedDateTime.now().minusHours(3)));
+		ReconciliationReport resumed = reconciliationService.performReconciliation(day);
+
+		assertThat(resumed.getId()).isEqualTo(running.getId());
+		assertThat(resumed.getStatus()).isIn(ReconciliationStatus.COMPLETED, ReconciliationStatus.COMPLETED_WITH_DISCREPANCIES);
+		assertThat(reportRepository.findById(running.getId())).hasValueSatisfying(report ->
+				assertThat(report.getHeartbeatAt()).isAfter(ZonedDateTime.now().minusMinutes(1)));
+	}
+
+	private ReconciliationReport inProgressReport(LocalDate date, ZonedDateTime heartbeatAt) {
+		ReconciliationReport report = new ReconciliationReport();
+		report.setReconciliationDate(date);
+		report.setStatus(ReconciliationStatus.IN_PROGRESS);
+		report.setStartedAt(ZonedDateTime.now().minusHours(3));
+		report.setHeartbeatAt(heartbeatAt);
+		report.setCreatedAt(report.getStartedAt());
+		return reportRepository.save(report);
+	}
+
+	private List<ReconciliationDiscrepancy> balanceMismatches(ReconciliationReport report, BankAccount account) {
+		return discrepancyRepository.findByReportAndType(report, DiscrepancyType.ACCOUNT_BALANCE_MISMATCH).stream()
+				.filter(discrepancy -> discrepancy.getEntityId().equals(account.getId()))
+				.toList();
+	}
+
+	private BigDecimal closingBalance(BankAccount account, LocalDate date) {
+		return snapshotRepository.findBySnapshotDateAndAccountIdBetween(date, account.getId(), account.getId())
+				.getFirst().getClosingBalance();
+	}
+
+	private void snapshot(BankAccount account, LocalDate date, String closingBalance) {
+		AccountBalanceSnapshot snapshot = new AccountBalanceSnapshot();
+		snapshot.setAccountId(account.getId());
+		snapshot.setSnapshotDate(date);
+		snapshot.setClosingBalance(new BigDecimal(closingBalance));
+		snapshot.setCreatedAt(ZonedDateTime.now());
+		snapshotRepository.save(snapshot);
+	}
+
+	private void deposit(BankAccount account, String amount) {
+		DepositWithdrawReq request = new DepositWithdrawReq();
+		request.setAccountNumber(account.getAccountNumber());
+		request.setAmount(new BigDecimal(amount));
+		accountService.deposit(request);
+	}
+
+	/**
+	 * Deposit and move the journal entry to noon of an earlier business day
+	 */
+	private void depositOn(BankAccount account, String amount, LocalDate date) {
+		deposit(account, amount);
+		jdbcTemplate.update(
+				"UPDATE journal_entries SET created_at = ? WHERE id = (SELECT MAX(id) FROM journal_entries WHERE account_id = ?)",
+				Timestamp.from(date.atTime(12, 0).atZone(BUSINESS_ZONE).toInstant()), account.getId());
+	}
+
+	private void drift(BankAccount account, String balance) {
+		BankAccount current = bankAccountRepository.findById(account.getId()).orElseThrow();
+		current.setBalance(new BigDecimal(balance));
+		current.setAvailableBalance(new BigDecimal(balance));
+		bankAccountRepository.save(current);
+	}
+
+	private BankAccount openAccount(String balance) {
+		Customer customer = new Customer();
+		customer.setCin(UUID.randomUUID().toString());
+		customer.setFullName("Reconciliation Test");
+		customer.setCreatedAt(ZonedDateTime.now());
+		customerRepository.save(customer);
+
+		BankAccount account = new BankAccount();
+		account.setCustomer(customer);
+		account.setAccountNumber(UUID.randomUUID().toString().substring(0, 30));
+		account.setAccountType(AccountType.SAVINGS);
+		account.setStatus(AccountStatus.ACTIVE);
+		account.setBalance(new BigDecimal(balance));
+		account.setAvailableBalance(new BigDecimal(balance));
+		account.setOpenedAt(ZonedDateTime.now());
+		return bankAccountRepository.save(account);
+	}
+
+	private void assertBalance(BankAccount account, String balance) {
+		BankAccount current = bankAccountRepository.findById(account.getId()).orElseThrow();
+		assertThat(current.getBalance()).as("balance").isEqualByComparingTo(balance);
+		assertThat(current.getAvailableBalance()).as("available balance").isEqualByComparingTo(balance);
+	}
+}
@@ -0,0 +1,126 @@
+package org.fd.mcb.modules.reconciliation.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.UUID;
+import org.fd.mcb.modules.journalentry.dto.AccountEntryTotals;
+import org.fd.mcb.modules.journalentry.enums.EntryType;
+import org.fd.mcb.modules.journalentry.model.entity.JournalEntry;
+import org.fd.mcb.modules.journalentry.model.repository.JournalEntryRepository;
+import org.fd.mcb.modules.master.enums.AccountStatus;
+import org.fd.mcb.modules.master.enums.AccountType;
+import org.fd.mcb.modules.master.model.entity.BankAccount;
+import org.fd.mcb.modules.master.model.entity.Customer;
+import org.fd.mcb.modules.master.model.repository.BankAccountRepository;
+import org.fd.mcb.modules.master.model.repository.CustomerRepository;
+import org.fd.mcb.modules.transaction.dto.request.DepositWithdrawReq;
+import org.fd.mcb.modules.transaction.service.AccountService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:running_totals_test",
+		"balance-engine.enabled=false",
+		"hot-accounts.enabled=false",
+		"reconciliation.running-totals.enabled=true",
+		// Flushed by the completeness check only
+		"reconciliation.running-totals.flush-interval=PT1H",
+		"audit-log.spill-file=build/running-totals-test/audit-log-spill.jsonl",
+		"audit-log.trail.directory=build/running-totals-test/audit-trail"
+})
+class RunningTotalsIntegrationTest {
+
+	private static final ZoneId BUSINESS_ZONE = ZoneId.of("Asia/Jakarta");
+
+	@Autowired
+	private RunningTotalsService runningTotalsService;
+
+	@Autowired
+	private AccountService accountService;
+
+	@Autowired
+	private CustomerRepository customerRepository;
+
+	@Autowired
+	private BankAccountRepository bankAccountRepository;
+
+	@Autowired
+	private JournalEntryRepository journalEntryRepository;
+
+	@Test
+	void trustsTheRunningTotalsOnlyWhileTheyCoverEveryJournalEntry() {
+		LocalDate today = LocalDate.now(BUSINESS_ZONE);
+		BankAccount account = openAccount("100.00");
+		BankAccount otherAccount = openAccount("0.00");
+		accountService.deposit(request(account, "200.00"));
+		accountService.withdrawal(request(account, "50.00"));
+		accountService.deposit(request(otherAccount, "30.00"));
+
+		assertThat(runningTotalsService.isComplete(today)).isTrue();
+		assertTotals(today, account, "200.00", "50.00");
+		assertTotals(today, otherAccount, "30.00", "0.00");
+		assertBalance(account, "250.00");
+		assertBalance(otherAccount, "30.00");
+		assertThat(journalEntryRepository.findByBankAccountOrderByCreatedAtDesc(account)).hasSize(2);
+
+		// Written around the journal adapter, e.g. by an instance with running totals disabled
+		JournalEntry stray = new JournalEntry();
+		stray.setTransaction(journalEntryRepository.findByBankAccountOrderByCreatedAtDesc(account).stream()
+				.filter(entry -> entry.getEntryType() == EntryType.DEBIT)
+				.findFirst().orElseThrow().getTransaction());
+		stray.setBankAccount(account);
+		stray.setEntryType(EntryType.DEBIT);
+		stray.setAmount(new BigDecimal("1.00"));
+		stray.setCreatedAt(ZonedDateTime.now());
+		journalEntryRepository.save(stray);
+
+		assertThat(runningTotalsService.isComplete(today)).isFalse();
+		// Still the totals of what went through the adapter, the journal is read instead
+		assertTotals(today, account, "200.00", "50.00");
+	}
+
+	private void assertTotals(LocalDate date, BankAccount account, String credits, String debits) {
+		List<AccountEntryTotals> totals = runningTotalsService.findAccountTotals(date, account.getId(), account.getId());
+		assertThat(totals).singleElement().satisfies(total -> {
+			assertThat(total.totalCredits()).as("credits").isEqualByComparingTo(credits);
+			assertThat(total.totalDebits()).as("debits").isEqualByComparingTo(debits);
+		});
+	}
+
+	private BankAccount openAccount(String balance) {
+		Customer customer = new Customer();
+		customer.setCin(UUID.randomUUID().toString());
+		customer.setFullName("Running Totals Test");
+		customer.setCreatedAt(ZonedDateTime.now());
+		customerRepository.save(customer);
+
+		BankAccount account = new BankAccount();
+		account.setCustomer(customer);
+		account.setAccountNumber(UUID.randomUUID().toString().substring(0, 30));
+		account.setAccountType(AccountType.SAVINGS);
+		account.setStatus(AccountStatus.ACTIVE);
+		account.setBalance(new BigDecimal(balance));
+		account.setAvailableBalance(new BigDecimal(balance));
+		account.setOpenedAt(ZonedDateTime.now());
+		return bankAccountRepository.save(account);
+	}
+
+	private static DepositWithdrawReq request(BankAccount account, String amount) {
+		DepositWithdrawReq request = new DepositWithdrawReq();
+		request.setAccountNumber(account.getAccountNumber());
+		request.setAmount(new BigDecimal(amount));
+		return request;
+	}
+
+	private void assertBalance(BankAccount account, String balance) {
+		BankAccount current = bankAccountRepository.findById(account.getId()).orElseThrow();
+		assertThat(current.getBalance()).as("balance").isEqualByComparingTo(balance);
+		assertThat(current.getAvailableBalance()).as("available balance").isEqualByComparingTo(balance);
+	}
+}
@@ -0,0 +1,184 @@
+package org.fd.mcb.modules.transaction.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.fd.mcb.modules.journalentry.enums.EntryType;
+import org.fd.mcb.modules.journalentry.model.entity.JournalEntry;
+import org.fd.mcb.modules.journalentry.model.repository.JournalEntryRepository;
+import org.fd.mcb.modules.master.enums.AccountStatus;
+import org.fd.mcb.modules.master.enums.AccountType;
+import org.fd.mcb.modules.master.model.entity.BankAccount;
+import org.fd.mcb.modules.master.model.entity.Customer;
+import org.fd.mcb.modules.master.model.repository.BankAccountRepository;
+import org.fd.mcb.modules.master.model.repository.CustomerRepository;
+import org.fd.mcb.modules.transaction.dto.request.DepositWithdrawReq;
+import org.fd.mcb.modules.transaction.dto.request.PostingBatchRequest;
+import org.fd.mcb.modules.transaction.dto.request.PostingItemRequest;
+import org.fd.mcb.modules.transaction.dto.response.AccountResponse;
+import org.fd.mcb.modules.transaction.dto.response.PostingBatchResponse;
+import org.fd.mcb.modules.transaction.dto.response.PostingItemResult;
+import org.fd.mcb.modules.transaction.enums.PostingType;
+import org.fd.mcb.shared.exception.BalanceInsufficientException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:account_service_test",
+		"balance-engine.enabled=false",
+		"account-posting.withdrawal=LOCKING",
+		// Striping would move credits aside mid-test, the locking path is what is under test here
+		"hot-accounts.enabled=false",
+		"audit-log.spill-file=build/account-service-test/audit-log-spill.jsonl",
+		"audit-log.trail.directory=build/account-service-test/audit-trail"
+})
+class AccountServiceIntegrationTest {
+
+	@Autowired
+	private AccountService accountService;
+
+	@Autowired
+	private CustomerRepository customerRepository;
+
+	@Autowired
+	private BankAccountRepository bankAccountRepository;
+
+	@Autowired
+	private JournalEntryRepository journalEntryRepository;
+
+	@Test
+	void concurrentWithdrawalsNeverOverdraw() throws Exception {
+		BankAccount account = openAccount("500.00");
+		// Each caller holds a connection while it waits for the row lock, stay below the pool size
+		int attempts = 8;
+
+		ExecutorService executor = Executors.newFixedThreadPool(attempts);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<AccountResponse>> results = new ArrayList<>();
+		int succeeded = 0;
+		int rejected = 0;
+		try {
+			for (int i = 0; i < attempts; i++) {
+				results.add(executor.submit(() -> {
+					start.await();
+					return accountService.withdrawal(request(account, "100.00"));
+				}));
+			}
+			start.countDown();
+
+			for (Future<AccountResponse> result : results) {
+				try {
+					result.get();
+					succeeded++;
+				} catch (ExecutionException e) {
+					// Lock conflicts that outlast the retries fail too, only never by overdrawing
+					if (e.getCause() instanceof BalanceInsufficientException) {
+						rejected++;
+					}
+				}
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+
+		assertThat(succeeded).isBetween(1, 5);
+		if (rejected > 0) {
+			// Someone was turned away for lack of funds, so the funds really ran out
+			assertThat(succeeded).isEqualTo(5);
+		}
+
+		BigDecimal withdrawn = new BigDecimal("100.00").multiply(BigDecimal.valueOf(succeeded));
+		BankAccount current = bankAccountRepository.findById(account.getId()).orElseThrow();
+		assertThat(current.getBalance()).isEqualByComparingTo(new BigDecimal("500.00").subtract(withdrawn));
+		assertThat(current.getAvailableBalance()).isEqualByComparingTo(current.getBalance());
+		assertThat(current.getBalance()).isNotNegative();
+
+		List<JournalEntry> entries = journalEntryRepository.findByBankAccountOrderByCreatedAtDesc(current);
+		assertThat(entries).hasSize(succeeded).allSatisfy(entry -> {
+			assertThat(entry.getEntryType()).isEqualTo(EntryType.DEBIT);
+			assertThat(entry.getAmount()).isEqualByComparingTo("100.00");
+		});
+	}
+
+	@Test
+	void batchAppliesEachAccountsItemsInOrderAndJournalsThePostedOnes() {
+		BankAccount account = openAccount("100.00");
+		BankAccount otherAccount = openAccount("0.00");
+
+		PostingBatchRequest request = new PostingBatchRequest();
+		request.setPostings(List.of(
+				posting(account, PostingType.DEPOSIT, "50.00"),
+				posting(otherAccount, PostingType.DEPOSIT, "20.00"),
+				posting(account, PostingType.WITHDRAWAL, "120.00"),
+				// Only 30.00 left once the items before it are applied
+				posting(account, PostingType.WITHDRAWAL, "100.00"),
+				posting(otherAccount, PostingType.WITHDRAWAL, "5.00")));
+		PostingBatchResponse response = accountService.postBatch(request);
+
+		assertThat(response.getSucceeded()).isEqualTo(4);
+		assertThat(response.getFailed()).isEqualTo(1);
+		assertThat(response.getResults()).extracting(PostingItemResult::isSuccess)
+				.containsExactly(true, true, true, false, true);
+		assertThat(response.getResults().get(2).getCurrentBalance()).isEqualByComparingTo("30.00");
+		assertThat(response.getResults().get(3).getTransactionId()).isNull();
+		assertThat(response.getResults().get(4).getCurrentBalance()).isEqualByComparingTo("15.00");
+
+		assertBalances(account, "30.00");
+		assertBalances(otherAccount, "15.00");
+		assertThat(journalEntryRepository.findByBankAccountOrderByCreatedAtDesc(account))
+				.extracting(entry -> entry.getEntryType() + " " + entry.getAmount().setScale(2))
+				.containsExactlyInAnyOrder("CREDIT 50.00", "DEBIT 120.00");
+		assertThat(journalEntryRepository.findByBankAccountOrderByCreatedAtDesc(otherAccount))
+				.extracting(entry -> entry.getEntryType() + " " + entry.getAmount().setScale(2))
+				.containsExactlyInAnyOrder("CREDIT 20.00", "DEBIT 5.00");
+	}
+
+	private BankAccount openAccount(String balance) {
+		Customer customer = new Customer();
+		customer.setCin(UUID.randomUUID().toString());
+		customer.setFullName("Locking Test");
+		customer.setCreatedAt(ZonedDateTime.now());
+		customerRepository.save(customer);
+
+		BankAccount account = new BankAccount();
+		account.setCustomer(customer);
+		account.setAccountNumber(UUID.randomUUID().toString().substring(0, 30));
+		account.setAccountType(AccountType.SAVINGS);
+		account.setStatus(AccountStatus.ACTIVE);
+		account.setBalance(new BigDecimal(balance));
+		account.setAvailableBalance(new BigDecimal(balance));
+		account.setOpenedAt(ZonedDateTime.now());
+		return bankAccountRepository.save(account);
+	}
+
+	private static DepositWithdrawReq request(BankAccount account, String amount) {
+		DepositWithdrawReq request = new DepositWithdrawReq();
+		request.setAccountNumber(account.getAccountNumber());
+		request.setAmount(new BigDecimal(amount));
+		return request;
+	}
+
+	private static PostingItemRequest posting(BankAccount account, PostingType type, String amount) {
+		PostingItemRequest item = new PostingItemRequest();
+		item.setAccountNumber(account.getAccountNumber());
+		item.setType(type);
+		item.setAmount(new BigDecimal(amount));
+		return item;
+	}
+
+	private void assertBalances(BankAccount account, String balance) {
+		BankAccount current = bankAccountRepository.findById(account.getId()).orElseThrow();
+		assertThat(current.getBalance()).as("balance").isEqualByComparingTo(balance);
+		assertThat(current.getAvailableBalance()).as("available balance").isEqualByComparingTo(balance);
+	}
+}
@@ -0,0 +1,324 @@
+package org.fd.mcb.modules.transaction.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.fd.mcb.configs.HoldExpiryConfigProperties;
+import org.fd.mcb.modules.journalentry.enums.EntryType;
+import org.fd.mcb.modules.journalentry.model.entity.JournalEntry;
+import org.fd.mcb.modules.journalentry.model.repository.JournalEntryRepository;
+import org.fd.mcb.modules.master.adapter.command.AccountHoldCommandAdapter;
+import org.fd.mcb.modules.master.adapter.command.BankAccountCommandAdapter;
+import org.fd.mcb.modules.master.adapter.query.AccountHoldQueryAdapter;
+import org.fd.mcb.modules.master.dto.HoldExpiry;
+import org.fd.mcb.modules.master.engine.BalanceEngine;
+import org.fd.mcb.modules.master.engine.HoldExpiryWheel;
+import org.fd.mcb.modules.master.enums.AccountStatus;
+import org.fd.mcb.modules.master.enums.AccountType;
+import org.fd.mcb.modules.master.enums.HoldStatus;
+import org.fd.mcb.modules.master.enums.TransactionStatus;
+import org.fd.mcb.modules.master.model.entity.AccountHold;
+import org.fd.mcb.modules.master.model.entity.BankAccount;
+import org.fd.mcb.modules.master.model.entity.Customer;
+import org.fd.mcb.modules.master.model.entity.Transaction;
+import org.fd.mcb.modules.master.model.repository.AccountHoldRepository;
+import org.fd.mcb.modules.master.model.repository.BankAccountRepository;
+import org.fd.mcb.modules.master.model.repository.CustomerRepository;
+import org.fd.mcb.modules.master.model.repository.TransactionRepository;
+import org.fd.mcb.modules.transaction.dto.request.DepositWithdrawReq;
+import org.fd.mcb.modules.transaction.dto.request.TransferAuthRequest;
+import org.fd.mcb.modules.transaction.dto.request.TransferCancellationRequest;
+import org.fd.mcb.modules.transaction.dto.request.TransferCaptureRequest;
+import org.fd.mcb.modules.transaction.dto.request.TransferSettlementRequest;
+import org.fd.mcb.modules.transaction.dto.response.AccountResponse;
+import org.fd.mcb.modules.transaction.dto.response.TransferAuthResponse;
+import org.fd.mcb.modules.transaction.service.impl.HoldExpiryServiceImpl;
+import org.fd.mcb.shared.exception.BalanceInsufficientException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:balance_engine_test",
+		"balance-engine.enabled=true",
+		"audit-log.spill-file=build/balance-engine-test/audit-log-spill.jsonl",
+		"audit-log.trail.directory=build/balance-engine-test/audit-trail"
+})
+class BalanceEngineIntegrationTest {
+
+	@Autowired
+	private AccountService accountService;
+
+	@Autowired
+	private TransferAuthorizationService transferAuthorizationService;
+
+	@Autowired
+	private TransferCaptureService transferCaptureService;
+
+	@Autowired
+	private TransferSettlementService transferSettlementService;
+
+	@Autowired
+	private TransferCancellationService transferCancellationService;
+
+	@Autowired
+	private CustomerRepository customerRepository;
+
+	@Autowired
+	private BankAccountRepository bankAccountRepository;
+
+	@Autowired
+	private TransactionRepository transactionRepository;
+
+	@Autowired
+	private AccountHoldRepository accountHoldRepository;
+
+	@Autowired
+	private JournalEntryRepository journalEntryRepository;
+
+	@Autowired
+	private AccountHoldQueryAdapter accountHoldQueryAdapter;
+
+	@Autowired
+	private AccountHoldCommandAdapter accountHoldCommandAdapter;
+
+	@Autowired
+	private BankAccountCommandAdapter bankAccountCommandAdapter;
+
+	@Autowired
+	private BalanceEngine balanceEngine;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Test
+	void depositCreditsTheAccountAndJournalsIt() {
+		BankAccount account = openAccount("1000.00");
+
+		AccountResponse response = accountService.deposit(request(account, "250.00"));
+
+		assertThat(response.getCurrentBalance()).isEqualByComparingTo("1250.00");
+		assertBalances(account, "1250.00", "1250.00", "0.00");
+		assertJournal(response.getTransactionId(), account, EntryType.CREDIT, "250.00");
+	}
+
+	@Test
+	void withdrawalDebitsTheAccountAndJournalsIt() {
+		BankAccount account = openAccount("1000.00");
+
+		AccountResponse response = accountService.withdrawal(request(account, "400.00"));
+
+		assertThat(response.getCurrentBalance()).isEqualByComparingTo("600.00");
+		assertBalances(account, "600.00", "600.00", "0.00");
+		assertJournal(response.getTransactionId(), account, EntryType.DEBIT, "400.00");
+	}
+
+	@Test
+	void holdCaptureAndSettleMoveTheFundsToTheDestination() {
+		BankAccount source = openAccount("1000.00");
+		BankAccount destination = openAccount("0.00");
+
+		TransferAuthResponse authorization = transferAuthorizationService.authorizeTransfer(
+				transfer(source, destination, "300.00"));
+		// Held, not moved
+		assertBalances(source, "1000.00", "700.00", "300.00");
+		assertThat(accountHoldRepository.findByTransactionId(authorization.getTransactionId()))
+				.hasValueSatisfying(hold -> assertThat(hold.getStatus()).isEqualTo(HoldStatus.ACTIVE));
+		assertThat(journalOf(authorization.getTransactionId())).isEmpty();
+
+		TransferCaptureRequest capture = new TransferCaptureRequest();
+		capture.setAuthCode(authorization.getAuthCode());
+		transferCaptureService.captureTransfer(capture);
+		assertBalances(source, "700.00", "700.00", "0.00");
+		assertThat(accountHoldRepository.findByTransactionId(authorization.getTransactionId()))
+				.hasValueSatisfying(hold -> assertThat(hold.getStatus()).isEqualTo(HoldStatus.RELEASED));
+		assertThat(statusOf(authorization.getTransactionId())).isEqualTo(TransactionStatus.CAPTURED);
+
+		TransferSettlementRequest settlement = new TransferSettlementRequest();
+		settlement.setAuthCode(authorization.getAuthCode());
+		transferSettlementService.settleTransfer(settlement);
+		assertBalances(destination, "300.00", "300.00", "0.00");
+		assertBalances(source, "700.00", "700.00", "0.00");
+		assertThat(statusOf(authorization.getTransactionId())).isEqualTo(TransactionStatus.SETTLED);
+
+		List<JournalEntry> entries = journalOf(authorization.getTransactionId());
+		assertThat(entries).hasSize(2);
+		assertThat(entries).anySatisfy(entry -> {
+			assertThat(entry.getBankAccount().getId()).isEqualTo(source.getId());
+			assertThat(entry.getEntryType()).isEqualTo(EntryType.DEBIT);
+			assertThat(entry.getAmount()).isEqualByComparingTo("300.00");
+		});
+		assertThat(entries).anySatisfy(entry -> {
+			assertThat(entry.getBankAccount().getId()).isEqualTo(destination.getId());
+			assertThat(entry.getEntryType()).isEqualTo(EntryType.CREDIT);
+			assertThat(entry.getAmount()).isEqualByComparingTo("300.00");
+		});
+	}
+
+	@Test
+	void releaseRestoresTheAvailableBalance() {
+		BankAccount source = openAccount("1000.00");
+		BankAccount destination = openAccount("0.00");
+
+		TransferAuthResponse authorization = transferAuthorizationService.authorizeTransfer(
+				transfer(source, destination, "400.00"));
+		assertBalances(source, "1000.00", "600.00", "400.00");
+
+		TransferCancellationRequest cancellation = new TransferCancellationRequest();
+		cancellation.setAuthCode(authorization.getAuthCode());
+		transferCancellationService.cancelTransfer(cancellation);
+
+		assertBalances(source, "1000.00", "1000.00", "0.00");
+		assertBalances(destination, "0.00", "0.00", "0.00");
+		assertThat(accountHoldRepository.findByTransactionId(authorization.getTransactionId()))
+				.hasValueSatisfying(hold -> assertThat(hold.getStatus()).isEqualTo(HoldStatus.RELEASED));
+		assertThat(statusOf(authorization.getTransactionId())).isEqualTo(TransactionStatus.CANCELLED);
+		assertThat(journalOf(authorization.getTransactionId())).isEmpty();
+	}
+
+	@Test
+	void expiryReleasesEveryActiveHoldOfTheAccount() {
+		BankAccount source = openAccount("1000.00");
+		BankAccount destination = openAccount("0.00");
+		TransferAuthResponse first = transferAuthorizationService.authorizeTransfer(transfer(source, destination, "100.00"));
+		TransferAuthResponse second = transferAuthorizationService.authorizeTransfer(transfer(source, destination, "200.00"));
+		TransferAuthResponse captured = transferAuthorizationService.authorizeTransfer(transfer(source, destination, "50.00"));
+		TransferCaptureRequest capture = new TransferCaptureRequest();
+		capture.setAuthCode(captured.getAuthCode());
+		transferCaptureService.captureTransfer(capture);
+		assertBalances(source, "950.00", "650.00", "300.00");
+
+		int expired = expireNow(source, first.getTransactionId(), second.getTransactionId(), captured.getTransactionId());
+
+		// The captured one is no longer held and is left alone
+		assertThat(expired).isEqualTo(2);
+		assertBalances(source, "950.00", "950.00", "0.00");
+		assertThat(statusOf(first.getTransactionId())).isEqualTo(TransactionStatus.CANCELLED);
+		assertThat(statusOf(second.getTransactionId())).isEqualTo(TransactionStatus.CANCELLED);
+		assertThat(statusOf(captured.getTransactionId())).isEqualTo(TransactionStatus.CAPTURED);
+		assertThat(accountHoldRepository.findByTransactionId(first.getTransactionId()))
+				.hasValueSatisfying(hold -> assertThat(hold.getStatus()).isEqualTo(HoldStatus.EXPIRED));
+	}
+
+	@Test
+	void concurrentWithdrawalsNeverOverdraw() throws Exception {
+		BankAccount account = openAccount("500.00");
+		// Each caller holds a connection while it waits, stay below the pool size
+		int attempts = 8;
+
+		ExecutorService executor = Executors.newFixedThreadPool(attempts);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<AccountResponse>> results = new ArrayList<>();
+		try {
+			for (int i = 0; i < attempts; i++) {
+				results.add(executor.submit(() -> {
+					start.await();
+					return accountService.withdrawal(request(account, "100.00"));
+				}));
+			}
+			start.countDown();
+
+			int succeeded = 0;
+			int rejected = 0;
+			for (Future<AccountResponse> result : results) {
+				try {
+					result.get();
+					succeeded++;
+				} catch (ExecutionException e) {
+					assertThat(e.getCause()).isInstanceOf(BalanceInsufficientException.class);
+					rejected++;
+				}
+			}
+
+			// The shard serializes the postings, exactly the funded ones go through
+			assertThat(succeeded).isEqualTo(5);
+			assertThat(rejected).isEqualTo(attempts - 5);
+		} finally {
+			executor.shutdownNow();
+		}
+		assertBalances(account, "0.00", "0.00", "0.00");
+	}
+
+	/**
+	 * Expire the holds of the given transactions right away, through a wheel of their own: the application's
+	 * wheel already has them scheduled for their real expiry.
+	 */
+	private int expireNow(BankAccount account, Long... transactionIds) {
+		HoldExpiryConfigProperties config = new HoldExpiryConfigProperties();
+		HoldExpiryWheel wheel = new HoldExpiryWheel(config);
+		for (Long transactionId : transactionIds) {
+			AccountHold hold = accountHoldRepository.findByTransactionId(transactionId).orElseThrow();
+			wheel.schedule(new HoldExpiry(hold.getId(), account.getId(), transactionId, hold.getAmount(),
+					hold.getExpiresAt()), 0);
+		}
+		return new HoldExpiryServiceImpl(config, wheel, accountHoldQueryAdapter, accountHoldCommandAdapter,
+				bankAccountCommandAdapter, transactionRepository, balanceEngine, transactionTemplate).expireDue();
+	}
+
+	private BankAccount openAccount(String balance) {
+		Customer customer = new Customer();
+		customer.setCin(UUID.randomUUID().toString());
+		customer.setFullName("Engine Test");
+		customer.setCreatedAt(ZonedDateTime.now());
+		customerRepository.save(customer);
+
+		BankAccount account = new BankAccount();
+		account.setCustomer(customer);
+		account.setAccountNumber(UUID.randomUUID().toString().substring(0, 30));
+		account.setAccountType(AccountType.SAVINGS);
+		account.setStatus(AccountStatus.ACTIVE);
+		account.setBalance(new BigDecimal(balance));
+		account.setAvailableBalance(new BigDecimal(balance));
+		account.setOpenedAt(ZonedDateTime.now());
+		return bankAccountRepository.save(account);
+	}
+
+	private static DepositWithdrawReq request(BankAccount account, String amount) {
+		DepositWithdrawReq request = new DepositWithdrawReq();
+		request.setAccountNumber(account.getAccountNumber());
+		request.setAmount(new BigDecimal(amount));
+		return request;
+	}
+
+	private static TransferAuthRequest transfer(BankAccount source, BankAccount destination, String amount) {
+		TransferAuthRequest request = new TransferAuthRequest();
+		request.setSourceAccountNumber(source.getAccountNumber());
+		request.setDestAccountNumber(destination.getAccountNumber());
+		request.setAmount(new BigDecimal(amount));
+		return request;
+	}
+
+	private void assertBalances(BankAccount account, String balance, String available, String held) {
+		BankAccount current = bankAccountRepository.findById(account.getId()).orElseThrow();
+		assertThat(current.getBalance()).as("balance").isEqualByComparingTo(balance);
+		assertThat(current.getAvailableBalance()).as("available balance").isEqualByComparingTo(available);
+		assertThat(current.getHeldAmount()).as("held amount").isEqualByComparingTo(held);
+	}
+
+	private void assertJournal(Long transactionId, BankAccount account, EntryType entryType, String amount) {
+		assertThat(journalOf(transactionId)).singleElement().satisfies(entry -> {
+			assertThat(entry.getBankAccount().getId()).isEqualTo(account.getId());
+			assertThat(entry.getEntryType()).isEqualTo(entryType);
+			assertThat(entry.getAmount()).isEqualByComparingTo(amount);
+		});
+	}
+
+	private List<JournalEntry> journalOf(Long transactionId) {
+		Transaction transaction = transactionRepository.findById(transactionId).orElseThrow();
+		return journalEntryRepository.findByTransactionOrderByCreatedAtDesc(transaction);
+	}
+
+	private TransactionStatus statusOf(Long transactionId) {
+		return transactionRepository.findById(transactionId).orElseThrow().getStatus();
+	}
+}
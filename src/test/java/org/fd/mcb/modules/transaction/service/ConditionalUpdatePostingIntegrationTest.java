@@ -0,0 +1,158 @@
+package org.fd.mcb.modules.transaction.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.fd.mcb.modules.journalentry.enums.EntryType;
+import org.fd.mcb.modules.journalentry.model.entity.JournalEntry;
+import org.fd.mcb.modules.journalentry.model.repository.JournalEntryRepository;
+import org.fd.mcb.modules.master.enums.AccountStatus;
+import org.fd.mcb.modules.master.enums.AccountType;
+import org.fd.mcb.modules.master.model.entity.BankAccount;
+import org.fd.mcb.modules.master.model.entity.Customer;
+import org.fd.mcb.modules.master.model.repository.BankAccountRepository;
+import org.fd.mcb.modules.master.model.repository.CustomerRepository;
+import org.fd.mcb.modules.transaction.dto.request.DepositWithdrawReq;
+import org.fd.mcb.modules.transaction.dto.response.AccountResponse;
+import org.fd.mcb.shared.exception.BalanceInsufficientException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:conditional_update_posting_test",
+		"balance-engine.enabled=false",
+		"account-posting.deposit=CONDITIONAL_UPDATE",
+		"account-posting.withdrawal=CONDITIONAL_UPDATE",
+		"hot-accounts.enabled=false",
+		"audit-log.spill-file=build/conditional-update-posting-test/audit-log-spill.jsonl",
+		"audit-log.trail.directory=build/conditional-update-posting-test/audit-trail"
+})
+class ConditionalUpdatePostingIntegrationTest {
+
+	@Autowired
+	private AccountService accountService;
+
+	@Autowired
+	private CustomerRepository customerRepository;
+
+	@Autowired
+	private BankAccountRepository bankAccountRepository;
+
+	@Autowired
+	private JournalEntryRepository journalEntryRepository;
+
+	@Test
+	void concurrentWithdrawalsNeverOverdraw() throws Exception {
+		BankAccount account = openAccount("500.00");
+		int attempts = 8;
+
+		ExecutorService executor = Executors.newFixedThreadPool(attempts);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<AccountResponse>> results = new ArrayList<>();
+		int succeeded = 0;
+		int rejected = 0;
+		try {
+			for (int i = 0; i < attempts; i++) {
+				results.add(executor.submit(() -> {
+					start.await();
+					return accountService.withdrawal(request(account, "100.00"));
+				}));
+			}
+			start.countDown();
+
+			for (Future<AccountResponse> result : results) {
+				try {
+					result.get();
+					succeeded++;
+				} catch (ExecutionException e) {
+					if (e.getCause() instanceof BalanceInsufficientException) {
+						rejected++;
+					}
+				}
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+
+		assertThat(succeeded).isBetween(1, 5);
+		if (rejected > 0) {
+			assertThat(succeeded).isEqualTo(5);
+		}
+
+		BigDecimal withdrawn = new BigDecimal("100.00").multiply(BigDecimal.valueOf(succeeded));
+		assertBalances(account, new BigDecimal("500.00").subtract(withdrawn).toPlainString());
+
+		List<JournalEntry> entries = journalEntryRepository.findByBankAccountOrderByCreatedAtDesc(account);
+		assertThat(entries).hasSize(succeeded).allSatisfy(entry -> {
+			assertThat(entry.getEntryType()).isEqualTo(EntryType.DEBIT);
+			assertThat(entry.getAmount()).isEqualByComparingTo("100.00");
+		});
+	}
+
+	@Test
+	void depositsAndWithdrawalsMoveBothBalancesInOneUpdate() {
+		BankAccount account = openAccount("100.00");
+
+		AccountResponse deposit = accountService.deposit(request(account, "40.00"));
+		accountService.withdrawal(request(account, "90.00"));
+
+		assertThat(deposit.getTransactionId()).isNotNull();
+		assertBalances(account, "50.00");
+		assertThat(journalEntryRepository.findByBankAccountOrderByCreatedAtDesc(account))
+				.extracting(entry -> entry.getEntryType() + " " + entry.getAmount().setScale(2))
+				.containsExactlyInAnyOrder("CREDIT 40.00", "DEBIT 90.00");
+	}
+
+	@Test
+	void insufficientFundsLeaveNeitherABalanceChangeNorAJournalEntry() {
+		BankAccount account = openAccount("100.00");
+
+		assertThatThrownBy(() -> accountService.withdrawal(request(account, "100.01")))
+				.isInstanceOf(BalanceInsufficientException.class);
+
+		assertBalances(account, "100.00");
+		assertThat(journalEntryRepository.findByBankAccountOrderByCreatedAtDesc(account)).isEmpty();
+	}
+
+	private BankAccount openAccount(String balance) {
+		Customer customer = new Customer();
+		customer.setCin(UUID.randomUUID().toString());
+		customer.setFullName("Conditional Update Test");
+		customer.setCreatedAt(ZonedDateTime.now());
+		customerRepository.save(customer);
+
+		BankAccount account = new BankAccount();
+		account.setCustomer(customer);
+		account.setAccountNumber(UUID.randomUUID().toString().substring(0, 30));
+		account.setAccountType(AccountType.SAVINGS);
+		account.setStatus(AccountStatus.ACTIVE);
+		account.setBalance(new BigDecimal(balance));
+		account.setAvailableBalance(new BigDecimal(balance));
+		account.setOpenedAt(ZonedDateTime.now());
+		return bankAccountRepository.save(account);
+	}
+
+	private static DepositWithdrawReq request(BankAccount account, String amount) {
+		DepositWithdrawReq request = new DepositWithdrawReq();
+		request.setAccountNumber(account.getAccountNumber());
+		request.setAmount(new BigDecimal(amount));
+		return request;
+	}
+
+	private void assertBalances(BankAccount account, String balance) {
+		BankAccount current = bankAccountRepository.findById(account.getId()).orElseThrow();
+		assertThat(current.getBalance()).as("balance").isEqualByComparingTo(balance);
+		assertThat(current.getAvailableBalance()).as("available balance").isEqualByComparingTo(balance);
+	}
+}
@@ -0,0 +1,278 @@
+package org.fd.mcb.modules.transaction.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.fd.mcb.configs.HoldExpiryConfigProperties;
+import org.fd.mcb.modules.journalentry.enums.EntryType;
+import org.fd.mcb.modules.journalentry.model.repository.JournalEntryRepository;
+import org.fd.mcb.modules.master.adapter.command.AccountHoldCommandAdapter;
+import org.fd.mcb.modules.master.adapter.command.BankAccountCommandAdapter;
+import org.fd.mcb.modules.master.adapter.query.AccountHoldQueryAdapter;
+import org.fd.mcb.modules.master.dto.HoldExpiry;
+import org.fd.mcb.modules.master.engine.BalanceEngine;
+import org.fd.mcb.modules.master.engine.HoldExpiryWheel;
+import org.fd.mcb.modules.master.engine.HotAccountService;
+import org.fd.mcb.modules.master.enums.AccountStatus;
+import org.fd.mcb.modules.master.enums.AccountType;
+import org.fd.mcb.modules.master.enums.HoldStatus;
+import org.fd.mcb.modules.master.enums.TransactionStatus;
+import org.fd.mcb.modules.master.model.entity.AccountBalanceStripe;
+import org.fd.mcb.modules.master.model.entity.AccountHold;
+import org.fd.mcb.modules.master.model.entity.BankAccount;
+import org.fd.mcb.modules.master.model.entity.Customer;
+import org.fd.mcb.modules.master.model.repository.AccountBalanceStripeRepository;
+import org.fd.mcb.modules.master.model.repository.AccountHoldRepository;
+import org.fd.mcb.modules.master.model.repository.BankAccountRepository;
+import org.fd.mcb.modules.master.model.repository.CustomerRepository;
+import org.fd.mcb.modules.master.model.repository.TransactionRepository;
+import org.fd.mcb.modules.transaction.dto.request.DepositWithdrawReq;
+import org.fd.mcb.modules.transaction.dto.request.TransferAuthRequest;
+import org.fd.mcb.modules.transaction.dto.request.TransferCancellationRequest;
+import org.fd.mcb.modules.transaction.dto.request.TransferCaptureRequest;
+import org.fd.mcb.modules.transaction.dto.response.TransferAuthResponse;
+import org.fd.mcb.modules.transaction.service.impl.HoldExpiryServiceImpl;
+import org.fd.mcb.shared.exception.AuthorizationNotFoundException;
+import org.fd.mcb.shared.exception.InvalidTransactionStatusException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:transfer_authorization_test",
+		"balance-engine.enabled=false",
+		"hot-accounts.enabled=true",
+		// Stripes are merged by the authorization under test, not by the background jobs
+		"hot-accounts.merge-interval=PT1H",
+		"hot-accounts.evaluation-interval=PT1H",
+		"audit-log.spill-file=build/transfer-authorization-test/audit-log-spill.jsonl",
+		"audit-log.trail.directory=build/transfer-authorization-test/audit-trail"
+})
+class TransferAuthorizationIntegrationTest {
+
+	@Autowired
+	private TransferAuthorizationService transferAuthorizationService;
+
+	@Autowired
+	private AccountService accountService;
+
+	@Autowired
+	private HotAccountService hotAccountService;
+
+	@Autowired
+	private CustomerRepository customerRepository;
+
+	@Autowired
+	private BankAccountRepository bankAccountRepository;
+
+	@Autowired
+	private AccountBalanceStripeRepository stripeRepository;
+
+	@Autowired
+	private AccountHoldRepository accountHoldRepository;
+
+	@Autowired
+	private TransferCaptureService transferCaptureService;
+
+	@Autowired
+	private TransferCancellationService transferCancellationService;
+
+	@Autowired
+	private TransactionRepository transactionRepository;
+
+	@Autowired
+	private JournalEntryRepository journalEntryRepository;
+
+	@Autowired
+	private AccountHoldQueryAdapter accountHoldQueryAdapter;
+
+	@Autowired
+	private AccountHoldCommandAdapter accountHoldCommandAdapter;
+
+	@Autowired
+	private BankAccountCommandAdapter bankAccountCommandAdapter;
+
+	@Autowired
+	private BalanceEngine balanceEngine;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Test
+	void authorizesFromAStripedAccountWithPendingCredit() {
+		BankAccount source = openAccount("100.00");
+		BankAccount destination = openAccount("0.00");
+		stripe(source);
+
+		// Parked on a stripe, the row still shows 100.00
+		DepositWithdrawReq deposit = new DepositWithdrawReq();
+		deposit.setAccountNumber(source.getAccountNumber());
+		deposit.setAmount(new BigDecimal("400.00"));
+		accountService.deposit(deposit);
+		assertThat(hotAccountService.findPendingCredit(source.getId())).isEqualByComparingTo("400.00");
+		assertBalances(source, "100.00", "100.00", "0.00");
+
+		// Only coverable once the stripes are merged, and must not wait on its own row lock doing so
+		TransferAuthResponse authorization = assertTimeoutPreemptively(Duration.ofSeconds(10), () ->
+				transferAuthorizationService.authorizeTransfer(transfer(source, destination, "300.00")));
+
+		assertBalances(source, "500.00", "200.00", "300.00");
+		assertThat(hotAccountService.findPendingCredit(source.getId())).isZero();
+		assertThat(accountHoldRepository.findByTransactionId(authorization.getTransactionId()))
+				.hasValueSatisfying(hold -> assertThat(hold.getStatus()).isEqualTo(HoldStatus.ACTIVE));
+	}
+
+	@Test
+	void captureDebitsTheSourceAndCancellationRestoresItsAvailableBalance() {
+		BankAccount source = openAccount("1000.00");
+		BankAccount destination = openAccount("0.00");
+		TransferAuthResponse captured = transferAuthorizationService.authorizeTransfer(transfer(source, destination, "300.00"));
+		TransferAuthResponse cancelled = transferAuthorizationService.authorizeTransfer(transfer(source, destination, "200.00"));
+		assertBalances(source, "1000.00", "500.00", "500.00");
+
+		TransferCaptureRequest capture = new TransferCaptureRequest();
+		capture.setAuthCode(captured.getAuthCode());
+		transferCaptureService.captureTransfer(capture);
+		assertBalances(source, "700.00", "500.00", "200.00");
+
+		TransferCancellationRequest cancellation = new TransferCancellationRequest();
+		cancellation.setAuthCode(cancelled.getAuthCode());
+		transferCancellationService.cancelTransfer(cancellation);
+		assertBalances(source, "700.00", "700.00", "0.00");
+
+		assertThat(statusOf(captured.getTransactionId())).isEqualTo(TransactionStatus.CAPTURED);
+		assertThat(statusOf(cancelled.getTransactionId())).isEqualTo(TransactionStatus.CANCELLED);
+		assertThat(journalEntryRepository.findByBankAccountOrderByCreatedAtDesc(source)).singleElement()
+				.satisfies(entry -> {
+					assertThat(entry.getEntryType()).isEqualTo(EntryType.DEBIT);
+					assertThat(entry.getAmount()).isEqualByComparingTo("300.00");
+				});
+	}
+
+	@Test
+	void releasingAHoldRestoresTheAvailableBalanceOnlyOnce() {
+		BankAccount source = openAccount("1000.00");
+		BankAccount destination = openAccount("0.00");
+		TransferAuthResponse released = transferAuthorizationService.authorizeTransfer(transfer(source, destination, "400.00"));
+		TransferAuthResponse kept = transferAuthorizationService.authorizeTransfer(transfer(source, destination, "100.00"));
+		assertBalances(source, "1000.00", "500.00", "500.00");
+
+		transferAuthorizationService.releaseHold(released.getAuthCode());
+
+		assertBalances(source, "1000.00", "900.00", "100.00");
+		assertThat(statusOf(released.getTransactionId())).isEqualTo(TransactionStatus.CANCELLED);
+		assertThat(statusOf(kept.getTransactionId())).isEqualTo(TransactionStatus.AUTHORIZED);
+		assertThat(accountHoldRepository.findByTransactionId(released.getTransactionId()))
+				.hasValueSatisfying(hold -> assertThat(hold.getStatus()).isEqualTo(HoldStatus.RELEASED));
+		assertThat(journalEntryRepository.findByBankAccountOrderByCreatedAtDesc(source)).isEmpty();
+
+		// Neither a second release nor a capture finds the hold active anymore
+		assertThatThrownBy(() -> transferAuthorizationService.releaseHold(released.getAuthCode()))
+				.isInstanceOf(InvalidTransactionStatusException.class);
+		TransferCaptureRequest capture = new TransferCaptureRequest();
+		capture.setAuthCode(released.getAuthCode());
+		assertThatThrownBy(() -> transferCaptureService.captureTransfer(capture))
+				.isInstanceOf(AuthorizationNotFoundException.class);
+		assertBalances(source, "1000.00", "900.00", "100.00");
+	}
+
+	@Test
+	void expiryReleasesEveryActiveHoldOfTheAccount() {
+		BankAccount source = openAccount("1000.00");
+		BankAccount destination = openAccount("0.00");
+		TransferAuthResponse first = transferAuthorizationService.authorizeTransfer(transfer(source, destination, "100.00"));
+		TransferAuthResponse second = transferAuthorizationService.authorizeTransfer(transfer(source, destination, "200.00"));
+		TransferAuthResponse captured = transferAuthorizationService.authorizeTransfer(transfer(source, destination, "50.00"));
+		TransferCaptureRequest capture = new TransferCaptureRequest();
+		capture.setAuthCode(captured.getAuthCode());
+		transferCaptureService.captureTransfer(capture);
+		assertBalances(source, "950.00", "650.00", "300.00");
+
+		int expired = expireNow(source, first.getTransactionId(), second.getTransactionId(), captured.getTransactionId());
+
+		// The captured one is no longer held and is left alone
+		assertThat(expired).isEqualTo(2);
+		assertBalances(source, "950.00", "950.00", "0.00");
+		assertThat(statusOf(first.getTransactionId())).isEqualTo(TransactionStatus.CANCELLED);
+		assertThat(statusOf(second.getTransactionId())).isEqualTo(TransactionStatus.CANCELLED);
+		assertThat(statusOf(captured.getTransactionId())).isEqualTo(TransactionStatus.CAPTURED);
+		assertThat(accountHoldRepository.findByTransactionId(second.getTransactionId()))
+				.hasValueSatisfying(hold -> assertThat(hold.getStatus()).isEqualTo(HoldStatus.EXPIRED));
+	}
+
+	/**
+	 * Expire the holds of the given transactions right away, through a wheel of their own: the application's
+	 * wheel already has them scheduled for their real expiry.
+	 */
+	private int expireNow(BankAccount account, Long... transactionIds) {
+		HoldExpiryConfigProperties config = new HoldExpiryConfigProperties();
+		HoldExpiryWheel wheel = new HoldExpiryWheel(config);
+		for (Long transactionId : transactionIds) {
+			AccountHold hold = accountHoldRepository.findByTransactionId(transactionId).orElseThrow();
+			wheel.schedule(new HoldExpiry(hold.getId(), account.getId(), transactionId, hold.getAmount(),
+					hold.getExpiresAt()), 0);
+		}
+		return new HoldExpiryServiceImpl(config, wheel, accountHoldQueryAdapter, accountHoldCommandAdapter,
+				bankAccountCommandAdapter, transactionRepository, balanceEngine, transactionTemplate).expireDue();
+	}
+
+	private TransactionStatus statusOf(Long transactionId) {
+		return transactionRepository.findById(transactionId).orElseThrow().getStatus();
+	}
+
+	private void stripe(BankAccount account) {
+		List<AccountBalanceStripe> stripes = new ArrayList<>();
+		for (int slot = 0; slot < 2; slot++) {
+			AccountBalanceStripe stripe = new AccountBalanceStripe();
+			stripe.setAccountId(account.getId());
+			stripe.setSlot(slot);
+			stripe.setUpdatedAt(ZonedDateTime.now());
+			stripes.add(stripe);
+		}
+		stripeRepository.saveAll(stripes);
+		// Picks up the new stripes
+		hotAccountService.evaluate();
+		assertThat(hotAccountService.isStriped(account.getAccountNumber())).isTrue();
+	}
+
+	private BankAccount openAccount(String balance) {
+		Customer customer = new Customer();
+		customer.setCin(UUID.randomUUID().toString());
+		customer.setFullName("Authorization Test");
+		customer.setCreatedAt(ZonedDateTime.now());
+		customerRepository.save(customer);
+
+		BankAccount account = new BankAccount();
+		account.setCustomer(customer);
+		account.setAccountNumber(UUID.randomUUID().toString().substring(0, 30));
+		account.setAccountType(AccountType.SAVINGS);
+		account.setStatus(AccountStatus.ACTIVE);
+		account.setBalance(new BigDecimal(balance));
+		account.setAvailableBalance(new BigDecimal(balance));
+		account.setOpenedAt(ZonedDateTime.now());
+		return bankAccountRepository.save(account);
+	}
+
+	private static TransferAuthRequest transfer(BankAccount source, BankAccount destination, String amount) {
+		TransferAuthRequest request = new TransferAuthRequest();
+		request.setSourceAccountNumber(source.getAccountNumber());
+		request.setDestAccountNumber(destination.getAccountNumber());
+		request.setAmount(new BigDecimal(amount));
+		return request;
+	}
+
+	private void assertBalances(BankAccount account, String balance, String available, String held) {
+		BankAccount current = bankAccountRepository.findById(account.getId()).orElseThrow();
+		assertThat(current.getBalance()).as("balance").isEqualByComparingTo(balance);
+		assertThat(current.getAvailableBalance()).as("available balance").isEqualByComparingTo(available);
+		assertThat(current.getHeldAmount()).as("held amount").isEqualByComparingTo(held);
+	}
+}
@@ -0,0 +1,168 @@
+package org.fd.mcb.modules.transaction.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+import java.util.UUID;
+import org.fd.mcb.modules.journalentry.enums.EntryType;
+import org.fd.mcb.modules.journalentry.model.repository.JournalEntryRepository;
+import org.fd.mcb.modules.master.enums.AccountStatus;
+import org.fd.mcb.modules.master.enums.AccountType;
+import org.fd.mcb.modules.master.enums.TransactionStatus;
+import org.fd.mcb.modules.master.model.entity.BankAccount;
+import org.fd.mcb.modules.master.model.entity.Customer;
+import org.fd.mcb.modules.master.model.entity.Transaction;
+import org.fd.mcb.modules.master.model.repository.BankAccountRepository;
+import org.fd.mcb.modules.master.model.repository.CustomerRepository;
+import org.fd.mcb.modules.master.model.repository.TransactionRepository;
+import org.fd.mcb.modules.transaction.dto.request.TransferAuthRequest;
+import org.fd.mcb.modules.transaction.dto.request.TransferCaptureRequest;
+import org.fd.mcb.modules.transaction.dto.request.TransferSettlementRequest;
+import org.fd.mcb.modules.transaction.dto.response.TransferAuthResponse;
+import org.fd.mcb.shared.exception.TransferAlreadySettledException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:transfer_settlement_test",
+		"balance-engine.enabled=false",
+		"hot-accounts.enabled=false",
+		// Netting runs are started by the tests only
+		"settlement.netting.enabled=false",
+		"audit-log.spill-file=build/transfer-settlement-test/audit-log-spill.jsonl",
+		"audit-log.trail.directory=build/transfer-settlement-test/audit-trail"
+})
+class TransferSettlementIntegrationTest {
+
+	@Autowired
+	private TransferSettlementService transferSettlementService;
+
+	@Autowired
+	private TransferAuthorizationService transferAuthorizationService;
+
+	@Autowired
+	private TransferCaptureService transferCaptureService;
+
+	@Autowired
+	private CustomerRepository customerRepository;
+
+	@Autowired
+	private BankAccountRepository bankAccountRepository;
+
+	@Autowired
+	private TransactionRepository transactionRepository;
+
+	@Autowired
+	private JournalEntryRepository journalEntryRepository;
+
+	@Test
+	void nettingCreditsEachDestinationOnceAndJournalsEveryTransfer() {
+		BankAccount source = openAccount("1000.00");
+		BankAccount otherSource = openAccount("1000.00");
+		BankAccount merchant = openAccount("0.00");
+		BankAccount otherMerchant = openAccount("50.00");
+		Long first = capturedTransfer(source, merchant, "100.00");
+		Long second = capturedTransfer(otherSource, merchant, "250.00");
+		Long third = capturedTransfer(source, otherMerchant, "30.00");
+		// Authorized but not captured, stays out of the run
+		TransferAuthResponse held = transferAuthorizationService.authorizeTransfer(transfer(source, merchant, "40.00"));
+
+		int settled = transferSettlementService.settleCapturedTransfers();
+
+		assertThat(settled).isEqualTo(3);
+		assertBalances(merchant, "350.00", "350.00");
+		assertBalances(otherMerchant, "80.00", "80.00");
+		assertBalances(source, "870.00", "830.00");
+		assertBalances(otherSource, "750.00", "750.00");
+		for (Long transactionId : new Long[] {first, second, third}) {
+			Transaction transaction = transactionRepository.findById(transactionId).orElseThrow();
+			assertThat(transaction.getStatus()).isEqualTo(TransactionStatus.SETTLED);
+			assertThat(transaction.getSettledAt()).isNotNull();
+		}
+		assertThat(statusOf(held.getTransactionId())).isEqualTo(TransactionStatus.AUTHORIZED);
+
+		assertThat(journalEntryRepository.findByBankAccountOrderByCreatedAtDesc(merchant))
+				.hasSize(2)
+				.allSatisfy(entry -> assertThat(entry.getEntryType()).isEqualTo(EntryType.CREDIT))
+				.extracting(entry -> entry.getAmount().setScale(2))
+				.containsExactlyInAnyOrder(new BigDecimal("100.00"), new BigDecimal("250.00"));
+		assertThat(journalEntryRepository.findByBankAccountOrderByCreatedAtDesc(otherMerchant)).singleElement()
+				.satisfies(entry -> {
+					assertThat(entry.getEntryType()).isEqualTo(EntryType.CREDIT);
+					assertThat(entry.getAmount()).isEqualByComparingTo("30.00");
+				});
+
+		// Nothing captured is left for the next run
+		assertThat(transferSettlementService.settleCapturedTransfers()).isZero();
+		assertBalances(merchant, "350.00", "350.00");
+	}
+
+	@Test
+	void nettingLeavesOutTransfersAlreadySettledOneByOne() {
+		BankAccount source = openAccount("500.00");
+		BankAccount merchant = openAccount("0.00");
+		Long settledAlone = capturedTransfer(source, merchant, "120.00");
+		Long netted = capturedTransfer(source, merchant, "80.00");
+
+		TransferSettlementRequest request = new TransferSettlementRequest();
+		request.setAuthCode(transactionRepository.findById(settledAlone).orElseThrow().getAuthCode());
+		transferSettlementService.settleTransfer(request);
+		assertBalances(merchant, "120.00", "120.00");
+
+		assertThat(transferSettlementService.settleCapturedTransfers()).isEqualTo(1);
+
+		assertBalances(merchant, "200.00", "200.00");
+		assertThat(statusOf(netted)).isEqualTo(TransactionStatus.SETTLED);
+		assertThat(journalEntryRepository.findByBankAccountOrderByCreatedAtDesc(merchant)).hasSize(2);
+		assertThatThrownBy(() -> transferSettlementService.settleTransfer(request))
+				.isInstanceOf(TransferAlreadySettledException.class);
+	}
+
+	private Long capturedTransfer(BankAccount source, BankAccount destination, String amount) {
+		TransferAuthResponse authorization = transferAuthorizationService.authorizeTransfer(
+				transfer(source, destination, amount));
+		TransferCaptureRequest capture = new TransferCaptureRequest();
+		capture.setAuthCode(authorization.getAuthCode());
+		transferCaptureService.captureTransfer(capture);
+		return authorization.getTransactionId();
+	}
+
+	private TransactionStatus statusOf(Long transactionId) {
+		return transactionRepository.findById(transactionId).orElseThrow().getStatus();
+	}
+
+	private BankAccount openAccount(String balance) {
+		Customer customer = new Customer();
+		customer.setCin(UUID.randomUUID().toString());
+		customer.setFullName("Settlement Test");
+		customer.setCreatedAt(ZonedDateTime.now());
+		customerRepository.save(customer);
+
+		BankAccount account = new BankAccount();
+		account.setCustomer(customer);
+		account.setAccountNumber(UUID.randomUUID().toString().substring(0, 30));
+		account.setAccountType(AccountType.SAVINGS);
+		account.setStatus(AccountStatus.ACTIVE);
+		account.setBalance(new BigDecimal(balance));
+		account.setAvailableBalance(new BigDecimal(balance));
+		account.setOpenedAt(ZonedDateTime.now());
+		return bankAccountRepository.save(account);
+	}
+
+	private static TransferAuthRequest transfer(BankAccount source, BankAccount destination, String amount) {
+		TransferAuthRequest request = new TransferAuthRequest();
+		request.setSourceAccountNumber(source.getAccountNumber());
+		request.setDestAccountNumber(destination.getAccountNumber());
+		request.setAmount(new BigDecimal(amount));
+		return request;
+	}
+
+	private void assertBalances(BankAccount account, String balance, String available) {
+		BankAccount current = bankAccountRepository.findById(account.getId()).orElseThrow();
+		assertThat(current.getBalance()).as("balance").isEqualByComparingTo(balance);
+		assertThat(current.getAvailableBalance()).as("available balance").isEqualByComparingTo(available);
+	}
+}
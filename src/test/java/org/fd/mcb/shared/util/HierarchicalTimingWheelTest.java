@@ -0,0 +1,109 @@
+package org.fd.mcb.shared.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class HierarchicalTimingWheelTest {
+
+	// Level 0 slots are 100 ms wide, level 1 slots 800 ms and level 2 slots 6400 ms
+	private static final long TICK = 100;
+	private static final int WHEEL_SIZE = 8;
+	private static final long LEVEL_1_TICK = TICK * WHEEL_SIZE;
+	private static final long LEVEL_2_TICK = LEVEL_1_TICK * WHEEL_SIZE;
+	// A multiple of every level's tick, so level boundaries fall on round offsets from it
+	private static final long START = 1_700_000_000_000L;
+
+	private HierarchicalTimingWheel<String> wheel;
+
+	@BeforeEach
+	void setUp() {
+		wheel = new HierarchicalTimingWheel<>(TICK, WHEEL_SIZE, 3, START);
+	}
+
+	@Test
+	void nothingFiresBeforeItsDeadline() {
+		wheel.add("hold", START + 350);
+
+		assertNothingDueBefore(START + 350);
+		assertThat(wheel.advance(START + 400)).containsExactly("hold");
+		assertThat(wheel.size()).isZero();
+	}
+
+	@Test
+	void cascadesFromLevelOne() {
+		// Ten ticks ahead, past level 0's span
+		wheel.add("hold", START + 1_000);
+
+		assertNothingDueBefore(START + 1_000);
+		assertThat(wheel.size()).isEqualTo(1);
+		assertThat(wheel.advance(START + 1_100)).containsExactly("hold");
+	}
+
+	@Test
+	void cascadesFromLevelTwo() {
+		// Past level 1's span, drops through level 1 into level 0 before it fires
+		wheel.add("hold", START + 7_050);
+
+		assertNothingDueBefore(START + 7_050);
+		assertThat(wheel.size()).isEqualTo(1);
+		assertThat(wheel.advance(START + 7_100)).containsExactly("hold");
+	}
+
+	@Test
+	void deadlineOnALevelBoundaryFiresWithItsTick() {
+		wheel.add("level-1", START + LEVEL_1_TICK);
+		wheel.add("level-2", START + LEVEL_2_TICK);
+
+		assertNothingDueBefore(START + LEVEL_1_TICK);
+		assertThat(wheel.advance(START + LEVEL_1_TICK + TICK - 1)).isEmpty();
+		assertThat(wheel.advance(START + LEVEL_1_TICK + TICK)).containsExactly("level-1");
+
+		assertNothingDueBefore(START + LEVEL_2_TICK);
+		assertThat(wheel.advance(START + LEVEL_2_TICK + TICK - 1)).isEmpty();
+		assertThat(wheel.advance(START + LEVEL_2_TICK + TICK)).containsExactly("level-2");
+	}
+
+	@Test
+	void rejectsDeadlinesBeyondTheHorizon() {
+		assertThat(wheel.add("inside", START + wheel.horizonMillis())).isTrue();
+		assertThat(wheel.add("outside", START + LEVEL_2_TICK * WHEEL_SIZE)).isFalse();
+		assertThat(wheel.size()).isEqualTo(1);
+	}
+
+	@Test
+	void acceptsEntriesAgainAfterAFailedChunk() {
+		wheel.add("first", START + 250);
+		wheel.add("second", START + 250);
+		List<String> chunk = wheel.advance(START + 300);
+		assertThat(chunk).containsExactlyInAnyOrder("first", "second");
+		assertThat(wheel.size()).isZero();
+
+		// The chunk failed, retry it a while later
+		long retryAt = START + 300 + 500;
+		chunk.forEach(value -> assertThat(wheel.add(value, retryAt)).isTrue());
+		assertThat(wheel.size()).isEqualTo(2);
+
+		assertNothingDueBefore(retryAt);
+		assertThat(wheel.advance(retryAt + TICK)).containsExactlyInAnyOrder("first", "second");
+		assertThat(wheel.size()).isZero();
+	}
+
+	@Test
+	void entryAddedAgainWithAPassedDeadlineIsDueOnTheNextAdvance() {
+		wheel.add("hold", START + 150);
+		assertThat(wheel.advance(START + 1_000)).containsExactly("hold");
+
+		assertThat(wheel.add("hold", START + 150)).isTrue();
+		assertThat(wheel.advance(START + 1_000)).containsExactly("hold");
+		assertThat(wheel.size()).isZero();
+	}
+
+	private void assertNothingDueBefore(long deadline) {
+		for (long now = START; now < deadline; now += 10) {
+			assertThat(wheel.advance(now)).as("due at %d, deadline %d", now - START, deadline - START).isEmpty();
+		}
+	}
+}